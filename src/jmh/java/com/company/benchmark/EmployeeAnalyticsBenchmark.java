@@ -0,0 +1,92 @@
+package com.company.benchmark;
+
+import com.company.analytics.AnalyticsQuery;
+import com.company.analytics.AnalyticsQuery.Dimension;
+import com.company.analytics.AnalyticsQuery.Filter;
+import com.company.analytics.AnalyticsQuery.Metric;
+import com.company.analytics.EmployeeColumns;
+import com.company.dto.AnalyticsResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full scans of the analytics column store, built directly from random rows so no database
+ * is involved. Divide {@code rows} by the reported time for rows per second on one thread.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+@State(Scope.Benchmark)
+public class EmployeeAnalyticsBenchmark {
+
+    private static final int COMPANIES = 20;
+    private static final int DEPARTMENTS_PER_COMPANY = 25;
+    private static final int JOB_TITLES = 40;
+
+    @Param({"5000000"})
+    public int rows;
+
+    private EmployeeColumns columns;
+    private AnalyticsQuery salaryByTitle;
+    private AnalyticsQuery headcountByHireYear;
+    private AnalyticsQuery partTimeHours;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        EmployeeColumns.Builder builder = new EmployeeColumns.Builder();
+        for (int c = 1; c <= COMPANIES; c++) {
+            builder.addCompany(c);
+            for (int d = 0; d < DEPARTMENTS_PER_COMPANY; d++) {
+                builder.addDepartment(c * 1000L + d, c);
+            }
+        }
+        LocalDate firstHire = LocalDate.of(2000, 1, 1);
+        for (int i = 0; i < rows; i++) {
+            long department = (1 + random.nextInt(COMPANIES)) * 1000L + random.nextInt(DEPARTMENTS_PER_COMPANY);
+            boolean partTime = random.nextInt(4) == 0;
+            builder.addEmployee(i, department, partTime, "Title " + random.nextInt(JOB_TITLES),
+                    3_000_000 + random.nextInt(12_000_000), firstHire.plusDays(random.nextInt(9000)),
+                    partTime ? 10 + random.nextInt(25) : 0, partTime ? 0 : random.nextInt(2_000_000));
+        }
+        columns = builder.build(1);
+        salaryByTitle = new AnalyticsQuery(Filter.NONE, List.of(Dimension.DEPARTMENT, Dimension.JOB_TITLE),
+                List.of(Metric.COUNT, Metric.fromParam("avg:salary"), Metric.fromParam("max:salary")));
+        headcountByHireYear = new AnalyticsQuery(Filter.NONE, List.of(Dimension.COMPANY, Dimension.HIRE_YEAR),
+                List.of(Metric.COUNT));
+        partTimeHours = new AnalyticsQuery(new Filter(null, null, "PART_TIME", null, null, null, null, null, null, null),
+                List.of(Dimension.HOURS_PER_WEEK), List.of(Metric.COUNT, Metric.fromParam("sum:salary")));
+    }
+
+    @Benchmark
+    public AnalyticsResult salaryByJobTitleAndDepartment() {
+        return columns.aggregate(salaryByTitle);
+    }
+
+    @Benchmark
+    public AnalyticsResult headcountByCompanyAndHireYear() {
+        return columns.aggregate(headcountByHireYear);
+    }
+
+    @Benchmark
+    public AnalyticsResult partTimeHoursDistribution() {
+        return columns.aggregate(partTimeHours);
+    }
+}
@@ -0,0 +1,94 @@
+package com.company.benchmark;
+
+import com.company.entity.Employee;
+import com.company.index.SalaryIndex;
+import com.company.pagination.CursorPage;
+import com.company.pagination.SortKey;
+import com.company.service.EmployeeService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service-level reads behind the employee and count endpoints. Company and department reads
+ * return {@code scale / COMPANIES} and {@code scale / (COMPANIES * DEPARTMENTS_PER_COMPANY)} rows.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EmployeeReadBenchmark {
+
+    // A 1,000-wide band out of 170,000, so about 0.6% of employees
+    private static final BigDecimal BAND_LOW = new BigDecimal("100000");
+    private static final BigDecimal BAND_HIGH = new BigDecimal("101000");
+    private static final int PAGE_SIZE = 50;
+
+    private EmployeeService employeeService;
+    private Long companyId;
+    private Long departmentId;
+    private List<Long> companyIds;
+
+    @Setup(Level.Trial)
+    public void setUp(OrgDataset dataset) {
+        employeeService = dataset.bean(EmployeeService.class);
+        companyId = dataset.companyId();
+        departmentId = dataset.departmentId();
+        companyIds = dataset.companyIds;
+    }
+
+    @Benchmark
+    public List<Employee> getEmployeesByCompanyId() {
+        return employeeService.getEmployeesByCompanyId(companyId);
+    }
+
+    @Benchmark
+    public List<Employee> searchEmployeesByName() {
+        return employeeService.searchEmployeesByName("Grace", "Okafor");
+    }
+
+    @Benchmark
+    public List<Employee> getEmployeesBySalaryRange() {
+        return employeeService.getEmployeesBySalaryRange(BAND_LOW, BAND_HIGH);
+    }
+
+    @Benchmark
+    public CursorPage<Employee> getEmployeesBySalaryRangePage() {
+        return employeeService.getEmployeesBySalaryRangePage(BAND_LOW, BAND_HIGH, null, SortKey.ID, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public long countSalariesInCompany() {
+        return employeeService.countSalaries(SalaryIndex.Scope.COMPANY, companyId, BAND_LOW, BAND_HIGH);
+    }
+
+    @Benchmark
+    public int getEmployeeCountByCompanyId() {
+        return employeeService.getEmployeeCountByCompanyId(companyId);
+    }
+
+    @Benchmark
+    public int getEmployeeCountByDepartmentId() {
+        return employeeService.getEmployeeCountByDepartmentId(departmentId);
+    }
+
+    @Benchmark
+    public Map<Long, Long> getEmployeeCountsByCompanyIds() {
+        return employeeService.getEmployeeCountsByCompanyIds(companyIds);
+    }
+}
@@ -0,0 +1,61 @@
+package com.company.benchmark;
+
+import com.company.dto.EmployeeView;
+import com.company.entity.Employee;
+import com.company.entity.FullTimeEmployee;
+import com.company.entity.PartTimeEmployee;
+import com.company.service.EmployeeService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of one company's full-time and part-time employees, mapped to views
+ * the way the controllers return them. The entities are loaded once per trial, so only the
+ * mapping and JSON writing are measured.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EmployeeSerializationBenchmark {
+
+    private ObjectMapper objectMapper;
+    private List<FullTimeEmployee> fullTimeEmployees;
+    private List<PartTimeEmployee> partTimeEmployees;
+
+    @Setup(Level.Trial)
+    public void setUp(OrgDataset dataset) {
+        objectMapper = dataset.bean(ObjectMapper.class);
+        List<Employee> employees = dataset.bean(EmployeeService.class).getEmployeesByCompanyId(dataset.companyId());
+        fullTimeEmployees = employees.stream()
+                .filter(FullTimeEmployee.class::isInstance).map(FullTimeEmployee.class::cast).toList();
+        partTimeEmployees = employees.stream()
+                .filter(PartTimeEmployee.class::isInstance).map(PartTimeEmployee.class::cast).toList();
+    }
+
+    @Benchmark
+    public byte[] writeFullTimeEmployees() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(fullTimeEmployees.stream().map(EmployeeView::from).toList());
+    }
+
+    @Benchmark
+    public byte[] writePartTimeEmployees() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(partTimeEmployees.stream().map(EmployeeView::from).toList());
+    }
+}
@@ -0,0 +1,68 @@
+package com.company.benchmark;
+
+import com.company.dto.BulkResult;
+import com.company.entity.Employee;
+import com.company.service.BulkImportService;
+import com.company.service.EmployeeService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single and bulk employee inserts. Every invocation adds rows, so the dataset grows past
+ * {@code scale} by the number of inserts a trial performs.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EmployeeWriteBenchmark {
+
+    @Param({"100"})
+    public int bulkSize;
+
+    private EmployeeService employeeService;
+    private BulkImportService bulkImportService;
+    private SplittableRandom random;
+
+    @Setup(Level.Trial)
+    public void setUp(OrgDataset dataset) {
+        employeeService = dataset.bean(EmployeeService.class);
+        bulkImportService = dataset.bean(BulkImportService.class);
+        random = new SplittableRandom(7);
+    }
+
+    @Benchmark
+    public Employee createEmployee(OrgDataset dataset) {
+        return employeeService.createEmployee(dataset.newEmployee(random, nextDepartment(dataset)));
+    }
+
+    @Benchmark
+    public BulkResult createEmployeesInBulk(OrgDataset dataset) {
+        List<Employee> employees = new ArrayList<>(bulkSize);
+        for (int i = 0; i < bulkSize; i++) {
+            employees.add(dataset.newEmployee(random, nextDepartment(dataset)));
+        }
+        return bulkImportService.createEmployees(employees);
+    }
+
+    private Long nextDepartment(OrgDataset dataset) {
+        return dataset.departmentIds.get(random.nextInt(dataset.departmentIds.size()));
+    }
+}
@@ -0,0 +1,95 @@
+package com.company.benchmark;
+
+import com.company.dto.EmployeeView;
+import com.company.repository.CompanyRepository;
+import com.company.repository.DepartmentRepository;
+import com.company.repository.EmployeeRepository;
+import com.company.service.EmployeeService;
+import com.company.service.OrgChartService;
+import com.company.snapshot.OrgChartSnapshot;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The employee endpoints' reads served from the org-chart snapshot against the same reads
+ * through JPA, and the cost of one single-row change applied copy-on-write against a full
+ * rebuild. Sampled rather than averaged so the report carries percentiles, p99 included.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OrgChartReadBenchmark {
+
+    private OrgChartService orgChartService;
+    private EmployeeService employeeService;
+    private OrgChartSnapshot snapshot;
+    private Long departmentId;
+    private Long employeeId;
+    private EmployeeView changed;
+
+    @Setup(Level.Trial)
+    public void setUp(OrgDataset dataset) {
+        // The application's own instance is disabled unless the property is set, so build a live one here
+        orgChartService = new OrgChartService(dataset.bean(CompanyRepository.class), dataset.bean(DepartmentRepository.class),
+                dataset.bean(EmployeeRepository.class), dataset.bean(PlatformTransactionManager.class), true);
+        employeeService = dataset.bean(EmployeeService.class);
+        snapshot = orgChartService.rebuild();
+        departmentId = dataset.departmentId();
+        EmployeeView employee = snapshot.findEmployeeViewsOfDepartment(departmentId).orElseThrow().get(0);
+        employeeId = employee.id();
+        // A move to the last department shifts the most rows between the two
+        changed = new EmployeeView(employee.id(), employee.employeeType(), employee.firstName(), employee.lastName(),
+                employee.email(), employee.phone(), employee.hireDate(), employee.salary(), employee.jobTitle(),
+                dataset.departmentIds.get(dataset.departmentIds.size() - 1), null, null, employee.annualBonus(),
+                employee.stockOptions(), employee.healthInsurance(), employee.retirementPlan(), employee.hoursPerWeek(),
+                employee.flexibleSchedule(), employee.remoteWork(), employee.contractEndDate(), employee.createdAt(),
+                employee.updatedAt(), employee.version());
+    }
+
+    @Benchmark
+    public Optional<EmployeeView> getEmployeeByIdFromSnapshot() {
+        return snapshot.findEmployeeView(employeeId);
+    }
+
+    @Benchmark
+    public Optional<EmployeeView> getEmployeeByIdFromDatabase() {
+        return employeeService.getEmployeeById(employeeId).map(EmployeeView::from);
+    }
+
+    @Benchmark
+    public Optional<List<EmployeeView>> getEmployeesByDepartmentIdFromSnapshot() {
+        return snapshot.findEmployeeViewsOfDepartment(departmentId);
+    }
+
+    @Benchmark
+    public List<EmployeeView> getEmployeesByDepartmentIdFromDatabase() {
+        return employeeService.getEmployeesByDepartmentId(departmentId).stream().map(EmployeeView::from).toList();
+    }
+
+    @Benchmark
+    public OrgChartSnapshot applyEmployeeMove() {
+        return snapshot.withEmployee(snapshot.getVersion() + 1, changed);
+    }
+
+    @Benchmark
+    public OrgChartSnapshot rebuild() {
+        return orgChartService.rebuild();
+    }
+}
@@ -0,0 +1,110 @@
+package com.company.benchmark;
+
+import com.company.CompanyStructureApplication;
+import com.company.entity.Company;
+import com.company.entity.Department;
+import com.company.entity.Employee;
+import com.company.entity.FullTimeEmployee;
+import com.company.entity.PartTimeEmployee;
+import com.company.index.NameSearchIndex;
+import com.company.index.SalaryIndex;
+import com.company.repository.CompanyRepository;
+import com.company.repository.DepartmentRepository;
+import com.company.service.SyntheticDataGenerator;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * The application context over an in-memory H2 database seeded with {@code scale} employees,
+ * spread evenly over {@value #COMPANIES} companies of {@value #DEPARTMENTS_PER_COMPANY}
+ * departments each. Seeding goes through {@link SyntheticDataGenerator} with a fixed seed, so
+ * every run at a given scale sees the same rows.
+ */
+@State(Scope.Benchmark)
+public class OrgDataset {
+
+    static final int COMPANIES = 10;
+    static final int DEPARTMENTS_PER_COMPANY = 20;
+    static final String[] FIRST_NAMES = {"Alice", "Bob", "Carla", "David", "Elena", "Farid", "Grace", "Hiro", "Ines", "Jonas"};
+    static final String[] LAST_NAMES = {"Smith", "Jones", "Garcia", "Nguyen", "Kowalski", "Okafor", "Larsen", "Rossi", "Tanaka", "Meyer"};
+
+    @Param({"1000", "10000", "100000"})
+    public int scale;
+
+    ConfigurableApplicationContext context;
+    List<Long> companyIds;
+    List<Long> departmentIds;
+    private int nextEmail;
+
+    @Setup(Level.Trial)
+    public void seed() {
+        context = new SpringApplicationBuilder(CompanyStructureApplication.class)
+                .web(WebApplicationType.NONE)
+                .logStartupInfo(false)
+                // Arguments rather than default properties, which application.properties would override
+                .run("--spring.datasource.url=jdbc:h2:mem:bench;DB_CLOSE_DELAY=-1",
+                        "--spring.sql.init.mode=never",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.jpa.properties.hibernate.format_sql=false",
+                        "--spring.jpa.properties.hibernate.use_sql_comments=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.org.hibernate.SQL=WARN",
+                        "--logging.level.org.hibernate.orm.jdbc.bind=WARN");
+
+        // No skew keeps every company and department the same size, so scale alone sets the load
+        bean(SyntheticDataGenerator.class).generate(new SyntheticDataGenerator.Spec(
+                COMPANIES, DEPARTMENTS_PER_COMPANY, scale, 0.25, 0, 42, LocalDate.of(2025, 1, 1)));
+        companyIds = bean(CompanyRepository.class).findAll().stream().map(Company::getId).sorted().toList();
+        departmentIds = bean(DepartmentRepository.class).findAll().stream().map(Department::getId).sorted().toList();
+        // Generating only schedules background rebuilds; build now so measurements see a ready index
+        bean(NameSearchIndex.class).rebuild();
+        bean(SalaryIndex.class).rebuild();
+    }
+
+    @TearDown(Level.Trial)
+    public void close() {
+        context.close();
+    }
+
+    <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    Long companyId() {
+        return companyIds.get(0);
+    }
+
+    Long departmentId() {
+        return departmentIds.get(0);
+    }
+
+    /**
+     * A new employee with an email no other call has returned, salaried between 30,000 and 200,000.
+     */
+    synchronized Employee newEmployee(SplittableRandom random, Long departmentId) {
+        String first = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+        String last = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+        String email = "employee" + nextEmail++ + "@bench.example";
+        LocalDate hireDate = LocalDate.of(2010, 1, 1).plusDays(random.nextInt(5000));
+        BigDecimal salary = BigDecimal.valueOf(30_000 + random.nextInt(170_000));
+        Employee employee = random.nextInt(4) == 0
+                ? new PartTimeEmployee(first, last, email, hireDate, salary, 10 + random.nextInt(25))
+                : new FullTimeEmployee(first, last, email, hireDate, salary, BigDecimal.valueOf(1_000 + random.nextInt(20_000)));
+        Department department = new Department();
+        department.setId(departmentId);
+        employee.setDepartment(department);
+        return employee;
+    }
+}
@@ -0,0 +1,142 @@
+package com.company.benchmark;
+
+import com.company.service.EmployeeService;
+import com.zaxxer.hikari.HikariDataSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A burst of {@code concurrency} simultaneous blocking service calls, run on a fixed pool of
+ * {@value #PLATFORM_THREADS} platform threads (Tomcat's default worker count) or on one virtual
+ * thread per call. Reports the time for the whole burst to complete.
+ * <p>
+ * In-memory H2 answers in microseconds, so each call also holds its connection for
+ * {@code roundTripMillis} inside the transaction to stand in for a remote database. The pool
+ * is resized to {@code connections}: with fewer connections than threads the pool is the
+ * ceiling whatever the threading, with more the platform worker pool becomes it.
+ * {@code threads=virtual} needs Java 21; on older runtimes run with {@code -p threads=platform}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ThreadingBenchmark {
+
+    static final int PLATFORM_THREADS = 200;
+
+    @Param({"platform", "virtual"})
+    public String threads;
+
+    @Param({"1000"})
+    public int concurrency;
+
+    @Param({"0", "2"})
+    public int roundTripMillis;
+
+    @Param({"10", "400"})
+    public int connections;
+
+    private ExecutorService executor;
+    private EmployeeService employeeService;
+    private TransactionTemplate transaction;
+    private SplittableRandom random;
+
+    @Setup(Level.Trial)
+    public void setUp(OrgDataset dataset) throws SQLException {
+        executor = "virtual".equals(threads) ? virtualThreadPerTaskExecutor() : Executors.newFixedThreadPool(PLATFORM_THREADS);
+        employeeService = dataset.bean(EmployeeService.class);
+        transaction = new TransactionTemplate(dataset.bean(PlatformTransactionManager.class));
+        random = new SplittableRandom(11);
+        HikariDataSource pool = dataset.bean(DataSource.class).unwrap(HikariDataSource.class);
+        pool.getHikariConfigMXBean().setMaximumPoolSize(connections);
+        pool.getHikariConfigMXBean().setConnectionTimeout(60_000);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.MINUTES);
+    }
+
+    @Benchmark
+    public int getEmployeesByCompanyId(OrgDataset dataset) throws Exception {
+        return burst(i -> employeeService.getEmployeesByCompanyId(dataset.companyIds.get(i % dataset.companyIds.size())).size());
+    }
+
+    @Benchmark
+    public int createEmployee(OrgDataset dataset) throws Exception {
+        return burst(i -> {
+            Long departmentId = dataset.departmentIds.get(i % dataset.departmentIds.size());
+            employeeService.createEmployee(dataset.newEmployee(random, departmentId));
+            return 1;
+        });
+    }
+
+    private interface Call {
+        int run(int index);
+    }
+
+    private int burst(Call call) throws InterruptedException, ExecutionException {
+        List<Future<Integer>> results = new ArrayList<>(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            int index = i;
+            Callable<Integer> task = () -> transaction.execute(status -> {
+                int rows = call.run(index);
+                roundTrip();
+                return rows;
+            });
+            results.add(executor.submit(task));
+        }
+        int rows = 0;
+        for (Future<Integer> result : results) {
+            rows += result.get();
+        }
+        return rows;
+    }
+
+    private void roundTrip() {
+        if (roundTripMillis > 0) {
+            try {
+                Thread.sleep(roundTripMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    // Looked up reflectively so the benchmarks still compile for Java 17
+    private static ExecutorService virtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Virtual threads need Java 21; run with -p threads=platform", e);
+        }
+    }
+}
@@ -2,8 +2,10 @@ package com.company;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class CompanyStructureApplication {
     public static void main(String[] args) {
         SpringApplication.run(CompanyStructureApplication.class, args);
@@ -0,0 +1,137 @@
+package com.company.analytics;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * A filter, group-by and aggregate over {@link EmployeeColumns}. Every filter is optional and
+ * they combine with AND; with no dimensions the whole selection is one group.
+ */
+public record AnalyticsQuery(Filter filter, List<Dimension> groupBy, List<Metric> metrics) {
+
+    public AnalyticsQuery {
+        groupBy = List.copyOf(groupBy);
+        metrics = List.copyOf(metrics);
+        if (metrics.isEmpty()) {
+            throw new IllegalArgumentException("At least one metric is required");
+        }
+        if (groupBy.stream().distinct().count() != groupBy.size()) {
+            throw new IllegalArgumentException("Dimensions must not repeat: " + groupBy);
+        }
+    }
+
+    public enum Dimension {
+        COMPANY("company"),
+        DEPARTMENT("department"),
+        TYPE("type"),
+        JOB_TITLE("jobTitle"),
+        HIRE_YEAR("hireYear"),
+        HOURS_PER_WEEK("hoursPerWeek");
+
+        private final String param;
+
+        Dimension(String param) {
+            this.param = param;
+        }
+
+        public String getParam() {
+            return param;
+        }
+
+        public static Dimension fromParam(String value) {
+            for (Dimension dimension : values()) {
+                if (dimension.param.equalsIgnoreCase(value) || dimension.name().equalsIgnoreCase(value)) {
+                    return dimension;
+                }
+            }
+            throw new IllegalArgumentException("Unsupported dimension: " + value);
+        }
+    }
+
+    /**
+     * Numeric columns. Money is in cents; part-time rows have no bonus and full-time rows no
+     * hours, both stored as 0, so filter by type when averaging either.
+     */
+    public enum Measure {
+        SALARY("salary", true),
+        BONUS("bonus", true),
+        HOURS_PER_WEEK("hoursPerWeek", false);
+
+        private final String param;
+        private final boolean money;
+
+        Measure(String param, boolean money) {
+            this.param = param;
+            this.money = money;
+        }
+
+        public String getParam() {
+            return param;
+        }
+
+        public boolean isMoney() {
+            return money;
+        }
+
+        static Measure fromParam(String value) {
+            for (Measure measure : values()) {
+                if (measure.param.equalsIgnoreCase(value) || measure.name().equalsIgnoreCase(value)) {
+                    return measure;
+                }
+            }
+            throw new IllegalArgumentException("Unsupported measure: " + value);
+        }
+    }
+
+    public enum Aggregate {
+        COUNT, SUM, AVG, MIN, MAX
+    }
+
+    /**
+     * {@code count}, or an aggregate and a measure such as {@code avg:salary}.
+     */
+    public record Metric(Aggregate aggregate, Measure measure) {
+
+        public static final Metric COUNT = new Metric(Aggregate.COUNT, null);
+
+        public Metric {
+            if ((aggregate == Aggregate.COUNT) != (measure == null)) {
+                throw new IllegalArgumentException("count takes no measure; every other aggregate needs one");
+            }
+        }
+
+        public static Metric fromParam(String value) {
+            String[] parts = value.split(":", 2);
+            Aggregate aggregate;
+            try {
+                aggregate = Aggregate.valueOf(parts[0].trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unsupported aggregate: " + parts[0]);
+            }
+            return new Metric(aggregate, parts.length == 2 ? Measure.fromParam(parts[1].trim()) : null);
+        }
+
+        public String label() {
+            return measure == null ? "count" : aggregate.name().toLowerCase(Locale.ROOT) + ":" + measure.getParam();
+        }
+    }
+
+    /**
+     * Ranges are inclusive at both ends; {@code type} is {@code FULL_TIME} or {@code PART_TIME}.
+     */
+    public record Filter(Long companyId, Long departmentId, String type, String jobTitle,
+                         LocalDate hiredFrom, LocalDate hiredTo,
+                         BigDecimal minSalary, BigDecimal maxSalary,
+                         Integer minHours, Integer maxHours) {
+
+        public static final Filter NONE = new Filter(null, null, null, null, null, null, null, null, null, null);
+
+        public Filter {
+            if (type != null && !type.equals("FULL_TIME") && !type.equals("PART_TIME")) {
+                throw new IllegalArgumentException("Unsupported employee type: " + type);
+            }
+        }
+    }
+}
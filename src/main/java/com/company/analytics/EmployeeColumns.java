@@ -0,0 +1,716 @@
+package com.company.analytics;
+
+import com.company.dto.AnalyticsResult;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Immutable, column-oriented copy of every employee for ad-hoc analytics.
+ * <p>
+ * Each attribute is a primitive array indexed by row. Companies, departments and job titles are
+ * dictionary-encoded as {@code int} codes, money is in cents and hire dates are epoch days.
+ * Rows are laid out grouped by department, and departments grouped by company, so a company or
+ * department filter narrows the scan to a contiguous range before any row is read. The
+ * remaining filters are primitive range checks, and groups are accumulated in arrays indexed
+ * by the combined dimension codes.
+ * <p>
+ * {@link #withEmployees} derives the next version from this one for changed employees, copying
+ * the columns once and reusing the dictionaries, so single-row writes need no reload.
+ */
+public final class EmployeeColumns {
+
+    static final int FULL_TIME = 0;
+    static final int PART_TIME = 1;
+    private static final String[] TYPES = {"FULL_TIME", "PART_TIME"};
+
+    // Above this many possible groups, group slots are assigned on first use instead
+    static final int DENSE_GROUP_LIMIT = 1 << 16;
+
+    private final long version;
+
+    // Dictionaries; job title code 0 stands for no title and the rest are sorted
+    private final long[] companyIds;
+    private final int[] companyDepartmentStart;
+    private final long[] departmentIds;
+    private final int[] departmentRowStart;
+    private final long[] departmentIdsSorted;
+    private final int[] departmentIndexBySortedId;
+    private final String[] jobTitles;
+    private final int minHireYear;
+    private final int hireYears;
+    private final int maxHours;
+
+    // Rows, grouped by department
+    private final int rowCount;
+    private final long[] employeeId;
+    private final int[] company;
+    private final int[] department;
+    private final int[] type;
+    private final int[] jobTitle;
+    private final long[] salaryCents;
+    private final int[] hireEpochDay;
+    private final int[] hireYear;
+    private final int[] hoursPerWeek;
+    private final long[] bonusCents;
+
+    private EmployeeColumns(long version, long[] companyIds, int[] companyDepartmentStart, long[] departmentIds,
+                            int[] departmentRowStart, long[] departmentIdsSorted, int[] departmentIndexBySortedId,
+                            String[] jobTitles, int minHireYear, int hireYears, int maxHours, Rows rows) {
+        this.version = version;
+        this.companyIds = companyIds;
+        this.companyDepartmentStart = companyDepartmentStart;
+        this.departmentIds = departmentIds;
+        this.departmentRowStart = departmentRowStart;
+        this.departmentIdsSorted = departmentIdsSorted;
+        this.departmentIndexBySortedId = departmentIndexBySortedId;
+        this.jobTitles = jobTitles;
+        this.minHireYear = minHireYear;
+        this.hireYears = hireYears;
+        this.maxHours = maxHours;
+        this.rowCount = rows.company.length;
+        this.employeeId = rows.employeeId;
+        this.company = rows.company;
+        this.department = rows.department;
+        this.type = rows.type;
+        this.jobTitle = rows.jobTitle;
+        this.salaryCents = rows.salaryCents;
+        this.hireEpochDay = rows.hireEpochDay;
+        this.hireYear = rows.hireYear;
+        this.hoursPerWeek = rows.hoursPerWeek;
+        this.bonusCents = rows.bonusCents;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * One employee's values for {@link #withEmployees}, in the units of {@link Builder#addEmployee}.
+     */
+    public record Row(long departmentId, boolean partTime, String jobTitle, long salaryCents, LocalDate hireDate,
+                      int hoursPerWeek, long bonusCents) {
+    }
+
+    /**
+     * A copy with each changed employee's row replaced, added or, for a null {@link Row},
+     * removed. Null when a row names a department, job title, hire year or hours value these
+     * dictionaries do not hold, which only a rebuild can add.
+     */
+    public EmployeeColumns withEmployees(long version, Map<Long, Row> changes) {
+        // Changed rows are encoded against the current dictionaries first
+        long[] changedIds = new long[changes.size()];
+        int changedCount = 0;
+        List<Integer> addedDepartments = new ArrayList<>();
+        List<Long> addedIds = new ArrayList<>();
+        List<Row> added = new ArrayList<>();
+        int[] addedTitles = new int[changes.size()];
+        for (Map.Entry<Long, Row> change : changes.entrySet()) {
+            changedIds[changedCount++] = change.getKey();
+            Row row = change.getValue();
+            if (row == null) {
+                continue;
+            }
+            int sorted = Arrays.binarySearch(departmentIdsSorted, row.departmentId());
+            int title = row.jobTitle() == null ? 0 : Arrays.binarySearch(jobTitles, 1, jobTitles.length, row.jobTitle());
+            int year = row.hireDate().getYear() - minHireYear;
+            if (sorted < 0 || title < 0 || year < 0 || year >= hireYears || row.hoursPerWeek() > maxHours) {
+                return null;
+            }
+            addedTitles[added.size()] = title;
+            addedDepartments.add(departmentIndexBySortedId[sorted]);
+            addedIds.add(change.getKey());
+            added.add(row);
+        }
+        Arrays.sort(changedIds);
+
+        // New row counts per department: the unchanged rows plus the added ones
+        int[] nextRowStart = new int[departmentIds.length + 1];
+        boolean[] kept = new boolean[rowCount];
+        for (int d = 0; d < departmentIds.length; d++) {
+            for (int r = departmentRowStart[d]; r < departmentRowStart[d + 1]; r++) {
+                kept[r] = Arrays.binarySearch(changedIds, employeeId[r]) < 0;
+                if (kept[r]) {
+                    nextRowStart[d + 1]++;
+                }
+            }
+        }
+        for (int department : addedDepartments) {
+            nextRowStart[department + 1]++;
+        }
+        for (int d = 1; d < nextRowStart.length; d++) {
+            nextRowStart[d] += nextRowStart[d - 1];
+        }
+
+        // Each department's kept rows in their old order, then its added rows
+        Rows rows = new Rows(nextRowStart[departmentIds.length]);
+        for (int d = 0; d < departmentIds.length; d++) {
+            int at = nextRowStart[d];
+            for (int r = departmentRowStart[d]; r < departmentRowStart[d + 1]; r++) {
+                if (kept[r]) {
+                    copyRow(r, rows, at++);
+                }
+            }
+            for (int i = 0; i < added.size(); i++) {
+                if (addedDepartments.get(i) == d) {
+                    Row row = added.get(i);
+                    rows.employeeId[at] = addedIds.get(i);
+                    rows.company[at] = company(d);
+                    rows.department[at] = d;
+                    rows.type[at] = row.partTime() ? PART_TIME : FULL_TIME;
+                    rows.jobTitle[at] = addedTitles[i];
+                    rows.salaryCents[at] = row.salaryCents();
+                    rows.hireEpochDay[at] = Math.toIntExact(row.hireDate().toEpochDay());
+                    rows.hireYear[at] = row.hireDate().getYear() - minHireYear;
+                    rows.hoursPerWeek[at] = Math.max(0, row.hoursPerWeek());
+                    rows.bonusCents[at] = row.bonusCents();
+                    at++;
+                }
+            }
+        }
+        return new EmployeeColumns(version, companyIds, companyDepartmentStart, departmentIds, nextRowStart,
+                departmentIdsSorted, departmentIndexBySortedId, jobTitles, minHireYear, hireYears, maxHours, rows);
+    }
+
+    private void copyRow(int from, Rows target, int to) {
+        target.employeeId[to] = employeeId[from];
+        target.company[to] = company[from];
+        target.department[to] = department[from];
+        target.type[to] = type[from];
+        target.jobTitle[to] = jobTitle[from];
+        target.salaryCents[to] = salaryCents[from];
+        target.hireEpochDay[to] = hireEpochDay[from];
+        target.hireYear[to] = hireYear[from];
+        target.hoursPerWeek[to] = hoursPerWeek[from];
+        target.bonusCents[to] = bonusCents[from];
+    }
+
+    // Departments are grouped by company, so the company is the last start at or before d
+    private int company(int departmentIndex) {
+        int c = Arrays.binarySearch(companyDepartmentStart, departmentIndex);
+        if (c < 0) {
+            return -c - 2;
+        }
+        // Companies without departments share a start with the next one
+        while (companyDepartmentStart[c + 1] == departmentIndex) {
+            c++;
+        }
+        return c;
+    }
+
+    public AnalyticsResult aggregate(AnalyticsQuery query) {
+        AnalyticsQuery.Filter filter = query.filter();
+        int from = 0;
+        int to = rowCount;
+        if (filter.companyId() != null) {
+            int c = Arrays.binarySearch(companyIds, filter.companyId());
+            if (c < 0) {
+                return new AnalyticsResult(version, 0, 0, List.of());
+            }
+            from = departmentRowStart[companyDepartmentStart[c]];
+            to = departmentRowStart[companyDepartmentStart[c + 1]];
+        }
+        if (filter.departmentId() != null) {
+            int sorted = Arrays.binarySearch(departmentIdsSorted, filter.departmentId());
+            if (sorted < 0) {
+                return new AnalyticsResult(version, 0, 0, List.of());
+            }
+            int d = departmentIndexBySortedId[sorted];
+            from = Math.max(from, departmentRowStart[d]);
+            to = Math.min(to, departmentRowStart[d + 1]);
+        }
+        int typeCode = filter.type() == null ? -1 : filter.type().equals(TYPES[PART_TIME]) ? PART_TIME : FULL_TIME;
+        int titleCode = -1;
+        if (filter.jobTitle() != null) {
+            titleCode = Arrays.binarySearch(jobTitles, 1, jobTitles.length, filter.jobTitle());
+            if (titleCode < 0) {
+                return new AnalyticsResult(version, Math.max(0, to - from), 0, List.of());
+            }
+        }
+        int hiredFrom = filter.hiredFrom() == null ? Integer.MIN_VALUE : Math.toIntExact(filter.hiredFrom().toEpochDay());
+        int hiredTo = filter.hiredTo() == null ? Integer.MAX_VALUE : Math.toIntExact(filter.hiredTo().toEpochDay());
+        long minSalary = filter.minSalary() == null ? Long.MIN_VALUE : toCents(filter.minSalary(), RoundingMode.CEILING);
+        long maxSalary = filter.maxSalary() == null ? Long.MAX_VALUE : toCents(filter.maxSalary(), RoundingMode.FLOOR);
+        int minHours = filter.minHours() == null ? Integer.MIN_VALUE : filter.minHours();
+        int maxHours = filter.maxHours() == null ? Integer.MAX_VALUE : filter.maxHours();
+
+        List<AnalyticsQuery.Dimension> dimensions = query.groupBy();
+        int[][] columns = new int[dimensions.size()][];
+        int[] cardinalities = new int[dimensions.size()];
+        long groupSpace = 1;
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] = column(dimensions.get(i));
+            cardinalities[i] = Math.max(1, cardinality(dimensions.get(i)));
+            if (groupSpace > Long.MAX_VALUE / cardinalities[i]) {
+                throw new IllegalArgumentException("Too many groups for " + dimensions);
+            }
+            groupSpace *= cardinalities[i];
+        }
+        Groups groups = groupSpace <= DENSE_GROUP_LIMIT ? new Groups((int) groupSpace, false) : new Groups(64, true);
+        Accumulator salary = null;
+        Accumulator bonus = null;
+        Accumulator hours = null;
+        for (AnalyticsQuery.Metric metric : query.metrics()) {
+            if (metric.measure() == AnalyticsQuery.Measure.SALARY && salary == null) {
+                salary = groups.accumulator();
+            } else if (metric.measure() == AnalyticsQuery.Measure.BONUS && bonus == null) {
+                bonus = groups.accumulator();
+            } else if (metric.measure() == AnalyticsQuery.Measure.HOURS_PER_WEEK && hours == null) {
+                hours = groups.accumulator();
+            }
+        }
+
+        int matched = 0;
+        for (int r = from; r < to; r++) {
+            if ((typeCode >= 0 && type[r] != typeCode)
+                    || (titleCode >= 0 && jobTitle[r] != titleCode)
+                    || hireEpochDay[r] < hiredFrom || hireEpochDay[r] > hiredTo
+                    || salaryCents[r] < minSalary || salaryCents[r] > maxSalary
+                    || hoursPerWeek[r] < minHours || hoursPerWeek[r] > maxHours) {
+                continue;
+            }
+            long key = 0;
+            for (int i = 0; i < columns.length; i++) {
+                key = key * cardinalities[i] + columns[i][r];
+            }
+            int slot = groups.slot(key);
+            if (salary != null) {
+                salary.add(slot, salaryCents[r]);
+            }
+            if (bonus != null) {
+                bonus.add(slot, bonusCents[r]);
+            }
+            if (hours != null) {
+                hours.add(slot, hoursPerWeek[r]);
+            }
+            matched++;
+        }
+
+        List<AnalyticsResult.Group> result = new ArrayList<>();
+        for (int slot : groups.slotsInKeyOrder()) {
+            Map<String, Object> key = new LinkedHashMap<>();
+            long remaining = groups.keyOf(slot);
+            Object[] labels = new Object[columns.length];
+            for (int i = columns.length - 1; i >= 0; i--) {
+                labels[i] = label(dimensions.get(i), (int) (remaining % cardinalities[i]));
+                remaining /= cardinalities[i];
+            }
+            for (int i = 0; i < columns.length; i++) {
+                key.put(dimensions.get(i).getParam(), labels[i]);
+            }
+            Map<String, Object> metrics = new LinkedHashMap<>();
+            long count = groups.count[slot];
+            for (AnalyticsQuery.Metric metric : query.metrics()) {
+                Accumulator values = metric.measure() == null ? null : switch (metric.measure()) {
+                    case SALARY -> salary;
+                    case BONUS -> bonus;
+                    case HOURS_PER_WEEK -> hours;
+                };
+                metrics.put(metric.label(), value(metric, values, slot, count));
+            }
+            result.add(new AnalyticsResult.Group(key, metrics));
+        }
+        return new AnalyticsResult(version, Math.max(0, to - from), matched, result);
+    }
+
+    private int[] column(AnalyticsQuery.Dimension dimension) {
+        return switch (dimension) {
+            case COMPANY -> company;
+            case DEPARTMENT -> department;
+            case TYPE -> type;
+            case JOB_TITLE -> jobTitle;
+            case HIRE_YEAR -> hireYear;
+            case HOURS_PER_WEEK -> hoursPerWeek;
+        };
+    }
+
+    private int cardinality(AnalyticsQuery.Dimension dimension) {
+        return switch (dimension) {
+            case COMPANY -> companyIds.length;
+            case DEPARTMENT -> departmentIds.length;
+            case TYPE -> TYPES.length;
+            case JOB_TITLE -> jobTitles.length;
+            case HIRE_YEAR -> hireYears;
+            case HOURS_PER_WEEK -> maxHours + 1;
+        };
+    }
+
+    private Object label(AnalyticsQuery.Dimension dimension, int code) {
+        return switch (dimension) {
+            case COMPANY -> companyIds[code];
+            case DEPARTMENT -> departmentIds[code];
+            case TYPE -> TYPES[code];
+            case JOB_TITLE -> jobTitles[code];
+            case HIRE_YEAR -> minHireYear + code;
+            case HOURS_PER_WEEK -> code;
+        };
+    }
+
+    private static Object value(AnalyticsQuery.Metric metric, Accumulator values, int slot, long count) {
+        if (metric.aggregate() == AnalyticsQuery.Aggregate.COUNT) {
+            return count;
+        }
+        int scale = metric.measure().isMoney() ? 2 : 0;
+        long raw = switch (metric.aggregate()) {
+            case SUM, AVG -> values.sum[slot];
+            case MIN -> values.min[slot];
+            case MAX -> values.max[slot];
+            case COUNT -> count;
+        };
+        if (metric.aggregate() == AnalyticsQuery.Aggregate.AVG) {
+            return BigDecimal.valueOf(raw, scale).divide(BigDecimal.valueOf(count), 2, RoundingMode.HALF_UP);
+        }
+        return scale == 0 ? (Object) raw : BigDecimal.valueOf(raw, scale);
+    }
+
+    private static long toCents(BigDecimal amount, RoundingMode rounding) {
+        try {
+            return amount.movePointRight(2).setScale(0, rounding).longValueExact();
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Salary bound out of range: " + amount);
+        }
+    }
+
+    /**
+     * Group slots with their row counts. Dense groups use the combined key as the slot; sparse
+     * ones assign slots in order of first appearance through an open-addressing key table.
+     */
+    private static final class Groups {
+
+        private final boolean sparse;
+        private final List<Accumulator> accumulators = new ArrayList<>(3);
+        private long[] count;
+        private long[] keys;
+        private int size;
+        private long[] table;
+        private int[] tableSlots;
+
+        Groups(int capacity, boolean sparse) {
+            this.sparse = sparse;
+            this.count = new long[capacity];
+            if (sparse) {
+                keys = new long[capacity];
+                table = new long[capacity * 2];
+                tableSlots = new int[capacity * 2];
+                Arrays.fill(table, -1);
+            }
+        }
+
+        Accumulator accumulator() {
+            Accumulator accumulator = new Accumulator(count.length);
+            accumulators.add(accumulator);
+            return accumulator;
+        }
+
+        int slot(long key) {
+            if (!sparse) {
+                count[(int) key]++;
+                return (int) key;
+            }
+            int mask = table.length - 1;
+            int at = Long.hashCode(key * 0x9E3779B97F4A7C15L) & mask;
+            while (table[at] != -1) {
+                if (table[at] == key) {
+                    count[tableSlots[at]]++;
+                    return tableSlots[at];
+                }
+                at = (at + 1) & mask;
+            }
+            if (size == count.length) {
+                grow();
+                return slot(key);
+            }
+            table[at] = key;
+            tableSlots[at] = size;
+            keys[size] = key;
+            count[size]++;
+            return size++;
+        }
+
+        private void grow() {
+            int capacity = count.length * 2;
+            count = Arrays.copyOf(count, capacity);
+            keys = Arrays.copyOf(keys, capacity);
+            for (Accumulator accumulator : accumulators) {
+                accumulator.grow(capacity);
+            }
+            table = new long[capacity * 2];
+            tableSlots = new int[capacity * 2];
+            Arrays.fill(table, -1);
+            int mask = table.length - 1;
+            for (int slot = 0; slot < size; slot++) {
+                int at = Long.hashCode(keys[slot] * 0x9E3779B97F4A7C15L) & mask;
+                while (table[at] != -1) {
+                    at = (at + 1) & mask;
+                }
+                table[at] = keys[slot];
+                tableSlots[at] = slot;
+            }
+        }
+
+        long keyOf(int slot) {
+            return sparse ? keys[slot] : slot;
+        }
+
+        int[] slotsInKeyOrder() {
+            if (!sparse) {
+                int live = 0;
+                int[] slots = new int[count.length];
+                for (int slot = 0; slot < count.length; slot++) {
+                    if (count[slot] > 0) {
+                        slots[live++] = slot;
+                    }
+                }
+                return Arrays.copyOf(slots, live);
+            }
+            Integer[] order = new Integer[size];
+            for (int slot = 0; slot < size; slot++) {
+                order[slot] = slot;
+            }
+            Arrays.sort(order, Comparator.comparingLong(slot -> keys[slot]));
+            return Arrays.stream(order).mapToInt(Integer::intValue).toArray();
+        }
+    }
+
+    private static final class Accumulator {
+
+        private long[] sum;
+        private long[] min;
+        private long[] max;
+
+        Accumulator(int capacity) {
+            sum = new long[capacity];
+            min = new long[capacity];
+            max = new long[capacity];
+            Arrays.fill(min, Long.MAX_VALUE);
+            Arrays.fill(max, Long.MIN_VALUE);
+        }
+
+        void add(int slot, long value) {
+            sum[slot] += value;
+            if (value < min[slot]) {
+                min[slot] = value;
+            }
+            if (value > max[slot]) {
+                max[slot] = value;
+            }
+        }
+
+        void grow(int capacity) {
+            int previous = sum.length;
+            sum = Arrays.copyOf(sum, capacity);
+            min = Arrays.copyOf(min, capacity);
+            max = Arrays.copyOf(max, capacity);
+            Arrays.fill(min, previous, capacity, Long.MAX_VALUE);
+            Arrays.fill(max, previous, capacity, Long.MIN_VALUE);
+        }
+    }
+
+    private static final class Rows {
+
+        final long[] employeeId;
+        final int[] company;
+        final int[] department;
+        final int[] type;
+        final int[] jobTitle;
+        final long[] salaryCents;
+        final int[] hireEpochDay;
+        final int[] hireYear;
+        final int[] hoursPerWeek;
+        final long[] bonusCents;
+
+        Rows(int size) {
+            employeeId = new long[size];
+            company = new int[size];
+            department = new int[size];
+            type = new int[size];
+            jobTitle = new int[size];
+            salaryCents = new long[size];
+            hireEpochDay = new int[size];
+            hireYear = new int[size];
+            hoursPerWeek = new int[size];
+            bonusCents = new long[size];
+        }
+    }
+
+    /**
+     * Collects companies, departments and employees in any order. Employees of unknown
+     * departments and departments of unknown companies are dropped.
+     */
+    public static final class Builder {
+
+        private long[] companyIds = new long[16];
+        private int companyCount;
+        private long[] departmentIds = new long[16];
+        private long[] departmentCompanyIds = new long[16];
+        private int departmentCount;
+
+        private long[] rowIds = new long[64];
+        private long[] rowDepartmentIds = new long[64];
+        private int[] rowType = new int[64];
+        private int[] rowTitle = new int[64];
+        private long[] rowSalaryCents = new long[64];
+        private int[] rowHireEpochDay = new int[64];
+        private int[] rowHours = new int[64];
+        private long[] rowBonusCents = new long[64];
+        private int rowCount;
+        private final Map<String, Integer> titleCodes = new HashMap<>();
+        private final List<String> titles = new ArrayList<>();
+
+        public Builder addCompany(long id) {
+            if (companyCount == companyIds.length) {
+                companyIds = Arrays.copyOf(companyIds, companyCount * 2);
+            }
+            companyIds[companyCount++] = id;
+            return this;
+        }
+
+        public Builder addDepartment(long id, long companyId) {
+            if (departmentCount == departmentIds.length) {
+                departmentIds = Arrays.copyOf(departmentIds, departmentCount * 2);
+                departmentCompanyIds = Arrays.copyOf(departmentCompanyIds, departmentCount * 2);
+            }
+            departmentIds[departmentCount] = id;
+            departmentCompanyIds[departmentCount] = companyId;
+            departmentCount++;
+            return this;
+        }
+
+        /**
+         * {@code hoursPerWeek} is 0 for full-time and {@code bonusCents} 0 for part-time employees.
+         */
+        public Builder addEmployee(long id, long departmentId, boolean partTime, String jobTitle, long salaryCents,
+                                   LocalDate hireDate, int hoursPerWeek, long bonusCents) {
+            if (rowCount == rowType.length) {
+                growRows(rowCount * 2);
+            }
+            rowIds[rowCount] = id;
+            rowDepartmentIds[rowCount] = departmentId;
+            rowType[rowCount] = partTime ? PART_TIME : FULL_TIME;
+            rowTitle[rowCount] = jobTitle == null ? -1 : titleCodes.computeIfAbsent(jobTitle, title -> {
+                titles.add(title);
+                return titles.size() - 1;
+            });
+            rowSalaryCents[rowCount] = salaryCents;
+            rowHireEpochDay[rowCount] = Math.toIntExact(hireDate.toEpochDay());
+            rowHours[rowCount] = Math.max(0, hoursPerWeek);
+            rowBonusCents[rowCount] = bonusCents;
+            rowCount++;
+            return this;
+        }
+
+        private void growRows(int capacity) {
+            rowIds = Arrays.copyOf(rowIds, capacity);
+            rowDepartmentIds = Arrays.copyOf(rowDepartmentIds, capacity);
+            rowType = Arrays.copyOf(rowType, capacity);
+            rowTitle = Arrays.copyOf(rowTitle, capacity);
+            rowSalaryCents = Arrays.copyOf(rowSalaryCents, capacity);
+            rowHireEpochDay = Arrays.copyOf(rowHireEpochDay, capacity);
+            rowHours = Arrays.copyOf(rowHours, capacity);
+            rowBonusCents = Arrays.copyOf(rowBonusCents, capacity);
+        }
+
+        public EmployeeColumns build(long version) {
+            long[] companies = Arrays.copyOf(companyIds, companyCount);
+            Arrays.sort(companies);
+
+            // Departments grouped by company index, then id
+            int[] departmentCompany = new int[departmentCount];
+            List<Integer> live = new ArrayList<>(departmentCount);
+            for (int d = 0; d < departmentCount; d++) {
+                departmentCompany[d] = Arrays.binarySearch(companies, departmentCompanyIds[d]);
+                if (departmentCompany[d] >= 0) {
+                    live.add(d);
+                }
+            }
+            live.sort(Comparator.<Integer>comparingInt(d -> departmentCompany[d]).thenComparingLong(d -> departmentIds[d]));
+            long[] departments = new long[live.size()];
+            int[] departmentCompanyIndex = new int[live.size()];
+            int[] companyDepartmentStart = new int[companies.length + 1];
+            for (int d = 0; d < departments.length; d++) {
+                departments[d] = departmentIds[live.get(d)];
+                departmentCompanyIndex[d] = departmentCompany[live.get(d)];
+                companyDepartmentStart[departmentCompanyIndex[d] + 1]++;
+            }
+            prefixSum(companyDepartmentStart);
+
+            // Job titles sorted, code 0 reserved for none
+            String[] sortedTitles = titles.toArray(new String[0]);
+            Arrays.sort(sortedTitles);
+            String[] jobTitles = new String[sortedTitles.length + 1];
+            System.arraycopy(sortedTitles, 0, jobTitles, 1, sortedTitles.length);
+            int[] titleRemap = new int[titles.size()];
+            for (int t = 0; t < titles.size(); t++) {
+                titleRemap[t] = Arrays.binarySearch(jobTitles, 1, jobTitles.length, titles.get(t));
+            }
+
+            // Department ids resolve to indexes by binary search over the sorted ids
+            long[] departmentIdsSorted = departments.clone();
+            Arrays.sort(departmentIdsSorted);
+            int[] departmentIndexBySortedId = new int[departments.length];
+            for (int d = 0; d < departments.length; d++) {
+                departmentIndexBySortedId[Arrays.binarySearch(departmentIdsSorted, departments[d])] = d;
+            }
+
+            // Rows counted per department, then placed by a counting sort
+            int[] rowDepartment = new int[rowCount];
+            int[] departmentRowStart = new int[departments.length + 1];
+            for (int r = 0; r < rowCount; r++) {
+                int sorted = Arrays.binarySearch(departmentIdsSorted, rowDepartmentIds[r]);
+                rowDepartment[r] = sorted < 0 ? -1 : departmentIndexBySortedId[sorted];
+                if (rowDepartment[r] >= 0) {
+                    departmentRowStart[rowDepartment[r] + 1]++;
+                }
+            }
+            prefixSum(departmentRowStart);
+            Rows rows = new Rows(departmentRowStart[departments.length]);
+            int[] cursor = Arrays.copyOf(departmentRowStart, departments.length);
+            int minYear = Integer.MAX_VALUE;
+            int maxYear = Integer.MIN_VALUE;
+            int maxHours = 0;
+            for (int r = 0; r < rowCount; r++) {
+                int d = rowDepartment[r];
+                if (d < 0) {
+                    continue;
+                }
+                int slot = cursor[d]++;
+                int year = LocalDate.ofEpochDay(rowHireEpochDay[r]).getYear();
+                rows.employeeId[slot] = rowIds[r];
+                rows.company[slot] = departmentCompanyIndex[d];
+                rows.department[slot] = d;
+                rows.type[slot] = rowType[r];
+                rows.jobTitle[slot] = rowTitle[r] < 0 ? 0 : titleRemap[rowTitle[r]];
+                rows.salaryCents[slot] = rowSalaryCents[r];
+                rows.hireEpochDay[slot] = rowHireEpochDay[r];
+                rows.hireYear[slot] = year;
+                rows.hoursPerWeek[slot] = rowHours[r];
+                rows.bonusCents[slot] = rowBonusCents[r];
+                minYear = Math.min(minYear, year);
+                maxYear = Math.max(maxYear, year);
+                maxHours = Math.max(maxHours, rowHours[r]);
+            }
+            if (rows.company.length == 0) {
+                minYear = maxYear = 0;
+            }
+            // Hire years are stored as offsets so they can serve as group codes
+            for (int slot = 0; slot < rows.hireYear.length; slot++) {
+                rows.hireYear[slot] -= minYear;
+            }
+            return new EmployeeColumns(version, companies, companyDepartmentStart, departments, departmentRowStart,
+                    departmentIdsSorted, departmentIndexBySortedId, jobTitles, minYear, maxYear - minYear + 1,
+                    maxHours, rows);
+        }
+
+        private static void prefixSum(int[] counts) {
+            for (int i = 1; i < counts.length; i++) {
+                counts[i] += counts[i - 1];
+            }
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.company.cache;
+
+import com.company.entity.Company;
+import com.company.entity.Department;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+/**
+ * Region names of the Hibernate second-level cache and explicit invalidation for writes that
+ * bypass Hibernate (JDBC batches, native statements). Writes through the entity manager keep
+ * the cache consistent on their own.
+ */
+@Component
+public class OrgCache {
+
+    public static final String COMPANY_REGION = "company";
+    public static final String COMPANY_DEPARTMENTS_REGION = "company-departments";
+    public static final String COMPANY_QUERIES_REGION = "company-queries";
+    public static final String DEPARTMENT_REGION = "department";
+    public static final String DEPARTMENT_QUERIES_REGION = "department-queries";
+    public static final String DEFAULT_QUERIES_REGION = "default-query-results-region";
+    public static final String TIMESTAMPS_REGION = "default-update-timestamps-region";
+
+    public static final List<String> REGIONS = List.of(COMPANY_REGION, COMPANY_DEPARTMENTS_REGION, COMPANY_QUERIES_REGION,
+            DEPARTMENT_REGION, DEPARTMENT_QUERIES_REGION, DEFAULT_QUERIES_REGION, TIMESTAMPS_REGION);
+
+    private static final String COMPANY_DEPARTMENTS_ROLE = Company.class.getName() + ".departments";
+
+    private final Cache cache;
+
+    @Autowired
+    public OrgCache(EntityManagerFactory entityManagerFactory) {
+        this.cache = entityManagerFactory.getCache().unwrap(Cache.class);
+    }
+
+    /**
+     * Drops the cached department list of a company after departments were inserted or deleted
+     * outside Hibernate. Runs now and again after the surrounding transaction completes, so a
+     * concurrent reader cannot re-cache the pre-commit list.
+     */
+    public void evictDepartmentsOfCompany(Long companyId) {
+        Runnable evict = () -> {
+            cache.evictCollectionData(COMPANY_DEPARTMENTS_ROLE, companyId);
+            cache.evictQueryRegion(DEPARTMENT_QUERIES_REGION);
+        };
+        evict.run();
+        afterCompletion(evict);
+    }
+
+    /**
+     * Drops a department deleted outside Hibernate, along with its company's department list.
+     */
+    public void evictDepartment(Long departmentId, Long companyId) {
+        Runnable evict = () -> {
+            cache.evictEntityData(Department.class, departmentId);
+            cache.evictCollectionData(COMPANY_DEPARTMENTS_ROLE, companyId);
+            cache.evictQueryRegion(DEPARTMENT_QUERIES_REGION);
+        };
+        evict.run();
+        afterCompletion(evict);
+    }
+
+    /**
+     * Drops a company deleted outside Hibernate. Its departments are evicted one by one as
+     * they are deleted.
+     */
+    public void evictCompany(Long companyId) {
+        Runnable evict = () -> {
+            cache.evictEntityData(Company.class, companyId);
+            cache.evictCollectionData(COMPANY_DEPARTMENTS_ROLE, companyId);
+            cache.evictQueryRegion(COMPANY_QUERIES_REGION);
+        };
+        evict.run();
+        afterCompletion(evict);
+    }
+
+    private static void afterCompletion(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    action.run();
+                }
+            });
+        }
+    }
+}
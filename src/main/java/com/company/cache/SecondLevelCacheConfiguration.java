@@ -0,0 +1,28 @@
+package com.company.cache;
+
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+
+/**
+ * Publishes per-region {@code cache.gets}, {@code cache.puts} and {@code cache.evictions} meters
+ * for the second-level cache. Hibernate's own {@code hibernate.second.level.cache.*} meters
+ * cover hits and misses as seen by the session.
+ */
+@Configuration(proxyBeanMethods = false)
+public class SecondLevelCacheConfiguration {
+
+    @Bean
+    public MeterBinder secondLevelCacheMetrics() {
+        return registry -> {
+            // Same default-URI manager that Hibernate's JCache region factory resolves
+            CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName()).getCacheManager();
+            OrgCache.REGIONS.forEach(region -> JCacheMetrics.monitor(registry, cacheManager.getCache(region)));
+        };
+    }
+}
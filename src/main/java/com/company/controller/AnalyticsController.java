@@ -0,0 +1,62 @@
+package com.company.controller;
+
+import com.company.analytics.AnalyticsQuery;
+import com.company.dto.AnalyticsResult;
+import com.company.service.EmployeeAnalyticsService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+/**
+ * Filter, group-by and aggregate over all employees, served from the in-memory column store,
+ * e.g. {@code ?companyId=1&groupBy=department,jobTitle&metrics=count,avg:salary}. Returns 503
+ * when the store is disabled ({@code company.analytics.enabled=false}) and 400 for unknown
+ * dimensions, metrics or malformed filters.
+ */
+@RestController
+@RequestMapping("/api/analytics")
+@CrossOrigin(origins = "*")
+public class AnalyticsController {
+
+    private final EmployeeAnalyticsService employeeAnalyticsService;
+
+    @Autowired
+    public AnalyticsController(EmployeeAnalyticsService employeeAnalyticsService) {
+        this.employeeAnalyticsService = employeeAnalyticsService;
+    }
+
+    @GetMapping("/employees")
+    public ResponseEntity<AnalyticsResult> analyzeEmployees(
+            @RequestParam(defaultValue = "") List<String> groupBy,
+            @RequestParam(defaultValue = "count") List<String> metrics,
+            @RequestParam(required = false) Long companyId,
+            @RequestParam(required = false) Long departmentId,
+            @RequestParam(required = false) String type,
+            @RequestParam(required = false) String jobTitle,
+            @RequestParam(required = false) String hiredFrom,
+            @RequestParam(required = false) String hiredTo,
+            @RequestParam(required = false) BigDecimal minSalary,
+            @RequestParam(required = false) BigDecimal maxSalary,
+            @RequestParam(required = false) Integer minHours,
+            @RequestParam(required = false) Integer maxHours) {
+        try {
+            AnalyticsQuery.Filter filter = new AnalyticsQuery.Filter(companyId, departmentId, type, jobTitle,
+                    hiredFrom != null ? LocalDate.parse(hiredFrom) : null, hiredTo != null ? LocalDate.parse(hiredTo) : null,
+                    minSalary, maxSalary, minHours, maxHours);
+            AnalyticsQuery query = new AnalyticsQuery(filter,
+                    groupBy.stream().filter(param -> !param.isBlank()).map(AnalyticsQuery.Dimension::fromParam).toList(),
+                    metrics.stream().map(AnalyticsQuery.Metric::fromParam).toList());
+            return ResponseEntity.ok(employeeAnalyticsService.query(query));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
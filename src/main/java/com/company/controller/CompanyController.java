@@ -1,12 +1,31 @@
 package com.company.controller;
 
+import com.company.dto.BulkResult;
+import com.company.dto.CompanyDashboard;
+import com.company.dto.CompanyPayroll;
+import com.company.dto.CompanyView;
+import com.company.dto.DeletionJobStatus;
+import com.company.dto.DepartmentView;
+import com.company.dto.OrgUnitStats;
+import com.company.dto.SearchHit;
+import com.company.dto.StatsReconcileReport;
 import com.company.entity.Company;
 import com.company.entity.Department;
+import com.company.service.BulkImportService;
+import com.company.service.CompanyDashboardService;
 import com.company.service.CompanyService;
+import com.company.service.CompanyTreeService;
+import com.company.service.OrgDeletionService;
+import com.company.service.OrgStatsService;
+import com.company.service.PayrollService;
+import com.company.pagination.CursorPage;
+import com.company.pagination.SortKey;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import jakarta.validation.Valid;
 import java.util.List;
@@ -17,54 +36,111 @@ import java.util.List;
 public class CompanyController {
 
     private final CompanyService companyService;
+    private final BulkImportService bulkImportService;
+    private final OrgStatsService orgStatsService;
+    private final CompanyTreeService companyTreeService;
+    private final CompanyDashboardService companyDashboardService;
+    private final PayrollService payrollService;
+    private final OrgDeletionService orgDeletionService;
 
     @Autowired
-    public CompanyController(CompanyService companyService) {
+    public CompanyController(CompanyService companyService, BulkImportService bulkImportService,
+                             OrgStatsService orgStatsService, CompanyTreeService companyTreeService,
+                             CompanyDashboardService companyDashboardService, PayrollService payrollService,
+                             OrgDeletionService orgDeletionService) {
         this.companyService = companyService;
+        this.bulkImportService = bulkImportService;
+        this.orgStatsService = orgStatsService;
+        this.companyTreeService = companyTreeService;
+        this.companyDashboardService = companyDashboardService;
+        this.payrollService = payrollService;
+        this.orgDeletionService = orgDeletionService;
     }
 
     // Company CRUD endpoints
     @PostMapping
-    public ResponseEntity<Company> createCompany(@Valid @RequestBody Company company) {
-        Company createdCompany = companyService.createCompany(company);
+    public ResponseEntity<CompanyView> createCompany(@Valid @RequestBody Company company) {
+        CompanyView createdCompany = CompanyView.from(companyService.createCompany(company));
         return new ResponseEntity<>(createdCompany, HttpStatus.CREATED);
     }
 
     @GetMapping
-    public ResponseEntity<List<Company>> getAllCompanies() {
-        List<Company> companies = companyService.getAllCompanies();
+    public ResponseEntity<List<CompanyView>> getAllCompanies() {
+        List<CompanyView> companies = companyService.getAllCompanies().stream().map(CompanyView::from).toList();
         return ResponseEntity.ok(companies);
     }
 
+    @GetMapping(params = "cursor")
+    public ResponseEntity<CursorPage<CompanyView>> getCompaniesPage(
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "id") String sortKey,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            return ResponseEntity.ok(companyService.getCompaniesPage(cursor, SortKey.fromParam(sortKey), limit).map(CompanyView::from));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @GetMapping("/{id}")
-    public ResponseEntity<Company> getCompanyById(@PathVariable Long id) {
+    public ResponseEntity<CompanyView> getCompanyById(@PathVariable Long id) {
         return companyService.getCompanyById(id)
+                .map(CompanyView::from)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/{id}/tree")
+    public ResponseEntity<StreamingResponseBody> getCompanyTree(@PathVariable Long id) {
+        return companyTreeService.getCompanyTree(id)
+                .map(tree -> ResponseEntity.ok()
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body((StreamingResponseBody) out -> companyTreeService.writeCompanyTree(tree, out)))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/{id}/dashboard")
+    public ResponseEntity<CompanyDashboard> getCompanyDashboard(@PathVariable Long id) {
+        return companyDashboardService.getDashboard(id)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
 
     @GetMapping("/name/{name}")
-    public ResponseEntity<Company> getCompanyByName(@PathVariable String name) {
+    public ResponseEntity<CompanyView> getCompanyByName(@PathVariable String name) {
         return companyService.getCompanyByName(name)
+                .map(CompanyView::from)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<Company> updateCompany(@PathVariable Long id, @Valid @RequestBody Company companyDetails) {
+    public ResponseEntity<CompanyView> updateCompany(@PathVariable Long id, @Valid @RequestBody Company companyDetails) {
         try {
-            Company updatedCompany = companyService.updateCompany(id, companyDetails);
+            CompanyView updatedCompany = CompanyView.from(companyService.updateCompany(id, companyDetails));
             return ResponseEntity.ok(updatedCompany);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.notFound().build();
         }
     }
 
+    // Same chunked delete as /cascade, run to completion; 202 when a job for this company is already running
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteCompany(@PathVariable Long id) {
         try {
-            companyService.deleteCompany(id);
-            return ResponseEntity.noContent().build();
+            DeletionJobStatus job = orgDeletionService.deleteCompany(id, false);
+            return job.isFinished() ? ResponseEntity.noContent().build() : ResponseEntity.accepted().build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    // Chunked set-based delete for large companies; poll /api/deletion-jobs/{jobId} when run in the background
+    @DeleteMapping("/{id}/cascade")
+    public ResponseEntity<DeletionJobStatus> deleteCompanyInChunks(@PathVariable Long id,
+                                                                   @RequestParam(defaultValue = "false") boolean background) {
+        try {
+            return DeletionJobController.response(orgDeletionService.deleteCompany(id, background));
         } catch (IllegalArgumentException e) {
             return ResponseEntity.notFound().build();
         }
@@ -72,25 +148,35 @@ public class CompanyController {
 
     // Department endpoints
     @PostMapping("/{companyId}/departments")
-    public ResponseEntity<Department> addDepartmentToCompany(@PathVariable Long companyId, @Valid @RequestBody Department department) {
+    public ResponseEntity<DepartmentView> addDepartmentToCompany(@PathVariable Long companyId, @Valid @RequestBody Department department) {
         try {
-            Department createdDepartment = companyService.addDepartmentToCompany(companyId, department);
+            DepartmentView createdDepartment = DepartmentView.from(companyService.addDepartmentToCompany(companyId, department));
             return new ResponseEntity<>(createdDepartment, HttpStatus.CREATED);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().build();
         }
     }
 
+    @PostMapping("/{companyId}/departments/bulk")
+    public ResponseEntity<BulkResult> addDepartmentsToCompany(@PathVariable Long companyId, @RequestBody List<Department> departments) {
+        try {
+            BulkResult result = bulkImportService.createDepartments(companyId, departments);
+            return ResponseEntity.ok(result);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
     @GetMapping("/{companyId}/departments")
-    public ResponseEntity<List<Department>> getDepartmentsByCompanyId(@PathVariable Long companyId) {
-        List<Department> departments = companyService.getDepartmentsByCompanyId(companyId);
+    public ResponseEntity<List<DepartmentView>> getDepartmentsByCompanyId(@PathVariable Long companyId) {
+        List<DepartmentView> departments = companyService.getDepartmentsByCompanyId(companyId).stream().map(DepartmentView::from).toList();
         return ResponseEntity.ok(departments);
     }
 
     @GetMapping("/name/{companyName}/departments")
-    public ResponseEntity<List<Department>> getDepartmentsByCompanyName(@PathVariable String companyName) {
+    public ResponseEntity<List<DepartmentView>> getDepartmentsByCompanyName(@PathVariable String companyName) {
         try {
-            List<Department> departments = companyService.getDepartmentsByCompanyName(companyName);
+            List<DepartmentView> departments = companyService.getDepartmentsByCompanyName(companyName).stream().map(DepartmentView::from).toList();
             return ResponseEntity.ok(departments);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.notFound().build();
@@ -99,29 +185,58 @@ public class CompanyController {
 
     // Business logic endpoints
     @GetMapping("/industry/{industry}")
-    public ResponseEntity<List<Company>> getCompaniesByIndustry(@PathVariable String industry) {
-        List<Company> companies = companyService.getCompaniesByIndustry(industry);
+    public ResponseEntity<List<CompanyView>> getCompaniesByIndustry(@PathVariable String industry) {
+        List<CompanyView> companies = companyService.getCompaniesByIndustry(industry).stream().map(CompanyView::from).toList();
         return ResponseEntity.ok(companies);
     }
 
     @GetMapping("/search")
-    public ResponseEntity<List<Company>> searchCompaniesByName(@RequestParam String name) {
-        List<Company> companies = companyService.searchCompaniesByName(name);
+    public ResponseEntity<List<CompanyView>> searchCompaniesByName(@RequestParam String name) {
+        List<CompanyView> companies = companyService.searchCompaniesByName(name).stream().map(CompanyView::from).toList();
         return ResponseEntity.ok(companies);
     }
 
+    @GetMapping(value = "/search", params = "q")
+    public ResponseEntity<List<SearchHit>> searchCompanies(
+            @RequestParam String q, @RequestParam(defaultValue = "20") int limit) {
+        try {
+            return ResponseEntity.ok(companyService.searchCompanies(q, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @GetMapping("/with-min-departments/{minDepartments}")
-    public ResponseEntity<List<Company>> getCompaniesWithMinimumDepartments(@PathVariable int minDepartments) {
-        List<Company> companies = companyService.getCompaniesWithMinimumDepartments(minDepartments);
+    public ResponseEntity<List<CompanyView>> getCompaniesWithMinimumDepartments(@PathVariable int minDepartments) {
+        List<CompanyView> companies = companyService.getCompaniesWithMinimumDepartments(minDepartments).stream().map(CompanyView::from).toList();
         return ResponseEntity.ok(companies);
     }
 
     @GetMapping("/with-min-employees/{minEmployees}")
-    public ResponseEntity<List<Company>> getCompaniesWithMinimumEmployees(@PathVariable int minEmployees) {
-        List<Company> companies = companyService.getCompaniesWithMinimumEmployees(minEmployees);
+    public ResponseEntity<List<CompanyView>> getCompaniesWithMinimumEmployees(@PathVariable int minEmployees) {
+        List<CompanyView> companies = companyService.getCompaniesWithMinimumEmployees(minEmployees).stream().map(CompanyView::from).toList();
         return ResponseEntity.ok(companies);
     }
 
+    @GetMapping("/{id}/stats")
+    public ResponseEntity<OrgUnitStats> getCompanyStats(@PathVariable Long id) {
+        return orgStatsService.getCompanyStats(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/{id}/payroll")
+    public ResponseEntity<CompanyPayroll> getCompanyPayroll(@PathVariable Long id) {
+        return payrollService.getCompanyPayroll(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @PostMapping("/stats/reconcile")
+    public ResponseEntity<StatsReconcileReport> reconcileStats() {
+        return ResponseEntity.ok(orgStatsService.reconcile());
+    }
+
     // Health check endpoint
     @GetMapping("/health")
     public ResponseEntity<String> health() {
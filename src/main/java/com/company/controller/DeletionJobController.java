@@ -0,0 +1,41 @@
+package com.company.controller;
+
+import com.company.dto.DeletionJobStatus;
+import com.company.service.OrgDeletionService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+
+/**
+ * Progress of chunked cascading deletes started through the {@code /cascade} endpoints of
+ * companies and departments. Finished jobs are forgotten after the configured retention.
+ */
+@RestController
+@RequestMapping("/api/deletion-jobs")
+@CrossOrigin(origins = "*")
+public class DeletionJobController {
+
+    private final OrgDeletionService orgDeletionService;
+
+    @Autowired
+    public DeletionJobController(OrgDeletionService orgDeletionService) {
+        this.orgDeletionService = orgDeletionService;
+    }
+
+    @GetMapping("/{jobId}")
+    public ResponseEntity<DeletionJobStatus> getJob(@PathVariable String jobId) {
+        return orgDeletionService.getJob(jobId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    // 200 with the final status when the job ran in the request, 202 pointing here otherwise
+    static ResponseEntity<DeletionJobStatus> response(DeletionJobStatus job) {
+        if (job.isFinished()) {
+            return ResponseEntity.ok(job);
+        }
+        return ResponseEntity.accepted().location(URI.create("/api/deletion-jobs/" + job.id())).body(job);
+    }
+}
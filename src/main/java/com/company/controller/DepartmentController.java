@@ -1,8 +1,20 @@
 package com.company.controller;
 
+import com.company.dto.DeletionJobStatus;
+import com.company.dto.DepartmentView;
+import com.company.dto.EmployeeView;
+import com.company.dto.OrgUnitStats;
+import com.company.dto.PayrollTotals;
+import com.company.dto.SearchHit;
 import com.company.entity.Department;
 import com.company.entity.Employee;
 import com.company.service.DepartmentService;
+import com.company.service.OrgChartService;
+import com.company.service.OrgDeletionService;
+import com.company.service.OrgStatsService;
+import com.company.service.PayrollService;
+import com.company.pagination.CursorPage;
+import com.company.pagination.SortKey;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -17,17 +29,27 @@ import java.util.List;
 public class DepartmentController {
 
     private final DepartmentService departmentService;
+    private final OrgStatsService orgStatsService;
+    private final PayrollService payrollService;
+    private final OrgDeletionService orgDeletionService;
+    private final OrgChartService orgChartService;
 
     @Autowired
-    public DepartmentController(DepartmentService departmentService) {
+    public DepartmentController(DepartmentService departmentService, OrgStatsService orgStatsService,
+                                PayrollService payrollService, OrgDeletionService orgDeletionService,
+                                OrgChartService orgChartService) {
         this.departmentService = departmentService;
+        this.orgStatsService = orgStatsService;
+        this.payrollService = payrollService;
+        this.orgDeletionService = orgDeletionService;
+        this.orgChartService = orgChartService;
     }
 
     // Department CRUD endpoints
     @PostMapping
-    public ResponseEntity<Department> createDepartment(@Valid @RequestBody Department department) {
+    public ResponseEntity<DepartmentView> createDepartment(@Valid @RequestBody Department department) {
         try {
-            Department createdDepartment = departmentService.createDepartment(department);
+            DepartmentView createdDepartment = DepartmentView.from(departmentService.createDepartment(department));
             return new ResponseEntity<>(createdDepartment, HttpStatus.CREATED);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().build();
@@ -35,33 +57,59 @@ public class DepartmentController {
     }
 
     @GetMapping
-    public ResponseEntity<List<Department>> getAllDepartments() {
-        List<Department> departments = departmentService.getAllDepartments();
+    public ResponseEntity<List<DepartmentView>> getAllDepartments() {
+        List<DepartmentView> departments = departmentService.getAllDepartments().stream().map(DepartmentView::from).toList();
         return ResponseEntity.ok(departments);
     }
 
+    @GetMapping(params = "cursor")
+    public ResponseEntity<CursorPage<DepartmentView>> getDepartmentsPage(
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "id") String sortKey,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            return ResponseEntity.ok(departmentService.getDepartmentsPage(cursor, SortKey.fromParam(sortKey), limit).map(DepartmentView::from));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    // Served from the org-chart snapshot when it is enabled; a miss falls through to the database
     @GetMapping("/{id}")
-    public ResponseEntity<Department> getDepartmentById(@PathVariable Long id) {
-        return departmentService.getDepartmentById(id)
+    public ResponseEntity<DepartmentView> getDepartmentById(@PathVariable Long id) {
+        return orgChartService.currentSnapshot().flatMap(snapshot -> snapshot.findDepartmentView(id))
+                .or(() -> departmentService.getDepartmentById(id).map(DepartmentView::from))
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<Department> updateDepartment(@PathVariable Long id, @Valid @RequestBody Department departmentDetails) {
+    public ResponseEntity<DepartmentView> updateDepartment(@PathVariable Long id, @Valid @RequestBody Department departmentDetails) {
         try {
-            Department updatedDepartment = departmentService.updateDepartment(id, departmentDetails);
+            DepartmentView updatedDepartment = DepartmentView.from(departmentService.updateDepartment(id, departmentDetails));
             return ResponseEntity.ok(updatedDepartment);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.notFound().build();
         }
     }
 
+    // Same chunked delete as /cascade, run to completion; 202 when a job for this department is already running
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteDepartment(@PathVariable Long id) {
         try {
-            departmentService.deleteDepartment(id);
-            return ResponseEntity.noContent().build();
+            DeletionJobStatus job = orgDeletionService.deleteDepartment(id, false);
+            return job.isFinished() ? ResponseEntity.noContent().build() : ResponseEntity.accepted().build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    // Chunked set-based delete for large departments; poll /api/deletion-jobs/{jobId} when run in the background
+    @DeleteMapping("/{id}/cascade")
+    public ResponseEntity<DeletionJobStatus> deleteDepartmentInChunks(@PathVariable Long id,
+                                                                      @RequestParam(defaultValue = "false") boolean background) {
+        try {
+            return DeletionJobController.response(orgDeletionService.deleteDepartment(id, background));
         } catch (IllegalArgumentException e) {
             return ResponseEntity.notFound().build();
         }
@@ -69,49 +117,73 @@ public class DepartmentController {
 
     // Employee endpoints
     @PostMapping("/{departmentId}/employees")
-    public ResponseEntity<Employee> addEmployeeToDepartment(@PathVariable Long departmentId, @Valid @RequestBody Employee employee) {
+    public ResponseEntity<EmployeeView> addEmployeeToDepartment(@PathVariable Long departmentId, @Valid @RequestBody Employee employee) {
         try {
-            Employee createdEmployee = departmentService.addEmployeeToDepartment(departmentId, employee);
+            EmployeeView createdEmployee = EmployeeView.from(departmentService.addEmployeeToDepartment(departmentId, employee));
             return new ResponseEntity<>(createdEmployee, HttpStatus.CREATED);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().build();
         }
     }
 
+    @PutMapping("/{departmentId}/employees/{employeeId}")
+    public ResponseEntity<EmployeeView> moveEmployeeToDepartment(@PathVariable Long departmentId, @PathVariable Long employeeId) {
+        try {
+            EmployeeView movedEmployee = EmployeeView.from(departmentService.moveEmployeeToDepartment(departmentId, employeeId));
+            return ResponseEntity.ok(movedEmployee);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
     @GetMapping("/{departmentId}/employees")
-    public ResponseEntity<List<Employee>> getEmployeesByDepartmentId(@PathVariable Long departmentId) {
-        List<Employee> employees = departmentService.getEmployeesByDepartmentId(departmentId);
+    public ResponseEntity<List<EmployeeView>> getEmployeesByDepartmentId(@PathVariable Long departmentId) {
+        List<EmployeeView> employees = orgChartService.currentSnapshot()
+                .flatMap(snapshot -> snapshot.findEmployeeViewsOfDepartment(departmentId))
+                .orElseGet(() -> departmentService.getEmployeesByDepartmentId(departmentId).stream().map(EmployeeView::from).toList());
         return ResponseEntity.ok(employees);
     }
 
     // Business logic endpoints
     @GetMapping("/location/{location}")
-    public ResponseEntity<List<Department>> getDepartmentsByLocation(@PathVariable String location) {
-        List<Department> departments = departmentService.getDepartmentsByLocation(location);
+    public ResponseEntity<List<DepartmentView>> getDepartmentsByLocation(@PathVariable String location) {
+        List<DepartmentView> departments = departmentService.getDepartmentsByLocation(location).stream().map(DepartmentView::from).toList();
         return ResponseEntity.ok(departments);
     }
 
     @GetMapping("/search")
-    public ResponseEntity<List<Department>> searchDepartmentsByName(@RequestParam String name) {
-        List<Department> departments = departmentService.searchDepartmentsByName(name);
+    public ResponseEntity<List<DepartmentView>> searchDepartmentsByName(@RequestParam String name) {
+        List<DepartmentView> departments = departmentService.searchDepartmentsByName(name).stream().map(DepartmentView::from).toList();
         return ResponseEntity.ok(departments);
     }
 
+    @GetMapping(value = "/search", params = "q")
+    public ResponseEntity<List<SearchHit>> searchDepartments(
+            @RequestParam String q, @RequestParam(defaultValue = "20") int limit) {
+        try {
+            return ResponseEntity.ok(departmentService.searchDepartments(q, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @GetMapping("/with-min-employees/{minEmployees}")
-    public ResponseEntity<List<Department>> getDepartmentsWithMinimumEmployees(@PathVariable int minEmployees) {
-        List<Department> departments = departmentService.getDepartmentsWithMinimumEmployees(minEmployees);
+    public ResponseEntity<List<DepartmentView>> getDepartmentsWithMinimumEmployees(@PathVariable int minEmployees) {
+        List<DepartmentView> departments = departmentService.getDepartmentsWithMinimumEmployees(minEmployees).stream().map(DepartmentView::from).toList();
         return ResponseEntity.ok(departments);
     }
 
     @GetMapping("/ordered-by-employee-count")
-    public ResponseEntity<List<Department>> getDepartmentsOrderedByEmployeeCount() {
-        List<Department> departments = departmentService.getDepartmentsOrderedByEmployeeCount();
+    public ResponseEntity<List<DepartmentView>> getDepartmentsOrderedByEmployeeCount() {
+        List<DepartmentView> departments = departmentService.getDepartmentsOrderedByEmployeeCount().stream().map(DepartmentView::from).toList();
         return ResponseEntity.ok(departments);
     }
 
     @GetMapping("/company/{companyId}")
-    public ResponseEntity<List<Department>> getDepartmentsByCompanyId(@PathVariable Long companyId) {
-        List<Department> departments = departmentService.getDepartmentsByCompanyId(companyId);
+    public ResponseEntity<List<DepartmentView>> getDepartmentsByCompanyId(@PathVariable Long companyId) {
+        List<DepartmentView> departments = orgChartService.currentSnapshot()
+                .flatMap(snapshot -> snapshot.findDepartmentViewsOfCompany(companyId))
+                .orElseGet(() -> departmentService.getDepartmentsByCompanyId(companyId).stream().map(DepartmentView::from).toList());
         return ResponseEntity.ok(departments);
     }
 
@@ -121,6 +193,20 @@ public class DepartmentController {
         return ResponseEntity.ok(count);
     }
 
+    @GetMapping("/{id}/stats")
+    public ResponseEntity<OrgUnitStats> getDepartmentStats(@PathVariable Long id) {
+        return orgStatsService.getDepartmentStats(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/{id}/payroll")
+    public ResponseEntity<PayrollTotals> getDepartmentPayroll(@PathVariable Long id) {
+        return payrollService.getDepartmentPayroll(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
     // Health check endpoint
     @GetMapping("/health")
     public ResponseEntity<String> health() {
@@ -1,66 +1,171 @@
 package com.company.controller;
 
+import com.company.dto.BulkEmployeeRequest;
+import com.company.dto.BulkResult;
+import com.company.dto.BulkTransferRequest;
+import com.company.dto.BulkUpdateResult;
+import com.company.dto.EmployeeView;
+import com.company.dto.SalaryAdjustmentRequest;
+import com.company.dto.SalaryEntry;
+import com.company.dto.SearchHit;
 import com.company.entity.Employee;
 import com.company.entity.FullTimeEmployee;
 import com.company.entity.PartTimeEmployee;
+import com.company.index.SalaryIndex;
+import com.company.service.BulkImportService;
+import com.company.service.BulkUpdateService;
+import com.company.service.EmployeeExportService;
 import com.company.service.EmployeeService;
+import com.company.service.OrgChartService;
+import com.company.pagination.CursorPage;
+import com.company.pagination.SortKey;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/api/employees")
 @CrossOrigin(origins = "*")
 public class EmployeeController {
 
+    private static final int MAX_COUNT_KEYS = 1000;
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
     private final EmployeeService employeeService;
+    private final EmployeeExportService employeeExportService;
+    private final BulkImportService bulkImportService;
+    private final BulkUpdateService bulkUpdateService;
+    private final OrgChartService orgChartService;
 
     @Autowired
-    public EmployeeController(EmployeeService employeeService) {
+    public EmployeeController(EmployeeService employeeService, EmployeeExportService employeeExportService,
+                              BulkImportService bulkImportService, BulkUpdateService bulkUpdateService,
+                              OrgChartService orgChartService) {
         this.employeeService = employeeService;
+        this.employeeExportService = employeeExportService;
+        this.bulkImportService = bulkImportService;
+        this.bulkUpdateService = bulkUpdateService;
+        this.orgChartService = orgChartService;
     }
 
     // Employee CRUD endpoints
     @PostMapping
-    public ResponseEntity<Employee> createEmployee(@Valid @RequestBody Employee employee) {
+    public ResponseEntity<EmployeeView> createEmployee(@Valid @RequestBody Employee employee) {
         try {
-            Employee createdEmployee = employeeService.createEmployee(employee);
+            EmployeeView createdEmployee = EmployeeView.from(employeeService.createEmployee(employee));
             return new ResponseEntity<>(createdEmployee, HttpStatus.CREATED);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().build();
         }
     }
 
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkResult> createEmployees(@RequestBody BulkEmployeeRequest request) {
+        try {
+            BulkResult result = bulkImportService.createEmployees(request.getEmployees());
+            return ResponseEntity.ok(result);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @PostMapping("/bulk/salary-adjustment")
+    public ResponseEntity<BulkUpdateResult> adjustSalaries(@RequestBody SalaryAdjustmentRequest request) {
+        try {
+            return ResponseEntity.ok(bulkUpdateService.adjustSalaries(request));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @PostMapping("/bulk/transfer")
+    public ResponseEntity<BulkUpdateResult> transferEmployees(@RequestBody BulkTransferRequest request) {
+        try {
+            return ResponseEntity.ok(bulkUpdateService.transferEmployees(request));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @GetMapping
-    public ResponseEntity<List<Employee>> getAllEmployees() {
-        List<Employee> employees = employeeService.getAllEmployees();
+    public ResponseEntity<List<EmployeeView>> getAllEmployees() {
+        List<EmployeeView> employees = employeeService.getAllEmployees().stream().map(EmployeeView::from).toList();
         return ResponseEntity.ok(employees);
     }
 
+    @GetMapping(params = "cursor")
+    public ResponseEntity<CursorPage<EmployeeView>> getEmployeesPage(
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "id") String sortKey,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            return ResponseEntity.ok(employeeService.getEmployeesPage(cursor, SortKey.fromParam(sortKey), limit).map(EmployeeView::from));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportEmployees(
+            @RequestParam(required = false) Long companyId,
+            @RequestParam(required = false) Long departmentId,
+            @RequestParam(required = false) String type,
+            HttpServletRequest request) {
+        if (type != null && !type.equalsIgnoreCase("FULL_TIME") && !type.equalsIgnoreCase("PART_TIME")) {
+            return ResponseEntity.badRequest().build();
+        }
+        // The longer timeout applies to this request only; other async responses keep the default
+        long timeoutMillis = employeeExportService.getTimeoutMillis();
+        WebAsyncUtils.getAsyncManager(request).registerCallableInterceptor(NDJSON, new CallableProcessingInterceptor() {
+            @Override
+            public <T> void beforeConcurrentHandling(NativeWebRequest webRequest, Callable<T> task) {
+                if (webRequest instanceof AsyncWebRequest asyncRequest) {
+                    asyncRequest.setTimeout(timeoutMillis);
+                }
+            }
+        });
+        StreamingResponseBody body = out -> employeeExportService.exportEmployees(companyId, departmentId, type, out);
+        return ResponseEntity.ok().contentType(NDJSON).body(body);
+    }
+
+    // Served from the org-chart snapshot when it is enabled; a miss falls through to the database
     @GetMapping("/{id}")
-    public ResponseEntity<Employee> getEmployeeById(@PathVariable Long id) {
-        return employeeService.getEmployeeById(id)
+    public ResponseEntity<EmployeeView> getEmployeeById(@PathVariable Long id) {
+        return orgChartService.currentSnapshot().flatMap(snapshot -> snapshot.findEmployeeView(id))
+                .or(() -> employeeService.getEmployeeById(id).map(EmployeeView::from))
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
 
     @GetMapping("/email/{email}")
-    public ResponseEntity<Employee> getEmployeeByEmail(@PathVariable String email) {
+    public ResponseEntity<EmployeeView> getEmployeeByEmail(@PathVariable String email) {
         return employeeService.getEmployeeByEmail(email)
+                .map(EmployeeView::from)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<Employee> updateEmployee(@PathVariable Long id, @Valid @RequestBody Employee employeeDetails) {
+    public ResponseEntity<EmployeeView> updateEmployee(@PathVariable Long id, @Valid @RequestBody Employee employeeDetails) {
         try {
-            Employee updatedEmployee = employeeService.updateEmployee(id, employeeDetails);
+            EmployeeView updatedEmployee = EmployeeView.from(employeeService.updateEmployee(id, employeeDetails));
             return ResponseEntity.ok(updatedEmployee);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.notFound().build();
@@ -79,9 +184,9 @@ public class EmployeeController {
 
     // Full-time employee endpoints
     @PostMapping("/full-time")
-    public ResponseEntity<FullTimeEmployee> createFullTimeEmployee(@Valid @RequestBody FullTimeEmployee employee) {
+    public ResponseEntity<EmployeeView> createFullTimeEmployee(@Valid @RequestBody FullTimeEmployee employee) {
         try {
-            FullTimeEmployee createdEmployee = employeeService.createFullTimeEmployee(employee);
+            EmployeeView createdEmployee = EmployeeView.from(employeeService.createFullTimeEmployee(employee));
             return new ResponseEntity<>(createdEmployee, HttpStatus.CREATED);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().build();
@@ -89,22 +194,22 @@ public class EmployeeController {
     }
 
     @GetMapping("/full-time")
-    public ResponseEntity<List<FullTimeEmployee>> getAllFullTimeEmployees() {
-        List<FullTimeEmployee> employees = employeeService.getAllFullTimeEmployees();
+    public ResponseEntity<List<EmployeeView>> getAllFullTimeEmployees() {
+        List<EmployeeView> employees = employeeService.getAllFullTimeEmployees().stream().map(EmployeeView::from).toList();
         return ResponseEntity.ok(employees);
     }
 
     @GetMapping("/full-time/min-bonus/{minBonus}")
-    public ResponseEntity<List<FullTimeEmployee>> getFullTimeEmployeesByMinimumBonus(@PathVariable BigDecimal minBonus) {
-        List<FullTimeEmployee> employees = employeeService.getFullTimeEmployeesByMinimumBonus(minBonus);
+    public ResponseEntity<List<EmployeeView>> getFullTimeEmployeesByMinimumBonus(@PathVariable BigDecimal minBonus) {
+        List<EmployeeView> employees = employeeService.getFullTimeEmployeesByMinimumBonus(minBonus).stream().map(EmployeeView::from).toList();
         return ResponseEntity.ok(employees);
     }
 
     // Part-time employee endpoints
     @PostMapping("/part-time")
-    public ResponseEntity<PartTimeEmployee> createPartTimeEmployee(@Valid @RequestBody PartTimeEmployee employee) {
+    public ResponseEntity<EmployeeView> createPartTimeEmployee(@Valid @RequestBody PartTimeEmployee employee) {
         try {
-            PartTimeEmployee createdEmployee = employeeService.createPartTimeEmployee(employee);
+            EmployeeView createdEmployee = EmployeeView.from(employeeService.createPartTimeEmployee(employee));
             return new ResponseEntity<>(createdEmployee, HttpStatus.CREATED);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().build();
@@ -112,70 +217,193 @@ public class EmployeeController {
     }
 
     @GetMapping("/part-time")
-    public ResponseEntity<List<PartTimeEmployee>> getAllPartTimeEmployees() {
-        List<PartTimeEmployee> employees = employeeService.getAllPartTimeEmployees();
+    public ResponseEntity<List<EmployeeView>> getAllPartTimeEmployees() {
+        List<EmployeeView> employees = employeeService.getAllPartTimeEmployees().stream().map(EmployeeView::from).toList();
         return ResponseEntity.ok(employees);
     }
 
     @GetMapping("/part-time/min-hours/{minHours}")
-    public ResponseEntity<List<PartTimeEmployee>> getPartTimeEmployeesByMinimumHours(@PathVariable Integer minHours) {
-        List<PartTimeEmployee> employees = employeeService.getPartTimeEmployeesByMinimumHours(minHours);
+    public ResponseEntity<List<EmployeeView>> getPartTimeEmployeesByMinimumHours(@PathVariable Integer minHours) {
+        List<EmployeeView> employees = employeeService.getPartTimeEmployeesByMinimumHours(minHours).stream().map(EmployeeView::from).toList();
         return ResponseEntity.ok(employees);
     }
 
     @GetMapping("/part-time/expired-contracts")
-    public ResponseEntity<List<PartTimeEmployee>> getPartTimeEmployeesWithExpiredContracts() {
-        List<PartTimeEmployee> employees = employeeService.getPartTimeEmployeesWithExpiredContracts();
+    public ResponseEntity<List<EmployeeView>> getPartTimeEmployeesWithExpiredContracts() {
+        List<EmployeeView> employees = employeeService.getPartTimeEmployeesWithExpiredContracts().stream().map(EmployeeView::from).toList();
         return ResponseEntity.ok(employees);
     }
 
     // Business logic endpoints
     @GetMapping("/department/{departmentId}")
-    public ResponseEntity<List<Employee>> getEmployeesByDepartmentId(@PathVariable Long departmentId) {
-        List<Employee> employees = employeeService.getEmployeesByDepartmentId(departmentId);
+    public ResponseEntity<List<EmployeeView>> getEmployeesByDepartmentId(@PathVariable Long departmentId) {
+        List<EmployeeView> employees = orgChartService.currentSnapshot()
+                .flatMap(snapshot -> snapshot.findEmployeeViewsOfDepartment(departmentId))
+                .orElseGet(() -> employeeService.getEmployeesByDepartmentId(departmentId).stream().map(EmployeeView::from).toList());
         return ResponseEntity.ok(employees);
     }
 
+    @GetMapping(value = "/department/{departmentId}", params = "cursor")
+    public ResponseEntity<CursorPage<EmployeeView>> getEmployeesByDepartmentIdPage(
+            @PathVariable Long departmentId,
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "id") String sortKey,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            return ResponseEntity.ok(employeeService.getEmployeesByDepartmentIdPage(departmentId, cursor, SortKey.fromParam(sortKey), limit).map(EmployeeView::from));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @GetMapping("/company/{companyId}")
-    public ResponseEntity<List<Employee>> getEmployeesByCompanyId(@PathVariable Long companyId) {
-        List<Employee> employees = employeeService.getEmployeesByCompanyId(companyId);
+    public ResponseEntity<List<EmployeeView>> getEmployeesByCompanyId(@PathVariable Long companyId) {
+        List<EmployeeView> employees = orgChartService.currentSnapshot()
+                .flatMap(snapshot -> snapshot.findEmployeeViewsOfCompany(companyId))
+                .orElseGet(() -> employeeService.getEmployeesByCompanyId(companyId).stream().map(EmployeeView::from).toList());
         return ResponseEntity.ok(employees);
     }
 
+    @GetMapping(value = "/company/{companyId}", params = "cursor")
+    public ResponseEntity<CursorPage<EmployeeView>> getEmployeesByCompanyIdPage(
+            @PathVariable Long companyId,
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "id") String sortKey,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            return ResponseEntity.ok(employeeService.getEmployeesByCompanyIdPage(companyId, cursor, SortKey.fromParam(sortKey), limit).map(EmployeeView::from));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @GetMapping("/search")
-    public ResponseEntity<List<Employee>> searchEmployeesByName(@RequestParam String firstName, @RequestParam String lastName) {
-        List<Employee> employees = employeeService.searchEmployeesByName(firstName, lastName);
+    public ResponseEntity<List<EmployeeView>> searchEmployeesByName(@RequestParam String firstName, @RequestParam String lastName) {
+        List<EmployeeView> employees = employeeService.searchEmployeesByName(firstName, lastName).stream().map(EmployeeView::from).toList();
         return ResponseEntity.ok(employees);
     }
 
+    @GetMapping(value = "/search", params = "q")
+    public ResponseEntity<List<SearchHit>> searchEmployees(
+            @RequestParam String q, @RequestParam(defaultValue = "20") int limit) {
+        try {
+            return ResponseEntity.ok(employeeService.searchEmployees(q, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @GetMapping("/hire-date-range")
-    public ResponseEntity<List<Employee>> getEmployeesByHireDateRange(
+    public ResponseEntity<List<EmployeeView>> getEmployeesByHireDateRange(
             @RequestParam String startDate, @RequestParam String endDate) {
         LocalDate start = LocalDate.parse(startDate);
         LocalDate end = LocalDate.parse(endDate);
-        List<Employee> employees = employeeService.getEmployeesByHireDateRange(start, end);
+        List<EmployeeView> employees = employeeService.getEmployeesByHireDateRange(start, end).stream().map(EmployeeView::from).toList();
         return ResponseEntity.ok(employees);
     }
 
+    @GetMapping(value = "/hire-date-range", params = "cursor")
+    public ResponseEntity<CursorPage<EmployeeView>> getEmployeesByHireDateRangePage(
+            @RequestParam String startDate, @RequestParam String endDate,
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "id") String sortKey,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            LocalDate start = LocalDate.parse(startDate);
+            LocalDate end = LocalDate.parse(endDate);
+            return ResponseEntity.ok(employeeService.getEmployeesByHireDateRangePage(start, end, cursor, SortKey.fromParam(sortKey), limit).map(EmployeeView::from));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @GetMapping("/salary-range")
-    public ResponseEntity<List<Employee>> getEmployeesBySalaryRange(
+    public ResponseEntity<List<EmployeeView>> getEmployeesBySalaryRange(
             @RequestParam BigDecimal minSalary, @RequestParam BigDecimal maxSalary) {
-        List<Employee> employees = employeeService.getEmployeesBySalaryRange(minSalary, maxSalary);
+        List<EmployeeView> employees = employeeService.getEmployeesBySalaryRange(minSalary, maxSalary).stream().map(EmployeeView::from).toList();
         return ResponseEntity.ok(employees);
     }
 
+    @GetMapping(value = "/salary-range", params = "cursor")
+    public ResponseEntity<CursorPage<EmployeeView>> getEmployeesBySalaryRangePage(
+            @RequestParam BigDecimal minSalary, @RequestParam BigDecimal maxSalary,
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "id") String sortKey,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            return ResponseEntity.ok(employeeService.getEmployeesBySalaryRangePage(minSalary, maxSalary, cursor, SortKey.fromParam(sortKey), limit).map(EmployeeView::from));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @GetMapping("/department/{departmentId}/ordered-by-salary")
-    public ResponseEntity<List<Employee>> getEmployeesByDepartmentOrderedBySalary(@PathVariable Long departmentId) {
-        List<Employee> employees = employeeService.getEmployeesByDepartmentOrderedBySalary(departmentId);
+    public ResponseEntity<List<EmployeeView>> getEmployeesByDepartmentOrderedBySalary(@PathVariable Long departmentId) {
+        List<EmployeeView> employees = employeeService.getEmployeesByDepartmentOrderedBySalary(departmentId).stream().map(EmployeeView::from).toList();
         return ResponseEntity.ok(employees);
     }
 
     @GetMapping("/salary-greater-than/{salary}")
-    public ResponseEntity<List<Employee>> getEmployeesWithSalaryGreaterThan(@PathVariable BigDecimal salary) {
-        List<Employee> employees = employeeService.getEmployeesWithSalaryGreaterThan(salary);
+    public ResponseEntity<List<EmployeeView>> getEmployeesWithSalaryGreaterThan(@PathVariable BigDecimal salary) {
+        List<EmployeeView> employees = employeeService.getEmployeesWithSalaryGreaterThan(salary).stream().map(EmployeeView::from).toList();
         return ResponseEntity.ok(employees);
     }
 
+    // Salary ladders from the in-memory index; 503 while it is disabled or still building
+    @GetMapping("/department/{departmentId}/salaries/count")
+    public ResponseEntity<Long> countSalariesByDepartment(
+            @PathVariable Long departmentId,
+            @RequestParam(required = false) BigDecimal minSalary, @RequestParam(required = false) BigDecimal maxSalary) {
+        return salaryQuery(() -> employeeService.countSalaries(SalaryIndex.Scope.DEPARTMENT, departmentId, minSalary, maxSalary));
+    }
+
+    @GetMapping("/department/{departmentId}/salaries")
+    public ResponseEntity<List<SalaryEntry>> getSalaryRangeByDepartment(
+            @PathVariable Long departmentId,
+            @RequestParam(required = false) BigDecimal minSalary, @RequestParam(required = false) BigDecimal maxSalary,
+            @RequestParam(defaultValue = "0") int offset, @RequestParam(defaultValue = "50") int limit) {
+        return salaryQuery(() -> employeeService.getSalaryRange(SalaryIndex.Scope.DEPARTMENT, departmentId, minSalary, maxSalary, offset, limit));
+    }
+
+    @GetMapping("/department/{departmentId}/salaries/top")
+    public ResponseEntity<List<SalaryEntry>> getTopSalariesByDepartment(
+            @PathVariable Long departmentId, @RequestParam(defaultValue = "10") int k) {
+        return salaryQuery(() -> employeeService.getTopSalaries(SalaryIndex.Scope.DEPARTMENT, departmentId, k));
+    }
+
+    @GetMapping("/department/{departmentId}/salaries/percentiles")
+    public ResponseEntity<Map<Integer, BigDecimal>> getSalaryPercentilesByDepartment(
+            @PathVariable Long departmentId, @RequestParam(defaultValue = "50,90") List<Integer> p) {
+        return salaryQuery(() -> employeeService.getSalaryPercentiles(SalaryIndex.Scope.DEPARTMENT, departmentId, p));
+    }
+
+    @GetMapping("/company/{companyId}/salaries/count")
+    public ResponseEntity<Long> countSalariesByCompany(
+            @PathVariable Long companyId,
+            @RequestParam(required = false) BigDecimal minSalary, @RequestParam(required = false) BigDecimal maxSalary) {
+        return salaryQuery(() -> employeeService.countSalaries(SalaryIndex.Scope.COMPANY, companyId, minSalary, maxSalary));
+    }
+
+    @GetMapping("/company/{companyId}/salaries")
+    public ResponseEntity<List<SalaryEntry>> getSalaryRangeByCompany(
+            @PathVariable Long companyId,
+            @RequestParam(required = false) BigDecimal minSalary, @RequestParam(required = false) BigDecimal maxSalary,
+            @RequestParam(defaultValue = "0") int offset, @RequestParam(defaultValue = "50") int limit) {
+        return salaryQuery(() -> employeeService.getSalaryRange(SalaryIndex.Scope.COMPANY, companyId, minSalary, maxSalary, offset, limit));
+    }
+
+    @GetMapping("/company/{companyId}/salaries/top")
+    public ResponseEntity<List<SalaryEntry>> getTopSalariesByCompany(
+            @PathVariable Long companyId, @RequestParam(defaultValue = "10") int k) {
+        return salaryQuery(() -> employeeService.getTopSalaries(SalaryIndex.Scope.COMPANY, companyId, k));
+    }
+
+    @GetMapping("/company/{companyId}/salaries/percentiles")
+    public ResponseEntity<Map<Integer, BigDecimal>> getSalaryPercentilesByCompany(
+            @PathVariable Long companyId, @RequestParam(defaultValue = "50,90") List<Integer> p) {
+        return salaryQuery(() -> employeeService.getSalaryPercentiles(SalaryIndex.Scope.COMPANY, companyId, p));
+    }
+
     @GetMapping("/department/{departmentId}/count")
     public ResponseEntity<Integer> getEmployeeCountByDepartmentId(@PathVariable Long departmentId) {
         int count = employeeService.getEmployeeCountByDepartmentId(departmentId);
@@ -188,6 +416,33 @@ public class EmployeeController {
         return ResponseEntity.ok(count);
     }
 
+    @GetMapping("/counts")
+    public ResponseEntity<Map<Long, Long>> getEmployeeCounts(
+            @RequestParam(required = false) List<Long> departmentIds,
+            @RequestParam(required = false) List<Long> companyIds) {
+        if ((departmentIds == null) == (companyIds == null)) {
+            return ResponseEntity.badRequest().build();
+        }
+        List<Long> keys = departmentIds != null ? departmentIds : companyIds;
+        if (keys.isEmpty() || keys.size() > MAX_COUNT_KEYS) {
+            return ResponseEntity.badRequest().build();
+        }
+        Map<Long, Long> counts = departmentIds != null
+                ? employeeService.getEmployeeCountsByDepartmentIds(departmentIds)
+                : employeeService.getEmployeeCountsByCompanyIds(companyIds);
+        return ResponseEntity.ok(counts);
+    }
+
+    private <T> ResponseEntity<T> salaryQuery(Supplier<T> query) {
+        try {
+            return ResponseEntity.ok(query.get());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     // Health check endpoint
     @GetMapping("/health")
     public ResponseEntity<String> health() {
@@ -0,0 +1,67 @@
+package com.company.controller;
+
+import com.company.dto.CompanySummary;
+import com.company.dto.DepartmentSummary;
+import com.company.dto.EmployeeSummary;
+import com.company.service.OrgChartService;
+import com.company.snapshot.OrgChartSnapshot;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Read-only org-chart lookups served from the in-memory snapshot. Returns 503 when the snapshot
+ * is disabled ({@code company.snapshot.enabled=false}); the regular endpoints remain available.
+ */
+@RestController
+@RequestMapping("/api/org-chart")
+@CrossOrigin(origins = "*")
+public class OrgChartController {
+
+    private final OrgChartService orgChartService;
+
+    @Autowired
+    public OrgChartController(OrgChartService orgChartService) {
+        this.orgChartService = orgChartService;
+    }
+
+    @GetMapping("/companies/{id}")
+    public ResponseEntity<CompanySummary> getCompany(@PathVariable Long id) {
+        return lookup(snapshot -> snapshot.findCompany(id));
+    }
+
+    @GetMapping("/companies/{id}/employees")
+    public ResponseEntity<List<EmployeeSummary>> getCompanyEmployees(@PathVariable Long id) {
+        return lookup(snapshot -> snapshot.findEmployeesOfCompany(id));
+    }
+
+    @GetMapping("/departments/{id}")
+    public ResponseEntity<DepartmentSummary> getDepartment(@PathVariable Long id) {
+        return lookup(snapshot -> snapshot.findDepartment(id));
+    }
+
+    @GetMapping("/departments/{id}/employees")
+    public ResponseEntity<List<EmployeeSummary>> getDepartmentEmployees(@PathVariable Long id) {
+        return lookup(snapshot -> snapshot.findEmployeesOfDepartment(id));
+    }
+
+    @GetMapping("/employees/{id}")
+    public ResponseEntity<EmployeeSummary> getEmployee(@PathVariable Long id) {
+        return lookup(snapshot -> snapshot.findEmployee(id));
+    }
+
+    private <T> ResponseEntity<T> lookup(Function<OrgChartSnapshot, Optional<T>> query) {
+        Optional<OrgChartSnapshot> snapshot = orgChartService.currentSnapshot();
+        if (snapshot.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        return query.apply(snapshot.get())
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+}
@@ -0,0 +1,38 @@
+package com.company.controller;
+
+import com.company.dto.SyncChanges;
+import com.company.service.SyncService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Delta sync for mirrors: call without {@code since} once for a full copy, then keep passing
+ * back {@code nextToken}. Returns 410 when the token predates the tombstone retention and
+ * 400 for a malformed token or limit.
+ */
+@RestController
+@RequestMapping("/api/sync")
+@CrossOrigin(origins = "*")
+public class SyncController {
+
+    private final SyncService syncService;
+
+    @Autowired
+    public SyncController(SyncService syncService) {
+        this.syncService = syncService;
+    }
+
+    @GetMapping("/changes")
+    public ResponseEntity<SyncChanges> getChanges(@RequestParam(required = false) String since,
+                                                  @RequestParam(required = false) Integer limit) {
+        try {
+            return ResponseEntity.ok(syncService.getChanges(since, limit));
+        } catch (SyncService.ExpiredTokenException e) {
+            return ResponseEntity.status(HttpStatus.GONE).build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.company.dto;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Groups produced by an analytics query, in dimension order, with the snapshot version they
+ * were computed from. {@code rowsScanned} counts the rows left after narrowing by company or
+ * department; only groups with at least one matching row are listed.
+ */
+public record AnalyticsResult(long version, int rowsScanned, int rowsMatched, List<Group> groups) {
+
+    public record Group(Map<String, Object> key, Map<String, Object> metrics) {
+    }
+}
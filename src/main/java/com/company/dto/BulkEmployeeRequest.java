@@ -0,0 +1,39 @@
+package com.company.dto;
+
+import com.company.entity.Employee;
+import com.company.entity.FullTimeEmployee;
+import com.company.entity.PartTimeEmployee;
+import com.fasterxml.jackson.annotation.JsonSubTypes;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Payload for bulk employee creation. Each element names its concrete type through
+ * {@code employeeType}, so full-time and part-time employees can be mixed in one request.
+ */
+public class BulkEmployeeRequest {
+
+    @JsonTypeInfo(use = JsonTypeInfo.Id.NAME, include = JsonTypeInfo.As.PROPERTY, property = "employeeType")
+    @JsonSubTypes({
+            @JsonSubTypes.Type(value = FullTimeEmployee.class, name = "FULL_TIME"),
+            @JsonSubTypes.Type(value = PartTimeEmployee.class, name = "PART_TIME")
+    })
+    private List<Employee> employees = new ArrayList<>();
+
+    public BulkEmployeeRequest() {
+    }
+
+    public BulkEmployeeRequest(List<Employee> employees) {
+        this.employees = employees;
+    }
+
+    public List<Employee> getEmployees() {
+        return employees;
+    }
+
+    public void setEmployees(List<Employee> employees) {
+        this.employees = employees;
+    }
+}
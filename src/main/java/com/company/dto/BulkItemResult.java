@@ -0,0 +1,23 @@
+package com.company.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Outcome of a single item in a bulk create request, reported at the item's position in the payload.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record BulkItemResult(int index, Status status, Long id, String message) {
+
+    public enum Status {
+        CREATED,
+        REJECTED
+    }
+
+    public static BulkItemResult created(int index, Long id) {
+        return new BulkItemResult(index, Status.CREATED, id, null);
+    }
+
+    public static BulkItemResult rejected(int index, String message) {
+        return new BulkItemResult(index, Status.REJECTED, null, message);
+    }
+}
@@ -0,0 +1,14 @@
+package com.company.dto;
+
+import java.util.List;
+
+/**
+ * Summary of a bulk create request with one {@link BulkItemResult} per submitted item.
+ */
+public record BulkResult(int created, int rejected, List<BulkItemResult> items) {
+
+    public static BulkResult of(List<BulkItemResult> items) {
+        int created = (int) items.stream().filter(i -> i.status() == BulkItemResult.Status.CREATED).count();
+        return new BulkResult(created, items.size() - created, items);
+    }
+}
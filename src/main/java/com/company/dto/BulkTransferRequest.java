@@ -0,0 +1,7 @@
+package com.company.dto;
+
+/**
+ * Payload for moving every employee of one department to another.
+ */
+public record BulkTransferRequest(Long fromDepartmentId, Long toDepartmentId, boolean dryRun) {
+}
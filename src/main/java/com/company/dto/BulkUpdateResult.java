@@ -0,0 +1,7 @@
+package com.company.dto;
+
+/**
+ * Number of employees a bulk update changed, or would change when {@code dryRun} is set.
+ */
+public record BulkUpdateResult(int affected, boolean dryRun) {
+}
@@ -0,0 +1,17 @@
+package com.company.dto;
+
+import java.util.List;
+
+/**
+ * Everything the company dashboard shows, loaded in one request. A part that failed or did not
+ * finish within its timeout is {@code null} and named in {@code unavailable}.
+ */
+public record CompanyDashboard(
+        CompanyView company,
+        List<DepartmentView> departments,
+        Integer employeeCount,
+        List<EmployeeView> fullTimeEmployees,
+        List<EmployeeView> partTimeEmployees,
+        List<EmployeeView> expiredContracts,
+        List<String> unavailable) {
+}
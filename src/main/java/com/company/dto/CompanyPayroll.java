@@ -0,0 +1,10 @@
+package com.company.dto;
+
+import java.util.List;
+
+/**
+ * Payroll of a company with the breakdown by department; the company totals are the sums of
+ * the department rows.
+ */
+public record CompanyPayroll(PayrollTotals company, List<PayrollTotals> departments) {
+}
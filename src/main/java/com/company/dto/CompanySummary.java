@@ -0,0 +1,9 @@
+package com.company.dto;
+
+import java.util.List;
+
+/**
+ * Company view with its departments and total headcount, as served from the org-chart snapshot.
+ */
+public record CompanySummary(Long id, String name, int headcount, List<DepartmentSummary> departments) {
+}
@@ -0,0 +1,19 @@
+package com.company.dto;
+
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+
+import java.util.List;
+
+/**
+ * A company with its departments and their employees, as returned by
+ * {@code /api/companies/{id}/tree}. Departments and employees are in id order.
+ */
+public record CompanyTree(
+        @JsonUnwrapped CompanyView company,
+        List<DepartmentNode> departments) {
+
+    public record DepartmentNode(
+            @JsonUnwrapped DepartmentView department,
+            List<EmployeeView> employees) {
+    }
+}
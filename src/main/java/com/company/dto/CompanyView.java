@@ -0,0 +1,32 @@
+package com.company.dto;
+
+import com.company.entity.Company;
+
+import java.time.LocalDateTime;
+
+/**
+ * Company as returned by the REST API. Reads only the company row; departments are listed by
+ * {@code /api/companies/{id}/departments}.
+ */
+public record CompanyView(
+        Long id,
+        String name,
+        String description,
+        String industry,
+        String address,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        Long version) {
+
+    public static CompanyView from(Company company) {
+        return new CompanyView(
+                company.getId(),
+                company.getName(),
+                company.getDescription(),
+                company.getIndustry(),
+                company.getAddress(),
+                company.getCreatedAt(),
+                company.getUpdatedAt(),
+                company.getVersion());
+    }
+}
@@ -0,0 +1,18 @@
+package com.company.dto;
+
+import com.company.entity.Tombstone;
+import com.company.event.OrgChangeEvent.EntityType;
+
+import java.time.LocalDateTime;
+
+/**
+ * A deletion reported by the delta-sync endpoint; {@code version} is the last version the
+ * entity had.
+ */
+public record DeletedEntity(EntityType entityType, Long id, Long version, LocalDateTime deletedAt) {
+
+    public static DeletedEntity from(Tombstone tombstone) {
+        return new DeletedEntity(tombstone.getEntityType(), tombstone.getEntityId(), tombstone.getEntityVersion(),
+                tombstone.getDeletedAt());
+    }
+}
@@ -0,0 +1,28 @@
+package com.company.dto;
+
+import com.company.event.OrgChangeEvent.EntityType;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.time.LocalDateTime;
+
+/**
+ * Progress of a chunked cascading delete. Totals are counted when the job starts, so rows
+ * added while it runs can push the deleted counts past them.
+ */
+public record DeletionJobStatus(String id, EntityType entityType, Long entityId, State state,
+                                int departmentsTotal, int departmentsDeleted,
+                                long employeesTotal, long employeesDeleted,
+                                LocalDateTime startedAt, LocalDateTime finishedAt, String error) {
+
+    public enum State {
+        QUEUED,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    @JsonIgnore
+    public boolean isFinished() {
+        return state == State.COMPLETED || state == State.FAILED;
+    }
+}
@@ -0,0 +1,7 @@
+package com.company.dto;
+
+/**
+ * Association-free department view with its company id and current headcount.
+ */
+public record DepartmentSummary(Long id, String name, Long companyId, int headcount) {
+}
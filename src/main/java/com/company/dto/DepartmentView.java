@@ -0,0 +1,32 @@
+package com.company.dto;
+
+import com.company.entity.Department;
+
+import java.time.LocalDateTime;
+
+/**
+ * Department as returned by the REST API. Reads only the department row; the company is
+ * referenced by id and the employee collection is never touched.
+ */
+public record DepartmentView(
+        Long id,
+        String name,
+        String description,
+        String location,
+        Long companyId,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        Long version) {
+
+    public static DepartmentView from(Department department) {
+        return new DepartmentView(
+                department.getId(),
+                department.getName(),
+                department.getDescription(),
+                department.getLocation(),
+                department.getCompany() != null ? department.getCompany().getId() : null,
+                department.getCreatedAt(),
+                department.getUpdatedAt(),
+                department.getVersion());
+    }
+}
@@ -0,0 +1,60 @@
+package com.company.dto;
+
+import com.company.entity.Employee;
+import com.company.entity.FullTimeEmployee;
+import com.company.entity.PartTimeEmployee;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Flat, association-free view of an employee written as one NDJSON line by the export endpoint.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record EmployeeExportRow(
+        Long id,
+        String employeeType,
+        String firstName,
+        String lastName,
+        String email,
+        String phone,
+        LocalDate hireDate,
+        BigDecimal salary,
+        String jobTitle,
+        Long departmentId,
+        Long companyId,
+        BigDecimal annualBonus,
+        Integer stockOptions,
+        Boolean healthInsurance,
+        Boolean retirementPlan,
+        Integer hoursPerWeek,
+        Boolean flexibleSchedule,
+        Boolean remoteWork,
+        LocalDate contractEndDate) {
+
+    public static EmployeeExportRow from(Employee employee) {
+        FullTimeEmployee fullTime = employee instanceof FullTimeEmployee f ? f : null;
+        PartTimeEmployee partTime = employee instanceof PartTimeEmployee p ? p : null;
+        return new EmployeeExportRow(
+                employee.getId(),
+                employee.getEmployeeType(),
+                employee.getFirstName(),
+                employee.getLastName(),
+                employee.getEmail(),
+                employee.getPhone(),
+                employee.getHireDate(),
+                employee.getSalary(),
+                employee.getJobTitle(),
+                employee.getDepartment().getId(),
+                employee.getDepartment().getCompany().getId(),
+                fullTime != null ? fullTime.getAnnualBonus() : null,
+                fullTime != null ? fullTime.getStockOptions() : null,
+                fullTime != null ? fullTime.getHealthInsurance() : null,
+                fullTime != null ? fullTime.getRetirementPlan() : null,
+                partTime != null ? partTime.getHoursPerWeek() : null,
+                partTime != null ? partTime.getFlexibleSchedule() : null,
+                partTime != null ? partTime.getRemoteWork() : null,
+                partTime != null ? partTime.getContractEndDate() : null);
+    }
+}
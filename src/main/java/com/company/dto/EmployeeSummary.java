@@ -0,0 +1,20 @@
+package com.company.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Association-free employee view with the ids of its department and company.
+ */
+public record EmployeeSummary(
+        Long id,
+        String employeeType,
+        String firstName,
+        String lastName,
+        String email,
+        String jobTitle,
+        BigDecimal salary,
+        LocalDate hireDate,
+        Long departmentId,
+        Long companyId) {
+}
@@ -0,0 +1,72 @@
+package com.company.dto;
+
+import com.company.entity.Department;
+import com.company.entity.Employee;
+import com.company.entity.FullTimeEmployee;
+import com.company.entity.PartTimeEmployee;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Employee as returned by the REST API. Reads only the employee row and its department, which
+ * the repository fetch plans join in; the company is referenced by id only.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record EmployeeView(
+        Long id,
+        String employeeType,
+        String firstName,
+        String lastName,
+        String email,
+        String phone,
+        LocalDate hireDate,
+        BigDecimal salary,
+        String jobTitle,
+        Long departmentId,
+        String departmentName,
+        Long companyId,
+        BigDecimal annualBonus,
+        Integer stockOptions,
+        Boolean healthInsurance,
+        Boolean retirementPlan,
+        Integer hoursPerWeek,
+        Boolean flexibleSchedule,
+        Boolean remoteWork,
+        LocalDate contractEndDate,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        Long version) {
+
+    public static EmployeeView from(Employee employee) {
+        FullTimeEmployee fullTime = employee instanceof FullTimeEmployee f ? f : null;
+        PartTimeEmployee partTime = employee instanceof PartTimeEmployee p ? p : null;
+        Department department = employee.getDepartment();
+        return new EmployeeView(
+                employee.getId(),
+                employee.getEmployeeType(),
+                employee.getFirstName(),
+                employee.getLastName(),
+                employee.getEmail(),
+                employee.getPhone(),
+                employee.getHireDate(),
+                employee.getSalary(),
+                employee.getJobTitle(),
+                department != null ? department.getId() : null,
+                department != null ? department.getName() : null,
+                department != null && department.getCompany() != null ? department.getCompany().getId() : null,
+                fullTime != null ? fullTime.getAnnualBonus() : null,
+                fullTime != null ? fullTime.getStockOptions() : null,
+                fullTime != null ? fullTime.getHealthInsurance() : null,
+                fullTime != null ? fullTime.getRetirementPlan() : null,
+                partTime != null ? partTime.getHoursPerWeek() : null,
+                partTime != null ? partTime.getFlexibleSchedule() : null,
+                partTime != null ? partTime.getRemoteWork() : null,
+                partTime != null ? partTime.getContractEndDate() : null,
+                employee.getCreatedAt(),
+                employee.getUpdatedAt(),
+                employee.getVersion());
+    }
+}
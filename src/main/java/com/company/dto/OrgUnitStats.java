@@ -0,0 +1,24 @@
+package com.company.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Headcount and payroll totals for one department or company.
+ */
+public record OrgUnitStats(Long id, long headcount, BigDecimal totalSalary, BigDecimal totalCompensation) {
+
+    public static OrgUnitStats empty(Long id) {
+        return new OrgUnitStats(id, 0, BigDecimal.ZERO, BigDecimal.ZERO);
+    }
+
+    public OrgUnitStats plus(OrgUnitStats other) {
+        return new OrgUnitStats(id, headcount + other.headcount,
+                totalSalary.add(other.totalSalary), totalCompensation.add(other.totalCompensation));
+    }
+
+    public boolean sameTotals(OrgUnitStats other) {
+        return headcount == other.headcount
+                && totalSalary.compareTo(other.totalSalary) == 0
+                && totalCompensation.compareTo(other.totalCompensation) == 0;
+    }
+}
@@ -0,0 +1,16 @@
+package com.company.dto;
+
+import com.company.event.OrgChangeEvent.ChangeType;
+import com.company.event.OrgChangeEvent.EntityType;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+
+import java.time.LocalDateTime;
+
+/**
+ * An outbox event as handed to a sink. {@code sequence} increases with commit order for any
+ * one entity, and {@code entityVersion} is its {@code BaseEntity} version after the change,
+ * so consumers can drop redelivered or stale events by comparing versions.
+ */
+public record OutboxMessage(long sequence, EntityType entityType, Long entityId, Long entityVersion,
+                            ChangeType changeType, @JsonRawValue String changes, LocalDateTime occurredAt) {
+}
@@ -0,0 +1,28 @@
+package com.company.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Annual payroll of one department or company. Total compensation is base salary plus the
+ * full-time bonuses; the part-time annualized cost is each part-timer's rounded hourly rate
+ * times their weekly hours times 52, so it can differ from their salaries by the rounding.
+ */
+public record PayrollTotals(
+        Long id,
+        long employees,
+        long fullTimeEmployees,
+        long partTimeEmployees,
+        BigDecimal baseSalary,
+        BigDecimal annualBonus,
+        BigDecimal totalCompensation,
+        BigDecimal partTimeAnnualizedCost) {
+
+    public static PayrollTotals ofCents(Long id, long employees, long fullTimeEmployees, long partTimeEmployees,
+                                        long baseSalaryCents, long annualBonusCents, long partTimeAnnualizedCents) {
+        return new PayrollTotals(id, employees, fullTimeEmployees, partTimeEmployees,
+                BigDecimal.valueOf(baseSalaryCents, 2),
+                BigDecimal.valueOf(annualBonusCents, 2),
+                BigDecimal.valueOf(Math.addExact(baseSalaryCents, annualBonusCents), 2),
+                BigDecimal.valueOf(partTimeAnnualizedCents, 2));
+    }
+}
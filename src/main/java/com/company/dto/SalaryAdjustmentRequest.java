@@ -0,0 +1,13 @@
+package com.company.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Payload for a bulk raise. Exactly one of {@code percent} and {@code amount} is set, and at
+ * least one filter is required so a request cannot touch every employee by accident. Salary
+ * bounds are inclusive and apply to the salary before the raise.
+ */
+public record SalaryAdjustmentRequest(Long companyId, Long departmentId, String employeeType,
+                                      BigDecimal minSalary, BigDecimal maxSalary,
+                                      BigDecimal percent, BigDecimal amount, boolean dryRun) {
+}
@@ -0,0 +1,9 @@
+package com.company.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * One employee's position in a company or department salary ladder.
+ */
+public record SalaryEntry(Long employeeId, BigDecimal salary) {
+}
@@ -0,0 +1,8 @@
+package com.company.dto;
+
+/**
+ * One ranked result of a name search; {@code score} is the fraction of the query's trigrams
+ * found in the match, so 1.0 means every trigram matched.
+ */
+public record SearchHit(Long id, String label, double score) {
+}
@@ -0,0 +1,15 @@
+package com.company.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * One statement captured by the slow-query log. {@code parameters} are the bind values of a
+ * single statement; a batch of {@code batchSize} rows has its bind values per row in
+ * {@code batchParameters} instead, the first rows only for a large batch. {@code sampled} marks
+ * statements captured by sampling rather than for exceeding the latency threshold.
+ */
+public record SlowQuery(Instant at, double millis, String sql, List<String> parameters,
+                        List<List<String>> batchParameters, int batchSize,
+                        String caller, String thread, boolean sampled) {
+}
@@ -0,0 +1,12 @@
+package com.company.dto;
+
+import java.util.List;
+
+/**
+ * Result of rebuilding the aggregate store: every unit whose stored totals differed from a full recount.
+ */
+public record StatsReconcileReport(int departmentsChecked, int companiesChecked, List<Drift> drift) {
+
+    public record Drift(String scope, Long id, OrgUnitStats stored, OrgUnitStats actual) {
+    }
+}
@@ -0,0 +1,18 @@
+package com.company.dto;
+
+import java.util.List;
+
+/**
+ * One page of {@code /api/sync/changes}. Apply the upserts in order (companies, departments,
+ * employees), then the deletions, and pass {@code nextToken} on the next call. While
+ * {@code hasMore} is true the next page is ready now; once it is false the mirror is caught
+ * up and the same token returns whatever changes next.
+ */
+public record SyncChanges(
+        List<CompanyView> companies,
+        List<DepartmentView> departments,
+        List<EmployeeView> employees,
+        List<DeletedEntity> deleted,
+        String nextToken,
+        boolean hasMore) {
+}
@@ -3,12 +3,18 @@ package com.company.entity;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "companies")
+@Table(name = "companies", indexes = {
+        @Index(name = "idx_companies_created_at_id", columnList = "created_at, id"),
+        @Index(name = "idx_companies_updated_at_id", columnList = "updated_at, id")
+})
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "company")
 public class Company extends BaseEntity {
 
     @NotBlank(message = "Company name is required")
@@ -28,6 +34,7 @@ public class Company extends BaseEntity {
     @Column(name = "address", length = 200)
     private String address;
 
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "company-departments")
     @OneToMany(mappedBy = "company", cascade = CascadeType.ALL, fetch = FetchType.LAZY, orphanRemoval = true)
     private List<Department> departments = new ArrayList<>();
 
@@ -0,0 +1,93 @@
+package com.company.entity;
+
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+
+/**
+ * Materialized headcount and payroll totals for one department, maintained incrementally
+ * in the same transaction as every employee write.
+ */
+@Entity
+@Table(name = "department_stats", indexes = {
+        @Index(name = "idx_department_stats_company_id", columnList = "company_id")
+})
+public class DepartmentStats {
+
+    @Id
+    @Column(name = "department_id")
+    private Long departmentId;
+
+    @Column(name = "company_id", nullable = false)
+    private Long companyId;
+
+    @Column(name = "headcount", nullable = false)
+    private long headcount;
+
+    @Column(name = "total_salary", nullable = false, precision = 19, scale = 2)
+    private BigDecimal totalSalary = BigDecimal.ZERO;
+
+    @Column(name = "total_compensation", nullable = false, precision = 19, scale = 2)
+    private BigDecimal totalCompensation = BigDecimal.ZERO;
+
+    // Constructors
+    public DepartmentStats() {
+    }
+
+    public DepartmentStats(Long departmentId, Long companyId) {
+        this.departmentId = departmentId;
+        this.companyId = companyId;
+    }
+
+    // Getters and Setters
+    public Long getDepartmentId() {
+        return departmentId;
+    }
+
+    public void setDepartmentId(Long departmentId) {
+        this.departmentId = departmentId;
+    }
+
+    public Long getCompanyId() {
+        return companyId;
+    }
+
+    public void setCompanyId(Long companyId) {
+        this.companyId = companyId;
+    }
+
+    public long getHeadcount() {
+        return headcount;
+    }
+
+    public void setHeadcount(long headcount) {
+        this.headcount = headcount;
+    }
+
+    public BigDecimal getTotalSalary() {
+        return totalSalary;
+    }
+
+    public void setTotalSalary(BigDecimal totalSalary) {
+        this.totalSalary = totalSalary;
+    }
+
+    public BigDecimal getTotalCompensation() {
+        return totalCompensation;
+    }
+
+    public void setTotalCompensation(BigDecimal totalCompensation) {
+        this.totalCompensation = totalCompensation;
+    }
+
+    @Override
+    public String toString() {
+        return "DepartmentStats{" +
+                "departmentId=" + departmentId +
+                ", companyId=" + companyId +
+                ", headcount=" + headcount +
+                ", totalSalary=" + totalSalary +
+                ", totalCompensation=" + totalCompensation +
+                '}';
+    }
+}
@@ -10,11 +10,16 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "employees")
+@Table(name = "employees", indexes = {
+        @Index(name = "idx_employees_created_at_id", columnList = "created_at, id"),
+        @Index(name = "idx_employees_updated_at_id", columnList = "updated_at, id")
+}, uniqueConstraints = @UniqueConstraint(name = Employee.EMAIL_CONSTRAINT, columnNames = "email"))
 @Inheritance(strategy = InheritanceType.SINGLE_TABLE)
 @DiscriminatorColumn(name = "employee_type", discriminatorType = DiscriminatorType.STRING)
 public abstract class Employee extends BaseEntity {
 
+    public static final String EMAIL_CONSTRAINT = "uk_employees_email";
+
     @NotBlank(message = "First name is required")
     @Size(min = 2, max = 50, message = "First name must be between 2 and 50 characters")
     @Column(name = "first_name", nullable = false)
@@ -27,7 +32,7 @@ public abstract class Employee extends BaseEntity {
 
     @Email(message = "Email should be valid")
     @NotBlank(message = "Email is required")
-    @Column(name = "email", nullable = false, unique = true)
+    @Column(name = "email", nullable = false)
     private String email;
 
     @Size(max = 20, message = "Phone number cannot exceed 20 characters")
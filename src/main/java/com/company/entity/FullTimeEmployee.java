@@ -13,7 +13,7 @@ public class FullTimeEmployee extends Employee {
 
     @NotNull(message = "Annual bonus is required")
     @Positive(message = "Annual bonus must be positive")
-    @Column(name = "annual_bonus", nullable = false, precision = 10, scale = 2)
+    @Column(name = "annual_bonus", precision = 10, scale = 2)
     private BigDecimal annualBonus;
 
     @Column(name = "stock_options")
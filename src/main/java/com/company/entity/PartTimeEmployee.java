@@ -13,7 +13,7 @@ public class PartTimeEmployee extends Employee {
 
     @NotNull(message = "Hours per week is required")
     @Positive(message = "Hours per week must be positive")
-    @Column(name = "hours_per_week", nullable = false)
+    @Column(name = "hours_per_week")
     private Integer hoursPerWeek;
 
     @Column(name = "flexible_schedule")
@@ -0,0 +1,32 @@
+package com.company.event;
+
+/**
+ * Published by the service layer after it changes a company, department or employee.
+ * {@code entityId} is {@code null} for batch operations that touch many rows at once.
+ */
+public record OrgChangeEvent(EntityType entityType, Long entityId, ChangeType changeType) {
+
+    public enum EntityType {
+        COMPANY,
+        DEPARTMENT,
+        EMPLOYEE
+    }
+
+    public enum ChangeType {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    public static OrgChangeEvent created(EntityType type, Long id) {
+        return new OrgChangeEvent(type, id, ChangeType.CREATED);
+    }
+
+    public static OrgChangeEvent updated(EntityType type, Long id) {
+        return new OrgChangeEvent(type, id, ChangeType.UPDATED);
+    }
+
+    public static OrgChangeEvent deleted(EntityType type, Long id) {
+        return new OrgChangeEvent(type, id, ChangeType.DELETED);
+    }
+}
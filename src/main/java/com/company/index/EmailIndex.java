@@ -0,0 +1,199 @@
+package com.company.index;
+
+import com.company.repository.EmployeeRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * In-memory membership index over {@code Employee.email}, backed by a {@link BloomFilter}.
+ * A negative answer is definite, so callers can skip the uniqueness query; a positive answer
+ * must still be confirmed against the database. Until the first build completes every email
+ * is reported as possibly present.
+ * <p>
+ * Removed or renamed emails stay in the filter and only raise the false-positive rate; the
+ * filter is rebuilt from the table once insertions outgrow its sizing.
+ */
+@Component
+public class EmailIndex implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(EmailIndex.class);
+
+    private final EmployeeRepository employeeRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final boolean enabled;
+    private final double falsePositiveRate;
+    private final long minimumCapacity;
+
+    private volatile BloomFilter filter;
+    private final Object lock = new Object();
+    private List<String> addedDuringRebuild;
+    // One rebuild at a time; the scheduled rebuild and a direct call must not share the replay list
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+
+    private final AtomicLong lookups = new AtomicLong();
+    private final AtomicLong definiteMisses = new AtomicLong();
+    private final AtomicLong falsePositives = new AtomicLong();
+    private final AtomicBoolean rebuildPending = new AtomicBoolean();
+    private final ExecutorService rebuilder = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "email-index-rebuild");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Autowired
+    public EmailIndex(EmployeeRepository employeeRepository,
+                      PlatformTransactionManager transactionManager,
+                      @Value("${company.email-index.enabled:true}") boolean enabled,
+                      @Value("${company.email-index.false-positive-rate:0.01}") double falsePositiveRate,
+                      @Value("${company.email-index.minimum-capacity:10000}") long minimumCapacity) {
+        this.employeeRepository = employeeRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.enabled = enabled;
+        this.falsePositiveRate = falsePositiveRate;
+        this.minimumCapacity = minimumCapacity;
+    }
+
+    public boolean isReady() {
+        return filter != null;
+    }
+
+    public boolean mightContain(String email) {
+        BloomFilter current = filter;
+        if (current == null) {
+            return true;
+        }
+        lookups.incrementAndGet();
+        if (current.mightContain(email)) {
+            return true;
+        }
+        definiteMisses.incrementAndGet();
+        return false;
+    }
+
+    /**
+     * Records that a positive answer turned out to be absent in the database.
+     */
+    public void recordFalsePositive() {
+        falsePositives.incrementAndGet();
+    }
+
+    public void add(String email) {
+        if (email == null) {
+            return;
+        }
+        synchronized (lock) {
+            BloomFilter current = filter;
+            if (current == null) {
+                return;
+            }
+            current.put(email);
+            if (addedDuringRebuild != null) {
+                addedDuringRebuild.add(email);
+            }
+            if (current.getInsertions() > current.getExpectedEntries()) {
+                scheduleRebuild();
+            }
+        }
+    }
+
+    public void addAll(Collection<String> emails) {
+        emails.forEach(this::add);
+    }
+
+    /**
+     * Rebuilds the filter from the table, sized for twice the current row count. Emails added
+     * while the table is being read are replayed into the new filter before it is swapped in.
+     */
+    public void rebuild() {
+        rebuildLock.lock();
+        try {
+            synchronized (lock) {
+                addedDuringRebuild = new ArrayList<>();
+            }
+            try {
+                long started = System.nanoTime();
+                BloomFilter rebuilt = readOnlyTransaction.execute(status -> {
+                    BloomFilter next = new BloomFilter(Math.max(minimumCapacity, employeeRepository.count() * 2), falsePositiveRate);
+                    try (Stream<String> emails = employeeRepository.streamAllEmails()) {
+                        emails.forEach(next::put);
+                    }
+                    return next;
+                });
+                synchronized (lock) {
+                    addedDuringRebuild.forEach(rebuilt::put);
+                    filter = rebuilt;
+                }
+                log.debug("Rebuilt email index with {} entries ({} bits, {} hashes) in {} ms", rebuilt.getInsertions(),
+                        rebuilt.getBitCount(), rebuilt.getHashCount(), (System.nanoTime() - started) / 1_000_000);
+            } finally {
+                synchronized (lock) {
+                    addedDuringRebuild = null;
+                }
+            }
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        if (enabled) {
+            rebuild();
+        }
+    }
+
+    private void scheduleRebuild() {
+        if (rebuildPending.compareAndSet(false, true)) {
+            rebuilder.execute(() -> {
+                rebuildPending.set(false);
+                try {
+                    rebuild();
+                } catch (RuntimeException e) {
+                    log.error("Email index rebuild failed; keeping the current filter", e);
+                }
+            });
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("email.index.lookups", lookups, AtomicLong::get)
+                .description("Uniqueness pre-checks answered by the email index").register(registry);
+        FunctionCounter.builder("email.index.definite.misses", definiteMisses, AtomicLong::get)
+                .description("Pre-checks that skipped the database query").register(registry);
+        FunctionCounter.builder("email.index.false.positives", falsePositives, AtomicLong::get)
+                .description("Pre-checks whose database query found no match").register(registry);
+        Gauge.builder("email.index.entries", this, index -> index.filter == null ? 0 : index.filter.getInsertions())
+                .register(registry);
+        Gauge.builder("email.index.estimated.false.positive.rate", this,
+                index -> index.filter == null ? 1 : index.filter.estimatedFalsePositiveRate()).register(registry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuilder.shutdownNow();
+    }
+}
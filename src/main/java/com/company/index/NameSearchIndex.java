@@ -0,0 +1,291 @@
+package com.company.index;
+
+import com.company.dto.SearchHit;
+import com.company.event.OrgChangeEvent;
+import com.company.event.OrgChangeEvent.ChangeType;
+import com.company.event.OrgChangeEvent.EntityType;
+import com.company.repository.CompanyRepository;
+import com.company.repository.DepartmentRepository;
+import com.company.repository.EmployeeRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Trigram name search over employees (first name, last name, email), departments and
+ * companies. Built from the tables at startup and kept current from committed
+ * {@link OrgChangeEvent}s on the index's own thread, so the committing request never waits on
+ * the re-read: single-row changes are queued and applied in place, while batch writes and
+ * company or department deletes (which cascade) trigger a rebuild.
+ */
+@Component
+public class NameSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(NameSearchIndex.class);
+
+    public static final int DEFAULT_LIMIT = 20;
+    public static final int MAX_LIMIT = 100;
+
+    private final CompanyRepository companyRepository;
+    private final DepartmentRepository departmentRepository;
+    private final EmployeeRepository employeeRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final boolean enabled;
+    private final double minSimilarity;
+
+    private volatile Map<EntityType, TrigramIndex> indexes;
+    // Guards only the in-memory swap and replay list; rows are read before it is taken
+    private final ReentrantLock lock = new ReentrantLock();
+    // Serializes rebuilds; two running at once would reset each other's replay list
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private List<Change> changedDuringRebuild;
+
+    // Single-row changes waiting for the worker, which applies them in the order they committed
+    private final Queue<OrgChangeEvent> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean drainScheduled = new AtomicBoolean();
+    private final AtomicBoolean rebuildPending = new AtomicBoolean();
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "name-search-index");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Autowired
+    public NameSearchIndex(CompanyRepository companyRepository,
+                           DepartmentRepository departmentRepository,
+                           EmployeeRepository employeeRepository,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${company.search.enabled:true}") boolean enabled,
+                           @Value("${company.search.min-similarity:0.3}") double minSimilarity) {
+        this.companyRepository = companyRepository;
+        this.departmentRepository = departmentRepository;
+        this.employeeRepository = employeeRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.enabled = enabled;
+        this.minSimilarity = minSimilarity;
+    }
+
+    public static void requireValidLimit(int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_LIMIT);
+        }
+    }
+
+    public boolean isReady() {
+        return indexes != null;
+    }
+
+    /**
+     * Ranked matches for the query, best first; empty until the index has been built.
+     */
+    public List<SearchHit> search(EntityType type, String query, int limit) {
+        Map<EntityType, TrigramIndex> current = indexes;
+        if (current == null) {
+            return List.of();
+        }
+        return current.get(type).search(query, limit, minSimilarity).stream()
+                .map(hit -> new SearchHit(hit.id(), hit.label(), hit.score()))
+                .toList();
+    }
+
+    public void rebuild() {
+        rebuildLock.lock();
+        try {
+            lock.lock();
+            try {
+                changedDuringRebuild = new ArrayList<>();
+            } finally {
+                lock.unlock();
+            }
+            try {
+                long started = System.nanoTime();
+                Map<EntityType, TrigramIndex> rebuilt = readOnlyTransaction.execute(status -> load());
+                lock.lock();
+                try {
+                    changedDuringRebuild.forEach(change -> change.applyTo(rebuilt));
+                    indexes = rebuilt;
+                } finally {
+                    lock.unlock();
+                }
+                log.debug("Rebuilt name search index ({} employees, {} departments, {} companies) in {} ms",
+                        rebuilt.get(EntityType.EMPLOYEE).size(), rebuilt.get(EntityType.DEPARTMENT).size(),
+                        rebuilt.get(EntityType.COMPANY).size(), (System.nanoTime() - started) / 1_000_000);
+            } finally {
+                lock.lock();
+                try {
+                    changedDuringRebuild = null;
+                } finally {
+                    lock.unlock();
+                }
+            }
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    private Map<EntityType, TrigramIndex> load() {
+        Map<EntityType, TrigramIndex> next = newIndexes();
+        try (Stream<CompanyRepository.SnapshotRow> rows = companyRepository.streamSnapshotRows()) {
+            rows.forEach(row -> next.get(EntityType.COMPANY).put(row.getId(), row.getName(), row.getName()));
+        }
+        try (Stream<DepartmentRepository.SnapshotRow> rows = departmentRepository.streamSnapshotRows()) {
+            rows.forEach(row -> next.get(EntityType.DEPARTMENT).put(row.getId(), row.getName(), row.getName()));
+        }
+        try (Stream<EmployeeRepository.SnapshotRow> rows = employeeRepository.streamSnapshotRows()) {
+            rows.forEach(row -> employee(row).applyTo(next));
+        }
+        return next;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        if (enabled) {
+            rebuild();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrgChange(OrgChangeEvent event) {
+        if (!enabled) {
+            return;
+        }
+        if (event.entityId() == null || (event.changeType() == ChangeType.DELETED && event.entityType() != EntityType.EMPLOYEE)) {
+            scheduleRebuild();
+            return;
+        }
+        pending.add(event);
+        if (drainScheduled.compareAndSet(false, true)) {
+            worker.execute(this::drain);
+        }
+    }
+
+    /**
+     * Re-reads the changed rows and applies them to the index, on the calling thread. Each row
+     * is read once however many of the events name it; a row that is gone is removed.
+     */
+    public void apply(List<OrgChangeEvent> events) {
+        Map<EntityType, Set<Long>> changed = new EnumMap<>(EntityType.class);
+        for (OrgChangeEvent event : events) {
+            changed.computeIfAbsent(event.entityType(), type -> new LinkedHashSet<>()).add(event.entityId());
+        }
+        List<Change> changes = readOnlyTransaction.execute(status -> {
+            List<Change> read = new ArrayList<>();
+            changed.forEach((type, ids) -> ids.forEach(id -> read.add(read(type, id))));
+            return read;
+        });
+        lock.lock();
+        try {
+            for (Change change : changes) {
+                if (indexes != null) {
+                    change.applyTo(indexes);
+                }
+                if (changedDuringRebuild != null) {
+                    changedDuringRebuild.add(change);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Everything queued while the previous drain ran is read and applied together
+    private void drain() {
+        drainScheduled.set(false);
+        List<OrgChangeEvent> events = new ArrayList<>();
+        for (OrgChangeEvent event = pending.poll(); event != null; event = pending.poll()) {
+            events.add(event);
+        }
+        if (events.isEmpty()) {
+            return;
+        }
+        try {
+            apply(events);
+        } catch (RuntimeException e) {
+            // The lost changes are only recovered by reading everything again
+            log.error("Name search index update failed; rebuilding", e);
+            scheduleRebuild();
+        }
+    }
+
+    // Re-reads the changed row so the index reflects committed state
+    private Change read(EntityType type, Long id) {
+        Optional<Change> change = switch (type) {
+            case COMPANY -> companyRepository.findSnapshotRowById(id).map(row -> named(type, id, row.getName()));
+            case DEPARTMENT -> departmentRepository.findSnapshotRowById(id).map(row -> named(type, id, row.getName()));
+            case EMPLOYEE -> employeeRepository.findSnapshotRowById(id).map(NameSearchIndex::employee);
+        };
+        return change.orElseGet(() -> new Change(type, id, null, null));
+    }
+
+    private static Change named(EntityType type, Long id, String name) {
+        return new Change(type, id, name, name);
+    }
+
+    private static Change employee(EmployeeRepository.SnapshotRow row) {
+        String name = row.getFirstName() + " " + row.getLastName();
+        return new Change(EntityType.EMPLOYEE, row.getId(), name + " " + row.getEmail(), name + " <" + row.getEmail() + ">");
+    }
+
+    private static Map<EntityType, TrigramIndex> newIndexes() {
+        Map<EntityType, TrigramIndex> indexes = new EnumMap<>(EntityType.class);
+        for (EntityType type : EntityType.values()) {
+            indexes.put(type, new TrigramIndex());
+        }
+        return indexes;
+    }
+
+    private void scheduleRebuild() {
+        if (rebuildPending.compareAndSet(false, true)) {
+            worker.execute(() -> {
+                rebuildPending.set(false);
+                try {
+                    rebuild();
+                } catch (RuntimeException e) {
+                    log.error("Name search index rebuild failed; keeping the current index", e);
+                }
+            });
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        worker.shutdownNow();
+    }
+
+    // A row as read after its commit; a null text removes it from the index
+    private record Change(EntityType type, Long id, String text, String label) {
+
+        void applyTo(Map<EntityType, TrigramIndex> target) {
+            TrigramIndex index = target.get(type);
+            if (text == null) {
+                index.remove(id);
+            } else {
+                index.put(id, text, label);
+            }
+        }
+    }
+}
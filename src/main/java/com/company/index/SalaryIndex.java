@@ -0,0 +1,436 @@
+package com.company.index;
+
+import com.company.dto.SalaryEntry;
+import com.company.event.OrgChangeEvent;
+import com.company.event.OrgChangeEvent.ChangeType;
+import com.company.event.OrgChangeEvent.EntityType;
+import com.company.repository.DepartmentRepository;
+import com.company.repository.EmployeeRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * In-memory salary ladders per company and per department ({@link SortedSalaries}), answering
+ * range counts, range pages, top-K and percentiles without touching the employees table.
+ * Built at startup and kept current from committed {@link OrgChangeEvent}s on the index's own
+ * thread, so the committing request never waits on the re-read: a created, updated or deleted
+ * employee moves one entry in at most two ladders per level, while batch writes and company or
+ * department deletes (which cascade) trigger a rebuild.
+ */
+@Component
+public class SalaryIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(SalaryIndex.class);
+
+    public enum Scope {
+        COMPANY,
+        DEPARTMENT
+    }
+
+    private final EmployeeRepository employeeRepository;
+    private final DepartmentRepository departmentRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final boolean enabled;
+
+    private volatile Ladders ladders;
+    // Guards only the ladder swap and replay list; rows are read before it is taken
+    private final ReentrantLock lock = new ReentrantLock();
+    // Held for a whole rebuild so a caller's rebuild and a scheduled one never share the replay list
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private List<Change> changedDuringRebuild;
+
+    // Employee changes waiting for the worker, which applies them in the order they committed
+    private final Queue<OrgChangeEvent> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean drainScheduled = new AtomicBoolean();
+    private final AtomicBoolean rebuildPending = new AtomicBoolean();
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "salary-index");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Autowired
+    public SalaryIndex(EmployeeRepository employeeRepository,
+                       DepartmentRepository departmentRepository,
+                       PlatformTransactionManager transactionManager,
+                       @Value("${company.salary-index.enabled:true}") boolean enabled) {
+        this.employeeRepository = employeeRepository;
+        this.departmentRepository = departmentRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.enabled = enabled;
+    }
+
+    public boolean isReady() {
+        return ladders != null;
+    }
+
+    // Queries; salary bounds are inclusive and null means unbounded
+    public long count(Scope scope, Long id, BigDecimal min, BigDecimal max) {
+        return current().read(scope, id, 0L, salaries ->
+                (long) (upperBound(salaries, max) - lowerBound(salaries, min)));
+    }
+
+    /**
+     * Entries in the salary range in ascending (salary, id) order.
+     */
+    public List<SalaryEntry> range(Scope scope, Long id, BigDecimal min, BigDecimal max, int offset, int limit) {
+        return current().read(scope, id, List.of(), salaries -> {
+            int from = (int) Math.min((long) lowerBound(salaries, min) + offset, Integer.MAX_VALUE);
+            int to = Math.min(upperBound(salaries, max), (int) Math.min((long) from + limit, Integer.MAX_VALUE));
+            List<SalaryEntry> page = new ArrayList<>(Math.max(0, to - from));
+            for (int i = from; i < to; i++) {
+                page.add(entryAt(salaries, i));
+            }
+            return page;
+        });
+    }
+
+    /**
+     * The {@code k} highest salaries, highest first; equal salaries in ascending id order.
+     */
+    public List<SalaryEntry> top(Scope scope, Long id, int k) {
+        return current().read(scope, id, List.of(), salaries -> {
+            List<SalaryEntry> top = new ArrayList<>(Math.min(k, salaries.size()));
+            int i = salaries.size() - 1;
+            while (i >= 0 && top.size() < k) {
+                // Walk each run of equal salaries forwards so ties stay in id order
+                int runStart = salaries.lowerBound(salaries.centsAt(i));
+                for (int j = runStart; j <= i && top.size() < k; j++) {
+                    top.add(entryAt(salaries, j));
+                }
+                i = runStart - 1;
+            }
+            return top;
+        });
+    }
+
+    /**
+     * Nearest-rank percentiles keyed by the requested percentile; empty when the scope has
+     * no employees.
+     */
+    public Map<Integer, BigDecimal> percentiles(Scope scope, Long id, List<Integer> percentiles) {
+        return current().read(scope, id, Map.of(), salaries -> {
+            Map<Integer, BigDecimal> result = new LinkedHashMap<>();
+            if (salaries.size() > 0) {
+                percentiles.forEach(p -> result.put(p, BigDecimal.valueOf(salaries.percentile(p), 2)));
+            }
+            return result;
+        });
+    }
+
+    private Ladders current() {
+        Ladders current = ladders;
+        if (current == null) {
+            throw new IllegalStateException("Salary index is not available");
+        }
+        return current;
+    }
+
+    private static int lowerBound(SortedSalaries salaries, BigDecimal min) {
+        return min == null ? 0 : salaries.lowerBound(toCents(min, RoundingMode.CEILING));
+    }
+
+    private static int upperBound(SortedSalaries salaries, BigDecimal max) {
+        return max == null ? salaries.size() : salaries.upperBound(toCents(max, RoundingMode.FLOOR));
+    }
+
+    private static SalaryEntry entryAt(SortedSalaries salaries, int index) {
+        return new SalaryEntry(salaries.idAt(index), BigDecimal.valueOf(salaries.centsAt(index), 2));
+    }
+
+    private static long toCents(BigDecimal amount, RoundingMode rounding) {
+        return amount.movePointRight(2).setScale(0, rounding).longValueExact();
+    }
+
+    // Building
+    public void rebuild() {
+        rebuildLock.lock();
+        try {
+            lock.lock();
+            try {
+                changedDuringRebuild = new ArrayList<>();
+            } finally {
+                lock.unlock();
+            }
+            try {
+                long started = System.nanoTime();
+                Ladders rebuilt = readOnlyTransaction.execute(status -> load());
+                lock.lock();
+                try {
+                    changedDuringRebuild.forEach(change -> rebuilt.move(change.employeeId(), change.placement()));
+                    ladders = rebuilt;
+                } finally {
+                    lock.unlock();
+                }
+                log.debug("Rebuilt salary index ({} employees) in {} ms",
+                        rebuilt.employeeCount(), (System.nanoTime() - started) / 1_000_000);
+            } finally {
+                lock.lock();
+                try {
+                    changedDuringRebuild = null;
+                } finally {
+                    lock.unlock();
+                }
+            }
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    private Ladders load() {
+        Map<Long, Long> companyByDepartment = new ConcurrentHashMap<>();
+        try (Stream<DepartmentRepository.SnapshotRow> rows = departmentRepository.streamSnapshotRows()) {
+            rows.forEach(row -> companyByDepartment.put(row.getId(), row.getCompanyId()));
+        }
+        Map<Long, Collector> departments = new HashMap<>();
+        Map<Long, Collector> companies = new HashMap<>();
+        Ladders next = new Ladders(companyByDepartment);
+        try (Stream<EmployeeRepository.SnapshotRow> rows = employeeRepository.streamSnapshotRows()) {
+            rows.forEach(row -> {
+                if (row.getSalary() == null || row.getDepartmentId() == null) {
+                    return;
+                }
+                long cents = toCents(row.getSalary(), RoundingMode.HALF_UP);
+                Long companyId = companyByDepartment.get(row.getDepartmentId());
+                departments.computeIfAbsent(row.getDepartmentId(), d -> new Collector()).add(cents, row.getId());
+                if (companyId != null) {
+                    companies.computeIfAbsent(companyId, c -> new Collector()).add(cents, row.getId());
+                }
+                next.placements.put(row.getId(), new Placement(row.getDepartmentId(), companyId, cents));
+            });
+        }
+        departments.forEach((departmentId, collected) -> next.departments.put(departmentId, collected.sorted()));
+        companies.forEach((companyId, collected) -> next.companies.put(companyId, collected.sorted()));
+        return next;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        if (enabled) {
+            rebuild();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrgChange(OrgChangeEvent event) {
+        if (!enabled) {
+            return;
+        }
+        if (event.entityId() == null || (event.changeType() == ChangeType.DELETED && event.entityType() != EntityType.EMPLOYEE)) {
+            scheduleRebuild();
+            return;
+        }
+        if (event.entityType() != EntityType.EMPLOYEE) {
+            return;
+        }
+        pending.add(event);
+        if (drainScheduled.compareAndSet(false, true)) {
+            worker.execute(this::drain);
+        }
+    }
+
+    /**
+     * Re-reads the changed employees and moves their entries, on the calling thread. Each
+     * employee is read once however many of the events name it; one that is gone is removed.
+     */
+    public void apply(List<OrgChangeEvent> events) {
+        Set<Long> employeeIds = new LinkedHashSet<>();
+        for (OrgChangeEvent event : events) {
+            employeeIds.add(event.entityId());
+        }
+        List<Change> changes = readOnlyTransaction.execute(status -> employeeIds.stream().map(this::read).toList());
+        lock.lock();
+        try {
+            for (Change change : changes) {
+                if (ladders != null) {
+                    ladders.move(change.employeeId(), change.placement());
+                }
+                if (changedDuringRebuild != null) {
+                    changedDuringRebuild.add(change);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Everything queued while the previous drain ran is read and applied together
+    private void drain() {
+        drainScheduled.set(false);
+        List<OrgChangeEvent> events = new ArrayList<>();
+        for (OrgChangeEvent event = pending.poll(); event != null; event = pending.poll()) {
+            events.add(event);
+        }
+        if (events.isEmpty()) {
+            return;
+        }
+        try {
+            apply(events);
+        } catch (RuntimeException e) {
+            // The lost changes are only recovered by reading everything again
+            log.error("Salary index update failed; rebuilding", e);
+            scheduleRebuild();
+        }
+    }
+
+    // Re-reads the changed row so the ladders reflect committed state
+    private Change read(Long employeeId) {
+        Placement placement = employeeRepository.findSnapshotRowById(employeeId)
+                .filter(row -> row.getSalary() != null && row.getDepartmentId() != null)
+                .map(row -> new Placement(row.getDepartmentId(), companyOf(row.getDepartmentId()),
+                        toCents(row.getSalary(), RoundingMode.HALF_UP)))
+                .orElse(null);
+        return new Change(employeeId, placement);
+    }
+
+    // Departments created since the last rebuild are looked up once and remembered
+    private Long companyOf(Long departmentId) {
+        Ladders current = ladders;
+        Long companyId = current != null ? current.companyByDepartment.get(departmentId) : null;
+        if (companyId == null) {
+            companyId = departmentRepository.findSnapshotRowById(departmentId)
+                    .map(DepartmentRepository.SnapshotRow::getCompanyId)
+                    .orElse(null);
+            if (companyId != null && current != null) {
+                current.companyByDepartment.put(departmentId, companyId);
+            }
+        }
+        return companyId;
+    }
+
+    private void scheduleRebuild() {
+        if (rebuildPending.compareAndSet(false, true)) {
+            worker.execute(() -> {
+                rebuildPending.set(false);
+                try {
+                    rebuild();
+                } catch (RuntimeException e) {
+                    log.error("Salary index rebuild failed; keeping the current index", e);
+                }
+            });
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        worker.shutdownNow();
+    }
+
+    private record Placement(Long departmentId, Long companyId, long cents) {
+    }
+
+    // An employee's placement as read after its commit; a null placement removes it
+    private record Change(Long employeeId, Placement placement) {
+    }
+
+    // One generation of the index; readers and the event thread share it under a read-write lock
+    private static final class Ladders {
+
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        private final Map<Long, SortedSalaries> departments = new HashMap<>();
+        private final Map<Long, SortedSalaries> companies = new HashMap<>();
+        private final Map<Long, Placement> placements = new HashMap<>();
+        private final Map<Long, Long> companyByDepartment;
+
+        Ladders(Map<Long, Long> companyByDepartment) {
+            this.companyByDepartment = companyByDepartment;
+        }
+
+        <T> T read(Scope scope, Long id, T empty, Function<SortedSalaries, T> query) {
+            lock.readLock().lock();
+            try {
+                SortedSalaries salaries = (scope == Scope.COMPANY ? companies : departments).get(id);
+                return salaries == null ? empty : query.apply(salaries);
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        int employeeCount() {
+            return placements.size();
+        }
+
+        // Replaces the employee's entry; a null placement removes it
+        void move(Long employeeId, Placement placement) {
+            lock.writeLock().lock();
+            try {
+                Placement previous = placement == null ? placements.remove(employeeId) : placements.put(employeeId, placement);
+                if (previous != null) {
+                    remove(departments, previous.departmentId(), previous.cents(), employeeId);
+                    remove(companies, previous.companyId(), previous.cents(), employeeId);
+                }
+                if (placement != null) {
+                    departments.computeIfAbsent(placement.departmentId(), d -> new SortedSalaries()).add(placement.cents(), employeeId);
+                    if (placement.companyId() != null) {
+                        companies.computeIfAbsent(placement.companyId(), c -> new SortedSalaries()).add(placement.cents(), employeeId);
+                    }
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        private static void remove(Map<Long, SortedSalaries> ladders, Long key, long cents, long employeeId) {
+            if (key == null) {
+                return;
+            }
+            SortedSalaries salaries = ladders.get(key);
+            if (salaries != null && salaries.remove(cents, employeeId) && salaries.size() == 0) {
+                ladders.remove(key);
+            }
+        }
+    }
+
+    // Unsorted cents and ids gathered while streaming, sorted once per ladder
+    private static final class Collector {
+
+        private long[] cents = new long[8];
+        private long[] ids = new long[8];
+        private int size;
+
+        void add(long salaryCents, long id) {
+            if (size == cents.length) {
+                cents = Arrays.copyOf(cents, size * 2);
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            cents[size] = salaryCents;
+            ids[size] = id;
+            size++;
+        }
+
+        SortedSalaries sorted() {
+            return SortedSalaries.of(cents, ids, size);
+        }
+    }
+}
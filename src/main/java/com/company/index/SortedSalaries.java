@@ -0,0 +1,130 @@
+package com.company.index;
+
+import java.util.Arrays;
+
+/**
+ * Salaries of one company or department as parallel primitive arrays of cents and employee
+ * ids, kept sorted by (cents, id). Range counts, offsets into a range and percentiles are
+ * binary searches or direct index reads; inserts and removals shift the tail of the arrays.
+ * Not thread-safe; {@link SalaryIndex} guards every instance.
+ */
+public final class SortedSalaries {
+
+    private long[] cents;
+    private long[] ids;
+    private int size;
+
+    public SortedSalaries() {
+        this(new long[8], new long[8], 0);
+    }
+
+    private SortedSalaries(long[] cents, long[] ids, int size) {
+        this.cents = cents;
+        this.ids = ids;
+        this.size = size;
+    }
+
+    /**
+     * Builds from unsorted parallel arrays in one sort instead of {@code size} inserts.
+     */
+    public static SortedSalaries of(long[] cents, long[] ids, int size) {
+        long[] sortedCents = Arrays.copyOf(cents, Math.max(8, size));
+        long[] sortedIds = Arrays.copyOf(ids, Math.max(8, size));
+        mergeSort(sortedCents, sortedIds, Arrays.copyOf(sortedCents, size), Arrays.copyOf(sortedIds, size), 0, size);
+        return new SortedSalaries(sortedCents, sortedIds, size);
+    }
+
+    // Sorts [from, to) of cents/ids by (cents, id), using the scratch arrays as merge sources
+    private static void mergeSort(long[] cents, long[] ids, long[] scratchCents, long[] scratchIds, int from, int to) {
+        if (to - from < 2) {
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        mergeSort(scratchCents, scratchIds, cents, ids, from, mid);
+        mergeSort(scratchCents, scratchIds, cents, ids, mid, to);
+        for (int i = from, left = from, right = mid; i < to; i++) {
+            boolean takeLeft = right == to || (left < mid && (scratchCents[left] < scratchCents[right]
+                    || (scratchCents[left] == scratchCents[right] && scratchIds[left] <= scratchIds[right])));
+            int source = takeLeft ? left++ : right++;
+            cents[i] = scratchCents[source];
+            ids[i] = scratchIds[source];
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void add(long salaryCents, long id) {
+        int at = position(salaryCents, id);
+        if (at < size && cents[at] == salaryCents && ids[at] == id) {
+            return;
+        }
+        if (size == cents.length) {
+            cents = Arrays.copyOf(cents, size * 2);
+            ids = Arrays.copyOf(ids, size * 2);
+        }
+        System.arraycopy(cents, at, cents, at + 1, size - at);
+        System.arraycopy(ids, at, ids, at + 1, size - at);
+        cents[at] = salaryCents;
+        ids[at] = id;
+        size++;
+    }
+
+    public boolean remove(long salaryCents, long id) {
+        int at = position(salaryCents, id);
+        if (at == size || cents[at] != salaryCents || ids[at] != id) {
+            return false;
+        }
+        System.arraycopy(cents, at + 1, cents, at, size - at - 1);
+        System.arraycopy(ids, at + 1, ids, at, size - at - 1);
+        size--;
+        return true;
+    }
+
+    /**
+     * Index of the first entry with salary at least {@code salaryCents}.
+     */
+    public int lowerBound(long salaryCents) {
+        return position(salaryCents, Long.MIN_VALUE);
+    }
+
+    /**
+     * Index of the first entry with salary above {@code salaryCents}.
+     */
+    public int upperBound(long salaryCents) {
+        return salaryCents == Long.MAX_VALUE ? size : position(salaryCents + 1, Long.MIN_VALUE);
+    }
+
+    public long centsAt(int index) {
+        return cents[index];
+    }
+
+    public long idAt(int index) {
+        return ids[index];
+    }
+
+    /**
+     * Nearest-rank percentile: the smallest salary with at least {@code percentile}% of the
+     * entries at or below it. Undefined for an empty instance.
+     */
+    public long percentile(double percentile) {
+        int rank = (int) Math.ceil(percentile / 100.0 * size);
+        return cents[Math.max(0, rank - 1)];
+    }
+
+    // First index whose (cents, id) is not below the given key
+    private int position(long salaryCents, long id) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (cents[mid] < salaryCents || (cents[mid] == salaryCents && ids[mid] < id)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,438 @@
+package com.company.index;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-process trigram inverted index over short texts such as names and emails. Each text is
+ * lower-cased, stripped of accents and split into words; every word is padded with one space
+ * on each side and cut into overlapping three-character grams. A query matches a document
+ * when at least {@code minSimilarity} of the query's grams occur in it, which tolerates a
+ * typo or two per word, and hits are ranked by that fraction.
+ * <p>
+ * Postings are sorted int arrays of document slots. Updates append a new slot and tombstone
+ * the old one; the postings are compacted once tombstones outnumber live documents.
+ * Searches count the rarest grams first and stop reading postings once no unseen document
+ * can still make the top results, so common grams are mostly probed rather than scanned.
+ * Readers and the single writer are separated by a read-write lock.
+ */
+public final class TrigramIndex {
+
+    public record Hit(long id, String label, double score) {
+    }
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final LongIntMap listByGram = new LongIntMap();
+    private Postings[] lists = new Postings[256];
+    private int listCount;
+    private final LongIntMap slotById = new LongIntMap();
+
+    private long[] ids = new long[16];
+    private String[] labels = new String[16];
+    private int[] gramCounts = new int[16];
+    private int slotCount;
+    private int liveCount;
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}");
+    private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+
+    /**
+     * Adds or replaces the document with the given id.
+     */
+    public void put(long id, String text, String label) {
+        long[] grams = grams(text);
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+            if (slotCount == ids.length) {
+                int capacity = slotCount * 2;
+                ids = Arrays.copyOf(ids, capacity);
+                labels = Arrays.copyOf(labels, capacity);
+                gramCounts = Arrays.copyOf(gramCounts, capacity);
+            }
+            int slot = slotCount++;
+            ids[slot] = id;
+            labels[slot] = label;
+            gramCounts[slot] = grams.length;
+            for (long gram : grams) {
+                postingsFor(gram).add(slot);
+            }
+            slotById.put(id, slot);
+            liveCount++;
+            compactIfSparse();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+            compactIfSparse();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return liveCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<Hit> search(String query, int limit, double minSimilarity) {
+        long[] grams = grams(query);
+        if (grams.length == 0 || limit <= 0) {
+            return List.of();
+        }
+        int minShared = Math.max(1, (int) Math.ceil(grams.length * minSimilarity));
+        lock.readLock().lock();
+        try {
+            Postings[] matched = new Postings[grams.length];
+            int present = 0;
+            for (long gram : grams) {
+                int list = listByGram.get(gram);
+                if (list >= 0 && lists[list].size > 0) {
+                    matched[present++] = lists[list];
+                }
+            }
+            if (present < minShared) {
+                return List.of();
+            }
+            matched = Arrays.copyOf(matched, present);
+            Arrays.sort(matched, Comparator.comparingInt(p -> p.size));
+
+            // Count the shortest lists first. A document first seen in list l shares at most
+            // (present - l) grams, so admission stops once that is below minShared or cannot
+            // beat the limit-th best count so far; the remaining lists are only probed.
+            // Tombstoned slots are not counted, or they could end admission before a live match
+            Scratch scratch = SCRATCH.get();
+            scratch.begin(slotCount, present);
+            int counted = 0;
+            while (counted < present && present - counted >= minShared
+                    && scratch.kthBestCount(limit) <= present - counted) {
+                Postings list = matched[counted++];
+                for (int i = 0; i < list.size; i++) {
+                    int slot = list.slots[i];
+                    if (labels[slot] != null) {
+                        scratch.increment(slot);
+                    }
+                }
+            }
+            int unprobed = present - counted;
+
+            // Verify candidates in descending count order until none can still enter the top
+            PriorityQueue<Candidate> best = new PriorityQueue<>(limit + 1, Candidate.RANKING.reversed());
+            for (int slot : scratch.candidatesByCount()) {
+                int shared = scratch.counts[slot];
+                if (shared + unprobed < minShared || (best.size() == limit && shared + unprobed < best.peek().shared())) {
+                    break;
+                }
+                for (int l = counted; l < present; l++) {
+                    if (Arrays.binarySearch(matched[l].slots, 0, matched[l].size, slot) >= 0) {
+                        shared++;
+                    }
+                }
+                if (shared < minShared) {
+                    continue;
+                }
+                // Fraction of query grams found, nudged towards documents without extra grams
+                double score = shared / (double) grams.length - 0.001 * (gramCounts[slot] - shared) / gramCounts[slot];
+                best.add(new Candidate(ids[slot], shared, score, slot));
+                if (best.size() > limit) {
+                    best.poll();
+                }
+            }
+            scratch.reset();
+            List<Candidate> ranked = new ArrayList<>(best);
+            ranked.sort(Candidate.RANKING);
+            List<Hit> hits = new ArrayList<>(ranked.size());
+            for (Candidate candidate : ranked) {
+                hits.add(new Hit(candidate.id(), labels[candidate.slot()], candidate.score()));
+            }
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private record Candidate(long id, int shared, double score, int slot) {
+
+        static final Comparator<Candidate> RANKING = Comparator.comparingDouble(Candidate::score).reversed()
+                .thenComparingLong(Candidate::id);
+    }
+
+    private Postings postingsFor(long gram) {
+        int list = listByGram.get(gram);
+        if (list < 0) {
+            if (listCount == lists.length) {
+                lists = Arrays.copyOf(lists, listCount * 2);
+            }
+            list = listCount++;
+            lists[list] = new Postings();
+            listByGram.put(gram, list);
+        }
+        return lists[list];
+    }
+
+    private void removeLocked(long id) {
+        int slot = slotById.remove(id);
+        if (slot >= 0) {
+            labels[slot] = null;
+            liveCount--;
+        }
+    }
+
+    private void compactIfSparse() {
+        if (slotCount - liveCount > Math.max(1024, liveCount)) {
+            compact();
+        }
+    }
+
+    private void compact() {
+        int[] newSlot = new int[slotCount];
+        int next = 0;
+        for (int slot = 0; slot < slotCount; slot++) {
+            if (labels[slot] == null) {
+                newSlot[slot] = -1;
+            } else {
+                newSlot[slot] = next;
+                ids[next] = ids[slot];
+                labels[next] = labels[slot];
+                gramCounts[next] = gramCounts[slot];
+                slotById.put(ids[next], next);
+                next++;
+            }
+        }
+        Arrays.fill(labels, next, slotCount, null);
+        slotCount = next;
+        for (int list = 0; list < listCount; list++) {
+            lists[list].remap(newSlot);
+        }
+    }
+
+    /**
+     * Distinct grams of the normalized text, each packed as three 16-bit chars.
+     */
+    static long[] grams(String text) {
+        if (text == null) {
+            return new long[0];
+        }
+        String normalized = text.chars().allMatch(c -> c < 0x80) ? text.toLowerCase(Locale.ROOT)
+                : MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("").toLowerCase(Locale.ROOT);
+        long[] grams = new long[normalized.length() * 2 + 2];
+        int count = 0;
+        int start = -1;
+        for (int i = 0; i <= normalized.length(); i++) {
+            boolean wordChar = i < normalized.length() && Character.isLetterOrDigit(normalized.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                // Words are padded with a space on both sides: " ab", "abc", ..., "yz "
+                for (int g = start - 1; g + 3 <= i + 1; g++) {
+                    grams[count++] = ((long) padded(normalized, g, start, i) << 32)
+                            | ((long) padded(normalized, g + 1, start, i) << 16)
+                            | padded(normalized, g + 2, start, i);
+                }
+                start = -1;
+            }
+        }
+        Arrays.sort(grams, 0, count);
+        int distinct = 0;
+        for (int i = 0; i < count; i++) {
+            if (distinct == 0 || grams[i] != grams[distinct - 1]) {
+                grams[distinct++] = grams[i];
+            }
+        }
+        return Arrays.copyOf(grams, distinct);
+    }
+
+    private static char padded(String text, int index, int start, int end) {
+        return index < start || index >= end ? ' ' : text.charAt(index);
+    }
+
+    private static final class Postings {
+
+        private int[] slots = new int[4];
+        private int size;
+
+        void add(int slot) {
+            if (size == slots.length) {
+                slots = Arrays.copyOf(slots, size * 2);
+            }
+            slots[size++] = slot;
+        }
+
+        int remap(int[] newSlot) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                int mapped = newSlot[slots[i]];
+                if (mapped >= 0) {
+                    slots[kept++] = mapped;
+                }
+            }
+            size = kept;
+            return size;
+        }
+    }
+
+    // Per-thread match counters, cleared through the touched list instead of a full fill;
+    // atLeast[c] is the number of candidates that have reached c shared grams
+    private static final class Scratch {
+
+        private int[] counts = new int[0];
+        private int[] touched = new int[64];
+        private int touchedCount;
+        private int[] atLeast = new int[16];
+        private int maxCount;
+
+        void begin(int slots, int lists) {
+            if (counts.length < slots) {
+                counts = new int[Math.max(slots, counts.length * 2)];
+            }
+            if (atLeast.length < lists + 2) {
+                atLeast = new int[lists + 2];
+            }
+        }
+
+        void increment(int slot) {
+            int count = ++counts[slot];
+            if (count == 1) {
+                if (touchedCount == touched.length) {
+                    touched = Arrays.copyOf(touched, touchedCount * 2);
+                }
+                touched[touchedCount++] = slot;
+            }
+            atLeast[count]++;
+            if (count > maxCount) {
+                maxCount = count;
+            }
+        }
+
+        int kthBestCount(int k) {
+            for (int c = maxCount; c > 0; c--) {
+                if (atLeast[c] >= k) {
+                    return c;
+                }
+            }
+            return 0;
+        }
+
+        // Touched slots ordered by count, highest first (counting sort)
+        int[] candidatesByCount() {
+            int[] next = new int[maxCount + 1];
+            for (int c = maxCount - 1; c > 0; c--) {
+                next[c] = next[c + 1] + atLeast[c + 1] - atLeast[c + 2];
+            }
+            int[] ordered = new int[touchedCount];
+            for (int i = 0; i < touchedCount; i++) {
+                int slot = touched[i];
+                ordered[next[counts[slot]]++] = slot;
+            }
+            return ordered;
+        }
+
+        void reset() {
+            for (int i = 0; i < touchedCount; i++) {
+                counts[touched[i]] = 0;
+            }
+            Arrays.fill(atLeast, 0, maxCount + 1, 0);
+            touchedCount = 0;
+            maxCount = 0;
+        }
+    }
+
+    // Open-addressing long -> int map; -1 means absent
+    private static final class LongIntMap {
+
+        private static final long EMPTY = Long.MIN_VALUE;
+
+        private long[] keys = newKeys(16);
+        private int[] values = new int[16];
+        private int size;
+
+        private static long[] newKeys(int capacity) {
+            long[] keys = new long[capacity];
+            Arrays.fill(keys, EMPTY);
+            return keys;
+        }
+
+        void put(long key, int value) {
+            if ((size + 1) * 2 > keys.length) {
+                resize(keys.length * 2);
+            }
+            int i = indexOf(key);
+            if (keys[i] == EMPTY) {
+                keys[i] = key;
+                size++;
+            }
+            values[i] = value;
+        }
+
+        int get(long key) {
+            int i = indexOf(key);
+            return keys[i] == EMPTY ? -1 : values[i];
+        }
+
+        int remove(long key) {
+            int i = indexOf(key);
+            if (keys[i] == EMPTY) {
+                return -1;
+            }
+            int value = values[i];
+            keys[i] = EMPTY;
+            size--;
+            // Re-insert the rest of the probe run so later lookups do not stop early
+            for (int j = (i + 1) & (keys.length - 1); keys[j] != EMPTY; j = (j + 1) & (keys.length - 1)) {
+                long k = keys[j];
+                int v = values[j];
+                keys[j] = EMPTY;
+                int target = indexOf(k);
+                keys[target] = k;
+                values[target] = v;
+            }
+            return value;
+        }
+
+        private int indexOf(long key) {
+            int mask = keys.length - 1;
+            int i = (int) (mix(key) & mask);
+            while (keys[i] != EMPTY && keys[i] != key) {
+                i = (i + 1) & mask;
+            }
+            return i;
+        }
+
+        private void resize(int capacity) {
+            long[] oldKeys = keys;
+            int[] oldValues = values;
+            keys = newKeys(capacity);
+            values = new int[capacity];
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != EMPTY) {
+                    int target = indexOf(oldKeys[i]);
+                    keys[target] = oldKeys[i];
+                    values[target] = oldValues[i];
+                }
+            }
+        }
+
+        private static long mix(long h) {
+            h ^= h >>> 33;
+            h *= 0xFF51AFD7ED558CCDL;
+            h ^= h >>> 33;
+            return h;
+        }
+    }
+}
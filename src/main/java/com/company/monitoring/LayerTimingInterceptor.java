@@ -0,0 +1,26 @@
+package com.company.monitoring;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+/**
+ * Charges the time spent inside the advised calls to one {@link RequestTiming.Layer}.
+ */
+class LayerTimingInterceptor implements MethodInterceptor {
+
+    private final RequestTiming.Layer layer;
+
+    LayerTimingInterceptor(RequestTiming.Layer layer) {
+        this.layer = layer;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        RequestTiming.enter(layer);
+        try {
+            return invocation.proceed();
+        } finally {
+            RequestTiming.exit();
+        }
+    }
+}
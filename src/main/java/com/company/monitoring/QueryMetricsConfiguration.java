@@ -0,0 +1,48 @@
+package com.company.monitoring;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+/**
+ * Per-statement and per-repository-call metrics: installs {@link SqlStatementCounter} as
+ * Hibernate's statement inspector and wraps every Spring Data repository proxy in a
+ * {@link RepositoryMetricsInterceptor}. Replaces {@code show-sql} and bind-parameter logging
+ * as the way to see what the data layer is doing.
+ */
+@Configuration(proxyBeanMethods = false)
+public class QueryMetricsConfiguration {
+
+    @Bean
+    public SqlStatementCounter sqlStatementCounter() {
+        return new SqlStatementCounter();
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer sqlStatementCounterInstaller(SqlStatementCounter sqlStatementCounter) {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, sqlStatementCounter);
+    }
+
+    // Static so the post-processor does not pull this configuration, or the registry, in early
+    @Bean
+    public static BeanPostProcessor repositoryMetricsPostProcessor(ObjectProvider<MeterRegistry> meterRegistry,
+                                                                   ObjectProvider<SqlStatementCounter> sqlStatementCounter) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    // Outermost, so the repository's own transaction and its flush on commit are measured
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                            (proxy, information) -> proxy.addAdvice(0, new RepositoryMetricsInterceptor(
+                                    information.getRepositoryInterface(), meterRegistry, sqlStatementCounter.getObject()))));
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,111 @@
+package com.company.monitoring;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.Slice;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.BaseStream;
+
+/**
+ * Records every call on one repository proxy as three meters tagged with the repository and
+ * method name: {@code repository.invocations} (latency, with histogram buckets),
+ * {@code repository.rows} (entities or values returned) and {@code repository.statements}
+ * (SQL statements prepared during the call). Statements from lazy loading after the call
+ * returns are charged to the request, not the repository method.
+ */
+class RepositoryMetricsInterceptor implements MethodInterceptor {
+
+    private final String repository;
+    private final ObjectProvider<MeterRegistry> registry;
+    private final SqlStatementCounter counter;
+    private final Map<Method, Meters> meters = new ConcurrentHashMap<>();
+
+    private record Meters(Timer success, DistributionSummary rows, DistributionSummary statements) {
+    }
+
+    RepositoryMetricsInterceptor(Class<?> repositoryInterface, ObjectProvider<MeterRegistry> registry,
+                                 SqlStatementCounter counter) {
+        this.repository = repositoryInterface.getSimpleName();
+        this.registry = registry;
+        this.counter = counter;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        MeterRegistry meterRegistry = registry.getIfAvailable();
+        if (meterRegistry == null) {
+            return invocation.proceed();
+        }
+        long statementsBefore = counter.count();
+        long started = System.nanoTime();
+        Object result;
+        try {
+            result = invocation.proceed();
+        } catch (Throwable e) {
+            timer(meterRegistry, invocation.getMethod(), e.getClass().getSimpleName())
+                    .record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+        Meters methodMeters = meters.computeIfAbsent(invocation.getMethod(), method -> register(meterRegistry, method));
+        methodMeters.success().record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        methodMeters.statements().record(counter.count() - statementsBefore);
+        long rows = rowsOf(result);
+        if (rows >= 0) {
+            methodMeters.rows().record(rows);
+        }
+        return result;
+    }
+
+    private Meters register(MeterRegistry meterRegistry, Method method) {
+        return new Meters(timer(meterRegistry, method, "none"),
+                DistributionSummary.builder("repository.rows")
+                        .description("Entities or values returned per repository call")
+                        .tags("repository", repository, "method", method.getName())
+                        .register(meterRegistry),
+                DistributionSummary.builder("repository.statements")
+                        .description("SQL statements prepared per repository call")
+                        .tags("repository", repository, "method", method.getName())
+                        .register(meterRegistry));
+    }
+
+    private Timer timer(MeterRegistry meterRegistry, Method method, String exception) {
+        return Timer.builder("repository.invocations")
+                .description("Repository call latency")
+                .tags("repository", repository, "method", method.getName(), "exception", exception)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    /**
+     * Rows in a repository result, or -1 for streams, which cannot be counted without
+     * consuming them.
+     */
+    static long rowsOf(Object result) {
+        if (result == null) {
+            return 0;
+        }
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Slice<?> slice) {
+            return slice.getNumberOfElements();
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        if (result instanceof BaseStream<?, ?>) {
+            return -1;
+        }
+        return 1;
+    }
+}
@@ -0,0 +1,137 @@
+package com.company.monitoring;
+
+import java.util.Locale;
+
+/**
+ * Per-thread breakdown of one request's time by layer. Hooks call {@link #enter} and
+ * {@link #exit} around controller, service, repository, JDBC and serialization work; time is
+ * charged to the innermost layer active at each moment, so the layers are self times and add
+ * up to the request total minus whatever ran outside them. Outside a request started by
+ * {@link ServerTimingFilter} every hook is a thread-local read and nothing more.
+ */
+public final class RequestTiming {
+
+    public enum Layer {
+        CONTROLLER, SERVICE, REPOSITORY, DB, SERIALIZATION;
+
+        final String label = name().toLowerCase(Locale.ROOT);
+    }
+
+    private static final ThreadLocal<RequestTiming> CURRENT = new ThreadLocal<>();
+    private static final int MAX_DEPTH = 64;
+
+    private final long started = System.nanoTime();
+    private final long[] selfNanos = new long[Layer.values().length];
+    private final Layer[] stack = new Layer[MAX_DEPTH];
+    private int depth;
+    private long mark = started;
+    private int repositoryDepth;
+    private int repositoryCalls;
+    private int statements;
+    private int statementsOutsideRepositories;
+
+    private RequestTiming() {
+    }
+
+    static RequestTiming start() {
+        RequestTiming timing = new RequestTiming();
+        CURRENT.set(timing);
+        return timing;
+    }
+
+    static void stop() {
+        CURRENT.remove();
+    }
+
+    static RequestTiming current() {
+        return CURRENT.get();
+    }
+
+    public static void enter(Layer layer) {
+        RequestTiming timing = CURRENT.get();
+        if (timing != null) {
+            timing.push(layer);
+        }
+    }
+
+    public static void exit() {
+        RequestTiming timing = CURRENT.get();
+        if (timing != null) {
+            timing.pop();
+        }
+    }
+
+    private void push(Layer layer) {
+        charge();
+        if (depth < MAX_DEPTH) {
+            stack[depth] = layer;
+        }
+        depth++;
+        if (layer == Layer.REPOSITORY) {
+            repositoryCalls += repositoryDepth == 0 ? 1 : 0;
+            repositoryDepth++;
+        } else if (layer == Layer.DB) {
+            statements++;
+            statementsOutsideRepositories += repositoryDepth == 0 ? 1 : 0;
+        }
+    }
+
+    private void pop() {
+        if (depth == 0) {
+            return;
+        }
+        charge();
+        depth--;
+        if (depth < MAX_DEPTH && stack[depth] == Layer.REPOSITORY) {
+            repositoryDepth--;
+        }
+    }
+
+    private void charge() {
+        long now = System.nanoTime();
+        if (depth > 0) {
+            selfNanos[stack[Math.min(depth, MAX_DEPTH) - 1].ordinal()] += now - mark;
+        }
+        mark = now;
+    }
+
+    long selfNanos(Layer layer) {
+        return selfNanos[layer.ordinal()];
+    }
+
+    /**
+     * The {@code Server-Timing} header value as of now, in milliseconds, ending with the total.
+     */
+    String header() {
+        charge();
+        StringBuilder header = new StringBuilder(160);
+        for (Layer layer : Layer.values()) {
+            long nanos = selfNanos[layer.ordinal()];
+            if (nanos == 0) {
+                continue;
+            }
+            header.append(layer.label).append(";dur=");
+            appendMillis(header, nanos);
+            if (layer == Layer.REPOSITORY) {
+                header.append(";desc=\"").append(repositoryCalls).append(" calls\"");
+            } else if (layer == Layer.DB) {
+                header.append(";desc=\"").append(statements).append(" statements, ")
+                        .append(statementsOutsideRepositories).append(" outside repositories\"");
+            }
+            header.append(", ");
+        }
+        header.append("total;dur=");
+        appendMillis(header, System.nanoTime() - started);
+        return header.toString();
+    }
+
+    private static void appendMillis(StringBuilder header, long nanos) {
+        long micros = nanos / 1_000;
+        header.append(micros / 1_000).append('.');
+        long fraction = micros % 1_000;
+        if (fraction < 100) {
+            header.append(fraction < 10 ? "00" : "0");
+        }
+        header.append(fraction);
+    }
+}
@@ -0,0 +1,64 @@
+package com.company.monitoring;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Wires the {@code Server-Timing} layers: the filter that starts timing each {@code /api}
+ * request, the controller interceptor, advice on every {@code *Service} bean and repository
+ * proxy, and the Jackson converter. JDBC time is charged by {@link SlowQueryDataSource}, so
+ * with the slow-query log disabled it shows up under the repository layer instead.
+ */
+@Configuration(proxyBeanMethods = false)
+public class ServerTimingConfiguration implements WebMvcConfigurer {
+
+    @Bean
+    public FilterRegistrationBean<ServerTimingFilter> serverTimingFilter(MeterRegistry meterRegistry,
+                                                                         @Value("${company.server-timing.enabled:true}") boolean enabled,
+                                                                         @Value("${company.server-timing.header:true}") boolean header) {
+        FilterRegistrationBean<ServerTimingFilter> registration =
+                new FilterRegistrationBean<>(new ServerTimingFilter(meterRegistry, enabled, header));
+        registration.addUrlPatterns("/api/*");
+        return registration;
+    }
+
+    // Replaces Boot's default converter, which backs off when one is defined
+    @Bean
+    public MappingJackson2HttpMessageConverter serverTimingJacksonHttpMessageConverter(ObjectMapper objectMapper,
+                                                                                        @Value("${company.server-timing.header:true}") boolean header) {
+        return new ServerTimingJacksonHttpMessageConverter(objectMapper, header);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new ServerTimingInterceptor()).addPathPatterns("/api/**");
+    }
+
+    @Bean
+    public static BeanPostProcessor serviceTimingPostProcessor() {
+        return new ServiceTimingPostProcessor();
+    }
+
+    @Bean
+    public static BeanPostProcessor repositoryTimingPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                            (proxy, information) -> proxy.addAdvice(0, new LayerTimingInterceptor(RequestTiming.Layer.REPOSITORY))));
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,83 @@
+package com.company.monitoring;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times each request by layer (see {@link RequestTiming}), records the self time of every
+ * layer as {@code http.server.requests.layers} with per-endpoint percentiles, and adds a
+ * {@code Server-Timing} header. Responses with a JSON body get the header from
+ * {@link ServerTimingJacksonHttpMessageConverter}, which can include serialization; the rest
+ * get it here if nothing has been committed yet.
+ */
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    static final String SERVER_TIMING = "Server-Timing";
+
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final boolean header;
+    private final Map<String, Timer[]> timers = new ConcurrentHashMap<>();
+
+    public ServerTimingFilter(MeterRegistry meterRegistry, boolean enabled, boolean header) {
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.header = header;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RequestTiming timing = RequestTiming.start();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            if (header && !response.isCommitted() && !response.containsHeader(SERVER_TIMING)) {
+                response.setHeader(SERVER_TIMING, timing.header());
+            }
+            RequestTiming.stop();
+            record(request, timing);
+        }
+    }
+
+    private void record(HttpServletRequest request, RequestTiming timing) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (pattern == null) {
+            return;
+        }
+        Timer[] layerTimers = timers.computeIfAbsent(request.getMethod() + " " + pattern,
+                key -> register(request.getMethod(), pattern.toString()));
+        for (RequestTiming.Layer layer : RequestTiming.Layer.values()) {
+            layerTimers[layer.ordinal()].record(timing.selfNanos(layer), TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Timer[] register(String method, String uri) {
+        RequestTiming.Layer[] layers = RequestTiming.Layer.values();
+        Timer[] layerTimers = new Timer[layers.length];
+        for (RequestTiming.Layer layer : layers) {
+            layerTimers[layer.ordinal()] = Timer.builder("http.server.requests.layers")
+                    .description("Self time per request in each layer")
+                    .tags("method", method, "uri", uri, "layer", layer.label)
+                    .publishPercentiles(0.5, 0.95, 0.99)
+                    .register(meterRegistry);
+        }
+        return layerTimers;
+    }
+}
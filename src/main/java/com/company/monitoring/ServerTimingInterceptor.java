@@ -0,0 +1,41 @@
+package com.company.monitoring;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+/**
+ * Opens the {@link RequestTiming.Layer#CONTROLLER} layer around handler methods, from argument
+ * resolution through writing the response body.
+ */
+class ServerTimingInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String ENTERED = ServerTimingInterceptor.class.getName() + ".entered";
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod && RequestTiming.current() != null) {
+            RequestTiming.enter(RequestTiming.Layer.CONTROLLER);
+            request.setAttribute(ENTERED, Boolean.TRUE);
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        leave(request);
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        leave(request);
+    }
+
+    private void leave(HttpServletRequest request) {
+        if (request.getAttribute(ENTERED) != null) {
+            request.removeAttribute(ENTERED);
+            RequestTiming.exit();
+        }
+    }
+}
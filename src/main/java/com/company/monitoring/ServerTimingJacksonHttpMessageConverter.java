@@ -0,0 +1,59 @@
+package com.company.monitoring;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+
+/**
+ * Jackson converter that charges writing JSON bodies to
+ * {@link RequestTiming.Layer#SERIALIZATION}. When the {@code Server-Timing} header is on, a
+ * timed request's body is written to a buffer first so the header, which has to precede the
+ * body, can include the serialization time.
+ */
+public class ServerTimingJacksonHttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+    private final boolean header;
+
+    public ServerTimingJacksonHttpMessageConverter(ObjectMapper objectMapper, boolean header) {
+        super(objectMapper);
+        this.header = header;
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        RequestTiming timing = RequestTiming.current();
+        if (timing == null) {
+            super.writeInternal(object, type, outputMessage);
+            return;
+        }
+        ByteArrayOutputStream buffer = header ? new ByteArrayOutputStream(4096) : null;
+        RequestTiming.enter(RequestTiming.Layer.SERIALIZATION);
+        try {
+            super.writeInternal(object, type, buffer == null ? outputMessage : new HttpOutputMessage() {
+                @Override
+                public OutputStream getBody() {
+                    return buffer;
+                }
+
+                @Override
+                public HttpHeaders getHeaders() {
+                    return outputMessage.getHeaders();
+                }
+            });
+        } finally {
+            RequestTiming.exit();
+        }
+        if (buffer != null) {
+            outputMessage.getHeaders().set(ServerTimingFilter.SERVER_TIMING, timing.header());
+            buffer.writeTo(outputMessage.getBody());
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.company.monitoring;
+
+import org.springframework.aop.framework.autoproxy.AbstractBeanFactoryAwareAdvisingPostProcessor;
+import org.springframework.aop.support.ComposablePointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+
+/**
+ * Charges calls on {@code com.company.service.*Service} beans to
+ * {@link RequestTiming.Layer#SERVICE}. Transactional services already have a proxy and get the
+ * advice added in front of the transaction; the others are proxied by class. Calls a service
+ * makes on itself bypass the proxy and stay in the caller's layer.
+ */
+class ServiceTimingPostProcessor extends AbstractBeanFactoryAwareAdvisingPostProcessor {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final String SERVICE_PACKAGE = "com.company.service.";
+
+    ServiceTimingPostProcessor() {
+        setProxyTargetClass(true);
+        setBeforeExistingAdvisors(true);
+        this.advisor = new DefaultPointcutAdvisor(
+                new ComposablePointcut(type -> type.getName().startsWith(SERVICE_PACKAGE) && type.getSimpleName().endsWith("Service")),
+                new LayerTimingInterceptor(RequestTiming.Layer.SERVICE));
+    }
+}
@@ -0,0 +1,33 @@
+package com.company.monitoring;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Routes the application data source through {@link SlowQueryDataSource} unless
+ * {@code company.slow-query.enabled=false}, in which case statements run unwrapped.
+ */
+@Configuration(proxyBeanMethods = false)
+public class SlowQueryConfiguration {
+
+    // Static so the post-processor is registered before the data source is created
+    @Bean
+    public static BeanPostProcessor slowQueryDataSourcePostProcessor(ObjectProvider<SlowQueryLog> slowQueryLog) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof SlowQueryDataSource)) {
+                    SlowQueryLog log = slowQueryLog.getIfAvailable();
+                    if (log != null && log.isEnabled()) {
+                        return new SlowQueryDataSource(dataSource, log);
+                    }
+                }
+                return bean;
+            }
+        };
+    }
+}
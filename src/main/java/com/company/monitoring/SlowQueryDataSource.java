@@ -0,0 +1,145 @@
+package com.company.monitoring;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Times every statement executed through the wrapped data source and hands it to the
+ * {@link SlowQueryLog} together with its bind values, and charges it to the request's
+ * {@link RequestTiming.Layer#DB} layer. Only the {@code execute*} call is timed; reading the
+ * result set afterwards is not included.
+ */
+public class SlowQueryDataSource extends DelegatingDataSource {
+
+    private final SlowQueryLog slowQueryLog;
+
+    public SlowQueryDataSource(DataSource target, SlowQueryLog slowQueryLog) {
+        super(target);
+        this.slowQueryLog = slowQueryLog;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return connection(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return connection(super.getConnection(username, password));
+    }
+
+    private Connection connection(Connection target) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    Object result = invoke(target, method, args);
+                    if (result instanceof CallableStatement statement) {
+                        return recording(statement, CallableStatement.class, (String) args[0]);
+                    }
+                    if (result instanceof PreparedStatement statement) {
+                        return recording(statement, PreparedStatement.class, (String) args[0]);
+                    }
+                    if (result instanceof Statement statement) {
+                        return recording(statement, Statement.class, null);
+                    }
+                    return result;
+                });
+    }
+
+    private <S extends Statement> S recording(S target, Class<S> type, String sql) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                new RecordingStatement(target, sql)));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Collects the bind values set by index and reports each execution; a batch keeps a copy of
+     * each added row's values, up to {@link SlowQueryLog#MAX_BATCH_ROWS}. For a plain
+     * {@link Statement} the SQL comes from the execute call or the first batched statement.
+     */
+    private final class RecordingStatement implements InvocationHandler {
+
+        private final Statement target;
+        private String sql;
+        private Object[] parameters = new Object[16];
+        private int parameterCount;
+        private final List<Object[]> batchRows = new ArrayList<>();
+        private int batchSize;
+
+        RecordingStatement(Statement target, String sql) {
+            this.target = target;
+            this.sql = sql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.startsWith("execute")) {
+                String executed = args != null && args.length > 0 && args[0] instanceof String text ? text : sql;
+                RequestTiming.enter(RequestTiming.Layer.DB);
+                long started = System.nanoTime();
+                try {
+                    return SlowQueryDataSource.invoke(target, method, args);
+                } finally {
+                    RequestTiming.exit();
+                    long nanos = System.nanoTime() - started;
+                    if (name.equals("executeBatch") || name.equals("executeLargeBatch")) {
+                        slowQueryLog.offerBatch(executed, nanos, batchRows, batchSize);
+                        clearBatch();
+                    } else {
+                        slowQueryLog.offer(executed, nanos, parameters, parameterCount);
+                    }
+                }
+            }
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                bind(index, name.equals("setNull") ? null : args[1]);
+            } else if (name.equals("addBatch")) {
+                batchSize++;
+                if (args == null && batchRows.size() < SlowQueryLog.MAX_BATCH_ROWS) {
+                    batchRows.add(Arrays.copyOf(parameters, parameterCount + 1));
+                }
+                if (sql == null && args != null && args.length == 1) {
+                    sql = (String) args[0];
+                }
+            } else if (name.equals("clearBatch")) {
+                clearBatch();
+            } else if (name.equals("clearParameters")) {
+                Arrays.fill(parameters, null);
+                parameterCount = 0;
+            }
+            return SlowQueryDataSource.invoke(target, method, args);
+        }
+
+        private void clearBatch() {
+            batchRows.clear();
+            batchSize = 0;
+        }
+
+        private void bind(int index, Object value) {
+            if (index >= parameters.length) {
+                parameters = Arrays.copyOf(parameters, Math.max(index + 1, parameters.length * 2));
+            }
+            parameters[index] = value;
+            parameterCount = Math.max(parameterCount, index);
+        }
+    }
+}
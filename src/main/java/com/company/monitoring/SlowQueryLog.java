@@ -0,0 +1,166 @@
+package com.company.monitoring;
+
+import com.company.dto.SlowQuery;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded in-memory log of SQL statements that ran longer than
+ * {@code company.slow-query.threshold-ms}, plus a {@code company.slow-query.sample-rate}
+ * fraction of all others, with their bind values, duration and the application method that
+ * issued them. Fed by {@link SlowQueryDataSource}; the oldest entries are overwritten once
+ * {@code company.slow-query.capacity} is reached.
+ * <p>
+ * Everything except the timing is only worked out for statements that are kept, so the cost
+ * on the common path is a clock read and the captured bind values.
+ */
+@Component
+public class SlowQueryLog {
+
+    private static final Logger log = LoggerFactory.getLogger(SlowQueryLog.class);
+    private static final int MAX_VALUE_LENGTH = 100;
+    static final int MAX_BATCH_ROWS = 50;
+    private static final String PACKAGE = "com.company.";
+    private static final String SERVICE_PACKAGE = "com.company.service.";
+    private static final String MONITORING_PACKAGE = "com.company.monitoring.";
+
+    private final boolean enabled;
+    private final long thresholdNanos;
+    private final double sampleRate;
+
+    private final SlowQuery[] entries;
+    private int next;
+    private int size;
+
+    @Autowired
+    public SlowQueryLog(@Value("${company.slow-query.enabled:true}") boolean enabled,
+                        @Value("${company.slow-query.threshold-ms:100}") long thresholdMillis,
+                        @Value("${company.slow-query.sample-rate:0}") double sampleRate,
+                        @Value("${company.slow-query.capacity:500}") int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Slow-query log capacity must be at least 1");
+        }
+        if (sampleRate < 0 || sampleRate > 1) {
+            throw new IllegalArgumentException("Slow-query sample rate must be between 0 and 1");
+        }
+        this.enabled = enabled;
+        this.thresholdNanos = TimeUnit.MILLISECONDS.toNanos(thresholdMillis);
+        this.sampleRate = sampleRate;
+        this.entries = new SlowQuery[capacity];
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Keeps the statement if it was slow or falls in the sample. {@code parameters} holds the
+     * bind values by 1-based index, of which the first {@code parameterCount} are used.
+     */
+    public void offer(String sql, long nanos, Object[] parameters, int parameterCount) {
+        if (keep(nanos)) {
+            add(new SlowQuery(Instant.now(), nanos / 1_000_000.0, sql, render(parameters, parameterCount),
+                    List.of(), 0, caller(), Thread.currentThread().getName(), nanos < thresholdNanos));
+        }
+    }
+
+    /**
+     * Keeps the batch if it was slow or falls in the sample. Each of {@code rows} holds one
+     * row's bind values by 1-based index; at most {@link #MAX_BATCH_ROWS} of the
+     * {@code batchSize} rows need be passed.
+     */
+    public void offerBatch(String sql, long nanos, List<Object[]> rows, int batchSize) {
+        if (keep(nanos)) {
+            List<List<String>> rendered = new ArrayList<>(Math.min(rows.size(), MAX_BATCH_ROWS));
+            for (int i = 0; i < rows.size() && i < MAX_BATCH_ROWS; i++) {
+                rendered.add(render(rows.get(i), rows.get(i).length - 1));
+            }
+            add(new SlowQuery(Instant.now(), nanos / 1_000_000.0, sql, List.of(), rendered, batchSize,
+                    caller(), Thread.currentThread().getName(), nanos < thresholdNanos));
+        }
+    }
+
+    private boolean keep(long nanos) {
+        return nanos >= thresholdNanos || (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate);
+    }
+
+    private void add(SlowQuery entry) {
+        if (!entry.sampled()) {
+            log.warn("Slow SQL ({} ms) from {}: {}", String.format("%.1f", entry.millis()), entry.caller(), entry.sql());
+        }
+        synchronized (entries) {
+            entries[next] = entry;
+            next = (next + 1) % entries.length;
+            size = Math.min(size + 1, entries.length);
+        }
+    }
+
+    /**
+     * Captured statements, newest first.
+     */
+    public List<SlowQuery> getEntries() {
+        synchronized (entries) {
+            List<SlowQuery> newestFirst = new ArrayList<>(size);
+            for (int i = 1; i <= size; i++) {
+                newestFirst.add(entries[(next - i + entries.length) % entries.length]);
+            }
+            return newestFirst;
+        }
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            Arrays.fill(entries, null);
+            next = 0;
+            size = 0;
+        }
+    }
+
+    private static List<String> render(Object[] parameters, int parameterCount) {
+        List<String> values = new ArrayList<>(parameterCount);
+        for (int i = 1; i <= parameterCount; i++) {
+            Object value = parameters[i];
+            String text = value == null ? "NULL"
+                    : value instanceof byte[] bytes ? "<" + bytes.length + " bytes>"
+                    : String.valueOf(value);
+            values.add(text.length() > MAX_VALUE_LENGTH ? text.substring(0, MAX_VALUE_LENGTH) + "..." : text);
+        }
+        return values;
+    }
+
+    // The innermost service method on the stack, else the innermost application frame
+    private static String caller() {
+        return StackWalker.getInstance().walk(frames -> {
+            Optional<StackWalker.StackFrame> application = Optional.empty();
+            for (StackWalker.StackFrame frame : (Iterable<StackWalker.StackFrame>) frames::iterator) {
+                String className = frame.getClassName();
+                if (!className.startsWith(PACKAGE) || className.startsWith(MONITORING_PACKAGE) || className.contains("$$")) {
+                    continue;
+                }
+                if (className.startsWith(SERVICE_PACKAGE)) {
+                    return describe(frame);
+                }
+                if (application.isEmpty()) {
+                    application = Optional.of(frame);
+                }
+            }
+            return application.map(SlowQueryLog::describe).orElse("-");
+        });
+    }
+
+    private static String describe(StackWalker.StackFrame frame) {
+        String className = frame.getClassName();
+        return className.substring(className.lastIndexOf('.') + 1) + "." + frame.getMethodName();
+    }
+}
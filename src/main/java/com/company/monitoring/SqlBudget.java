@@ -0,0 +1,23 @@
+package com.company.monitoring;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Overrides the per-request SQL statement budget for one handler method. Without it GET
+ * requests get {@code company.sql-budget.read} and everything else
+ * {@code company.sql-budget.write}.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface SqlBudget {
+
+    /**
+     * Most statements one request to the handler may prepare.
+     */
+    int value();
+}
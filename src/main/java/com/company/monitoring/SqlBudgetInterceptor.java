@@ -0,0 +1,104 @@
+package com.company.monitoring;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Gives every request handled by a controller method a budget of SQL statements and records
+ * what it used as {@code http.server.requests.statements}, tagged with method and URI pattern.
+ * Requests over budget are counted in {@code http.server.requests.statements.over.budget} and
+ * logged; with {@code company.sql-budget.fail=true} the statement that goes over throws
+ * instead, which surfaces an N+1 as a 500 in tests and staging.
+ * <p>
+ * Only the request thread is counted: streamed bodies written after the handler returns are
+ * not budgeted.
+ */
+@Component
+public class SqlBudgetInterceptor implements AsyncHandlerInterceptor {
+
+    private static final Logger log = LoggerFactory.getLogger(SqlBudgetInterceptor.class);
+
+    private final SqlStatementCounter counter;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final int readBudget;
+    private final int writeBudget;
+    private final boolean fail;
+
+    @Autowired
+    public SqlBudgetInterceptor(SqlStatementCounter counter,
+                                MeterRegistry meterRegistry,
+                                @Value("${company.sql-budget.enabled:true}") boolean enabled,
+                                @Value("${company.sql-budget.read:5}") int readBudget,
+                                @Value("${company.sql-budget.write:50}") int writeBudget,
+                                @Value("${company.sql-budget.fail:false}") boolean fail) {
+        this.counter = counter;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.readBudget = readBudget;
+        this.writeBudget = writeBudget;
+        this.fail = fail;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // An async dispatch continues a request that was already counted
+        if (enabled && handler instanceof HandlerMethod method && request.getDispatcherType() != DispatcherType.ASYNC) {
+            counter.open(request.getMethod() + " " + request.getRequestURI(), budgetOf(request, method), fail);
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        finish(request, handler);
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        finish(request, handler);
+    }
+
+    private void finish(HttpServletRequest request, Object handler) {
+        if (!counter.isOpen() || !(handler instanceof HandlerMethod method)) {
+            return;
+        }
+        long statements = counter.close();
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern == null ? "UNKNOWN" : pattern.toString();
+        DistributionSummary.builder("http.server.requests.statements")
+                .description("SQL statements prepared per request")
+                .tags("method", request.getMethod(), "uri", uri)
+                .register(meterRegistry)
+                .record(statements);
+        int budget = budgetOf(request, method);
+        if (statements > budget) {
+            Counter.builder("http.server.requests.statements.over.budget")
+                    .description("Requests that prepared more SQL statements than their budget")
+                    .tags("method", request.getMethod(), "uri", uri)
+                    .register(meterRegistry)
+                    .increment();
+            log.warn("{} {} prepared {} SQL statements, budget {}", request.getMethod(), uri, statements, budget);
+        }
+    }
+
+    private int budgetOf(HttpServletRequest request, HandlerMethod method) {
+        SqlBudget annotation = method.getMethodAnnotation(SqlBudget.class);
+        if (annotation != null) {
+            return annotation.value();
+        }
+        return "GET".equals(request.getMethod()) ? readBudget : writeBudget;
+    }
+}
@@ -0,0 +1,77 @@
+package com.company.monitoring;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL statements Hibernate prepares on each thread, and enforces the statement
+ * budget of the request the thread is serving. Installed as Hibernate's statement inspector by
+ * {@link QueryMetricsConfiguration}; statements sent through {@code JdbcTemplate} bypass it.
+ * <p>
+ * A batched insert or update is prepared once per batch and counts once.
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final long serialVersionUID = 1L;
+
+    private final ThreadLocal<Tally> tally = ThreadLocal.withInitial(Tally::new);
+
+    private static final class Tally {
+        long statements;
+        // Budget of the open request scope, if any
+        boolean open;
+        long openedAt;
+        int limit;
+        boolean enforce;
+        String label;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        Tally current = tally.get();
+        current.statements++;
+        if (current.open && current.enforce && current.statements - current.openedAt > current.limit) {
+            // Stop before the statement runs, so the request fails instead of finishing slowly
+            current.enforce = false;
+            throw new IllegalStateException(current.label + " exceeded its budget of " + current.limit
+                    + " SQL statements at: " + sql);
+        }
+        return sql;
+    }
+
+    /**
+     * Statements prepared on this thread so far; callers take differences around a unit of work.
+     */
+    public long count() {
+        return tally.get().statements;
+    }
+
+    /**
+     * Starts counting a budgeted unit of work on this thread. When {@code enforce} is set the
+     * statement that goes over {@code limit} throws {@link IllegalStateException}.
+     */
+    public void open(String label, int limit, boolean enforce) {
+        Tally current = tally.get();
+        current.open = true;
+        current.openedAt = current.statements;
+        current.limit = limit;
+        current.enforce = enforce;
+        current.label = label;
+    }
+
+    public boolean isOpen() {
+        return tally.get().open;
+    }
+
+    /**
+     * Ends the unit of work started by {@link #open} and returns the statements it issued.
+     */
+    public long close() {
+        Tally current = tally.get();
+        if (!current.open) {
+            return 0;
+        }
+        current.open = false;
+        current.label = null;
+        return current.statements - current.openedAt;
+    }
+}
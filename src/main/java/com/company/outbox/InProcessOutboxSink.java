@@ -0,0 +1,31 @@
+package com.company.outbox;
+
+import com.company.dto.OutboxMessage;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Hands every batch to subscribers in the same JVM, one after another; a subscriber that
+ * throws fails the whole batch, which is then redelivered to all of them.
+ */
+public class InProcessOutboxSink implements OutboxSink {
+
+    private final List<Consumer<List<OutboxMessage>>> subscribers = new CopyOnWriteArrayList<>();
+
+    public void subscribe(Consumer<List<OutboxMessage>> subscriber) {
+        subscribers.add(subscriber);
+    }
+
+    public void unsubscribe(Consumer<List<OutboxMessage>> subscriber) {
+        subscribers.remove(subscriber);
+    }
+
+    @Override
+    public void publish(List<OutboxMessage> batch) {
+        for (Consumer<List<OutboxMessage>> subscriber : subscribers) {
+            subscriber.accept(batch);
+        }
+    }
+}
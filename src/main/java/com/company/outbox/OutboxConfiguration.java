@@ -0,0 +1,29 @@
+package com.company.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Chooses the outbox sink from {@code company.outbox.sink}: {@code file} appends JSON lines
+ * to {@code company.outbox.file}, {@code in-process} delivers to subscribers in this JVM.
+ */
+@Configuration(proxyBeanMethods = false)
+public class OutboxConfiguration {
+
+    @Bean
+    public OutboxSink outboxSink(@Value("${company.outbox.sink:in-process}") String sink,
+                                 @Value("${company.outbox.file:outbox/changes.ndjson}") Path file,
+                                 ObjectProvider<ObjectMapper> objectMapper) throws IOException {
+        return switch (sink) {
+            case "file" -> new FileOutboxSink(file, objectMapper.getObject());
+            case "in-process" -> new InProcessOutboxSink();
+            default -> throw new IllegalArgumentException("Unsupported outbox sink: " + sink);
+        };
+    }
+}
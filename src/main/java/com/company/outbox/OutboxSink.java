@@ -0,0 +1,15 @@
+package com.company.outbox;
+
+import com.company.dto.OutboxMessage;
+
+import java.util.List;
+
+/**
+ * Destination of the outbox publisher. A batch counts as delivered once {@link #publish}
+ * returns; if it throws, the same events are offered again on the next drain, so a sink
+ * may see an event more than once but never an entity's events out of order.
+ */
+public interface OutboxSink {
+
+    void publish(List<OutboxMessage> batch);
+}
@@ -0,0 +1,63 @@
+package com.company.pagination;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Window;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset-paginated listing. {@code nextCursor} is {@code null} on the last page.
+ */
+public class CursorPage<T> {
+
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 500;
+
+    private final List<T> items;
+    private final String nextCursor;
+    private final int limit;
+
+    public CursorPage(List<T> items, String nextCursor, int limit) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.limit = limit;
+    }
+
+    public static <T> CursorPage<T> of(Window<T> window, SortKey sortKey, Limit limit) {
+        String nextCursor = window.hasNext() && !window.isEmpty()
+                ? CursorCodec.encode(sortKey, window.positionAt(window.size() - 1))
+                : null;
+        return new CursorPage<>(window.getContent(), nextCursor, limit.max());
+    }
+
+    public <R> CursorPage<R> map(Function<? super T, ? extends R> mapper) {
+        return new CursorPage<>(items.stream().<R>map(mapper).toList(), nextCursor, limit);
+    }
+
+    public static Limit limit(Integer requested) {
+        if (requested == null) {
+            return Limit.of(DEFAULT_LIMIT);
+        }
+        if (requested < 1) {
+            throw new IllegalArgumentException("Limit must be positive");
+        }
+        return Limit.of(Math.min(requested, MAX_LIMIT));
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public boolean isHasNext() {
+        return nextCursor != null;
+    }
+}
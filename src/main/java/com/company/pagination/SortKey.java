@@ -0,0 +1,49 @@
+package com.company.pagination;
+
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+import java.util.function.Function;
+
+/**
+ * Columns from {@link com.company.entity.BaseEntity} that keyset pagination can seek on.
+ * Every key is paired with {@code id} as a tiebreaker so the ordering is total.
+ */
+public enum SortKey {
+
+    ID("id", Long::valueOf),
+    CREATED_AT("createdAt", LocalDateTime::parse),
+    UPDATED_AT("updatedAt", LocalDateTime::parse);
+
+    private final String property;
+    private final Function<String, Object> parser;
+
+    SortKey(String property, Function<String, Object> parser) {
+        this.property = property;
+        this.parser = parser;
+    }
+
+    public String getProperty() {
+        return property;
+    }
+
+    public Sort sort() {
+        if (this == ID) {
+            return Sort.by(Sort.Direction.ASC, "id");
+        }
+        return Sort.by(Sort.Direction.ASC, property, "id");
+    }
+
+    Object parseValue(String raw) {
+        return parser.apply(raw);
+    }
+
+    public static SortKey fromParam(String value) {
+        for (SortKey key : values()) {
+            if (key.property.equalsIgnoreCase(value) || key.name().equalsIgnoreCase(value)) {
+                return key;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported sort key: " + value);
+    }
+}
@@ -0,0 +1,69 @@
+package com.company.pagination;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Position in a delta-sync round, encoded as an opaque, URL-safe token. A round returns what
+ * changed in {@code (since, until]}, one {@link Phase} after another; within a phase the
+ * token carries the {@code (timestamp, id)} of the last row returned.
+ */
+public record SyncToken(LocalDateTime since, LocalDateTime until, Phase phase, LocalDateTime afterTime, long afterId) {
+
+    /**
+     * Start of a first, full sync; nothing was deleted from a mirror that has nothing yet.
+     */
+    public static final LocalDateTime BEGINNING = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    // As an afterId: past every row stamped exactly afterTime, which the previous round returned
+    public static final long PAST_ALL = Long.MAX_VALUE;
+
+    private static final String VERSION = "s1";
+    private static final String SEPARATOR = "|";
+
+    // Parents before children, so a mirror never sees an employee before its department
+    public enum Phase {
+        COMPANIES, DEPARTMENTS, EMPLOYEES, DELETIONS
+    }
+
+    public static SyncToken start(LocalDateTime since, LocalDateTime until) {
+        return new SyncToken(since, until, Phase.COMPANIES, since, PAST_ALL);
+    }
+
+    public boolean isInitial() {
+        return BEGINNING.equals(since);
+    }
+
+    public SyncToken after(LocalDateTime time, long id) {
+        return new SyncToken(since, until, phase, time, id);
+    }
+
+    public SyncToken nextPhase() {
+        return new SyncToken(since, until, Phase.values()[phase.ordinal() + 1], since, PAST_ALL);
+    }
+
+    public String encode() {
+        String raw = String.join(SEPARATOR, VERSION, since.toString(), until.toString(), phase.name(),
+                afterTime.toString(), Long.toString(afterId));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static SyncToken decode(String token) {
+        String[] parts;
+        try {
+            parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split("\\|", -1);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Malformed sync token");
+        }
+        if (parts.length != 6 || !VERSION.equals(parts[0])) {
+            throw new IllegalArgumentException("Malformed sync token");
+        }
+        try {
+            return new SyncToken(LocalDateTime.parse(parts[1]), LocalDateTime.parse(parts[2]), Phase.valueOf(parts[3]),
+                    LocalDateTime.parse(parts[4]), Long.parseLong(parts[5]));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Malformed sync token");
+        }
+    }
+}
@@ -1,28 +1,70 @@
 package com.company.repository;
 
 import com.company.entity.Company;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface CompanyRepository extends JpaRepository<Company, Long> {
 
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "company-queries")
+    })
     Optional<Company> findByName(String name);
     
     List<Company> findByIndustry(String industry);
     
     List<Company> findByNameContainingIgnoreCase(String name);
+
+    List<Company> findByNameContainingIgnoreCase(String name, Limit limit);
     
-    @Query("SELECT c FROM Company c WHERE c.departments.size > :minDepartments")
+    @Query("SELECT c FROM Company c WHERE SIZE(c.departments) > :minDepartments")
     List<Company> findCompaniesWithMinimumDepartments(@Param("minDepartments") int minDepartments);
     
     @Query("SELECT c FROM Company c JOIN c.departments d JOIN d.employees e GROUP BY c HAVING COUNT(e) > :minEmployees")
     List<Company> findCompaniesWithMinimumEmployees(@Param("minEmployees") int minEmployees);
     
     boolean existsByName(String name);
-}
\ No newline at end of file
+
+    @Query("SELECT c.id FROM Company c")
+    List<Long> findAllIds();
+
+    // Org-chart snapshot and search index source
+    @Query("SELECT c.id AS id, c.name AS name FROM Company c ORDER BY c.id")
+    Stream<SnapshotRow> streamSnapshotRows();
+
+    @Query("SELECT c.id AS id, c.name AS name FROM Company c WHERE c.id = :id")
+    Optional<SnapshotRow> findSnapshotRowById(@Param("id") Long id);
+
+    interface SnapshotRow {
+
+        Long getId();
+
+        String getName();
+    }
+
+    // Keyset pagination
+    Window<Company> findAllBy(ScrollPosition position, Sort sort, Limit limit);
+
+    // Delta sync: keyset over (updated_at, id) up to the round's horizon; the BETWEEN is the index range
+    @Query("SELECT c FROM Company c WHERE c.updatedAt BETWEEN :afterTime AND :until " +
+           "AND (c.updatedAt > :afterTime OR c.id > :afterId) " +
+           "ORDER BY c.updatedAt, c.id")
+    List<Company> findChangedSince(@Param("afterTime") LocalDateTime afterTime, @Param("afterId") Long afterId,
+                                   @Param("until") LocalDateTime until, Limit limit);
+}
@@ -0,0 +1,49 @@
+package com.company.repository;
+
+import com.company.dto.OrgUnitStats;
+import com.company.entity.CompanyStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface CompanyStatsRepository extends JpaRepository<CompanyStats, Long> {
+
+    @Query("SELECT new com.company.dto.OrgUnitStats(s.companyId, s.headcount, s.totalSalary, s.totalCompensation) " +
+           "FROM CompanyStats s WHERE s.companyId = :companyId")
+    Optional<OrgUnitStats> findStats(@Param("companyId") Long companyId);
+
+    @Query("SELECT new com.company.dto.OrgUnitStats(s.companyId, s.headcount, s.totalSalary, s.totalCompensation) " +
+           "FROM CompanyStats s")
+    List<OrgUnitStats> findAllStats();
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE CompanyStats s SET s.headcount = s.headcount + :headcount, " +
+           "s.totalSalary = s.totalSalary + :salary, s.totalCompensation = s.totalCompensation + :compensation " +
+           "WHERE s.companyId = :companyId")
+    int applyDelta(@Param("companyId") Long companyId, @Param("headcount") long headcount,
+                   @Param("salary") BigDecimal salary, @Param("compensation") BigDecimal compensation);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE CompanyStats s SET s.headcount = s.headcount + :headcount, " +
+           "s.totalSalary = s.totalSalary + :salary, s.totalCompensation = s.totalCompensation + :compensation " +
+           "WHERE s.companyId = (SELECT d.companyId FROM DepartmentStats d WHERE d.departmentId = :departmentId)")
+    int applyDeltaForDepartment(@Param("departmentId") Long departmentId, @Param("headcount") long headcount,
+                                @Param("salary") BigDecimal salary, @Param("compensation") BigDecimal compensation);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE CompanyStats s SET s.headcount = :headcount, s.totalSalary = :salary, " +
+           "s.totalCompensation = :compensation WHERE s.companyId = :companyId")
+    int overwrite(@Param("companyId") Long companyId, @Param("headcount") long headcount,
+                  @Param("salary") BigDecimal salary, @Param("compensation") BigDecimal compensation);
+
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM CompanyStats s WHERE s.companyId = :companyId")
+    int deleteStats(@Param("companyId") Long companyId);
+}
@@ -1,17 +1,31 @@
 package com.company.repository;
 
 import com.company.entity.Department;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface DepartmentRepository extends JpaRepository<Department, Long> {
 
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "department-queries")
+    })
     List<Department> findByCompanyId(Long companyId);
     
     Optional<Department> findByNameAndCompanyId(String name, Long companyId);
@@ -19,12 +33,74 @@ public interface DepartmentRepository extends JpaRepository<Department, Long> {
     List<Department> findByLocation(String location);
     
     List<Department> findByNameContainingIgnoreCase(String name);
+
+    List<Department> findByNameContainingIgnoreCase(String name, Limit limit);
     
-    @Query("SELECT d FROM Department d WHERE d.employees.size > :minEmployees")
+    @Query("SELECT d FROM Department d WHERE SIZE(d.employees) > :minEmployees")
     List<Department> findDepartmentsWithMinimumEmployees(@Param("minEmployees") int minEmployees);
     
     @Query("SELECT d FROM Department d JOIN d.employees e GROUP BY d ORDER BY COUNT(e) DESC")
     List<Department> findDepartmentsOrderedByEmployeeCount();
     
     boolean existsByNameAndCompanyId(String name, Long companyId);
-}
\ No newline at end of file
+
+    @Query("SELECT d.id FROM Department d WHERE d.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT d.name FROM Department d WHERE d.company.id = :companyId AND d.name IN :names")
+    List<String> findExistingNamesInCompany(@Param("companyId") Long companyId, @Param("names") Collection<String> names);
+
+    // Org-chart snapshot and search index source
+    @Query("SELECT d.id AS id, d.company.id AS companyId, d.name AS name FROM Department d ORDER BY d.id")
+    Stream<SnapshotRow> streamSnapshotRows();
+
+    @Query("SELECT d.id AS id, d.company.id AS companyId, d.name AS name FROM Department d WHERE d.id = :id")
+    Optional<SnapshotRow> findSnapshotRowById(@Param("id") Long id);
+
+    interface SnapshotRow {
+
+        Long getId();
+
+        Long getCompanyId();
+
+        String getName();
+    }
+
+    // Org-chart snapshot rows carry every field of DepartmentView
+    @Query("SELECT d.id AS id, d.company.id AS companyId, d.name AS name, d.description AS description, " +
+           "d.location AS location, d.createdAt AS createdAt, d.updatedAt AS updatedAt, d.version AS version " +
+           "FROM Department d ORDER BY d.id")
+    Stream<OrgChartRow> streamOrgChartRows();
+
+    @Query("SELECT d.id AS id, d.company.id AS companyId, d.name AS name, d.description AS description, " +
+           "d.location AS location, d.createdAt AS createdAt, d.updatedAt AS updatedAt, d.version AS version " +
+           "FROM Department d WHERE d.id = :id")
+    Optional<OrgChartRow> findOrgChartRowById(@Param("id") Long id);
+
+    interface OrgChartRow extends SnapshotRow {
+
+        String getDescription();
+
+        String getLocation();
+
+        LocalDateTime getCreatedAt();
+
+        LocalDateTime getUpdatedAt();
+
+        Long getVersion();
+    }
+
+    // Company tree
+    @Query("SELECT d FROM Department d JOIN FETCH d.company c WHERE c.id = :companyId ORDER BY d.id")
+    List<Department> findTreeByCompanyId(@Param("companyId") Long companyId);
+
+    // Keyset pagination
+    Window<Department> findAllBy(ScrollPosition position, Sort sort, Limit limit);
+
+    // Delta sync: keyset over (updated_at, id) up to the round's horizon; the BETWEEN is the index range
+    @Query("SELECT d FROM Department d WHERE d.updatedAt BETWEEN :afterTime AND :until " +
+           "AND (d.updatedAt > :afterTime OR d.id > :afterId) " +
+           "ORDER BY d.updatedAt, d.id")
+    List<Department> findChangedSince(@Param("afterTime") LocalDateTime afterTime, @Param("afterId") Long afterId,
+                                      @Param("until") LocalDateTime until, Limit limit);
+}
@@ -0,0 +1,85 @@
+package com.company.repository;
+
+import com.company.dto.OrgUnitStats;
+import com.company.entity.DepartmentStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface DepartmentStatsRepository extends JpaRepository<DepartmentStats, Long> {
+
+    @Query("SELECT new com.company.dto.OrgUnitStats(s.departmentId, s.headcount, s.totalSalary, s.totalCompensation) " +
+           "FROM DepartmentStats s WHERE s.departmentId = :departmentId")
+    Optional<OrgUnitStats> findStats(@Param("departmentId") Long departmentId);
+
+    @Query("SELECT new com.company.dto.OrgUnitStats(s.departmentId, s.headcount, s.totalSalary, s.totalCompensation) " +
+           "FROM DepartmentStats s")
+    List<OrgUnitStats> findAllStats();
+
+    @Query("SELECT new com.company.dto.OrgUnitStats(s.departmentId, s.headcount, s.totalSalary, s.totalCompensation) " +
+           "FROM DepartmentStats s WHERE s.departmentId IN :departmentIds")
+    List<OrgUnitStats> findStatsByDepartmentIds(@Param("departmentIds") Collection<Long> departmentIds);
+
+    // Row locks in id order, so two recounts over overlapping departments cannot deadlock
+    @Query(value = "SELECT department_id FROM department_stats WHERE department_id IN (:departmentIds) " +
+                   "ORDER BY department_id FOR UPDATE", nativeQuery = true)
+    List<Long> lockByDepartmentIds(@Param("departmentIds") Collection<Long> departmentIds);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE DepartmentStats s SET s.headcount = s.headcount + :headcount, " +
+           "s.totalSalary = s.totalSalary + :salary, s.totalCompensation = s.totalCompensation + :compensation " +
+           "WHERE s.departmentId = :departmentId")
+    int applyDelta(@Param("departmentId") Long departmentId, @Param("headcount") long headcount,
+                   @Param("salary") BigDecimal salary, @Param("compensation") BigDecimal compensation);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE DepartmentStats s SET s.companyId = :companyId, s.headcount = :headcount, " +
+           "s.totalSalary = :salary, s.totalCompensation = :compensation WHERE s.departmentId = :departmentId")
+    int overwrite(@Param("departmentId") Long departmentId, @Param("companyId") Long companyId,
+                  @Param("headcount") long headcount, @Param("salary") BigDecimal salary,
+                  @Param("compensation") BigDecimal compensation);
+
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM DepartmentStats s WHERE s.departmentId = :departmentId")
+    int deleteStats(@Param("departmentId") Long departmentId);
+
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM DepartmentStats s WHERE s.companyId = :companyId")
+    int deleteByCompanyId(@Param("companyId") Long companyId);
+
+    // Full recount straight from the employees table, used by reconciliation
+    @Query(value = "SELECT d.id AS id, d.company_id AS companyId, COUNT(e.id) AS headcount, " +
+                   "COALESCE(SUM(e.salary), 0) AS totalSalary, " +
+                   "COALESCE(SUM(e.salary + COALESCE(e.annual_bonus, 0)), 0) AS totalCompensation " +
+                   "FROM departments d LEFT JOIN employees e ON e.department_id = d.id " +
+                   "GROUP BY d.id, d.company_id", nativeQuery = true)
+    List<DepartmentTotals> recountAll();
+
+    @Query(value = "SELECT d.id AS id, d.company_id AS companyId, COUNT(e.id) AS headcount, " +
+                   "COALESCE(SUM(e.salary), 0) AS totalSalary, " +
+                   "COALESCE(SUM(e.salary + COALESCE(e.annual_bonus, 0)), 0) AS totalCompensation " +
+                   "FROM departments d LEFT JOIN employees e ON e.department_id = d.id " +
+                   "WHERE d.id IN (:departmentIds) GROUP BY d.id, d.company_id", nativeQuery = true)
+    List<DepartmentTotals> recountByIds(@Param("departmentIds") Collection<Long> departmentIds);
+
+    interface DepartmentTotals {
+
+        Long getId();
+
+        Long getCompanyId();
+
+        long getHeadcount();
+
+        BigDecimal getTotalSalary();
+
+        BigDecimal getTotalCompensation();
+    }
+}
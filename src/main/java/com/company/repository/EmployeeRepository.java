@@ -3,56 +3,271 @@ package com.company.repository;
 import com.company.entity.Employee;
 import com.company.entity.FullTimeEmployee;
 import com.company.entity.PartTimeEmployee;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface EmployeeRepository extends JpaRepository<Employee, Long> {
 
+    String EXPORT_FETCH_SIZE = "500";
+
+    String SNAPSHOT_COLUMNS = "id AS id, department_id AS departmentId, employee_type AS employeeType, " +
+            "first_name AS firstName, last_name AS lastName, email AS email, job_title AS jobTitle, " +
+            "salary AS salary, hire_date AS hireDate";
+
+    String ORG_CHART_COLUMNS = SNAPSHOT_COLUMNS + ", phone AS phone, annual_bonus AS annualBonus, " +
+            "stock_options AS stockOptions, health_insurance AS healthInsurance, retirement_plan AS retirementPlan, " +
+            "hours_per_week AS hoursPerWeek, flexible_schedule AS flexibleSchedule, remote_work AS remoteWork, " +
+            "contract_end_date AS contractEndDate, created_at AS createdAt, updated_at AS updatedAt, version AS version";
+
+    // Read paths behind the REST API join the department so views need no further queries
+    @Override
+    @EntityGraph(attributePaths = "department")
+    List<Employee> findAll();
+
+    @EntityGraph(attributePaths = "department")
+    Optional<Employee> findWithDepartmentById(Long id);
+
+    @EntityGraph(attributePaths = "department")
     List<Employee> findByDepartmentId(Long departmentId);
     
-    List<Employee> findByCompanyId(Long companyId);
+    @EntityGraph(attributePaths = "department")
+    @Query("SELECT e FROM Employee e WHERE e.department.company.id = :companyId")
+    List<Employee> findByCompanyId(@Param("companyId") Long companyId);
     
+    @EntityGraph(attributePaths = "department")
     Optional<Employee> findByEmail(String email);
     
+    @EntityGraph(attributePaths = "department")
     List<Employee> findByFirstNameContainingIgnoreCaseOrLastNameContainingIgnoreCase(String firstName, String lastName);
+
+    List<Employee> findByFirstNameContainingIgnoreCaseOrLastNameContainingIgnoreCase(String firstName, String lastName, Limit limit);
     
+    @EntityGraph(attributePaths = "department")
     List<Employee> findByHireDateBetween(LocalDate startDate, LocalDate endDate);
     
+    @EntityGraph(attributePaths = "department")
     List<Employee> findBySalaryGreaterThan(BigDecimal salary);
     
+    @EntityGraph(attributePaths = "department")
     @Query("SELECT e FROM Employee e WHERE e.salary BETWEEN :minSalary AND :maxSalary")
     List<Employee> findEmployeesBySalaryRange(@Param("minSalary") BigDecimal minSalary, @Param("maxSalary") BigDecimal maxSalary);
     
+    @EntityGraph(attributePaths = "department")
     @Query("SELECT e FROM Employee e WHERE e.department.company.id = :companyId")
     List<Employee> findEmployeesByCompanyId(@Param("companyId") Long companyId);
     
+    @EntityGraph(attributePaths = "department")
     @Query("SELECT e FROM Employee e WHERE e.department.id = :departmentId ORDER BY e.salary DESC")
     List<Employee> findEmployeesByDepartmentOrderedBySalary(@Param("departmentId") Long departmentId);
     
     // Full-time employee specific queries
+    @EntityGraph(attributePaths = "department")
     @Query("SELECT e FROM FullTimeEmployee e")
     List<FullTimeEmployee> findAllFullTimeEmployees();
     
+    @EntityGraph(attributePaths = "department")
     @Query("SELECT e FROM FullTimeEmployee e WHERE e.annualBonus > :minBonus")
     List<FullTimeEmployee> findFullTimeEmployeesByMinimumBonus(@Param("minBonus") BigDecimal minBonus);
     
+    @EntityGraph(attributePaths = "department")
+    @Query("SELECT e FROM FullTimeEmployee e WHERE e.department.company.id = :companyId")
+    List<FullTimeEmployee> findFullTimeEmployeesByCompanyId(@Param("companyId") Long companyId);
+    
     // Part-time employee specific queries
+    @EntityGraph(attributePaths = "department")
     @Query("SELECT e FROM PartTimeEmployee e")
     List<PartTimeEmployee> findAllPartTimeEmployees();
     
+    @EntityGraph(attributePaths = "department")
     @Query("SELECT e FROM PartTimeEmployee e WHERE e.hoursPerWeek >= :minHours")
     List<PartTimeEmployee> findPartTimeEmployeesByMinimumHours(@Param("minHours") Integer minHours);
     
+    @EntityGraph(attributePaths = "department")
     @Query("SELECT e FROM PartTimeEmployee e WHERE e.contractEndDate < :date")
     List<PartTimeEmployee> findPartTimeEmployeesWithExpiredContracts(@Param("date") LocalDate date);
     
+    @EntityGraph(attributePaths = "department")
+    @Query("SELECT e FROM PartTimeEmployee e WHERE e.department.company.id = :companyId")
+    List<PartTimeEmployee> findPartTimeEmployeesByCompanyId(@Param("companyId") Long companyId);
+    
+    @EntityGraph(attributePaths = "department")
+    @Query("SELECT e FROM PartTimeEmployee e WHERE e.department.company.id = :companyId AND e.contractEndDate < :date")
+    List<PartTimeEmployee> findPartTimeEmployeesWithExpiredContractsByCompanyId(@Param("companyId") Long companyId,
+                                                                               @Param("date") LocalDate date);
+    
     boolean existsByEmail(String email);
-}
\ No newline at end of file
+
+    // Aggregate counts
+    long countByDepartmentId(Long departmentId);
+
+    @Query("SELECT COUNT(e) FROM Employee e WHERE e.department.company.id = :companyId")
+    long countByCompanyId(@Param("companyId") Long companyId);
+
+    @Query("SELECT e.department.id AS id, COUNT(e) AS count FROM Employee e " +
+           "WHERE e.department.id IN :departmentIds GROUP BY e.department.id")
+    List<IdCount> countGroupedByDepartmentIds(@Param("departmentIds") Collection<Long> departmentIds);
+
+    @Query("SELECT d.company.id AS id, COUNT(e) AS count FROM Employee e JOIN e.department d " +
+           "WHERE d.company.id IN :companyIds GROUP BY d.company.id")
+    List<IdCount> countGroupedByCompanyIds(@Param("companyIds") Collection<Long> companyIds);
+
+    @Query("SELECT e.email FROM Employee e WHERE e.email IN :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    // Email index source
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+    @Query("SELECT e.email FROM Employee e")
+    Stream<String> streamAllEmails();
+
+    // Company tree; departments are loaded first, so no fetch plan is needed here
+    @Query("SELECT e FROM Employee e WHERE e.department.company.id = :companyId ORDER BY e.department.id, e.id")
+    List<Employee> findTreeByCompanyId(@Param("companyId") Long companyId);
+
+    // Keyset pagination
+    @EntityGraph(attributePaths = "department")
+    Window<Employee> findAllBy(ScrollPosition position, Sort sort, Limit limit);
+
+    @EntityGraph(attributePaths = "department")
+    Window<Employee> findByDepartmentId(Long departmentId, ScrollPosition position, Sort sort, Limit limit);
+
+    @EntityGraph(attributePaths = "department")
+    Window<Employee> findByDepartmentCompanyId(Long companyId, ScrollPosition position, Sort sort, Limit limit);
+
+    @EntityGraph(attributePaths = "department")
+    Window<Employee> findByHireDateBetween(LocalDate startDate, LocalDate endDate, ScrollPosition position, Sort sort, Limit limit);
+
+    @EntityGraph(attributePaths = "department")
+    Window<Employee> findBySalaryBetween(BigDecimal minSalary, BigDecimal maxSalary, ScrollPosition position, Sort sort, Limit limit);
+
+    // Streaming export; null filters match everything
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT e FROM Employee e JOIN FETCH e.department d " +
+           "WHERE (:companyId IS NULL OR d.company.id = :companyId) " +
+           "AND (:departmentId IS NULL OR d.id = :departmentId) " +
+           "AND TYPE(e) IN :types ORDER BY e.id")
+    Stream<Employee> streamForExport(@Param("companyId") Long companyId,
+                                     @Param("departmentId") Long departmentId,
+                                     @Param("types") Collection<Class<? extends Employee>> types);
+
+    // Payroll sums per department; departments without employees report zeros
+    String PAYROLL_SELECT = "SELECT d.id AS departmentId, COUNT(e.id) AS employees, " +
+            "COALESCE(SUM(CASE WHEN e.employee_type = 'FULL_TIME' THEN 1 ELSE 0 END), 0) AS fullTimeEmployees, " +
+            "COALESCE(SUM(CASE WHEN e.employee_type = 'PART_TIME' THEN 1 ELSE 0 END), 0) AS partTimeEmployees, " +
+            "COALESCE(SUM(e.salary), 0) AS baseSalary, " +
+            "COALESCE(SUM(CASE WHEN e.employee_type = 'FULL_TIME' THEN e.annual_bonus END), 0) AS annualBonus " +
+            "FROM departments d LEFT JOIN employees e ON e.department_id = d.id ";
+
+    @Query(value = PAYROLL_SELECT + "WHERE d.company_id = :companyId GROUP BY d.id ORDER BY d.id", nativeQuery = true)
+    List<PayrollRow> sumPayrollByCompanyId(@Param("companyId") Long companyId);
+
+    @Query(value = PAYROLL_SELECT + "WHERE d.id = :departmentId GROUP BY d.id", nativeQuery = true)
+    Optional<PayrollRow> sumPayrollByDepartmentId(@Param("departmentId") Long departmentId);
+
+    // Org-chart snapshot and search index source, read as flat rows without hydrating entities
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+    @Query(value = "SELECT " + SNAPSHOT_COLUMNS + " FROM employees ORDER BY id", nativeQuery = true)
+    Stream<SnapshotRow> streamSnapshotRows();
+
+    @Query(value = "SELECT " + SNAPSHOT_COLUMNS + " FROM employees WHERE id = :id", nativeQuery = true)
+    Optional<SnapshotRow> findSnapshotRowById(@Param("id") Long id);
+
+    // Org-chart snapshot rows carry every field of EmployeeView, so it can serve the employee endpoints
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+    @Query(value = "SELECT " + ORG_CHART_COLUMNS + " FROM employees ORDER BY id", nativeQuery = true)
+    Stream<OrgChartRow> streamOrgChartRows();
+
+    @Query(value = "SELECT " + ORG_CHART_COLUMNS + " FROM employees WHERE id = :id", nativeQuery = true)
+    Optional<OrgChartRow> findOrgChartRowById(@Param("id") Long id);
+
+    interface SnapshotRow {
+
+        Long getId();
+
+        Long getDepartmentId();
+
+        String getEmployeeType();
+
+        String getFirstName();
+
+        String getLastName();
+
+        String getEmail();
+
+        String getJobTitle();
+
+        BigDecimal getSalary();
+
+        LocalDate getHireDate();
+    }
+
+    interface OrgChartRow extends SnapshotRow {
+
+        String getPhone();
+
+        BigDecimal getAnnualBonus();
+
+        Integer getStockOptions();
+
+        Boolean getHealthInsurance();
+
+        Boolean getRetirementPlan();
+
+        Integer getHoursPerWeek();
+
+        Boolean getFlexibleSchedule();
+
+        Boolean getRemoteWork();
+
+        LocalDate getContractEndDate();
+
+        LocalDateTime getCreatedAt();
+
+        LocalDateTime getUpdatedAt();
+
+        Long getVersion();
+    }
+
+    interface PayrollRow {
+
+        Long getDepartmentId();
+
+        Long getEmployees();
+
+        Long getFullTimeEmployees();
+
+        Long getPartTimeEmployees();
+
+        BigDecimal getBaseSalary();
+
+        BigDecimal getAnnualBonus();
+    }
+
+    // Delta sync: keyset over (updated_at, id) up to the round's horizon; the BETWEEN is the index range
+    @Query("SELECT e FROM Employee e JOIN FETCH e.department WHERE e.updatedAt BETWEEN :afterTime AND :until " +
+           "AND (e.updatedAt > :afterTime OR e.id > :afterId) " +
+           "ORDER BY e.updatedAt, e.id")
+    List<Employee> findChangedSince(@Param("afterTime") LocalDateTime afterTime, @Param("afterId") Long afterId,
+                                    @Param("until") LocalDateTime until, Limit limit);
+}
@@ -0,0 +1,11 @@
+package com.company.repository;
+
+/**
+ * Projection for grouped count queries: one row per owning entity id.
+ */
+public interface IdCount {
+
+    Long getId();
+
+    long getCount();
+}
@@ -0,0 +1,27 @@
+package com.company.repository;
+
+import com.company.entity.Tombstone;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface TombstoneRepository extends JpaRepository<Tombstone, Long> {
+
+    // Delta sync: keyset over (deleted_at, id) up to the round's horizon; the BETWEEN is the index range
+    @Query("SELECT t FROM Tombstone t WHERE t.deletedAt BETWEEN :afterTime AND :until " +
+           "AND (t.deletedAt > :afterTime OR t.id > :afterId) " +
+           "ORDER BY t.deletedAt, t.id")
+    List<Tombstone> findDeletedSince(@Param("afterTime") LocalDateTime afterTime, @Param("afterId") Long afterId,
+                                     @Param("until") LocalDateTime until, Limit limit);
+
+    @Modifying
+    @Query("DELETE FROM Tombstone t WHERE t.deletedAt < :cutoff")
+    int deleteOlderThan(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,275 @@
+package com.company.service;
+
+import com.company.cache.OrgCache;
+import com.company.dto.BulkItemResult;
+import com.company.dto.BulkResult;
+import com.company.event.OrgChangeEvent;
+import com.company.event.OrgChangeEvent.EntityType;
+import com.company.entity.Company;
+import com.company.entity.Department;
+import com.company.entity.Employee;
+import com.company.entity.FullTimeEmployee;
+import com.company.entity.PartTimeEmployee;
+import com.company.repository.CompanyRepository;
+import com.company.repository.DepartmentRepository;
+import com.company.repository.EmployeeRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
+
+/**
+ * Set-based bulk creation of employees and departments. Uniqueness and reference checks run
+ * as one query per request, and accepted rows are written with JDBC batch inserts because
+ * {@code IDENTITY} id generation prevents Hibernate from batching inserts itself.
+ */
+@Service
+@Transactional
+public class BulkImportService {
+
+    private static final String INSERT_EMPLOYEE =
+            "INSERT INTO employees (employee_type, first_name, last_name, email, phone, hire_date, salary, job_title, " +
+            "department_id, created_at, updated_at, version, annual_bonus, stock_options, health_insurance, " +
+            "retirement_plan, hours_per_week, flexible_schedule, remote_work, contract_end_date) VALUES " +
+            "(:employeeType, :firstName, :lastName, :email, :phone, :hireDate, :salary, :jobTitle, " +
+            ":departmentId, :now, :now, 0, :annualBonus, :stockOptions, :healthInsurance, " +
+            ":retirementPlan, :hoursPerWeek, :flexibleSchedule, :remoteWork, :contractEndDate)";
+
+    private static final String INSERT_DEPARTMENT =
+            "INSERT INTO departments (name, description, location, company_id, created_at, updated_at, version) VALUES " +
+            "(:name, :description, :location, :companyId, :now, :now, 0)";
+
+    private final EmployeeRepository employeeRepository;
+    private final DepartmentRepository departmentRepository;
+    private final CompanyRepository companyRepository;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final Validator validator;
+    private final OrgStatsService orgStatsService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final OrgCache orgCache;
+    private final EmailUniquenessService emailUniqueness;
+    private final OutboxBatchWriter outboxBatchWriter;
+    private final int batchSize;
+
+    @Autowired
+    public BulkImportService(EmployeeRepository employeeRepository,
+                             DepartmentRepository departmentRepository,
+                             CompanyRepository companyRepository,
+                             NamedParameterJdbcTemplate jdbcTemplate,
+                             Validator validator,
+                             OrgStatsService orgStatsService,
+                             ApplicationEventPublisher eventPublisher,
+                             OrgCache orgCache,
+                             EmailUniquenessService emailUniqueness,
+                             OutboxBatchWriter outboxBatchWriter,
+                             @Value("${company.bulk.batch-size:500}") int batchSize) {
+        this.employeeRepository = employeeRepository;
+        this.departmentRepository = departmentRepository;
+        this.companyRepository = companyRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.validator = validator;
+        this.orgStatsService = orgStatsService;
+        this.eventPublisher = eventPublisher;
+        this.orgCache = orgCache;
+        this.emailUniqueness = emailUniqueness;
+        this.outboxBatchWriter = outboxBatchWriter;
+        this.batchSize = batchSize;
+    }
+
+    public BulkResult createEmployees(List<Employee> employees) {
+        BulkItemResult[] results = new BulkItemResult[employees.size()];
+
+        Set<String> emails = new HashSet<>();
+        Set<Long> departmentIds = new HashSet<>();
+        for (Employee employee : employees) {
+            if (employee != null && employee.getEmail() != null) {
+                emails.add(employee.getEmail());
+            }
+            if (employee != null && employee.getDepartment() != null && employee.getDepartment().getId() != null) {
+                departmentIds.add(employee.getDepartment().getId());
+            }
+        }
+        Set<String> takenEmails = emails.isEmpty() ? new HashSet<>() : new HashSet<>(employeeRepository.findExistingEmails(emails));
+        Set<Long> knownDepartments = departmentIds.isEmpty() ? Set.of() : new HashSet<>(departmentRepository.findExistingIds(departmentIds));
+
+        List<Integer> accepted = new ArrayList<>();
+        for (int i = 0; i < employees.size(); i++) {
+            Employee employee = employees.get(i);
+            String problem = validate(employee);
+            if (problem == null && (employee.getDepartment() == null || employee.getDepartment().getId() == null)) {
+                problem = "Employee must be associated with a department";
+            } else if (problem == null && !knownDepartments.contains(employee.getDepartment().getId())) {
+                problem = "Department not found with id: " + employee.getDepartment().getId();
+            } else if (problem == null && !takenEmails.add(employee.getEmail())) {
+                problem = "Employee with email '" + employee.getEmail() + "' already exists";
+            }
+            if (problem != null) {
+                results[i] = BulkItemResult.rejected(i, problem);
+            } else {
+                accepted.add(i);
+            }
+        }
+
+        Timestamp now = now();
+        try {
+            insertInBatches(INSERT_EMPLOYEE, accepted, i -> employeeParameters(employees.get(i), now), results);
+        } catch (DataIntegrityViolationException e) {
+            if (EmailUniquenessService.isEmailViolation(e)) {
+                throw new IllegalArgumentException("An employee with one of these emails was created concurrently; retry the request");
+            }
+            throw e;
+        }
+        outboxBatchWriter.created(EntityType.EMPLOYEE, accepted, i -> created(results[i]),
+                i -> OutboxService.fieldsOf(employees.get(i)));
+        emailUniqueness.registered(accepted.stream().map(i -> employees.get(i).getEmail()).toList());
+        orgStatsService.employeesAdded(accepted.stream().map(employees::get).toList());
+        if (!accepted.isEmpty()) {
+            eventPublisher.publishEvent(OrgChangeEvent.created(EntityType.EMPLOYEE, null));
+        }
+        return BulkResult.of(Arrays.asList(results));
+    }
+
+    public BulkResult createDepartments(Long companyId, List<Department> departments) {
+        if (!companyRepository.existsById(companyId)) {
+            throw new IllegalArgumentException("Company not found with id: " + companyId);
+        }
+        Company company = companyRepository.getReferenceById(companyId);
+        BulkItemResult[] results = new BulkItemResult[departments.size()];
+
+        Set<String> names = departments.stream()
+                .filter(d -> d != null && d.getName() != null)
+                .map(Department::getName)
+                .collect(Collectors.toSet());
+        Set<String> takenNames = names.isEmpty() ? new HashSet<>() : new HashSet<>(departmentRepository.findExistingNamesInCompany(companyId, names));
+
+        List<Integer> accepted = new ArrayList<>();
+        for (int i = 0; i < departments.size(); i++) {
+            Department department = departments.get(i);
+            if (department != null) {
+                department.setCompany(company);
+            }
+            String problem = validate(department);
+            if (problem == null && !takenNames.add(department.getName())) {
+                problem = "Department with name '" + department.getName() + "' already exists in this company";
+            }
+            if (problem != null) {
+                results[i] = BulkItemResult.rejected(i, problem);
+            } else {
+                accepted.add(i);
+            }
+        }
+
+        Timestamp now = now();
+        insertInBatches(INSERT_DEPARTMENT, accepted, i -> departmentParameters(departments.get(i), companyId, now), results);
+        outboxBatchWriter.created(EntityType.DEPARTMENT, accepted, i -> created(results[i]),
+                i -> OutboxService.fieldsOf(departments.get(i)));
+        accepted.forEach(i -> orgStatsService.departmentCreated(results[i].id(), companyId));
+        if (!accepted.isEmpty()) {
+            orgCache.evictDepartmentsOfCompany(companyId);
+            eventPublisher.publishEvent(OrgChangeEvent.created(EntityType.DEPARTMENT, null));
+        }
+        return BulkResult.of(Arrays.asList(results));
+    }
+
+    private void insertInBatches(String sql, List<Integer> accepted,
+                                 IntFunction<SqlParameterSource> parameters,
+                                 BulkItemResult[] results) {
+        for (int from = 0; from < accepted.size(); from += batchSize) {
+            List<Integer> chunk = accepted.subList(from, Math.min(from + batchSize, accepted.size()));
+            SqlParameterSource[] batch = new SqlParameterSource[chunk.size()];
+            for (int j = 0; j < chunk.size(); j++) {
+                batch[j] = parameters.apply(chunk.get(j));
+            }
+            KeyHolder keys = new GeneratedKeyHolder();
+            jdbcTemplate.batchUpdate(sql, batch, keys, new String[]{"id"});
+            List<Map<String, Object>> generated = keys.getKeyList();
+            for (int j = 0; j < chunk.size(); j++) {
+                Number id = (Number) generated.get(j).values().iterator().next();
+                results[chunk.get(j)] = BulkItemResult.created(chunk.get(j), id.longValue());
+            }
+        }
+    }
+
+    // Inserted rows start at version 0, as in the INSERT statements
+    private static OutboxBatchWriter.ChangedRow created(BulkItemResult result) {
+        return new OutboxBatchWriter.ChangedRow(result.id(), 0L);
+    }
+
+    private String validate(Object item) {
+        if (item == null) {
+            return "Item is required";
+        }
+        Set<ConstraintViolation<Object>> violations = validator.validate(item);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private static MapSqlParameterSource employeeParameters(Employee employee, Timestamp now) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("employeeType", employee.getEmployeeType(), Types.VARCHAR)
+                .addValue("firstName", employee.getFirstName(), Types.VARCHAR)
+                .addValue("lastName", employee.getLastName(), Types.VARCHAR)
+                .addValue("email", employee.getEmail(), Types.VARCHAR)
+                .addValue("phone", employee.getPhone(), Types.VARCHAR)
+                .addValue("hireDate", employee.getHireDate(), Types.DATE)
+                .addValue("salary", employee.getSalary(), Types.NUMERIC)
+                .addValue("jobTitle", employee.getJobTitle(), Types.VARCHAR)
+                .addValue("departmentId", employee.getDepartment().getId(), Types.BIGINT)
+                .addValue("now", now, Types.TIMESTAMP)
+                .addValue("annualBonus", null, Types.NUMERIC)
+                .addValue("stockOptions", null, Types.INTEGER)
+                .addValue("healthInsurance", null, Types.BOOLEAN)
+                .addValue("retirementPlan", null, Types.BOOLEAN)
+                .addValue("hoursPerWeek", null, Types.INTEGER)
+                .addValue("flexibleSchedule", null, Types.BOOLEAN)
+                .addValue("remoteWork", null, Types.BOOLEAN)
+                .addValue("contractEndDate", null, Types.DATE);
+        if (employee instanceof FullTimeEmployee fullTime) {
+            params.addValue("annualBonus", fullTime.getAnnualBonus(), Types.NUMERIC)
+                    .addValue("stockOptions", fullTime.getStockOptions(), Types.INTEGER)
+                    .addValue("healthInsurance", fullTime.getHealthInsurance(), Types.BOOLEAN)
+                    .addValue("retirementPlan", fullTime.getRetirementPlan(), Types.BOOLEAN);
+        } else if (employee instanceof PartTimeEmployee partTime) {
+            params.addValue("hoursPerWeek", partTime.getHoursPerWeek(), Types.INTEGER)
+                    .addValue("flexibleSchedule", partTime.getFlexibleSchedule(), Types.BOOLEAN)
+                    .addValue("remoteWork", partTime.getRemoteWork(), Types.BOOLEAN)
+                    .addValue("contractEndDate", partTime.getContractEndDate(), Types.DATE);
+        }
+        return params;
+    }
+
+    private static MapSqlParameterSource departmentParameters(Department department, Long companyId, Timestamp now) {
+        return new MapSqlParameterSource()
+                .addValue("name", department.getName(), Types.VARCHAR)
+                .addValue("description", department.getDescription(), Types.VARCHAR)
+                .addValue("location", department.getLocation(), Types.VARCHAR)
+                .addValue("companyId", companyId, Types.BIGINT)
+                .addValue("now", now, Types.TIMESTAMP);
+    }
+
+    private static Timestamp now() {
+        return Timestamp.valueOf(LocalDateTime.now().truncatedTo(ChronoUnit.MICROS));
+    }
+}
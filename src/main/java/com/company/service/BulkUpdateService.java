@@ -0,0 +1,190 @@
+package com.company.service;
+
+import com.company.dto.BulkTransferRequest;
+import com.company.dto.BulkUpdateResult;
+import com.company.dto.SalaryAdjustmentRequest;
+import com.company.event.OrgChangeEvent;
+import com.company.event.OrgChangeEvent.EntityType;
+import com.company.repository.DepartmentRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+
+/**
+ * Set-based raises and department transfers. Each request is one {@code UPDATE} that bumps
+ * {@code version} and {@code updated_at} on every row it touches, read back through H2's
+ * {@code FINAL TABLE} so the changed rows come out of the same statement. Aggregates are
+ * recounted, and one batch event refreshes the in-memory indexes, once per request rather
+ * than once per employee. Employees are not in the second-level cache, and a bumped version
+ * makes any copy loaded before the statement fail its optimistic check on a later write.
+ */
+@Service
+@Transactional
+public class BulkUpdateService {
+
+    private static final Set<String> EMPLOYEE_TYPES = Set.of("FULL_TIME", "PART_TIME");
+
+    // Largest value of salary DECIMAL(10, 2)
+    private static final BigDecimal MAX_SALARY = new BigDecimal("99999999.99");
+
+    private static final String PERCENT_RAISE = "ROUND(salary * (100 + :percent) / 100, 2)";
+    private static final String FIXED_RAISE = "salary + :amount";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final DepartmentRepository departmentRepository;
+    private final OrgStatsService orgStatsService;
+    private final OutboxBatchWriter outboxBatchWriter;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    public BulkUpdateService(NamedParameterJdbcTemplate jdbcTemplate,
+                             DepartmentRepository departmentRepository,
+                             OrgStatsService orgStatsService,
+                             OutboxBatchWriter outboxBatchWriter,
+                             ApplicationEventPublisher eventPublisher) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.departmentRepository = departmentRepository;
+        this.orgStatsService = orgStatsService;
+        this.outboxBatchWriter = outboxBatchWriter;
+        this.eventPublisher = eventPublisher;
+    }
+
+    public BulkUpdateResult adjustSalaries(SalaryAdjustmentRequest request) {
+        if ((request.percent() == null) == (request.amount() == null)) {
+            throw new IllegalArgumentException("Exactly one of percent and amount is required");
+        }
+        BigDecimal change = request.percent() != null ? request.percent() : request.amount();
+        if (change.signum() == 0) {
+            throw new IllegalArgumentException("Salary adjustment must not be zero");
+        }
+        if (request.minSalary() != null && request.maxSalary() != null
+                && request.minSalary().compareTo(request.maxSalary()) > 0) {
+            throw new IllegalArgumentException("minSalary must not exceed maxSalary");
+        }
+        if (request.employeeType() != null && !EMPLOYEE_TYPES.contains(request.employeeType())) {
+            throw new IllegalArgumentException("Unknown employee type: " + request.employeeType());
+        }
+
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("percent", request.percent(), Types.NUMERIC)
+                .addValue("amount", request.amount(), Types.NUMERIC);
+        String where = salaryFilter(request, params);
+        String newSalary = request.percent() != null ? PERCENT_RAISE : FIXED_RAISE;
+
+        // One range check for the whole set: a single bad row rejects the request before anything is written
+        params.addValue("maxSalary", MAX_SALARY, Types.NUMERIC);
+        Integer outOfRange = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM employees WHERE " + where +
+                " AND (" + newSalary + " <= 0 OR " + newSalary + " > :maxSalary)", params, Integer.class);
+        if (outOfRange != null && outOfRange > 0) {
+            throw new IllegalArgumentException(outOfRange + " employees would end up with a salary out of range");
+        }
+        if (request.dryRun()) {
+            return new BulkUpdateResult(count(where, params), true);
+        }
+
+        List<ChangedRow> rows = update("salary = " + newSalary, where, params);
+        outboxBatchWriter.updated(EntityType.EMPLOYEE, rows, ChangedRow::outboxRow, row -> Map.of("salary", row.salary()));
+        return finish(rows, rows.stream().map(ChangedRow::departmentId).toList());
+    }
+
+    public BulkUpdateResult transferEmployees(BulkTransferRequest request) {
+        Long from = request.fromDepartmentId();
+        Long to = request.toDepartmentId();
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("Both fromDepartmentId and toDepartmentId are required");
+        }
+        if (from.equals(to)) {
+            throw new IllegalArgumentException("Source and target department must differ");
+        }
+        if (!departmentRepository.existsById(from)) {
+            throw new IllegalArgumentException("Department not found with id: " + from);
+        }
+        if (!departmentRepository.existsById(to)) {
+            throw new IllegalArgumentException("Department not found with id: " + to);
+        }
+
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("from", from, Types.BIGINT)
+                .addValue("to", to, Types.BIGINT);
+        String where = "department_id = :from";
+        if (request.dryRun()) {
+            return new BulkUpdateResult(count(where, params), true);
+        }
+
+        List<ChangedRow> rows = update("department_id = :to", where, params);
+        outboxBatchWriter.updated(EntityType.EMPLOYEE, rows, ChangedRow::outboxRow, row -> Map.of("departmentId", row.departmentId()));
+        return finish(rows, List.of(from, to));
+    }
+
+    // Bulk helpers
+
+    private static String salaryFilter(SalaryAdjustmentRequest request, MapSqlParameterSource params) {
+        List<String> conditions = new ArrayList<>();
+        if (request.companyId() != null) {
+            conditions.add("department_id IN (SELECT id FROM departments WHERE company_id = :companyId)");
+            params.addValue("companyId", request.companyId(), Types.BIGINT);
+        }
+        if (request.departmentId() != null) {
+            conditions.add("department_id = :departmentId");
+            params.addValue("departmentId", request.departmentId(), Types.BIGINT);
+        }
+        if (request.employeeType() != null) {
+            conditions.add("employee_type = :employeeType");
+            params.addValue("employeeType", request.employeeType(), Types.VARCHAR);
+        }
+        if (request.minSalary() != null) {
+            conditions.add("salary >= :minSalary");
+            params.addValue("minSalary", request.minSalary(), Types.NUMERIC);
+        }
+        if (request.maxSalary() != null) {
+            conditions.add("salary <= :maxSalaryFilter");
+            params.addValue("maxSalaryFilter", request.maxSalary(), Types.NUMERIC);
+        }
+        if (conditions.isEmpty()) {
+            throw new IllegalArgumentException("At least one of companyId, departmentId, employeeType, minSalary and maxSalary is required");
+        }
+        return String.join(" AND ", conditions);
+    }
+
+    private int count(String where, MapSqlParameterSource params) {
+        Integer count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM employees WHERE " + where, params, Integer.class);
+        return count != null ? count : 0;
+    }
+
+    private List<ChangedRow> update(String assignment, String where, MapSqlParameterSource params) {
+        params.addValue("now", now(), Types.TIMESTAMP);
+        return jdbcTemplate.query("SELECT id, department_id, version, salary FROM FINAL TABLE (UPDATE employees SET " +
+                        assignment + ", version = version + 1, updated_at = :now WHERE " + where + ")", params,
+                (rs, rowNum) -> new ChangedRow(rs.getLong("id"), rs.getLong("department_id"),
+                        rs.getLong("version"), rs.getBigDecimal("salary")));
+    }
+
+    private BulkUpdateResult finish(List<ChangedRow> rows, Collection<Long> departmentIds) {
+        if (!rows.isEmpty()) {
+            orgStatsService.departmentsChanged(new TreeSet<>(departmentIds));
+            eventPublisher.publishEvent(OrgChangeEvent.updated(EntityType.EMPLOYEE, null));
+        }
+        return new BulkUpdateResult(rows.size(), false);
+    }
+
+    private static Timestamp now() {
+        return Timestamp.valueOf(LocalDateTime.now().truncatedTo(ChronoUnit.MICROS));
+    }
+
+    private record ChangedRow(long id, long departmentId, long version, BigDecimal salary) {
+
+        OutboxBatchWriter.ChangedRow outboxRow() {
+            return new OutboxBatchWriter.ChangedRow(id, version);
+        }
+    }
+}
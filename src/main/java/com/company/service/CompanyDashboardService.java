@@ -0,0 +1,148 @@
+package com.company.service;
+
+import com.company.dto.CompanyDashboard;
+import com.company.dto.CompanyView;
+import com.company.dto.DepartmentView;
+import com.company.dto.EmployeeView;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import org.hibernate.jpa.SpecHints;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Loads the company dashboard with its independent queries running concurrently, each in its
+ * own read-only transaction on a bounded pool of {@code company.dashboard.threads} threads, so
+ * the response takes as long as the slowest part rather than the sum of all of them. Parts that
+ * fail, are rejected by a full queue or miss {@code company.dashboard.part-timeout-ms} are left
+ * out and listed as unavailable. Each part holds a JDBC connection while it runs, so the
+ * connection pool should be larger than the thread count. Cancelling a part does not stop a
+ * statement already running, so its queries are also given the time left until the deadline,
+ * rounded up to whole seconds, as a query timeout.
+ */
+@Service
+public class CompanyDashboardService {
+
+    private static final Logger log = LoggerFactory.getLogger(CompanyDashboardService.class);
+
+    private final CompanyService companyService;
+    private final EmployeeService employeeService;
+    private final EntityManager entityManager;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ThreadPoolExecutor executor;
+    private final long partTimeoutMillis;
+
+    @Autowired
+    public CompanyDashboardService(CompanyService companyService,
+                                   EmployeeService employeeService,
+                                   EntityManager entityManager,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${company.dashboard.threads:8}") int threads,
+                                   @Value("${company.dashboard.queue-capacity:64}") int queueCapacity,
+                                   @Value("${company.dashboard.part-timeout-ms:2000}") long partTimeoutMillis) {
+        this.companyService = companyService;
+        this.employeeService = employeeService;
+        this.entityManager = entityManager;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.partTimeoutMillis = partTimeoutMillis;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), r -> {
+                    Thread thread = new Thread(r, "company-dashboard-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Returns empty when the company does not exist. Every part is started at once and given
+     * the same deadline.
+     */
+    public Optional<CompanyDashboard> getDashboard(Long companyId) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(partTimeoutMillis);
+        Future<Optional<CompanyView>> company = submit(deadline, () -> companyService.getCompanyById(companyId).map(CompanyView::from));
+        Future<List<DepartmentView>> departments = submit(deadline, () -> companyService.getDepartmentsByCompanyId(companyId).stream()
+                .map(DepartmentView::from).toList());
+        Future<Integer> employeeCount = submit(deadline, () -> employeeService.getEmployeeCountByCompanyId(companyId));
+        Future<List<EmployeeView>> fullTime = submit(deadline, () -> employeeService.getFullTimeEmployeesByCompanyId(companyId).stream()
+                .map(EmployeeView::from).toList());
+        Future<List<EmployeeView>> partTime = submit(deadline, () -> employeeService.getPartTimeEmployeesByCompanyId(companyId).stream()
+                .map(EmployeeView::from).toList());
+        Future<List<EmployeeView>> expired = submit(deadline, () -> employeeService.getPartTimeEmployeesWithExpiredContractsByCompanyId(companyId).stream()
+                .map(EmployeeView::from).toList());
+
+        List<String> unavailable = new ArrayList<>();
+        Optional<CompanyView> companyView = await("company", companyId, company, deadline, unavailable);
+        if (companyView != null && companyView.isEmpty()) {
+            for (Future<?> part : List.of(departments, employeeCount, fullTime, partTime, expired)) {
+                part.cancel(true);
+            }
+            return Optional.empty();
+        }
+        return Optional.of(new CompanyDashboard(
+                companyView != null ? companyView.get() : null,
+                await("departments", companyId, departments, deadline, unavailable),
+                await("employeeCount", companyId, employeeCount, deadline, unavailable),
+                await("fullTimeEmployees", companyId, fullTime, deadline, unavailable),
+                await("partTimeEmployees", companyId, partTime, deadline, unavailable),
+                await("expiredContracts", companyId, expired, deadline, unavailable),
+                List.copyOf(unavailable)));
+    }
+
+    private <T> Future<T> submit(long deadline, Supplier<T> part) {
+        try {
+            return executor.submit(() -> readOnlyTransaction.execute(status -> {
+                // Session-wide, so it reaches every query the part's repositories create. JDBC
+                // timeouts are whole seconds and Hibernate rounds the hint, so round up here
+                long remainingSeconds = (TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime()) + 999) / 1000;
+                entityManager.setProperty(SpecHints.HINT_SPEC_QUERY_TIMEOUT, (int) Math.max(1, remainingSeconds) * 1000);
+                return part.get();
+            }));
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    // Returns null, and records the part as unavailable, unless it completed before the deadline
+    private <T> T await(String name, Long companyId, Future<T> part, long deadline, List<String> unavailable) {
+        try {
+            return part.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            part.cancel(true);
+            log.warn("Dashboard part {} for company {} timed out after {} ms", name, companyId, partTimeoutMillis);
+        } catch (ExecutionException e) {
+            log.warn("Dashboard part {} for company {} failed", name, companyId, e.getCause());
+        } catch (InterruptedException e) {
+            part.cancel(true);
+            Thread.currentThread().interrupt();
+        }
+        unavailable.add(name);
+        return null;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
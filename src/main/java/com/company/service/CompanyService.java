@@ -1,14 +1,26 @@
 package com.company.service;
 
+import com.company.dto.SearchHit;
 import com.company.entity.Company;
 import com.company.entity.Department;
+import com.company.event.OrgChangeEvent;
+import com.company.event.OrgChangeEvent.EntityType;
+import com.company.index.NameSearchIndex;
+import com.company.pagination.CursorCodec;
+import com.company.pagination.CursorPage;
+import com.company.pagination.SortKey;
 import com.company.repository.CompanyRepository;
 import com.company.repository.DepartmentRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
@@ -17,11 +29,21 @@ public class CompanyService {
 
     private final CompanyRepository companyRepository;
     private final DepartmentRepository departmentRepository;
+    private final OrgStatsService orgStatsService;
+    private final NameSearchIndex nameSearchIndex;
+    private final OutboxService outboxService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    public CompanyService(CompanyRepository companyRepository, DepartmentRepository departmentRepository) {
+    public CompanyService(CompanyRepository companyRepository, DepartmentRepository departmentRepository,
+                          OrgStatsService orgStatsService, NameSearchIndex nameSearchIndex,
+                          OutboxService outboxService, ApplicationEventPublisher eventPublisher) {
         this.companyRepository = companyRepository;
         this.departmentRepository = departmentRepository;
+        this.orgStatsService = orgStatsService;
+        this.nameSearchIndex = nameSearchIndex;
+        this.outboxService = outboxService;
+        this.eventPublisher = eventPublisher;
     }
 
     // Company CRUD operations
@@ -29,7 +51,11 @@ public class CompanyService {
         if (companyRepository.existsByName(company.getName())) {
             throw new IllegalArgumentException("Company with name '" + company.getName() + "' already exists");
         }
-        return companyRepository.save(company);
+        Company savedCompany = companyRepository.save(company);
+        orgStatsService.companyCreated(savedCompany.getId());
+        outboxService.created(EntityType.COMPANY, savedCompany, OutboxService.fieldsOf(savedCompany));
+        eventPublisher.publishEvent(OrgChangeEvent.created(EntityType.COMPANY, savedCompany.getId()));
+        return savedCompany;
     }
 
     public List<Company> getAllCompanies() {
@@ -48,19 +74,16 @@ public class CompanyService {
         Company company = companyRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Company not found with id: " + id));
         
+        Map<String, Object> before = OutboxService.fieldsOf(company);
         company.setName(companyDetails.getName());
         company.setDescription(companyDetails.getDescription());
         company.setIndustry(companyDetails.getIndustry());
         company.setAddress(companyDetails.getAddress());
         
-        return companyRepository.save(company);
-    }
-
-    public void deleteCompany(Long id) {
-        if (!companyRepository.existsById(id)) {
-            throw new IllegalArgumentException("Company not found with id: " + id);
-        }
-        companyRepository.deleteById(id);
+        Company savedCompany = companyRepository.saveAndFlush(company);
+        outboxService.updated(EntityType.COMPANY, savedCompany, before, OutboxService.fieldsOf(savedCompany));
+        eventPublisher.publishEvent(OrgChangeEvent.updated(EntityType.COMPANY, id));
+        return savedCompany;
     }
 
     // Department operations
@@ -73,7 +96,11 @@ public class CompanyService {
         }
         
         department.setCompany(company);
-        return departmentRepository.save(department);
+        Department savedDepartment = departmentRepository.save(department);
+        orgStatsService.departmentCreated(savedDepartment.getId(), companyId);
+        outboxService.created(EntityType.DEPARTMENT, savedDepartment, OutboxService.fieldsOf(savedDepartment));
+        eventPublisher.publishEvent(OrgChangeEvent.created(EntityType.DEPARTMENT, savedDepartment.getId()));
+        return savedDepartment;
     }
 
     public List<Department> getDepartmentsByCompanyId(Long companyId) {
@@ -95,6 +122,16 @@ public class CompanyService {
         return companyRepository.findByNameContainingIgnoreCase(name);
     }
 
+    public List<SearchHit> searchCompanies(String query, int limit) {
+        NameSearchIndex.requireValidLimit(limit);
+        if (!nameSearchIndex.isReady()) {
+            return companyRepository.findByNameContainingIgnoreCase(query, Limit.of(limit)).stream()
+                    .map(company -> new SearchHit(company.getId(), company.getName(), 1.0))
+                    .toList();
+        }
+        return nameSearchIndex.search(EntityType.COMPANY, query, limit);
+    }
+
     public List<Company> getCompaniesWithMinimumDepartments(int minDepartments) {
         return companyRepository.findCompaniesWithMinimumDepartments(minDepartments);
     }
@@ -110,4 +147,12 @@ public class CompanyService {
     public boolean companyExistsByName(String name) {
         return companyRepository.existsByName(name);
     }
+
+    // Keyset pagination
+    public CursorPage<Company> getCompaniesPage(String cursor, SortKey sortKey, Integer limit) {
+        Limit pageLimit = CursorPage.limit(limit);
+        ScrollPosition position = CursorCodec.decode(cursor, sortKey);
+        Window<Company> window = companyRepository.findAllBy(position, sortKey.sort(), pageLimit);
+        return CursorPage.of(window, sortKey, pageLimit);
+    }
 }
\ No newline at end of file
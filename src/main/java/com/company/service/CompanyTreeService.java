@@ -0,0 +1,83 @@
+package com.company.service;
+
+import com.company.dto.CompanyTree;
+import com.company.dto.CompanyTree.DepartmentNode;
+import com.company.dto.CompanyView;
+import com.company.dto.DepartmentView;
+import com.company.dto.EmployeeView;
+import com.company.entity.Company;
+import com.company.entity.Department;
+import com.company.entity.Employee;
+import com.company.repository.CompanyRepository;
+import com.company.repository.DepartmentRepository;
+import com.company.repository.EmployeeRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Builds a company's department and employee tree from two set-based queries: departments
+ * with their company, then every employee of the company. Employees are grouped by department
+ * id in memory, so the cost does not grow with the number of departments.
+ */
+@Service
+public class CompanyTreeService {
+
+    private final CompanyRepository companyRepository;
+    private final DepartmentRepository departmentRepository;
+    private final EmployeeRepository employeeRepository;
+    private final ObjectWriter treeWriter;
+
+    @Autowired
+    public CompanyTreeService(CompanyRepository companyRepository, DepartmentRepository departmentRepository,
+                              EmployeeRepository employeeRepository, ObjectMapper objectMapper) {
+        this.companyRepository = companyRepository;
+        this.departmentRepository = departmentRepository;
+        this.employeeRepository = employeeRepository;
+        this.treeWriter = objectMapper.writerFor(CompanyTree.class).without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<CompanyTree> getCompanyTree(Long companyId) {
+        List<Department> departments = departmentRepository.findTreeByCompanyId(companyId);
+        if (departments.isEmpty()) {
+            // No departments means no employees; only the company itself is left to load
+            return companyRepository.findById(companyId)
+                    .map(company -> new CompanyTree(CompanyView.from(company), List.of()));
+        }
+        Company company = departments.get(0).getCompany();
+
+        Map<Long, List<EmployeeView>> employeesByDepartment = new HashMap<>(departments.size() * 2);
+        for (Employee employee : employeeRepository.findTreeByCompanyId(companyId)) {
+            employeesByDepartment.computeIfAbsent(employee.getDepartment().getId(), id -> new ArrayList<>())
+                    .add(EmployeeView.from(employee));
+        }
+
+        List<DepartmentNode> nodes = new ArrayList<>(departments.size());
+        for (Department department : departments) {
+            nodes.add(new DepartmentNode(DepartmentView.from(department),
+                    employeesByDepartment.getOrDefault(department.getId(), List.of())));
+        }
+        return Optional.of(new CompanyTree(CompanyView.from(company), nodes));
+    }
+
+    /**
+     * Serializes the tree straight onto {@code out} as it is walked, without buffering the
+     * document. The stream is flushed but left open.
+     */
+    public void writeCompanyTree(CompanyTree tree, OutputStream out) throws IOException {
+        treeWriter.writeValue(out, tree);
+        out.flush();
+    }
+}
@@ -1,14 +1,26 @@
 package com.company.service;
 
+import com.company.dto.SearchHit;
 import com.company.entity.Department;
+import com.company.event.OrgChangeEvent;
+import com.company.event.OrgChangeEvent.EntityType;
+import com.company.index.NameSearchIndex;
+import com.company.pagination.CursorCodec;
+import com.company.pagination.CursorPage;
+import com.company.pagination.SortKey;
 import com.company.entity.Employee;
 import com.company.repository.DepartmentRepository;
 import com.company.repository.EmployeeRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
@@ -17,11 +29,24 @@ public class DepartmentService {
 
     private final DepartmentRepository departmentRepository;
     private final EmployeeRepository employeeRepository;
+    private final OrgStatsService orgStatsService;
+    private final EmailUniquenessService emailUniqueness;
+    private final NameSearchIndex nameSearchIndex;
+    private final OutboxService outboxService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    public DepartmentService(DepartmentRepository departmentRepository, EmployeeRepository employeeRepository) {
+    public DepartmentService(DepartmentRepository departmentRepository, EmployeeRepository employeeRepository,
+                             OrgStatsService orgStatsService, EmailUniquenessService emailUniqueness,
+                             NameSearchIndex nameSearchIndex, OutboxService outboxService,
+                             ApplicationEventPublisher eventPublisher) {
         this.departmentRepository = departmentRepository;
         this.employeeRepository = employeeRepository;
+        this.orgStatsService = orgStatsService;
+        this.emailUniqueness = emailUniqueness;
+        this.nameSearchIndex = nameSearchIndex;
+        this.outboxService = outboxService;
+        this.eventPublisher = eventPublisher;
     }
 
     // Department CRUD operations
@@ -34,7 +59,11 @@ public class DepartmentService {
             throw new IllegalArgumentException("Department with name '" + department.getName() + "' already exists in this company");
         }
         
-        return departmentRepository.save(department);
+        Department savedDepartment = departmentRepository.save(department);
+        orgStatsService.departmentCreated(savedDepartment.getId(), department.getCompany().getId());
+        outboxService.created(EntityType.DEPARTMENT, savedDepartment, OutboxService.fieldsOf(savedDepartment));
+        eventPublisher.publishEvent(OrgChangeEvent.created(EntityType.DEPARTMENT, savedDepartment.getId()));
+        return savedDepartment;
     }
 
     public List<Department> getAllDepartments() {
@@ -49,18 +78,15 @@ public class DepartmentService {
         Department department = departmentRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Department not found with id: " + id));
         
+        Map<String, Object> before = OutboxService.fieldsOf(department);
         department.setName(departmentDetails.getName());
         department.setDescription(departmentDetails.getDescription());
         department.setLocation(departmentDetails.getLocation());
         
-        return departmentRepository.save(department);
-    }
-
-    public void deleteDepartment(Long id) {
-        if (!departmentRepository.existsById(id)) {
-            throw new IllegalArgumentException("Department not found with id: " + id);
-        }
-        departmentRepository.deleteById(id);
+        Department savedDepartment = departmentRepository.saveAndFlush(department);
+        outboxService.updated(EntityType.DEPARTMENT, savedDepartment, before, OutboxService.fieldsOf(savedDepartment));
+        eventPublisher.publishEvent(OrgChangeEvent.updated(EntityType.DEPARTMENT, id));
+        return savedDepartment;
     }
 
     // Employee operations
@@ -68,12 +94,30 @@ public class DepartmentService {
         Department department = departmentRepository.findById(departmentId)
                 .orElseThrow(() -> new IllegalArgumentException("Department not found with id: " + departmentId));
         
-        if (employeeRepository.existsByEmail(employee.getEmail())) {
-            throw new IllegalArgumentException("Employee with email '" + employee.getEmail() + "' already exists");
-        }
+        emailUniqueness.requireAvailable(employee.getEmail());
         
         employee.setDepartment(department);
-        return employeeRepository.save(employee);
+        Employee savedEmployee = emailUniqueness.insert(employee, () -> employeeRepository.save(employee));
+        orgStatsService.employeeAdded(savedEmployee);
+        outboxService.created(EntityType.EMPLOYEE, savedEmployee, OutboxService.fieldsOf(savedEmployee));
+        eventPublisher.publishEvent(OrgChangeEvent.created(EntityType.EMPLOYEE, savedEmployee.getId()));
+        return savedEmployee;
+    }
+
+    public Employee moveEmployeeToDepartment(Long departmentId, Long employeeId) {
+        Department department = departmentRepository.findById(departmentId)
+                .orElseThrow(() -> new IllegalArgumentException("Department not found with id: " + departmentId));
+        Employee employee = employeeRepository.findById(employeeId)
+                .orElseThrow(() -> new IllegalArgumentException("Employee not found with id: " + employeeId));
+
+        OrgStatsService.Contribution before = OrgStatsService.contributionOf(employee);
+        Map<String, Object> beforeFields = OutboxService.fieldsOf(employee);
+        employee.setDepartment(department);
+        Employee savedEmployee = employeeRepository.saveAndFlush(employee);
+        orgStatsService.employeeChanged(before, savedEmployee);
+        outboxService.updated(EntityType.EMPLOYEE, savedEmployee, beforeFields, OutboxService.fieldsOf(savedEmployee));
+        eventPublisher.publishEvent(OrgChangeEvent.updated(EntityType.EMPLOYEE, employeeId));
+        return savedEmployee;
     }
 
     public List<Employee> getEmployeesByDepartmentId(Long departmentId) {
@@ -95,6 +139,16 @@ public class DepartmentService {
         return departmentRepository.findByNameContainingIgnoreCase(name);
     }
 
+    public List<SearchHit> searchDepartments(String query, int limit) {
+        NameSearchIndex.requireValidLimit(limit);
+        if (!nameSearchIndex.isReady()) {
+            return departmentRepository.findByNameContainingIgnoreCase(query, Limit.of(limit)).stream()
+                    .map(department -> new SearchHit(department.getId(), department.getName(), 1.0))
+                    .toList();
+        }
+        return nameSearchIndex.search(EntityType.DEPARTMENT, query, limit);
+    }
+
     public List<Department> getDepartmentsWithMinimumEmployees(int minEmployees) {
         return departmentRepository.findDepartmentsWithMinimumEmployees(minEmployees);
     }
@@ -116,6 +170,14 @@ public class DepartmentService {
     }
 
     public int getEmployeeCountByDepartmentId(Long departmentId) {
-        return employeeRepository.findByDepartmentId(departmentId).size();
+        return Math.toIntExact(employeeRepository.countByDepartmentId(departmentId));
+    }
+
+    // Keyset pagination
+    public CursorPage<Department> getDepartmentsPage(String cursor, SortKey sortKey, Integer limit) {
+        Limit pageLimit = CursorPage.limit(limit);
+        ScrollPosition position = CursorCodec.decode(cursor, sortKey);
+        Window<Department> window = departmentRepository.findAllBy(position, sortKey.sort(), pageLimit);
+        return CursorPage.of(window, sortKey, pageLimit);
     }
 }
\ No newline at end of file
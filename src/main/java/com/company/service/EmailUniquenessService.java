@@ -0,0 +1,79 @@
+package com.company.service;
+
+import com.company.entity.Employee;
+import com.company.index.EmailIndex;
+import com.company.repository.EmployeeRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.Locale;
+import java.util.function.Supplier;
+
+/**
+ * Email uniqueness for every employee create path. The {@link EmailIndex} answers most checks
+ * without a query; the unique constraint on {@code employees.email} stays the final authority,
+ * and its violations surface as the same {@link IllegalArgumentException} as the pre-check.
+ */
+@Service
+@Transactional
+public class EmailUniquenessService {
+
+    private final EmployeeRepository employeeRepository;
+    private final EmailIndex emailIndex;
+
+    @Autowired
+    public EmailUniquenessService(EmployeeRepository employeeRepository, EmailIndex emailIndex) {
+        this.employeeRepository = employeeRepository;
+        this.emailIndex = emailIndex;
+    }
+
+    public void requireAvailable(String email) {
+        if (!emailIndex.mightContain(email)) {
+            return;
+        }
+        if (employeeRepository.existsByEmail(email)) {
+            throw duplicate(email);
+        }
+        if (emailIndex.isReady()) {
+            emailIndex.recordFalsePositive();
+        }
+    }
+
+    /**
+     * Runs an insert of a new employee, translating a violation of the email constraint into
+     * the duplicate-email error and recording the email in the index on success.
+     */
+    public <T extends Employee> T insert(T employee, Supplier<T> save) {
+        T saved;
+        try {
+            saved = save.get();
+        } catch (DataIntegrityViolationException e) {
+            if (isEmailViolation(e)) {
+                throw duplicate(employee.getEmail());
+            }
+            throw e;
+        }
+        emailIndex.add(saved.getEmail());
+        return saved;
+    }
+
+    /**
+     * Records emails written outside {@link #insert}, such as JDBC batches and updates.
+     */
+    public void registered(Collection<String> emails) {
+        emailIndex.addAll(emails);
+    }
+
+    public static boolean isEmailViolation(DataIntegrityViolationException e) {
+        String message = NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+        return message != null && message.toLowerCase(Locale.ROOT).contains(Employee.EMAIL_CONSTRAINT);
+    }
+
+    static IllegalArgumentException duplicate(String email) {
+        return new IllegalArgumentException("Employee with email '" + email + "' already exists");
+    }
+}
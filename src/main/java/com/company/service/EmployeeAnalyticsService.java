@@ -0,0 +1,232 @@
+package com.company.service;
+
+import com.company.analytics.AnalyticsQuery;
+import com.company.analytics.EmployeeColumns;
+import com.company.dto.AnalyticsResult;
+import com.company.event.OrgChangeEvent;
+import com.company.event.OrgChangeEvent.ChangeType;
+import com.company.event.OrgChangeEvent.EntityType;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.PreparedStatement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Holds the {@link EmployeeColumns} analytics store behind {@code /api/analytics/employees}.
+ * Like the org-chart snapshot it is loaded at startup and kept current by a single background
+ * thread from committed writes, so queries see a complete, possibly slightly stale, version:
+ * changed employees are re-read and spliced into the next version, while batch writes, company
+ * or department deletes (which cascade) and rows the dictionaries cannot encode fall back to a
+ * full reload. Rows are read straight from JDBC without hydrating entities.
+ */
+@Service
+public class EmployeeAnalyticsService {
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeeAnalyticsService.class);
+    private static final int FETCH_SIZE = 1000;
+    private static final int IDS_PER_QUERY = 500;
+    private static final String EMPLOYEE_COLUMNS = "SELECT id, department_id, employee_type, job_title, salary, hire_date, " +
+            "hours_per_week, annual_bonus FROM employees";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final boolean enabled;
+
+    private final AtomicReference<EmployeeColumns> current = new AtomicReference<>();
+    private final Queue<OrgChangeEvent> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean drainScheduled = new AtomicBoolean();
+    private final AtomicBoolean rebuildRequired = new AtomicBoolean();
+    private final AtomicLong versions = new AtomicLong();
+    private final ExecutorService rebuilder = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "employee-analytics-rebuild");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Autowired
+    public EmployeeAnalyticsService(JdbcTemplate jdbcTemplate,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${company.analytics.enabled:true}") boolean enabled) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @throws IllegalStateException while the store is disabled or not built yet
+     */
+    public AnalyticsResult query(AnalyticsQuery query) {
+        EmployeeColumns columns = current.get();
+        if (!enabled || columns == null) {
+            throw new IllegalStateException("Employee analytics are not available");
+        }
+        return columns.aggregate(query);
+    }
+
+    public EmployeeColumns rebuild() {
+        long started = System.nanoTime();
+        EmployeeColumns columns = publish(readOnlyTransaction.execute(status -> load(versions.incrementAndGet())));
+        log.debug("Rebuilt employee analytics v{} with {} rows in {} ms", columns.getVersion(),
+                columns.getRowCount(), (System.nanoTime() - started) / 1_000_000);
+        return columns;
+    }
+
+    /**
+     * Re-reads the changed employees and publishes the version derived from the current one;
+     * an employee that is gone, or has no department, is removed.
+     */
+    public EmployeeColumns apply(List<OrgChangeEvent> events) {
+        EmployeeColumns base = current.get();
+        if (base == null || events.stream().anyMatch(event -> event.entityId() == null)) {
+            return rebuild();
+        }
+        Set<Long> employeeIds = new LinkedHashSet<>();
+        for (OrgChangeEvent event : events) {
+            if (event.entityType() == EntityType.EMPLOYEE) {
+                employeeIds.add(event.entityId());
+            }
+        }
+        EmployeeColumns next = readOnlyTransaction.execute(status ->
+                base.withEmployees(versions.incrementAndGet(), readRows(employeeIds)));
+        return next != null ? publish(next) : rebuild();
+    }
+
+    // A slower rebuild started earlier never replaces a newer version
+    private EmployeeColumns publish(EmployeeColumns columns) {
+        current.accumulateAndGet(columns, (previous, next) ->
+                previous == null || next.getVersion() > previous.getVersion() ? next : previous);
+        return columns;
+    }
+
+    private Map<Long, EmployeeColumns.Row> readRows(Set<Long> employeeIds) {
+        Map<Long, EmployeeColumns.Row> rows = new HashMap<>();
+        employeeIds.forEach(id -> rows.put(id, null));
+        List<Long> ids = new ArrayList<>(employeeIds);
+        for (int from = 0; from < ids.size(); from += IDS_PER_QUERY) {
+            List<Long> chunk = ids.subList(from, Math.min(from + IDS_PER_QUERY, ids.size()));
+            String placeholders = String.join(", ", Collections.nCopies(chunk.size(), "?"));
+            jdbcTemplate.query(EMPLOYEE_COLUMNS + " WHERE id IN (" + placeholders + ")", rs -> {
+                if (rs.getObject(2) != null) {
+                    BigDecimal bonus = rs.getBigDecimal(8);
+                    rows.put(rs.getLong(1), new EmployeeColumns.Row(rs.getLong(2), "PART_TIME".equals(rs.getString(3)),
+                            rs.getString(4), toCents(rs.getBigDecimal(5)), rs.getObject(6, LocalDate.class), rs.getInt(7),
+                            bonus == null ? 0 : toCents(bonus)));
+                }
+            }, chunk.toArray());
+        }
+        return rows;
+    }
+
+    private EmployeeColumns load(long version) {
+        EmployeeColumns.Builder builder = new EmployeeColumns.Builder();
+        jdbcTemplate.query("SELECT id FROM companies", rs -> {
+            builder.addCompany(rs.getLong(1));
+        });
+        jdbcTemplate.query("SELECT id, company_id FROM departments", rs -> {
+            builder.addDepartment(rs.getLong(1), rs.getLong(2));
+        });
+        jdbcTemplate.query(streaming(EMPLOYEE_COLUMNS), rs -> {
+            BigDecimal bonus = rs.getBigDecimal(8);
+            builder.addEmployee(rs.getLong(1), rs.getLong(2), "PART_TIME".equals(rs.getString(3)), rs.getString(4),
+                    toCents(rs.getBigDecimal(5)), rs.getObject(6, LocalDate.class), rs.getInt(7),
+                    bonus == null ? 0 : toCents(bonus));
+        });
+        return builder.build(version);
+    }
+
+    private static PreparedStatementCreator streaming(String sql) {
+        return connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql);
+            statement.setFetchSize(FETCH_SIZE);
+            return statement;
+        };
+    }
+
+    private static long toCents(BigDecimal amount) {
+        return amount.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        if (enabled) {
+            rebuild();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrgChange(OrgChangeEvent event) {
+        if (!enabled) {
+            return;
+        }
+        if (event.entityId() == null || (event.changeType() == ChangeType.DELETED && event.entityType() != EntityType.EMPLOYEE)) {
+            rebuildRequired.set(true);
+        } else if (event.entityType() == EntityType.EMPLOYEE) {
+            pending.add(event);
+        } else {
+            // A new or renamed company or department adds no rows; its first employee triggers a reload
+            return;
+        }
+        if (drainScheduled.compareAndSet(false, true)) {
+            rebuilder.execute(this::drain);
+        }
+    }
+
+    // Everything queued while the previous drain ran is applied as one change
+    private void drain() {
+        drainScheduled.set(false);
+        List<OrgChangeEvent> events = new ArrayList<>();
+        for (OrgChangeEvent event = pending.poll(); event != null; event = pending.poll()) {
+            events.add(event);
+        }
+        try {
+            if (rebuildRequired.getAndSet(false)) {
+                rebuild();
+            } else if (!events.isEmpty()) {
+                apply(events);
+            }
+        } catch (RuntimeException e) {
+            // The failed changes are lost, so the next drain starts over from the database
+            rebuildRequired.set(true);
+            EmployeeColumns columns = current.get();
+            log.error("Employee analytics update failed; keeping v{}", columns != null ? columns.getVersion() : 0, e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuilder.shutdownNow();
+    }
+}
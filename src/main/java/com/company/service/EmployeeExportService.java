@@ -0,0 +1,85 @@
+package com.company.service;
+
+import com.company.dto.EmployeeExportRow;
+import com.company.entity.Employee;
+import com.company.entity.FullTimeEmployee;
+import com.company.entity.PartTimeEmployee;
+import com.company.repository.EmployeeRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Streams employees as newline-delimited JSON. Rows are read through a forward-only
+ * JDBC cursor and the persistence context is cleared every {@code clearInterval} rows,
+ * so memory use does not depend on how many employees are exported.
+ */
+@Service
+public class EmployeeExportService {
+
+    private static final byte NEWLINE = '\n';
+
+    private final EmployeeRepository employeeRepository;
+    private final EntityManager entityManager;
+    private final ObjectWriter rowWriter;
+    private final int clearInterval;
+    private final long timeoutMillis;
+
+    @Autowired
+    public EmployeeExportService(EmployeeRepository employeeRepository,
+                                 EntityManager entityManager,
+                                 ObjectMapper objectMapper,
+                                 @Value("${company.export.clear-interval:500}") int clearInterval,
+                                 @Value("${company.export.timeout-ms:1800000}") long timeoutMillis) {
+        this.employeeRepository = employeeRepository;
+        this.entityManager = entityManager;
+        this.rowWriter = objectMapper.writerFor(EmployeeExportRow.class);
+        this.clearInterval = clearInterval;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    // A full export outlasts the default async request timeout, so it gets its own
+    public long getTimeoutMillis() {
+        return timeoutMillis;
+    }
+
+    @Transactional(readOnly = true)
+    public long exportEmployees(Long companyId, Long departmentId, String employeeType, OutputStream out) throws IOException {
+        Collection<Class<? extends Employee>> types = resolveTypes(employeeType);
+        long written = 0;
+        try (Stream<Employee> employees = employeeRepository.streamForExport(companyId, departmentId, types)) {
+            var iterator = employees.iterator();
+            while (iterator.hasNext()) {
+                out.write(rowWriter.writeValueAsBytes(EmployeeExportRow.from(iterator.next())));
+                out.write(NEWLINE);
+                if (++written % clearInterval == 0) {
+                    entityManager.clear();
+                    out.flush();
+                }
+            }
+        }
+        out.flush();
+        return written;
+    }
+
+    static Collection<Class<? extends Employee>> resolveTypes(String employeeType) {
+        if (employeeType == null || employeeType.isBlank()) {
+            return List.of(FullTimeEmployee.class, PartTimeEmployee.class);
+        }
+        return switch (employeeType.toUpperCase()) {
+            case "FULL_TIME" -> List.of(FullTimeEmployee.class);
+            case "PART_TIME" -> List.of(PartTimeEmployee.class);
+            default -> throw new IllegalArgumentException("Unknown employee type: " + employeeType);
+        };
+    }
+}
@@ -1,40 +1,78 @@
 package com.company.service;
 
+import com.company.dto.SalaryEntry;
+import com.company.dto.SearchHit;
 import com.company.entity.Employee;
 import com.company.entity.FullTimeEmployee;
 import com.company.entity.PartTimeEmployee;
+import com.company.event.OrgChangeEvent;
+import com.company.event.OrgChangeEvent.EntityType;
+import com.company.index.NameSearchIndex;
+import com.company.index.SalaryIndex;
+import com.company.pagination.CursorCodec;
+import com.company.pagination.CursorPage;
+import com.company.pagination.SortKey;
+import com.company.repository.DepartmentRepository;
 import com.company.repository.EmployeeRepository;
+import com.company.repository.IdCount;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
 @Transactional
 public class EmployeeService {
 
+    private static final int MAX_SALARY_PAGE = 1000;
+    private static final int MAX_SALARY_PERCENTILES = 20;
+
     private final EmployeeRepository employeeRepository;
+    private final DepartmentRepository departmentRepository;
+    private final OrgStatsService orgStatsService;
+    private final EmailUniquenessService emailUniqueness;
+    private final NameSearchIndex nameSearchIndex;
+    private final SalaryIndex salaryIndex;
+    private final OutboxService outboxService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    public EmployeeService(EmployeeRepository employeeRepository) {
+    public EmployeeService(EmployeeRepository employeeRepository, DepartmentRepository departmentRepository,
+                           OrgStatsService orgStatsService, EmailUniquenessService emailUniqueness,
+                           NameSearchIndex nameSearchIndex, SalaryIndex salaryIndex,
+                           OutboxService outboxService, ApplicationEventPublisher eventPublisher) {
         this.employeeRepository = employeeRepository;
+        this.departmentRepository = departmentRepository;
+        this.orgStatsService = orgStatsService;
+        this.emailUniqueness = emailUniqueness;
+        this.nameSearchIndex = nameSearchIndex;
+        this.salaryIndex = salaryIndex;
+        this.outboxService = outboxService;
+        this.eventPublisher = eventPublisher;
     }
 
     // Employee CRUD operations
     public Employee createEmployee(Employee employee) {
-        if (employeeRepository.existsByEmail(employee.getEmail())) {
-            throw new IllegalArgumentException("Employee with email '" + employee.getEmail() + "' already exists");
-        }
+        emailUniqueness.requireAvailable(employee.getEmail());
         
-        if (employee.getDepartment() == null || employee.getDepartment().getId() == null) {
-            throw new IllegalArgumentException("Employee must be associated with a department");
-        }
+        attachDepartment(employee);
         
-        return employeeRepository.save(employee);
+        Employee savedEmployee = emailUniqueness.insert(employee, () -> employeeRepository.save(employee));
+        orgStatsService.employeeAdded(savedEmployee);
+        outboxService.created(EntityType.EMPLOYEE, savedEmployee, OutboxService.fieldsOf(savedEmployee));
+        eventPublisher.publishEvent(OrgChangeEvent.created(EntityType.EMPLOYEE, savedEmployee.getId()));
+        return savedEmployee;
     }
 
     public List<Employee> getAllEmployees() {
@@ -42,7 +80,7 @@ public class EmployeeService {
     }
 
     public Optional<Employee> getEmployeeById(Long id) {
-        return employeeRepository.findById(id);
+        return employeeRepository.findWithDepartmentById(id);
     }
 
     public Optional<Employee> getEmployeeByEmail(String email) {
@@ -53,6 +91,8 @@ public class EmployeeService {
         Employee employee = employeeRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Employee not found with id: " + id));
         
+        OrgStatsService.Contribution before = OrgStatsService.contributionOf(employee);
+        Map<String, Object> beforeFields = OutboxService.fieldsOf(employee);
         employee.setFirstName(employeeDetails.getFirstName());
         employee.setLastName(employeeDetails.getLastName());
         employee.setEmail(employeeDetails.getEmail());
@@ -61,27 +101,34 @@ public class EmployeeService {
         employee.setSalary(employeeDetails.getSalary());
         employee.setJobTitle(employeeDetails.getJobTitle());
         
-        return employeeRepository.save(employee);
+        Employee savedEmployee = employeeRepository.saveAndFlush(employee);
+        emailUniqueness.registered(List.of(savedEmployee.getEmail()));
+        orgStatsService.employeeChanged(before, savedEmployee);
+        outboxService.updated(EntityType.EMPLOYEE, savedEmployee, beforeFields, OutboxService.fieldsOf(savedEmployee));
+        eventPublisher.publishEvent(OrgChangeEvent.updated(EntityType.EMPLOYEE, id));
+        return savedEmployee;
     }
 
     public void deleteEmployee(Long id) {
-        if (!employeeRepository.existsById(id)) {
-            throw new IllegalArgumentException("Employee not found with id: " + id);
-        }
-        employeeRepository.deleteById(id);
+        Employee employee = employeeRepository.findById(id)
+                .orElseThrow(() -> new IllegalArgumentException("Employee not found with id: " + id));
+        orgStatsService.employeeRemoved(employee);
+        employeeRepository.delete(employee);
+        outboxService.deleted(EntityType.EMPLOYEE, employee);
+        eventPublisher.publishEvent(OrgChangeEvent.deleted(EntityType.EMPLOYEE, id));
     }
 
     // Full-time employee operations
     public FullTimeEmployee createFullTimeEmployee(FullTimeEmployee employee) {
-        if (employeeRepository.existsByEmail(employee.getEmail())) {
-            throw new IllegalArgumentException("Employee with email '" + employee.getEmail() + "' already exists");
-        }
+        emailUniqueness.requireAvailable(employee.getEmail());
         
-        if (employee.getDepartment() == null || employee.getDepartment().getId() == null) {
-            throw new IllegalArgumentException("Employee must be associated with a department");
-        }
+        attachDepartment(employee);
         
-        return employeeRepository.save(employee);
+        FullTimeEmployee savedEmployee = emailUniqueness.insert(employee, () -> employeeRepository.save(employee));
+        orgStatsService.employeeAdded(savedEmployee);
+        outboxService.created(EntityType.EMPLOYEE, savedEmployee, OutboxService.fieldsOf(savedEmployee));
+        eventPublisher.publishEvent(OrgChangeEvent.created(EntityType.EMPLOYEE, savedEmployee.getId()));
+        return savedEmployee;
     }
 
     public List<FullTimeEmployee> getAllFullTimeEmployees() {
@@ -92,17 +139,21 @@ public class EmployeeService {
         return employeeRepository.findFullTimeEmployeesByMinimumBonus(minBonus);
     }
 
+    public List<FullTimeEmployee> getFullTimeEmployeesByCompanyId(Long companyId) {
+        return employeeRepository.findFullTimeEmployeesByCompanyId(companyId);
+    }
+
     // Part-time employee operations
     public PartTimeEmployee createPartTimeEmployee(PartTimeEmployee employee) {
-        if (employeeRepository.existsByEmail(employee.getEmail())) {
-            throw new IllegalArgumentException("Employee with email '" + employee.getEmail() + "' already exists");
-        }
+        emailUniqueness.requireAvailable(employee.getEmail());
         
-        if (employee.getDepartment() == null || employee.getDepartment().getId() == null) {
-            throw new IllegalArgumentException("Employee must be associated with a department");
-        }
+        attachDepartment(employee);
         
-        return employeeRepository.save(employee);
+        PartTimeEmployee savedEmployee = emailUniqueness.insert(employee, () -> employeeRepository.save(employee));
+        orgStatsService.employeeAdded(savedEmployee);
+        outboxService.created(EntityType.EMPLOYEE, savedEmployee, OutboxService.fieldsOf(savedEmployee));
+        eventPublisher.publishEvent(OrgChangeEvent.created(EntityType.EMPLOYEE, savedEmployee.getId()));
+        return savedEmployee;
     }
 
     public List<PartTimeEmployee> getAllPartTimeEmployees() {
@@ -117,6 +168,14 @@ public class EmployeeService {
         return employeeRepository.findPartTimeEmployeesWithExpiredContracts(LocalDate.now());
     }
 
+    public List<PartTimeEmployee> getPartTimeEmployeesByCompanyId(Long companyId) {
+        return employeeRepository.findPartTimeEmployeesByCompanyId(companyId);
+    }
+
+    public List<PartTimeEmployee> getPartTimeEmployeesWithExpiredContractsByCompanyId(Long companyId) {
+        return employeeRepository.findPartTimeEmployeesWithExpiredContractsByCompanyId(companyId, LocalDate.now());
+    }
+
     // Business logic operations
     public List<Employee> getEmployeesByDepartmentId(Long departmentId) {
         return employeeRepository.findByDepartmentId(departmentId);
@@ -130,6 +189,17 @@ public class EmployeeService {
         return employeeRepository.findByFirstNameContainingIgnoreCaseOrLastNameContainingIgnoreCase(firstName, lastName);
     }
 
+    public List<SearchHit> searchEmployees(String query, int limit) {
+        NameSearchIndex.requireValidLimit(limit);
+        if (!nameSearchIndex.isReady()) {
+            return employeeRepository.findByFirstNameContainingIgnoreCaseOrLastNameContainingIgnoreCase(query, query, Limit.of(limit)).stream()
+                    .map(employee -> new SearchHit(employee.getId(),
+                            employee.getFirstName() + " " + employee.getLastName() + " <" + employee.getEmail() + ">", 1.0))
+                    .toList();
+        }
+        return nameSearchIndex.search(EntityType.EMPLOYEE, query, limit);
+    }
+
     public List<Employee> getEmployeesByHireDateRange(LocalDate startDate, LocalDate endDate) {
         return employeeRepository.findByHireDateBetween(startDate, endDate);
     }
@@ -146,6 +216,47 @@ public class EmployeeService {
         return employeeRepository.findBySalaryGreaterThan(salary);
     }
 
+    // Salary ladders, served from the in-memory salary index
+    public long countSalaries(SalaryIndex.Scope scope, Long id, BigDecimal minSalary, BigDecimal maxSalary) {
+        requireValidSalaryRange(minSalary, maxSalary);
+        return salaryIndex.count(scope, id, minSalary, maxSalary);
+    }
+
+    public List<SalaryEntry> getSalaryRange(SalaryIndex.Scope scope, Long id, BigDecimal minSalary, BigDecimal maxSalary,
+                                            int offset, int limit) {
+        requireValidSalaryRange(minSalary, maxSalary);
+        if (offset < 0) {
+            throw new IllegalArgumentException("Offset must not be negative");
+        }
+        requireValidSalaryLimit(limit);
+        return salaryIndex.range(scope, id, minSalary, maxSalary, offset, limit);
+    }
+
+    public List<SalaryEntry> getTopSalaries(SalaryIndex.Scope scope, Long id, int k) {
+        requireValidSalaryLimit(k);
+        return salaryIndex.top(scope, id, k);
+    }
+
+    public Map<Integer, BigDecimal> getSalaryPercentiles(SalaryIndex.Scope scope, Long id, List<Integer> percentiles) {
+        if (percentiles.isEmpty() || percentiles.size() > MAX_SALARY_PERCENTILES
+                || percentiles.stream().anyMatch(p -> p == null || p < 0 || p > 100)) {
+            throw new IllegalArgumentException("Between 1 and " + MAX_SALARY_PERCENTILES + " percentiles from 0 to 100 are required");
+        }
+        return salaryIndex.percentiles(scope, id, percentiles);
+    }
+
+    private static void requireValidSalaryRange(BigDecimal minSalary, BigDecimal maxSalary) {
+        if (minSalary != null && maxSalary != null && minSalary.compareTo(maxSalary) > 0) {
+            throw new IllegalArgumentException("Minimum salary must not exceed maximum salary");
+        }
+    }
+
+    private static void requireValidSalaryLimit(int limit) {
+        if (limit < 1 || limit > MAX_SALARY_PAGE) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_SALARY_PAGE);
+        }
+    }
+
     public boolean employeeExists(Long id) {
         return employeeRepository.existsById(id);
     }
@@ -155,10 +266,74 @@ public class EmployeeService {
     }
 
     public int getEmployeeCountByDepartmentId(Long departmentId) {
-        return employeeRepository.findByDepartmentId(departmentId).size();
+        return Math.toIntExact(employeeRepository.countByDepartmentId(departmentId));
     }
 
     public int getEmployeeCountByCompanyId(Long companyId) {
-        return employeeRepository.findEmployeesByCompanyId(companyId).size();
+        return Math.toIntExact(employeeRepository.countByCompanyId(companyId));
+    }
+
+    public Map<Long, Long> getEmployeeCountsByDepartmentIds(Collection<Long> departmentIds) {
+        return toCountMap(departmentIds, employeeRepository.countGroupedByDepartmentIds(departmentIds));
+    }
+
+    public Map<Long, Long> getEmployeeCountsByCompanyIds(Collection<Long> companyIds) {
+        return toCountMap(companyIds, employeeRepository.countGroupedByCompanyIds(companyIds));
+    }
+
+    // Ids without employees are absent from a GROUP BY result; report them as zero
+    private static Map<Long, Long> toCountMap(Collection<Long> ids, List<IdCount> counts) {
+        Map<Long, Long> result = new LinkedHashMap<>();
+        ids.forEach(id -> result.put(id, 0L));
+        counts.forEach(c -> result.put(c.getId(), c.getCount()));
+        return result;
+    }
+
+    // Replaces the request's department stub (id only) with the managed entity
+    private void attachDepartment(Employee employee) {
+        if (employee.getDepartment() == null || employee.getDepartment().getId() == null) {
+            throw new IllegalArgumentException("Employee must be associated with a department");
+        }
+        Long departmentId = employee.getDepartment().getId();
+        employee.setDepartment(departmentRepository.findById(departmentId)
+                .orElseThrow(() -> new IllegalArgumentException("Department not found with id: " + departmentId)));
+    }
+
+    // Keyset pagination
+    public CursorPage<Employee> getEmployeesPage(String cursor, SortKey sortKey, Integer limit) {
+        Limit pageLimit = CursorPage.limit(limit);
+        ScrollPosition position = CursorCodec.decode(cursor, sortKey);
+        Window<Employee> window = employeeRepository.findAllBy(position, sortKey.sort(), pageLimit);
+        return CursorPage.of(window, sortKey, pageLimit);
+    }
+
+    public CursorPage<Employee> getEmployeesByDepartmentIdPage(Long departmentId, String cursor, SortKey sortKey, Integer limit) {
+        Limit pageLimit = CursorPage.limit(limit);
+        ScrollPosition position = CursorCodec.decode(cursor, sortKey);
+        Window<Employee> window = employeeRepository.findByDepartmentId(departmentId, position, sortKey.sort(), pageLimit);
+        return CursorPage.of(window, sortKey, pageLimit);
+    }
+
+    public CursorPage<Employee> getEmployeesByCompanyIdPage(Long companyId, String cursor, SortKey sortKey, Integer limit) {
+        Limit pageLimit = CursorPage.limit(limit);
+        ScrollPosition position = CursorCodec.decode(cursor, sortKey);
+        Window<Employee> window = employeeRepository.findByDepartmentCompanyId(companyId, position, sortKey.sort(), pageLimit);
+        return CursorPage.of(window, sortKey, pageLimit);
+    }
+
+    public CursorPage<Employee> getEmployeesByHireDateRangePage(LocalDate startDate, LocalDate endDate,
+                                                                String cursor, SortKey sortKey, Integer limit) {
+        Limit pageLimit = CursorPage.limit(limit);
+        ScrollPosition position = CursorCodec.decode(cursor, sortKey);
+        Window<Employee> window = employeeRepository.findByHireDateBetween(startDate, endDate, position, sortKey.sort(), pageLimit);
+        return CursorPage.of(window, sortKey, pageLimit);
+    }
+
+    public CursorPage<Employee> getEmployeesBySalaryRangePage(BigDecimal minSalary, BigDecimal maxSalary,
+                                                              String cursor, SortKey sortKey, Integer limit) {
+        Limit pageLimit = CursorPage.limit(limit);
+        ScrollPosition position = CursorCodec.decode(cursor, sortKey);
+        Window<Employee> window = employeeRepository.findBySalaryBetween(minSalary, maxSalary, position, sortKey.sort(), pageLimit);
+        return CursorPage.of(window, sortKey, pageLimit);
     }
 }
\ No newline at end of file
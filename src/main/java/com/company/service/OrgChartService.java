@@ -0,0 +1,222 @@
+package com.company.service;
+
+import com.company.dto.DepartmentView;
+import com.company.dto.EmployeeView;
+import com.company.event.OrgChangeEvent;
+import com.company.event.OrgChangeEvent.EntityType;
+import com.company.repository.CompanyRepository;
+import com.company.repository.DepartmentRepository;
+import com.company.repository.EmployeeRepository;
+import com.company.snapshot.OrgChartSnapshot;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+
+/**
+ * Holds the optional in-memory {@link OrgChartSnapshot} read model. Committed writes are queued
+ * and a single background thread applies them: each changed row is read once and the next
+ * version is derived copy-on-write from the current one, while batch events, or a change whose
+ * parent the snapshot does not know, fall back to a full rebuild. Readers always see a complete,
+ * immutable snapshot, which trails the database by the time the queue takes to drain.
+ */
+@Service
+public class OrgChartService {
+
+    private static final Logger log = LoggerFactory.getLogger(OrgChartService.class);
+
+    private final CompanyRepository companyRepository;
+    private final DepartmentRepository departmentRepository;
+    private final EmployeeRepository employeeRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final boolean enabled;
+
+    // Null until the first build
+    private final AtomicReference<OrgChartSnapshot> current = new AtomicReference<>();
+    private final Queue<OrgChangeEvent> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean drainScheduled = new AtomicBoolean();
+    private final AtomicBoolean rebuildRequired = new AtomicBoolean();
+    private final AtomicLong versions = new AtomicLong();
+    private final ExecutorService rebuilder = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "org-chart-rebuild");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Autowired
+    public OrgChartService(CompanyRepository companyRepository,
+                           DepartmentRepository departmentRepository,
+                           EmployeeRepository employeeRepository,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${company.snapshot.enabled:false}") boolean enabled) {
+        this.companyRepository = companyRepository;
+        this.departmentRepository = departmentRepository;
+        this.employeeRepository = employeeRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public Optional<OrgChartSnapshot> currentSnapshot() {
+        return enabled ? Optional.ofNullable(current.get()) : Optional.empty();
+    }
+
+    public OrgChartSnapshot rebuild() {
+        long started = System.nanoTime();
+        OrgChartSnapshot snapshot = publish(readOnlyTransaction.execute(status -> load(versions.incrementAndGet())));
+        log.debug("Rebuilt org-chart snapshot v{} with {} employees in {} ms", snapshot.getVersion(),
+                snapshot.getEmployeeCount(), (System.nanoTime() - started) / 1_000_000);
+        return snapshot;
+    }
+
+    /**
+     * Applies the changes to the current snapshot and publishes the result. Each changed row is
+     * read once; a row that is gone is removed from the snapshot.
+     */
+    public OrgChartSnapshot apply(List<OrgChangeEvent> events) {
+        OrgChartSnapshot base = current.get();
+        if (base == null || events.stream().anyMatch(event -> event.entityId() == null)) {
+            return rebuild();
+        }
+        // Parents first, so a new department is in place before its employees arrive
+        Map<EntityType, Set<Long>> changed = new EnumMap<>(EntityType.class);
+        for (OrgChangeEvent event : events) {
+            changed.computeIfAbsent(event.entityType(), type -> new LinkedHashSet<>()).add(event.entityId());
+        }
+        OrgChartSnapshot next = readOnlyTransaction.execute(status -> applyRows(base, versions.incrementAndGet(), changed));
+        return next != null ? publish(next) : rebuild();
+    }
+
+    // Null when a row belongs to a parent the snapshot does not have, which only a rebuild can fill in
+    private OrgChartSnapshot applyRows(OrgChartSnapshot snapshot, long version, Map<EntityType, Set<Long>> changed) {
+        for (Long id : changed.getOrDefault(EntityType.COMPANY, Set.of())) {
+            Optional<CompanyRepository.SnapshotRow> row = companyRepository.findSnapshotRowById(id);
+            snapshot = row.isPresent()
+                    ? snapshot.withCompany(version, id, row.get().getName())
+                    : snapshot.withoutCompany(version, id);
+        }
+        for (Long id : changed.getOrDefault(EntityType.DEPARTMENT, Set.of())) {
+            Optional<DepartmentRepository.OrgChartRow> row = departmentRepository.findOrgChartRowById(id);
+            if (row.isEmpty()) {
+                snapshot = snapshot.withoutDepartment(version, id);
+            } else if (snapshot.containsCompany(row.get().getCompanyId())) {
+                snapshot = snapshot.withDepartment(version, departmentView(row.get()));
+            } else {
+                return null;
+            }
+        }
+        for (Long id : changed.getOrDefault(EntityType.EMPLOYEE, Set.of())) {
+            Optional<EmployeeRepository.OrgChartRow> row = employeeRepository.findOrgChartRowById(id);
+            if (row.isEmpty()) {
+                snapshot = snapshot.withoutEmployee(version, id);
+            } else if (snapshot.containsDepartment(row.get().getDepartmentId())) {
+                snapshot = snapshot.withEmployee(version, employeeView(row.get()));
+            } else {
+                return null;
+            }
+        }
+        return snapshot;
+    }
+
+    // A slower rebuild started earlier never replaces a newer version
+    private OrgChartSnapshot publish(OrgChartSnapshot snapshot) {
+        current.accumulateAndGet(snapshot, (previous, next) ->
+                previous == null || next.getVersion() > previous.getVersion() ? next : previous);
+        return snapshot;
+    }
+
+    private OrgChartSnapshot load(long version) {
+        OrgChartSnapshot.Builder builder = new OrgChartSnapshot.Builder(Math.toIntExact(employeeRepository.count()));
+        try (Stream<CompanyRepository.SnapshotRow> rows = companyRepository.streamSnapshotRows()) {
+            rows.forEach(r -> builder.addCompany(r.getId(), r.getName()));
+        }
+        try (Stream<DepartmentRepository.OrgChartRow> rows = departmentRepository.streamOrgChartRows()) {
+            rows.forEach(r -> builder.addDepartment(departmentView(r)));
+        }
+        try (Stream<EmployeeRepository.OrgChartRow> rows = employeeRepository.streamOrgChartRows()) {
+            rows.forEach(r -> builder.addEmployee(employeeView(r)));
+        }
+        return builder.build(version);
+    }
+
+    // The snapshot fills in department names and company ids from its own rows
+    private static EmployeeView employeeView(EmployeeRepository.OrgChartRow r) {
+        return new EmployeeView(r.getId(), r.getEmployeeType(), r.getFirstName(), r.getLastName(), r.getEmail(),
+                r.getPhone(), r.getHireDate(), r.getSalary(), r.getJobTitle(), r.getDepartmentId(), null, null,
+                r.getAnnualBonus(), r.getStockOptions(), r.getHealthInsurance(), r.getRetirementPlan(),
+                r.getHoursPerWeek(), r.getFlexibleSchedule(), r.getRemoteWork(), r.getContractEndDate(),
+                r.getCreatedAt(), r.getUpdatedAt(), r.getVersion());
+    }
+
+    private static DepartmentView departmentView(DepartmentRepository.OrgChartRow r) {
+        return new DepartmentView(r.getId(), r.getName(), r.getDescription(), r.getLocation(), r.getCompanyId(),
+                r.getCreatedAt(), r.getUpdatedAt(), r.getVersion());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        if (enabled) {
+            rebuild();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrgChange(OrgChangeEvent event) {
+        if (!enabled) {
+            return;
+        }
+        pending.add(event);
+        if (drainScheduled.compareAndSet(false, true)) {
+            rebuilder.execute(this::drain);
+        }
+    }
+
+    // Everything queued while the previous drain ran is applied as one change
+    private void drain() {
+        drainScheduled.set(false);
+        List<OrgChangeEvent> events = new ArrayList<>();
+        for (OrgChangeEvent event = pending.poll(); event != null; event = pending.poll()) {
+            events.add(event);
+        }
+        if (events.isEmpty()) {
+            return;
+        }
+        try {
+            if (rebuildRequired.getAndSet(false)) {
+                rebuild();
+            } else {
+                apply(events);
+            }
+        } catch (RuntimeException e) {
+            // The failed changes are lost, so the next drain starts over from the database
+            rebuildRequired.set(true);
+            OrgChartSnapshot snapshot = current.get();
+            log.error("Org-chart snapshot update failed; keeping v{}", snapshot != null ? snapshot.getVersion() : 0, e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuilder.shutdownNow();
+    }
+}
@@ -0,0 +1,327 @@
+package com.company.service;
+
+import com.company.cache.OrgCache;
+import com.company.dto.DeletionJobStatus;
+import com.company.dto.DeletionJobStatus.State;
+import com.company.event.OrgChangeEvent;
+import com.company.event.OrgChangeEvent.EntityType;
+import com.company.repository.CompanyRepository;
+import com.company.repository.DepartmentRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cascading deletes of companies and departments with set-based statements instead of
+ * Hibernate's row-by-row cascade, which loads every child first. Employees go bottom-up in
+ * chunks of {@code company.deletion.chunk-size}, each chunk in its own transaction, so no
+ * transaction holds locks or undo for more than one chunk; each department and finally the
+ * company follow once they are empty, in a short transaction of their own. Rows added while a
+ * job runs make that delete fail on its foreign key, and the parent is emptied out again. Every chunk subtracts its rows from the aggregates and
+ * leaves tombstones and outbox events in the same transaction, so a job that fails part way
+ * leaves a consistent, smaller organization and can simply be started again.
+ * <p>
+ * Jobs run either on the caller's thread or on a single background worker, and their
+ * progress can be polled until {@code company.deletion.job-retention-minutes} after they
+ * finish.
+ */
+@Service
+public class OrgDeletionService {
+
+    private static final Logger log = LoggerFactory.getLogger(OrgDeletionService.class);
+
+    private static final String DELETE_EMPLOYEES =
+            "SELECT id, version, salary, annual_bonus FROM OLD TABLE (" +
+            "DELETE FROM employees WHERE department_id = :departmentId FETCH FIRST :limit ROWS ONLY)";
+    private static final String DELETE_DEPARTMENT = "SELECT id, version FROM OLD TABLE (DELETE FROM departments WHERE id = :id)";
+    private static final String DELETE_COMPANY = "SELECT id, version FROM OLD TABLE (DELETE FROM companies WHERE id = :id)";
+
+    // Gives up on a parent that keeps gaining children faster than the job removes them
+    private static final int MAX_DELETE_ATTEMPTS = 5;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final CompanyRepository companyRepository;
+    private final DepartmentRepository departmentRepository;
+    private final OrgStatsService orgStatsService;
+    private final OutboxBatchWriter outboxBatchWriter;
+    private final OrgCache orgCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transaction;
+    private final int chunkSize;
+    private final Duration jobRetention;
+
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "org-deletion");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Autowired
+    public OrgDeletionService(NamedParameterJdbcTemplate jdbcTemplate,
+                              CompanyRepository companyRepository,
+                              DepartmentRepository departmentRepository,
+                              OrgStatsService orgStatsService,
+                              OutboxBatchWriter outboxBatchWriter,
+                              OrgCache orgCache,
+                              ApplicationEventPublisher eventPublisher,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${company.deletion.chunk-size:1000}") int chunkSize,
+                              @Value("${company.deletion.job-retention-minutes:60}") long jobRetentionMinutes) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("company.deletion.chunk-size must be positive");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.companyRepository = companyRepository;
+        this.departmentRepository = departmentRepository;
+        this.orgStatsService = orgStatsService;
+        this.outboxBatchWriter = outboxBatchWriter;
+        this.orgCache = orgCache;
+        this.eventPublisher = eventPublisher;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.jobRetention = Duration.ofMinutes(jobRetentionMinutes);
+    }
+
+    /**
+     * Deletes the company with its departments and employees. With {@code background} the job
+     * is queued and its initial status returned at once; otherwise the call returns when the
+     * job has finished, and rethrows what made it fail. A job already running for the same
+     * company is returned instead of starting another.
+     */
+    public DeletionJobStatus deleteCompany(Long companyId, boolean background) {
+        if (!companyRepository.existsById(companyId)) {
+            throw new IllegalArgumentException("Company not found with id: " + companyId);
+        }
+        return start(EntityType.COMPANY, companyId, background);
+    }
+
+    public DeletionJobStatus deleteDepartment(Long departmentId, boolean background) {
+        if (!departmentRepository.existsById(departmentId)) {
+            throw new IllegalArgumentException("Department not found with id: " + departmentId);
+        }
+        return start(EntityType.DEPARTMENT, departmentId, background);
+    }
+
+    public Optional<DeletionJobStatus> getJob(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId)).map(Job::status);
+    }
+
+    private DeletionJobStatus start(EntityType type, Long entityId, boolean background) {
+        Job job;
+        synchronized (jobs) {
+            LocalDateTime cutoff = LocalDateTime.now().minus(jobRetention);
+            jobs.values().removeIf(j -> j.finishedAt != null && j.finishedAt.isBefore(cutoff));
+            Optional<Job> active = jobs.values().stream()
+                    .filter(j -> j.type == type && j.entityId.equals(entityId) && j.finishedAt == null)
+                    .findFirst();
+            if (active.isPresent()) {
+                return active.get().status();
+            }
+            job = new Job(UUID.randomUUID().toString(), type, entityId);
+            jobs.put(job.id, job);
+        }
+        if (background) {
+            worker.execute(() -> {
+                try {
+                    run(job);
+                } catch (RuntimeException e) {
+                    // Recorded on the job; nobody is waiting for the exception itself
+                }
+            });
+        } else {
+            run(job);
+        }
+        return job.status();
+    }
+
+    private void run(Job job) {
+        job.state = State.RUNNING;
+        job.startedAt = LocalDateTime.now();
+        try {
+            if (job.type == EntityType.COMPANY) {
+                deleteCompany(job);
+            } else {
+                // Gone since the existence check when another request deleted it first
+                Long companyId = jdbcTemplate.queryForList("SELECT company_id FROM departments WHERE id = :id",
+                                new MapSqlParameterSource("id", job.entityId), Long.class).stream().findFirst()
+                        .orElseThrow(() -> new IllegalArgumentException("Department not found with id: " + job.entityId));
+                job.departmentsTotal = 1;
+                job.employeesTotal = countEmployees("department_id = :id", job.entityId);
+                deleteDepartment(job, job.entityId, companyId);
+            }
+            job.finish(State.COMPLETED, null);
+            log.info("Deleted {} {} with {} departments and {} employees", job.type, job.entityId,
+                    job.departmentsDeleted.get(), job.employeesDeleted.get());
+        } catch (RuntimeException e) {
+            job.finish(State.FAILED, e.getMessage());
+            log.warn("Deletion of {} {} failed after {} employees", job.type, job.entityId, job.employeesDeleted.get(), e);
+            throw e;
+        } finally {
+            // One refresh of the in-memory indexes per job; a partial delete still removed rows
+            if (job.state == State.COMPLETED) {
+                eventPublisher.publishEvent(OrgChangeEvent.deleted(job.type, job.entityId));
+            } else if (job.employeesDeleted.get() > 0 || job.departmentsDeleted.get() > 0) {
+                eventPublisher.publishEvent(OrgChangeEvent.deleted(EntityType.EMPLOYEE, null));
+            }
+        }
+    }
+
+    private void deleteCompany(Job job) {
+        Long companyId = job.entityId;
+        job.departmentsTotal = departmentIdsOf(companyId).size();
+        job.employeesTotal = countEmployees("department_id IN (SELECT id FROM departments WHERE company_id = :id)", companyId);
+        deleteOnceEmpty(() -> {
+            // Departments created while the job runs are picked up by the next pass
+            List<Long> departmentIds;
+            while (!(departmentIds = departmentIdsOf(companyId)).isEmpty()) {
+                for (Long departmentId : departmentIds) {
+                    deleteDepartment(job, departmentId, companyId);
+                }
+            }
+        }, () -> {
+            List<OutboxBatchWriter.ChangedRow> deleted = deleteRow(DELETE_COMPANY, companyId);
+            if (!deleted.isEmpty()) {
+                orgStatsService.companyRemoved(companyId);
+                outboxBatchWriter.deleted(EntityType.COMPANY, deleted);
+                orgCache.evictCompany(companyId);
+            }
+        });
+    }
+
+    private void deleteDepartment(Job job, Long departmentId, Long companyId) {
+        deleteOnceEmpty(() -> {
+            int deleted;
+            do {
+                deleted = transaction.execute(status -> deleteEmployees(departmentId, chunkSize));
+                job.employeesDeleted.addAndGet(deleted);
+            } while (deleted > 0);
+        }, () -> {
+            List<OutboxBatchWriter.ChangedRow> department = deleteRow(DELETE_DEPARTMENT, departmentId);
+            if (!department.isEmpty()) {
+                orgStatsService.departmentRemoved(departmentId);
+                outboxBatchWriter.deleted(EntityType.DEPARTMENT, department);
+                orgCache.evictDepartment(departmentId, companyId);
+            }
+        });
+        job.departmentsDeleted.incrementAndGet();
+    }
+
+    /**
+     * Empties the parent out chunk by chunk, then deletes it alone in a short transaction. A
+     * child added after the last chunk fails that delete on its foreign key, which rolls back
+     * and starts over with emptying out.
+     */
+    private void deleteOnceEmpty(Runnable emptyOut, Runnable deleteParent) {
+        for (int attempt = 1; ; attempt++) {
+            emptyOut.run();
+            try {
+                transaction.executeWithoutResult(status -> deleteParent.run());
+                return;
+            } catch (DataIntegrityViolationException e) {
+                if (attempt == MAX_DELETE_ATTEMPTS) {
+                    throw e;
+                }
+                log.debug("Children were added while emptying out, retrying (attempt {})", attempt, e);
+            }
+        }
+    }
+
+    // Chunk helpers
+
+    private int deleteEmployees(Long departmentId, int limit) {
+        List<RemovedEmployee> removed = jdbcTemplate.query(DELETE_EMPLOYEES,
+                new MapSqlParameterSource("departmentId", departmentId).addValue("limit", limit),
+                (rs, rowNum) -> new RemovedEmployee(rs.getLong("id"), rs.getLong("version"),
+                        rs.getBigDecimal("salary"), rs.getBigDecimal("annual_bonus")));
+        if (removed.isEmpty()) {
+            return 0;
+        }
+        removed.sort(Comparator.comparingLong(RemovedEmployee::id));
+        orgStatsService.employeesRemoved(removed.stream().map(e -> e.contribution(departmentId)).toList());
+        outboxBatchWriter.deleted(EntityType.EMPLOYEE, removed.stream()
+                .map(e -> new OutboxBatchWriter.ChangedRow(e.id(), e.version())).toList());
+        return removed.size();
+    }
+
+    private List<OutboxBatchWriter.ChangedRow> deleteRow(String sql, Long id) {
+        return jdbcTemplate.query(sql, new MapSqlParameterSource("id", id),
+                (rs, rowNum) -> new OutboxBatchWriter.ChangedRow(rs.getLong("id"), rs.getLong("version")));
+    }
+
+    private List<Long> departmentIdsOf(Long companyId) {
+        return jdbcTemplate.queryForList("SELECT id FROM departments WHERE company_id = :id ORDER BY id",
+                new MapSqlParameterSource("id", companyId), Long.class);
+    }
+
+    private long countEmployees(String where, Long id) {
+        Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM employees WHERE " + where,
+                new MapSqlParameterSource("id", id), Long.class);
+        return count != null ? count : 0;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        worker.shutdownNow();
+    }
+
+    private record RemovedEmployee(long id, long version, BigDecimal salary, BigDecimal annualBonus) {
+
+        // Same totals as OrgStatsService.contributionOf for the loaded entity
+        OrgStatsService.Contribution contribution(Long departmentId) {
+            return new OrgStatsService.Contribution(departmentId, salary,
+                    annualBonus != null ? salary.add(annualBonus) : salary);
+        }
+    }
+
+    private static final class Job {
+
+        final String id;
+        final EntityType type;
+        final Long entityId;
+        final AtomicInteger departmentsDeleted = new AtomicInteger();
+        final AtomicLong employeesDeleted = new AtomicLong();
+        volatile State state = State.QUEUED;
+        volatile int departmentsTotal;
+        volatile long employeesTotal;
+        volatile LocalDateTime startedAt;
+        volatile LocalDateTime finishedAt;
+        volatile String error;
+
+        Job(String id, EntityType type, Long entityId) {
+            this.id = id;
+            this.type = type;
+            this.entityId = entityId;
+        }
+
+        void finish(State state, String error) {
+            this.error = error;
+            this.finishedAt = LocalDateTime.now();
+            this.state = state;
+        }
+
+        DeletionJobStatus status() {
+            return new DeletionJobStatus(id, type, entityId, state, departmentsTotal, departmentsDeleted.get(),
+                    employeesTotal, employeesDeleted.get(), startedAt, finishedAt, error);
+        }
+    }
+}
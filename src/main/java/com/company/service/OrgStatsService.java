@@ -0,0 +1,252 @@
+package com.company.service;
+
+import com.company.dto.OrgUnitStats;
+import com.company.dto.StatsReconcileReport;
+import com.company.entity.CompanyStats;
+import com.company.entity.DepartmentStats;
+import com.company.entity.Employee;
+import com.company.entity.FullTimeEmployee;
+import com.company.repository.CompanyRepository;
+import com.company.repository.CompanyStatsRepository;
+import com.company.repository.DepartmentStatsRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.*;
+
+/**
+ * Maintains the per-department and per-company headcount and payroll aggregates.
+ * Every employee write applies a delta with one atomic {@code UPDATE} per level, inside
+ * the caller's transaction, so reads are a primary-key lookup regardless of department size.
+ */
+@Service
+@Transactional
+public class OrgStatsService {
+
+    private static final Logger log = LoggerFactory.getLogger(OrgStatsService.class);
+
+    private final DepartmentStatsRepository departmentStatsRepository;
+    private final CompanyStatsRepository companyStatsRepository;
+    private final CompanyRepository companyRepository;
+
+    @Autowired
+    public OrgStatsService(DepartmentStatsRepository departmentStatsRepository,
+                           CompanyStatsRepository companyStatsRepository,
+                           CompanyRepository companyRepository) {
+        this.departmentStatsRepository = departmentStatsRepository;
+        this.companyStatsRepository = companyStatsRepository;
+        this.companyRepository = companyRepository;
+    }
+
+    /**
+     * What a single employee adds to the totals of its department.
+     */
+    public record Contribution(Long departmentId, BigDecimal salary, BigDecimal compensation) {
+    }
+
+    public static Contribution contributionOf(Employee employee) {
+        BigDecimal salary = employee.getSalary() != null ? employee.getSalary() : BigDecimal.ZERO;
+        BigDecimal compensation = salary;
+        if (employee instanceof FullTimeEmployee fullTime && fullTime.getAnnualBonus() != null) {
+            compensation = salary.add(fullTime.getAnnualBonus());
+        }
+        Long departmentId = employee.getDepartment() != null ? employee.getDepartment().getId() : null;
+        return new Contribution(departmentId, salary, compensation);
+    }
+
+    // Reads
+    @Transactional(readOnly = true)
+    public Optional<OrgUnitStats> getDepartmentStats(Long departmentId) {
+        return departmentStatsRepository.findStats(departmentId);
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<OrgUnitStats> getCompanyStats(Long companyId) {
+        return companyStatsRepository.findStats(companyId);
+    }
+
+    // Structure changes
+    public void companyCreated(Long companyId) {
+        companyStatsRepository.save(new CompanyStats(companyId));
+    }
+
+    public void companyRemoved(Long companyId) {
+        departmentStatsRepository.deleteByCompanyId(companyId);
+        companyStatsRepository.deleteStats(companyId);
+    }
+
+    public void departmentCreated(Long departmentId, Long companyId) {
+        departmentStatsRepository.save(new DepartmentStats(departmentId, companyId));
+    }
+
+    public void departmentRemoved(Long departmentId) {
+        departmentStatsRepository.findStats(departmentId).ifPresent(stats -> {
+            companyStatsRepository.applyDeltaForDepartment(departmentId, -stats.headcount(),
+                    stats.totalSalary().negate(), stats.totalCompensation().negate());
+            departmentStatsRepository.deleteStats(departmentId);
+        });
+    }
+
+    // Employee changes
+    public void employeeAdded(Employee employee) {
+        apply(contributionOf(employee), 1);
+    }
+
+    public void employeeRemoved(Employee employee) {
+        apply(contributionOf(employee), -1);
+    }
+
+    public void employeeChanged(Contribution before, Employee after) {
+        Contribution current = contributionOf(after);
+        if (before.equals(current)) {
+            return;
+        }
+        apply(before, -1);
+        apply(current, 1);
+    }
+
+    public void employeesAdded(Collection<? extends Employee> employees) {
+        Map<Long, OrgUnitStats> byDepartment = new HashMap<>();
+        for (Employee employee : employees) {
+            Contribution c = contributionOf(employee);
+            byDepartment.merge(c.departmentId(), new OrgUnitStats(c.departmentId(), 1, c.salary(), c.compensation()), OrgUnitStats::plus);
+        }
+        byDepartment.values().forEach(delta -> applyDelta(delta.id(), delta.headcount(), delta.totalSalary(), delta.totalCompensation()));
+    }
+
+    // Rows removed by a set-based delete, subtracted with one statement per department
+    public void employeesRemoved(Collection<Contribution> removed) {
+        Map<Long, OrgUnitStats> byDepartment = new HashMap<>();
+        for (Contribution c : removed) {
+            byDepartment.merge(c.departmentId(), new OrgUnitStats(c.departmentId(), 1, c.salary(), c.compensation()), OrgUnitStats::plus);
+        }
+        byDepartment.values().forEach(delta -> applyDelta(delta.id(), -delta.headcount(), delta.totalSalary().negate(),
+                delta.totalCompensation().negate()));
+    }
+
+    /**
+     * Recounts departments after a set-based write to their employees and moves each company
+     * total by the difference, so a bulk statement costs one recount instead of a delta per row.
+     * The aggregate rows are locked first: a concurrent employee write either committed
+     * before the recount reads the employees, or waits and lands on top of the overwrite.
+     */
+    public void departmentsChanged(Collection<Long> departmentIds) {
+        if (departmentIds.isEmpty()) {
+            return;
+        }
+        departmentStatsRepository.lockByDepartmentIds(departmentIds);
+        Map<Long, OrgUnitStats> stored = byId(departmentStatsRepository.findStatsByDepartmentIds(departmentIds));
+        Map<Long, OrgUnitStats> companyDeltas = new HashMap<>();
+        for (DepartmentStatsRepository.DepartmentTotals totals : departmentStatsRepository.recountByIds(departmentIds)) {
+            OrgUnitStats before = stored.get(totals.getId());
+            if (before == null) {
+                log.warn("No aggregate row for department {}; leaving it to reconciliation", totals.getId());
+                continue;
+            }
+            OrgUnitStats actual = new OrgUnitStats(totals.getId(), totals.getHeadcount(),
+                    totals.getTotalSalary(), totals.getTotalCompensation());
+            if (before.sameTotals(actual)) {
+                continue;
+            }
+            departmentStatsRepository.overwrite(totals.getId(), totals.getCompanyId(), actual.headcount(),
+                    actual.totalSalary(), actual.totalCompensation());
+            companyDeltas.merge(totals.getCompanyId(), new OrgUnitStats(totals.getCompanyId(),
+                    actual.headcount() - before.headcount(), actual.totalSalary().subtract(before.totalSalary()),
+                    actual.totalCompensation().subtract(before.totalCompensation())), OrgUnitStats::plus);
+        }
+        companyDeltas.values().forEach(delta -> companyStatsRepository.applyDelta(delta.id(), delta.headcount(),
+                delta.totalSalary(), delta.totalCompensation()));
+    }
+
+    private void apply(Contribution contribution, int sign) {
+        BigDecimal factor = BigDecimal.valueOf(sign);
+        applyDelta(contribution.departmentId(), sign,
+                contribution.salary().multiply(factor), contribution.compensation().multiply(factor));
+    }
+
+    private void applyDelta(Long departmentId, long headcount, BigDecimal salary, BigDecimal compensation) {
+        if (departmentId == null) {
+            return;
+        }
+        if (departmentStatsRepository.applyDelta(departmentId, headcount, salary, compensation) == 0) {
+            log.warn("No aggregate row for department {}; leaving it to reconciliation", departmentId);
+            return;
+        }
+        companyStatsRepository.applyDeltaForDepartment(departmentId, headcount, salary, compensation);
+    }
+
+    /**
+     * Recounts every department and company from the employees table, overwrites the stored
+     * aggregates and reports each unit whose stored totals had drifted.
+     */
+    public StatsReconcileReport reconcile() {
+        Map<Long, OrgUnitStats> storedDepartments = byId(departmentStatsRepository.findAllStats());
+        Map<Long, OrgUnitStats> storedCompanies = byId(companyStatsRepository.findAllStats());
+        List<StatsReconcileReport.Drift> drift = new ArrayList<>();
+
+        Map<Long, OrgUnitStats> actualCompanies = new LinkedHashMap<>();
+        companyRepository.findAllIds().forEach(id -> actualCompanies.put(id, OrgUnitStats.empty(id)));
+
+        List<DepartmentStatsRepository.DepartmentTotals> departments = departmentStatsRepository.recountAll();
+        for (DepartmentStatsRepository.DepartmentTotals totals : departments) {
+            OrgUnitStats actual = new OrgUnitStats(totals.getId(), totals.getHeadcount(),
+                    totals.getTotalSalary(), totals.getTotalCompensation());
+            actualCompanies.merge(totals.getCompanyId(), new OrgUnitStats(totals.getCompanyId(), actual.headcount(),
+                    actual.totalSalary(), actual.totalCompensation()), OrgUnitStats::plus);
+
+            OrgUnitStats stored = storedDepartments.remove(totals.getId());
+            if (stored == null) {
+                DepartmentStats row = new DepartmentStats(totals.getId(), totals.getCompanyId());
+                row.setHeadcount(actual.headcount());
+                row.setTotalSalary(actual.totalSalary());
+                row.setTotalCompensation(actual.totalCompensation());
+                departmentStatsRepository.save(row);
+            } else if (!stored.sameTotals(actual)) {
+                departmentStatsRepository.overwrite(totals.getId(), totals.getCompanyId(), actual.headcount(),
+                        actual.totalSalary(), actual.totalCompensation());
+            }
+            if (stored == null || !stored.sameTotals(actual)) {
+                drift.add(new StatsReconcileReport.Drift("DEPARTMENT", totals.getId(), stored, actual));
+            }
+        }
+        storedDepartments.values().forEach(orphan -> {
+            departmentStatsRepository.deleteStats(orphan.id());
+            drift.add(new StatsReconcileReport.Drift("DEPARTMENT", orphan.id(), orphan, null));
+        });
+
+        for (OrgUnitStats actual : actualCompanies.values()) {
+            OrgUnitStats stored = storedCompanies.remove(actual.id());
+            if (stored == null) {
+                CompanyStats row = new CompanyStats(actual.id());
+                row.setHeadcount(actual.headcount());
+                row.setTotalSalary(actual.totalSalary());
+                row.setTotalCompensation(actual.totalCompensation());
+                companyStatsRepository.save(row);
+            } else if (!stored.sameTotals(actual)) {
+                companyStatsRepository.overwrite(actual.id(), actual.headcount(), actual.totalSalary(), actual.totalCompensation());
+            }
+            if (stored == null || !stored.sameTotals(actual)) {
+                drift.add(new StatsReconcileReport.Drift("COMPANY", actual.id(), stored, actual));
+            }
+        }
+        storedCompanies.values().forEach(orphan -> {
+            companyStatsRepository.deleteStats(orphan.id());
+            drift.add(new StatsReconcileReport.Drift("COMPANY", orphan.id(), orphan, null));
+        });
+
+        if (!drift.isEmpty()) {
+            log.warn("Aggregate reconciliation corrected {} drifted units", drift.size());
+        }
+        return new StatsReconcileReport(departments.size(), actualCompanies.size(), drift);
+    }
+
+    private static Map<Long, OrgUnitStats> byId(List<OrgUnitStats> stats) {
+        Map<Long, OrgUnitStats> map = new HashMap<>();
+        stats.forEach(s -> map.put(s.id(), s));
+        return map;
+    }
+}
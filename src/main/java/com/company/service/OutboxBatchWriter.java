@@ -0,0 +1,109 @@
+package com.company.service;
+
+import com.company.event.OrgChangeEvent.ChangeType;
+import com.company.event.OrgChangeEvent.EntityType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * The set-based counterpart of {@link OutboxService}: appends outbox events and tombstones for
+ * rows changed by one bulk statement with JDBC batches, inside the caller's transaction. Rows
+ * are written in the order given, so callers pass them in the order they were changed.
+ */
+@Component
+@Transactional(propagation = Propagation.MANDATORY)
+public class OutboxBatchWriter {
+
+    private static final String INSERT_OUTBOX_EVENT =
+            "INSERT INTO outbox_events (entity_type, entity_id, entity_version, change_type, changes, occurred_at) " +
+            "VALUES (:entityType, :entityId, :entityVersion, :changeType, :changes, :now)";
+
+    private static final String INSERT_TOMBSTONE =
+            "INSERT INTO tombstones (entity_type, entity_id, entity_version, deleted_at) " +
+            "VALUES (:entityType, :entityId, :entityVersion, :now)";
+
+    /** Id and new version of one changed row. */
+    public record ChangedRow(long id, long version) {
+    }
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final OutboxService outboxService;
+    private final int batchSize;
+
+    @Autowired
+    public OutboxBatchWriter(NamedParameterJdbcTemplate jdbcTemplate, OutboxService outboxService,
+                             @Value("${company.bulk.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.outboxService = outboxService;
+        this.batchSize = batchSize;
+    }
+
+    public <T> void created(EntityType type, List<T> rows, Function<T, ChangedRow> row,
+                            Function<T, Map<String, Object>> fields) {
+        appendEvents(type, ChangeType.CREATED, rows, row, fields);
+    }
+
+    public <T> void updated(EntityType type, List<T> rows, Function<T, ChangedRow> row,
+                            Function<T, Map<String, Object>> fields) {
+        appendEvents(type, ChangeType.UPDATED, rows, row, fields);
+    }
+
+    /**
+     * Leaves a tombstone for every row, and an outbox event too when the outbox is enabled,
+     * as {@link OutboxService#deleted} does for a single entity.
+     */
+    public void deleted(EntityType type, List<ChangedRow> rows) {
+        Timestamp now = now();
+        batches(rows, row -> new MapSqlParameterSource()
+                .addValue("entityType", type.name(), Types.VARCHAR)
+                .addValue("entityId", row.id(), Types.BIGINT)
+                .addValue("entityVersion", row.version(), Types.BIGINT)
+                .addValue("now", now, Types.TIMESTAMP), INSERT_TOMBSTONE);
+        appendEvents(type, ChangeType.DELETED, rows, Function.identity(), r -> Collections.emptyMap());
+    }
+
+    private <T> void appendEvents(EntityType type, ChangeType changeType, List<T> rows,
+                                  Function<T, ChangedRow> row, Function<T, Map<String, Object>> fields) {
+        if (!outboxService.isEnabled()) {
+            return;
+        }
+        Timestamp now = now();
+        batches(rows, item -> {
+            ChangedRow changed = row.apply(item);
+            return new MapSqlParameterSource()
+                    .addValue("entityType", type.name(), Types.VARCHAR)
+                    .addValue("entityId", changed.id(), Types.BIGINT)
+                    .addValue("entityVersion", changed.version(), Types.BIGINT)
+                    .addValue("changeType", changeType.name(), Types.VARCHAR)
+                    .addValue("changes", OutboxService.serialize(type, changed.id(), fields.apply(item)), Types.VARCHAR)
+                    .addValue("now", now, Types.TIMESTAMP);
+        }, INSERT_OUTBOX_EVENT);
+    }
+
+    private <T> void batches(List<T> rows, Function<T, SqlParameterSource> parameters, String sql) {
+        for (int from = 0; from < rows.size(); from += batchSize) {
+            List<T> chunk = rows.subList(from, Math.min(from + batchSize, rows.size()));
+            jdbcTemplate.batchUpdate(sql, chunk.stream().map(parameters).toArray(SqlParameterSource[]::new));
+        }
+    }
+
+    // Truncated to the column precision, as in BaseEntity
+    private static Timestamp now() {
+        return Timestamp.valueOf(LocalDateTime.now().truncatedTo(ChronoUnit.MICROS));
+    }
+}
@@ -0,0 +1,90 @@
+package com.company.service;
+
+import com.company.dto.OutboxMessage;
+import com.company.entity.OutboxEvent;
+import com.company.outbox.OutboxSink;
+import com.company.repository.OutboxEventRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Drains {@code outbox_events} to the configured {@link OutboxSink} in batches of
+ * {@code company.outbox.batch-size}, oldest first. Events are deleted only after the sink
+ * accepted their batch, so delivery is at least once; a failed batch stops the drain and is
+ * retried whole on the next poll, which keeps each entity's events in order.
+ */
+@Component
+public class OutboxPublisher {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxPublisher.class);
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxSink sink;
+    private final boolean enabled;
+    private final int batchSize;
+    private final ReentrantLock drainLock = new ReentrantLock();
+
+    @Autowired
+    public OutboxPublisher(OutboxEventRepository outboxEventRepository, OutboxSink sink,
+                           @Value("${company.outbox.enabled:false}") boolean enabled,
+                           @Value("${company.outbox.batch-size:500}") int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Outbox batch size must be positive");
+        }
+        this.outboxEventRepository = outboxEventRepository;
+        this.sink = sink;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${company.outbox.poll-interval-ms:500}")
+    public void poll() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            drain();
+        } catch (RuntimeException e) {
+            log.warn("Outbox delivery failed; retrying on the next poll", e);
+        }
+    }
+
+    /**
+     * Delivers everything committed so far.
+     *
+     * @return the number of events delivered
+     */
+    public int drain() {
+        drainLock.lock();
+        try {
+            int delivered = 0;
+            while (true) {
+                List<OutboxEvent> events = outboxEventRepository.findAllByOrderByIdAsc(Limit.of(batchSize));
+                if (events.isEmpty()) {
+                    return delivered;
+                }
+                sink.publish(events.stream().map(OutboxPublisher::toMessage).toList());
+                outboxEventRepository.deleteAllByIdInBatch(events.stream().map(OutboxEvent::getId).toList());
+                delivered += events.size();
+                if (events.size() < batchSize) {
+                    return delivered;
+                }
+            }
+        } finally {
+            drainLock.unlock();
+        }
+    }
+
+    private static OutboxMessage toMessage(OutboxEvent event) {
+        return new OutboxMessage(event.getId(), event.getEntityType(), event.getEntityId(), event.getEntityVersion(),
+                event.getChangeType(), event.getChanges(), event.getOccurredAt());
+    }
+}
@@ -0,0 +1,169 @@
+package com.company.service;
+
+import com.company.entity.BaseEntity;
+import com.company.entity.Company;
+import com.company.entity.Department;
+import com.company.entity.Employee;
+import com.company.entity.FullTimeEmployee;
+import com.company.entity.OutboxEvent;
+import com.company.entity.PartTimeEmployee;
+import com.company.entity.Tombstone;
+import com.company.event.OrgChangeEvent.ChangeType;
+import com.company.event.OrgChangeEvent.EntityType;
+import com.company.repository.OutboxEventRepository;
+import com.company.repository.TombstoneRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Appends change events to the {@code outbox_events} table inside the caller's transaction,
+ * so an event exists exactly when its change committed. Updates are flushed before appending
+ * so the event carries the incremented version. Two transactions can only both commit a
+ * change to the same entity if the second read it after the first committed (otherwise its
+ * version check fails), so for any one entity the identity key order is the commit order.
+ * Deletions also leave a {@link Tombstone} for the delta-sync endpoint, whether or not the
+ * outbox is enabled.
+ */
+@Service
+@Transactional(propagation = Propagation.MANDATORY)
+public class OutboxService {
+
+    // Field values are plain strings, numbers and booleans, so no Java time module is needed
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final TombstoneRepository tombstoneRepository;
+    private final boolean enabled;
+
+    @Autowired
+    public OutboxService(OutboxEventRepository outboxEventRepository, TombstoneRepository tombstoneRepository,
+                         @Value("${company.outbox.enabled:false}") boolean enabled) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.tombstoneRepository = tombstoneRepository;
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void created(EntityType type, BaseEntity entity, Map<String, Object> fields) {
+        append(type, entity, ChangeType.CREATED, fields);
+    }
+
+    /**
+     * Records only the fields that differ; nothing is written when none do, matching
+     * Hibernate, which leaves the version alone for an unchanged entity.
+     */
+    public void updated(EntityType type, BaseEntity entity, Map<String, Object> before, Map<String, Object> after) {
+        Map<String, Object> changed = new LinkedHashMap<>();
+        after.forEach((field, value) -> {
+            if (!sameValue(before.get(field), value)) {
+                changed.put(field, value);
+            }
+        });
+        if (!changed.isEmpty()) {
+            append(type, entity, ChangeType.UPDATED, changed);
+        }
+    }
+
+    public void deleted(EntityType type, BaseEntity entity) {
+        deleted(type, entity.getId(), entity.getVersion());
+    }
+
+    // For rows removed by a cascade, read as id and version without loading the entities
+    public void deleted(EntityType type, Long id, Long version) {
+        tombstoneRepository.save(new Tombstone(type, id, version, now()));
+        append(type, id, version, ChangeType.DELETED, Collections.emptyMap());
+    }
+
+    private void append(EntityType type, BaseEntity entity, ChangeType changeType, Map<String, Object> fields) {
+        append(type, entity.getId(), entity.getVersion(), changeType, fields);
+    }
+
+    private void append(EntityType type, Long id, Long version, ChangeType changeType, Map<String, Object> fields) {
+        if (!enabled) {
+            return;
+        }
+        outboxEventRepository.save(new OutboxEvent(type, id, version, changeType, serialize(type, id, fields), now()));
+    }
+
+    // Shared with the bulk services, which append their events with JDBC batches
+    static String serialize(EntityType type, Long id, Map<String, Object> fields) {
+        try {
+            return JSON.writeValueAsString(fields);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize changes of " + type + " " + id, e);
+        }
+    }
+
+    // Truncated to the column precision, as in BaseEntity
+    private static LocalDateTime now() {
+        return LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+    }
+
+    // Same rule as Hibernate's dirty check: 90000 and 90000.00 are the same salary
+    private static boolean sameValue(Object before, Object after) {
+        if (before instanceof BigDecimal a && after instanceof BigDecimal b) {
+            return a.compareTo(b) == 0;
+        }
+        return Objects.equals(before, after);
+    }
+
+    // Field snapshots, compared by updated() and recorded whole by created()
+    public static Map<String, Object> fieldsOf(Company company) {
+        Map<String, Object> fields = new LinkedHashMap<>();
+        fields.put("name", company.getName());
+        fields.put("description", company.getDescription());
+        fields.put("industry", company.getIndustry());
+        fields.put("address", company.getAddress());
+        return fields;
+    }
+
+    public static Map<String, Object> fieldsOf(Department department) {
+        Map<String, Object> fields = new LinkedHashMap<>();
+        fields.put("name", department.getName());
+        fields.put("description", department.getDescription());
+        fields.put("location", department.getLocation());
+        fields.put("companyId", department.getCompany() != null ? department.getCompany().getId() : null);
+        return fields;
+    }
+
+    public static Map<String, Object> fieldsOf(Employee employee) {
+        Map<String, Object> fields = new LinkedHashMap<>();
+        fields.put("firstName", employee.getFirstName());
+        fields.put("lastName", employee.getLastName());
+        fields.put("email", employee.getEmail());
+        fields.put("phone", employee.getPhone());
+        fields.put("hireDate", Objects.toString(employee.getHireDate(), null));
+        fields.put("salary", employee.getSalary());
+        fields.put("jobTitle", employee.getJobTitle());
+        fields.put("departmentId", employee.getDepartment() != null ? employee.getDepartment().getId() : null);
+        fields.put("type", employee.getEmployeeType());
+        if (employee instanceof FullTimeEmployee fullTime) {
+            fields.put("annualBonus", fullTime.getAnnualBonus());
+            fields.put("stockOptions", fullTime.getStockOptions());
+            fields.put("healthInsurance", fullTime.getHealthInsurance());
+            fields.put("retirementPlan", fullTime.getRetirementPlan());
+        } else if (employee instanceof PartTimeEmployee partTime) {
+            fields.put("hoursPerWeek", partTime.getHoursPerWeek());
+            fields.put("flexibleSchedule", partTime.getFlexibleSchedule());
+            fields.put("remoteWork", partTime.getRemoteWork());
+            fields.put("contractEndDate", Objects.toString(partTime.getContractEndDate(), null));
+        }
+        return fields;
+    }
+}
@@ -0,0 +1,111 @@
+package com.company.service;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Annualized part-time cost in long cents over parallel primitive arrays of salary, weekly
+ * hours and the index of the unit (department) each row belongs to. Rounds exactly like
+ * {@link com.company.entity.PartTimeEmployee#getHourlyRate()}, so the sums equal the
+ * {@code BigDecimal} computation digit for digit; long addition is associative, so the
+ * fork/join path returns the same sums as the sequential one.
+ */
+public final class PartTimeCosts {
+
+    static final int LEAF_SIZE = 4096;
+
+    private long[] salaryCents = new long[64];
+    private int[] hoursPerWeek = new int[64];
+    private int[] units = new int[64];
+    private int size;
+
+    public void add(int unit, long salaryCents, int hoursPerWeek) {
+        if (size == units.length) {
+            int capacity = size * 2;
+            this.salaryCents = Arrays.copyOf(this.salaryCents, capacity);
+            this.hoursPerWeek = Arrays.copyOf(this.hoursPerWeek, capacity);
+            this.units = Arrays.copyOf(this.units, capacity);
+        }
+        this.salaryCents[size] = salaryCents;
+        this.hoursPerWeek[size] = hoursPerWeek;
+        this.units[size] = unit;
+        size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Sums the annualized cost per unit index in {@code [0, unitCount)}.
+     */
+    public long[] annualizedByUnit(int unitCount, boolean parallel) {
+        if (parallel && size > LEAF_SIZE) {
+            return ForkJoinPool.commonPool().invoke(new SumTask(unitCount, 0, size));
+        }
+        return sum(unitCount, 0, size);
+    }
+
+    private long[] sum(int unitCount, int from, int to) {
+        long[] totals = new long[unitCount];
+        for (int i = from; i < to; i++) {
+            totals[units[i]] = Math.addExact(totals[units[i]], annualizedCents(salaryCents[i], hoursPerWeek[i]));
+        }
+        return totals;
+    }
+
+    // Hourly rate times hours per week times 52 weeks
+    public static long annualizedCents(long salaryCents, int hoursPerWeek) {
+        return Math.multiplyExact(hourlyRateCents(salaryCents, hoursPerWeek), hoursPerWeek * 52L);
+    }
+
+    // Salary over (hours * 52) rounded half-up to the cent; the int product matches the entity
+    public static long hourlyRateCents(long salaryCents, int hoursPerWeek) {
+        if (hoursPerWeek <= 0) {
+            return 0;
+        }
+        return divideHalfUp(salaryCents, hoursPerWeek * 52);
+    }
+
+    // Integer division rounding ties away from zero, as RoundingMode.HALF_UP does
+    static long divideHalfUp(long dividend, long divisor) {
+        long quotient = dividend / divisor;
+        long remainder = dividend % divisor;
+        if (2 * Math.abs(remainder) >= Math.abs(divisor)) {
+            quotient += (dividend < 0) == (divisor < 0) ? 1 : -1;
+        }
+        return quotient;
+    }
+
+    private final class SumTask extends RecursiveTask<long[]> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int unitCount;
+        private final int from;
+        private final int to;
+
+        SumTask(int unitCount, int from, int to) {
+            this.unitCount = unitCount;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected long[] compute() {
+            if (to - from <= LEAF_SIZE) {
+                return sum(unitCount, from, to);
+            }
+            int mid = (from + to) >>> 1;
+            SumTask left = new SumTask(unitCount, from, mid);
+            left.fork();
+            long[] totals = new SumTask(unitCount, mid, to).compute();
+            long[] leftTotals = left.join();
+            for (int unit = 0; unit < unitCount; unit++) {
+                totals[unit] = Math.addExact(totals[unit], leftTotals[unit]);
+            }
+            return totals;
+        }
+    }
+}
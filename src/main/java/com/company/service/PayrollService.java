@@ -0,0 +1,111 @@
+package com.company.service;
+
+import com.company.dto.CompanyPayroll;
+import com.company.dto.PayrollTotals;
+import com.company.repository.CompanyRepository;
+import com.company.repository.EmployeeRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Payroll totals computed without loading entities. Headcounts, salaries and bonuses are
+ * summed and grouped by the database; the part-time annualized cost rounds each row's hourly
+ * rate, which SQL division would not do identically across dialects, so those rows are read
+ * into {@link PartTimeCosts} and summed in long cents, on the fork/join pool once there are
+ * {@code company.payroll.parallel-threshold} of them.
+ */
+@Service
+@Transactional(readOnly = true)
+public class PayrollService {
+
+    private static final String PART_TIME_ROWS = "SELECT e.department_id, e.salary, e.hours_per_week FROM employees e ";
+    private static final String PART_TIME_BY_COMPANY = PART_TIME_ROWS +
+            "JOIN departments d ON d.id = e.department_id WHERE e.employee_type = 'PART_TIME' AND d.company_id = ?";
+    private static final String PART_TIME_BY_DEPARTMENT = PART_TIME_ROWS +
+            "WHERE e.employee_type = 'PART_TIME' AND e.department_id = ?";
+
+    private final EmployeeRepository employeeRepository;
+    private final CompanyRepository companyRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final int parallelThreshold;
+
+    @Autowired
+    public PayrollService(EmployeeRepository employeeRepository,
+                          CompanyRepository companyRepository,
+                          JdbcTemplate jdbcTemplate,
+                          @Value("${company.payroll.parallel-threshold:50000}") int parallelThreshold) {
+        this.employeeRepository = employeeRepository;
+        this.companyRepository = companyRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    public Optional<CompanyPayroll> getCompanyPayroll(Long companyId) {
+        if (!companyRepository.existsById(companyId)) {
+            return Optional.empty();
+        }
+        List<EmployeeRepository.PayrollRow> rows = employeeRepository.sumPayrollByCompanyId(companyId);
+        long[] partTimeCents = annualizedPartTimeCosts(PART_TIME_BY_COMPANY, companyId, rows);
+
+        List<PayrollTotals> departments = new ArrayList<>(rows.size());
+        long employees = 0, fullTime = 0, partTime = 0, salaryCents = 0, bonusCents = 0, annualizedCents = 0;
+        for (int unit = 0; unit < rows.size(); unit++) {
+            PayrollTotals department = totals(rows.get(unit), partTimeCents[unit]);
+            departments.add(department);
+            employees += department.employees();
+            fullTime += department.fullTimeEmployees();
+            partTime += department.partTimeEmployees();
+            salaryCents = Math.addExact(salaryCents, toCents(department.baseSalary()));
+            bonusCents = Math.addExact(bonusCents, toCents(department.annualBonus()));
+            annualizedCents = Math.addExact(annualizedCents, partTimeCents[unit]);
+        }
+        PayrollTotals company = PayrollTotals.ofCents(companyId, employees, fullTime, partTime,
+                salaryCents, bonusCents, annualizedCents);
+        return Optional.of(new CompanyPayroll(company, departments));
+    }
+
+    public Optional<PayrollTotals> getDepartmentPayroll(Long departmentId) {
+        return employeeRepository.sumPayrollByDepartmentId(departmentId)
+                .map(row -> totals(row, annualizedPartTimeCosts(PART_TIME_BY_DEPARTMENT, departmentId, List.of(row))[0]));
+    }
+
+    // Annualized part-time cost per row of the given department sums, in the same order
+    private long[] annualizedPartTimeCosts(String sql, Long id, List<EmployeeRepository.PayrollRow> rows) {
+        Map<Long, Integer> unitByDepartment = new HashMap<>();
+        for (int unit = 0; unit < rows.size(); unit++) {
+            unitByDepartment.put(rows.get(unit).getDepartmentId(), unit);
+        }
+        PartTimeCosts costs = new PartTimeCosts();
+        jdbcTemplate.query(sql, rs -> {
+            Integer unit = unitByDepartment.get(rs.getLong(1));
+            // getInt reads a null as 0, which costs nothing, as the entity does
+            int hoursPerWeek = rs.getInt(3);
+            // A department committed between the two queries is not in the sums either
+            if (unit != null) {
+                costs.add(unit, toCents(rs.getBigDecimal(2)), hoursPerWeek);
+            }
+        }, id);
+        return costs.annualizedByUnit(rows.size(), costs.size() >= parallelThreshold);
+    }
+
+    private static PayrollTotals totals(EmployeeRepository.PayrollRow row, long partTimeAnnualizedCents) {
+        return PayrollTotals.ofCents(row.getDepartmentId(), row.getEmployees(), row.getFullTimeEmployees(),
+                row.getPartTimeEmployees(), toCents(row.getBaseSalary()), toCents(row.getAnnualBonus()),
+                partTimeAnnualizedCents);
+    }
+
+    // Salary columns have two decimals, so this is exact
+    private static long toCents(BigDecimal amount) {
+        return amount.movePointRight(2).longValueExact();
+    }
+}
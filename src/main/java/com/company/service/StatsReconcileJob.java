@@ -0,0 +1,43 @@
+package com.company.service;
+
+import com.company.dto.StatsReconcileReport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Rebuilds the aggregate store once at startup, covering rows loaded outside the services
+ * such as {@code data.sql}, and then on {@code company.stats.reconcile-cron} when configured.
+ */
+@Component
+public class StatsReconcileJob {
+
+    private static final Logger log = LoggerFactory.getLogger(StatsReconcileJob.class);
+
+    private final OrgStatsService orgStatsService;
+
+    @Autowired
+    public StatsReconcileJob(OrgStatsService orgStatsService) {
+        this.orgStatsService = orgStatsService;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcileOnStartup() {
+        run();
+    }
+
+    @Scheduled(cron = "${company.stats.reconcile-cron:-}")
+    public void reconcileOnSchedule() {
+        run();
+    }
+
+    private void run() {
+        StatsReconcileReport report = orgStatsService.reconcile();
+        log.info("Reconciled aggregates for {} departments and {} companies, {} drifted",
+                report.departmentsChecked(), report.companiesChecked(), report.drift().size());
+    }
+}
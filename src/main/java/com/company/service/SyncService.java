@@ -0,0 +1,191 @@
+package com.company.service;
+
+import com.company.dto.CompanyView;
+import com.company.dto.DeletedEntity;
+import com.company.dto.DepartmentView;
+import com.company.dto.EmployeeView;
+import com.company.dto.SyncChanges;
+import com.company.entity.BaseEntity;
+import com.company.entity.Tombstone;
+import com.company.pagination.SyncToken;
+import com.company.repository.CompanyRepository;
+import com.company.repository.DepartmentRepository;
+import com.company.repository.EmployeeRepository;
+import com.company.repository.TombstoneRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Incremental reads for mirrors: each call returns up to {@code limit} rows changed since the
+ * caller's token, walking the {@code (updated_at, id)} indexes, plus tombstones for deletions.
+ * A round stops at a horizon {@code company.sync.lag-ms} in the past, so a row stamped just
+ * before a watermark by a transaction that had not committed yet is still picked up by the
+ * next round rather than skipped; transactions running longer than the lag can be missed.
+ */
+@Service
+@Transactional(readOnly = true)
+public class SyncService {
+
+    private static final Logger log = LoggerFactory.getLogger(SyncService.class);
+
+    public static final int DEFAULT_LIMIT = 500;
+    public static final int MAX_LIMIT = 2000;
+
+    private final CompanyRepository companyRepository;
+    private final DepartmentRepository departmentRepository;
+    private final EmployeeRepository employeeRepository;
+    private final TombstoneRepository tombstoneRepository;
+    private final long lagMillis;
+    private final int retentionDays;
+
+    @Autowired
+    public SyncService(CompanyRepository companyRepository, DepartmentRepository departmentRepository,
+                       EmployeeRepository employeeRepository, TombstoneRepository tombstoneRepository,
+                       @Value("${company.sync.lag-ms:5000}") long lagMillis,
+                       @Value("${company.sync.tombstone-retention-days:30}") int retentionDays) {
+        this.companyRepository = companyRepository;
+        this.departmentRepository = departmentRepository;
+        this.employeeRepository = employeeRepository;
+        this.tombstoneRepository = tombstoneRepository;
+        this.lagMillis = lagMillis;
+        this.retentionDays = retentionDays;
+    }
+
+    /**
+     * Thrown for a token older than the tombstone retention; the mirror has to sync from scratch.
+     */
+    public static class ExpiredTokenException extends IllegalArgumentException {
+
+        private static final long serialVersionUID = 1L;
+
+        public ExpiredTokenException() {
+            super("Sync token is older than the tombstone retention; start a full sync without a token");
+        }
+    }
+
+    /**
+     * @param token {@code null} for a full sync, otherwise the {@code nextToken} of the previous page
+     * @throws ExpiredTokenException if deletions since the token may already be purged
+     */
+    public SyncChanges getChanges(String token, Integer limit) {
+        int max = limit(limit);
+        LocalDateTime now = now();
+        SyncToken position;
+        if (token == null || token.isBlank()) {
+            position = SyncToken.start(SyncToken.BEGINNING, now.minus(lagMillis, ChronoUnit.MILLIS));
+        } else {
+            position = SyncToken.decode(token);
+            if (!position.isInitial() && position.since().isBefore(now.minusDays(retentionDays))) {
+                throw new ExpiredTokenException();
+            }
+            if (isRoundStart(position)) {
+                LocalDateTime horizon = now.minus(lagMillis, ChronoUnit.MILLIS);
+                position = SyncToken.start(position.since(), horizon.isAfter(position.since()) ? horizon : position.since());
+            }
+        }
+
+        List<CompanyView> companies = new ArrayList<>();
+        List<DepartmentView> departments = new ArrayList<>();
+        List<EmployeeView> employees = new ArrayList<>();
+        List<DeletedEntity> deleted = new ArrayList<>();
+        int remaining = max;
+        while (remaining > 0) {
+            Limit page = Limit.of(remaining);
+            LocalDateTime lastTime = null;
+            long lastId = 0;
+            int found;
+            switch (position.phase()) {
+                case COMPANIES -> {
+                    var rows = companyRepository.findChangedSince(position.afterTime(), position.afterId(), position.until(), page);
+                    rows.forEach(company -> companies.add(CompanyView.from(company)));
+                    found = rows.size();
+                    if (found > 0) {
+                        lastTime = last(rows).getUpdatedAt();
+                        lastId = last(rows).getId();
+                    }
+                }
+                case DEPARTMENTS -> {
+                    var rows = departmentRepository.findChangedSince(position.afterTime(), position.afterId(), position.until(), page);
+                    rows.forEach(department -> departments.add(DepartmentView.from(department)));
+                    found = rows.size();
+                    if (found > 0) {
+                        lastTime = last(rows).getUpdatedAt();
+                        lastId = last(rows).getId();
+                    }
+                }
+                case EMPLOYEES -> {
+                    var rows = employeeRepository.findChangedSince(position.afterTime(), position.afterId(), position.until(), page);
+                    rows.forEach(employee -> employees.add(EmployeeView.from(employee)));
+                    found = rows.size();
+                    if (found > 0) {
+                        lastTime = last(rows).getUpdatedAt();
+                        lastId = last(rows).getId();
+                    }
+                }
+                default -> {
+                    List<Tombstone> rows = position.isInitial() ? List.of()
+                            : tombstoneRepository.findDeletedSince(position.afterTime(), position.afterId(), position.until(), page);
+                    rows.forEach(tombstone -> deleted.add(DeletedEntity.from(tombstone)));
+                    found = rows.size();
+                    if (found > 0) {
+                        lastTime = rows.get(found - 1).getDeletedAt();
+                        lastId = rows.get(found - 1).getId();
+                    }
+                }
+            }
+            remaining -= found;
+            if (remaining == 0) {
+                // A full page; the phase may or may not have more
+                position = position.after(lastTime, lastId);
+            } else if (position.phase() == SyncToken.Phase.DELETIONS) {
+                SyncToken next = SyncToken.start(position.until(), position.until());
+                return new SyncChanges(companies, departments, employees, deleted, next.encode(), false);
+            } else {
+                position = position.nextPhase();
+            }
+        }
+        return new SyncChanges(companies, departments, employees, deleted, position.encode(), true);
+    }
+
+    @Scheduled(cron = "${company.sync.tombstone-purge-cron:0 30 3 * * *}")
+    @Transactional
+    public int purgeTombstones() {
+        int purged = tombstoneRepository.deleteOlderThan(now().minusDays(retentionDays));
+        log.info("Purged {} tombstones older than {} days", purged, retentionDays);
+        return purged;
+    }
+
+    // A token at the very start of a round gets a fresh horizon, so a caught-up mirror moves on
+    private static boolean isRoundStart(SyncToken token) {
+        return token.phase() == SyncToken.Phase.COMPANIES && token.afterId() == SyncToken.PAST_ALL && token.afterTime().equals(token.since());
+    }
+
+    private static <T extends BaseEntity> T last(List<T> rows) {
+        return rows.get(rows.size() - 1);
+    }
+
+    private static int limit(Integer requested) {
+        if (requested == null) {
+            return DEFAULT_LIMIT;
+        }
+        if (requested < 1) {
+            throw new IllegalArgumentException("Limit must be positive");
+        }
+        return Math.min(requested, MAX_LIMIT);
+    }
+
+    private static LocalDateTime now() {
+        return LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+    }
+}
@@ -0,0 +1,400 @@
+package com.company.service;
+
+import com.company.event.OrgChangeEvent;
+import com.company.event.OrgChangeEvent.EntityType;
+import com.company.index.EmailIndex;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Writes a deterministic synthetic organisation: companies whose department counts and
+ * departments whose headcounts follow a Zipf distribution, a configurable full-time/part-time
+ * mix, log-normal salaries, recency-weighted hire dates and part-time contracts ending on
+ * both sides of the as-of date. The same {@link Spec} always produces the same rows.
+ * <p>
+ * Rows are written with explicit ids through plain JDBC batches, one transaction per batch,
+ * after which the identity columns are moved past the highest id.
+ */
+@Service
+public class SyntheticDataGenerator {
+
+    private static final Logger log = LoggerFactory.getLogger(SyntheticDataGenerator.class);
+
+    private static final String INSERT_COMPANY =
+            "INSERT INTO companies (id, name, description, industry, address, created_at, updated_at, version) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, 0)";
+
+    private static final String INSERT_DEPARTMENT =
+            "INSERT INTO departments (id, name, description, location, company_id, created_at, updated_at, version) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, 0)";
+
+    private static final String INSERT_EMPLOYEE =
+            "INSERT INTO employees (id, employee_type, first_name, last_name, email, phone, hire_date, salary, job_title, " +
+            "department_id, created_at, updated_at, version, annual_bonus, stock_options, health_insurance, " +
+            "retirement_plan, hours_per_week, flexible_schedule, remote_work, contract_end_date) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final int[] COMPANY_TYPES = {Types.BIGINT, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR,
+            Types.VARCHAR, Types.TIMESTAMP, Types.TIMESTAMP};
+    private static final int[] DEPARTMENT_TYPES = {Types.BIGINT, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR,
+            Types.BIGINT, Types.TIMESTAMP, Types.TIMESTAMP};
+    private static final int[] EMPLOYEE_TYPES = {Types.BIGINT, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR,
+            Types.VARCHAR, Types.VARCHAR, Types.DATE, Types.NUMERIC, Types.VARCHAR, Types.BIGINT, Types.TIMESTAMP,
+            Types.TIMESTAMP, Types.NUMERIC, Types.INTEGER, Types.BOOLEAN, Types.BOOLEAN, Types.INTEGER,
+            Types.BOOLEAN, Types.BOOLEAN, Types.DATE};
+
+    private static final String[] COMPANY_WORDS = {"Acme", "Globex", "Initech", "Umbrella", "Stark", "Wayne", "Tyrell",
+            "Cyberdyne", "Soylent", "Hooli", "Vandelay", "Wonka", "Aperture", "Oscorp", "Massive", "Northwind"};
+    private static final String[] COMPANY_SUFFIXES = {"Corp", "Inc", "Group", "Holdings", "Labs", "Systems", "Partners", "Industries"};
+    private static final String[] INDUSTRIES = {"Technology", "Manufacturing", "Logistics", "Finance", "Healthcare",
+            "Retail", "Energy", "Media", "Education", "Hospitality"};
+    private static final String[] DEPARTMENT_NAMES = {"Engineering", "Sales", "Marketing", "Finance", "Human Resources",
+            "Operations", "Customer Support", "Legal", "Research", "Logistics", "Procurement", "Quality", "Security",
+            "Facilities", "Product", "Data"};
+    private static final String[] LOCATIONS = {"HQ", "Berlin", "London", "New York", "Singapore", "Warehouse",
+            "Remote", "Toronto", "Sydney", "Sao Paulo"};
+    private static final String[] FIRST_NAMES = {"Alice", "Bob", "Carla", "David", "Elena", "Farid", "Grace", "Hiro",
+            "Ines", "Jonas", "Kemi", "Liam", "Maya", "Nikolai", "Olga", "Pedro", "Quinn", "Rosa", "Sanjay", "Tariq",
+            "Uma", "Victor", "Wen", "Ximena", "Yusuf", "Zoe", "Amara", "Bruno", "Chen", "Dmitri", "Eva", "Felix"};
+    private static final String[] LAST_NAMES = {"Smith", "Johnson", "Williams", "Garcia", "Nguyen", "Kowalski",
+            "Okafor", "Larsen", "Rossi", "Tanaka", "Meyer", "Dubois", "Silva", "Kim", "Patel", "Novak", "Cohen",
+            "Andersson", "Murphy", "Haddad", "Fischer", "Moreau", "Ivanova", "Mendes", "Schmidt", "Yilmaz", "Lopez",
+            "Bianchi", "Kaur", "Sato", "Walker", "Horvat"};
+    // Titles with their salary multiplier over the median
+    private static final String[] JOB_TITLES = {"Associate", "Analyst", "Specialist", "Engineer", "Senior Engineer",
+            "Team Lead", "Manager", "Director"};
+    private static final double[] TITLE_FACTORS = {0.7, 0.85, 0.95, 1.15, 1.45, 1.6, 1.75, 2.4};
+    private static final double[] TITLE_WEIGHTS = {0.18, 0.17, 0.2, 0.2, 0.12, 0.06, 0.05, 0.02};
+
+    private static final double MEDIAN_SALARY = 62_000;
+    private static final double SALARY_SIGMA = 0.35;
+    private static final double MEAN_TENURE_YEARS = 5;
+    private static final int MAX_TENURE_YEARS = 35;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transaction;
+    private final OrgStatsService orgStatsService;
+    private final EmailIndex emailIndex;
+    private final EntityManagerFactory entityManagerFactory;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int batchSize;
+
+    /**
+     * What to generate. {@code skew} is the Zipf exponent for both departments per company and
+     * employees per department; 0 spreads them evenly.
+     */
+    public record Spec(int companies, int departmentsPerCompany, long employees, double partTimeRatio,
+                       double skew, long seed, LocalDate asOf) {
+
+        public Spec {
+            if (companies < 1) {
+                throw new IllegalArgumentException("At least one company is required");
+            }
+            if (departmentsPerCompany < 1) {
+                throw new IllegalArgumentException("Departments per company must be at least 1");
+            }
+            if (employees < 0) {
+                throw new IllegalArgumentException("Employee count cannot be negative");
+            }
+            if (partTimeRatio < 0 || partTimeRatio > 1) {
+                throw new IllegalArgumentException("Part-time ratio must be between 0 and 1");
+            }
+            if (skew < 0) {
+                throw new IllegalArgumentException("Skew cannot be negative");
+            }
+            if (asOf == null) {
+                throw new IllegalArgumentException("As-of date is required");
+            }
+        }
+    }
+
+    public record Result(int companies, int departments, long employees, long partTimeEmployees, long millis) {
+    }
+
+    @Autowired
+    public SyntheticDataGenerator(JdbcTemplate jdbcTemplate,
+                                  PlatformTransactionManager transactionManager,
+                                  OrgStatsService orgStatsService,
+                                  EmailIndex emailIndex,
+                                  EntityManagerFactory entityManagerFactory,
+                                  ApplicationEventPublisher eventPublisher,
+                                  @Value("${company.synthetic.batch-size:5000}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.orgStatsService = orgStatsService;
+        this.emailIndex = emailIndex;
+        this.entityManagerFactory = entityManagerFactory;
+        this.eventPublisher = eventPublisher;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Writes the dataset and brings everything derived from the tables up to date: aggregates,
+     * the second-level cache, the email filter and the in-memory indexes, which rebuild in the
+     * background.
+     */
+    public Result generate(Spec spec) {
+        Result result = load(spec);
+        orgStatsService.reconcile();
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+        if (emailIndex.isReady()) {
+            emailIndex.rebuild();
+        }
+        for (EntityType type : EntityType.values()) {
+            eventPublisher.publishEvent(OrgChangeEvent.created(type, null));
+        }
+        return result;
+    }
+
+    /**
+     * Writes the dataset only. Meant for startup, before anything derived from the tables has
+     * been built.
+     */
+    public Result load(Spec spec) {
+        long started = System.nanoTime();
+        SplittableRandom random = new SplittableRandom(spec.seed());
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now().truncatedTo(ChronoUnit.MICROS));
+
+        long firstCompanyId = nextId("companies");
+        long firstDepartmentId = nextId("departments");
+        long firstEmployeeId = nextId("employees");
+
+        int[] departmentsPerCompany = allocate(spec.companies() * (long) spec.departmentsPerCompany() - spec.companies(),
+                zipfWeights(spec.companies(), spec.skew(), random), 1);
+        int departmentCount = 0;
+        for (int count : departmentsPerCompany) {
+            departmentCount += count;
+        }
+        int[] companyOfDepartment = new int[departmentCount];
+        for (int c = 0, d = 0; c < spec.companies(); c++) {
+            for (int i = 0; i < departmentsPerCompany[c]; i++) {
+                companyOfDepartment[d++] = c;
+            }
+        }
+        int[] employeesPerDepartment = allocate(spec.employees(), zipfWeights(departmentCount, spec.skew(), random), 0);
+
+        List<Object[]> rows = new ArrayList<>(batchSize);
+        for (int c = 0; c < spec.companies(); c++) {
+            long id = firstCompanyId + c;
+            rows.add(new Object[]{id, companyName(c, id), "Synthetic company", pick(INDUSTRIES, random),
+                    (1 + random.nextInt(9_999)) + " Market St", now, now});
+            flushIfFull(INSERT_COMPANY, rows, COMPANY_TYPES);
+        }
+        flush(INSERT_COMPANY, rows, COMPANY_TYPES);
+
+        for (int d = 0, inCompany = 0; d < departmentCount; d++) {
+            inCompany = d > 0 && companyOfDepartment[d] == companyOfDepartment[d - 1] ? inCompany + 1 : 0;
+            rows.add(new Object[]{firstDepartmentId + d, departmentName(inCompany), "Synthetic department",
+                    pick(LOCATIONS, random), firstCompanyId + companyOfDepartment[d], now, now});
+            flushIfFull(INSERT_DEPARTMENT, rows, DEPARTMENT_TYPES);
+        }
+        flush(INSERT_DEPARTMENT, rows, DEPARTMENT_TYPES);
+
+        long employeeId = firstEmployeeId;
+        long partTime = 0;
+        for (int d = 0; d < departmentCount; d++) {
+            String domain = "company" + (firstCompanyId + companyOfDepartment[d]) + ".example";
+            for (int i = 0; i < employeesPerDepartment[d]; i++) {
+                boolean isPartTime = random.nextDouble() < spec.partTimeRatio();
+                rows.add(employeeRow(employeeId++, firstDepartmentId + d, domain, isPartTime, spec.asOf(), now, random));
+                partTime += isPartTime ? 1 : 0;
+                flushIfFull(INSERT_EMPLOYEE, rows, EMPLOYEE_TYPES);
+            }
+        }
+        flush(INSERT_EMPLOYEE, rows, EMPLOYEE_TYPES);
+
+        restartIdentity("companies", firstCompanyId + spec.companies());
+        restartIdentity("departments", firstDepartmentId + departmentCount);
+        restartIdentity("employees", employeeId);
+
+        Result result = new Result(spec.companies(), departmentCount, spec.employees(), partTime,
+                (System.nanoTime() - started) / 1_000_000);
+        log.info("Generated {} companies, {} departments and {} employees ({} part-time) in {} ms",
+                result.companies(), result.departments(), result.employees(), result.partTimeEmployees(), result.millis());
+        return result;
+    }
+
+    // Rows
+
+    private static Object[] employeeRow(long id, long departmentId, String domain, boolean partTime,
+                                        LocalDate asOf, Timestamp now, SplittableRandom random) {
+        String first = pick(FIRST_NAMES, random);
+        String last = pick(LAST_NAMES, random);
+        int title = pickWeighted(TITLE_WEIGHTS, random);
+        LocalDate hireDate = asOf.minusDays(tenureDays(random));
+        double fullTimeSalary = MEDIAN_SALARY * TITLE_FACTORS[title] * Math.exp(SALARY_SIGMA * random.nextGaussian());
+        String phone = String.format("+1-555-%03d-%04d", random.nextInt(1_000), random.nextInt(10_000));
+
+        Object[] row = new Object[20];
+        row[0] = id;
+        row[2] = first;
+        row[3] = last;
+        row[4] = (first + "." + last + "." + id + "@" + domain).toLowerCase();
+        row[5] = phone;
+        row[6] = Date.valueOf(hireDate);
+        row[8] = JOB_TITLES[title];
+        row[9] = departmentId;
+        row[10] = now;
+        row[11] = now;
+        if (partTime) {
+            int hours = 10 + random.nextInt(23);
+            row[1] = "PART_TIME";
+            row[7] = money(fullTimeSalary * hours / 40);
+            row[16] = hours;
+            row[17] = random.nextDouble() < 0.55;
+            row[18] = random.nextDouble() < 0.35;
+            row[19] = random.nextDouble() < 0.1 ? null : Date.valueOf(contractEnd(hireDate, asOf, random));
+        } else {
+            row[1] = "FULL_TIME";
+            row[7] = money(fullTimeSalary);
+            row[12] = money(fullTimeSalary * (0.03 + random.nextDouble() * 0.17));
+            row[13] = random.nextDouble() < 0.6 ? 0 : 10 * (1 + random.nextInt(200));
+            row[14] = random.nextDouble() < 0.92;
+            row[15] = random.nextDouble() < 0.75;
+        }
+        return row;
+    }
+
+    // Exponential tenure: most staff were hired in the last few years, a few decades ago
+    private static long tenureDays(SplittableRandom random) {
+        double years = Math.min(MAX_TENURE_YEARS, -MEAN_TENURE_YEARS * Math.log(1 - random.nextDouble()));
+        return (long) (years * 365.25);
+    }
+
+    // Roughly a quarter of contracts have already ended; none end within a month of hiring
+    private static LocalDate contractEnd(LocalDate hireDate, LocalDate asOf, SplittableRandom random) {
+        LocalDate end = asOf.plusDays(random.nextInt(-180, 541));
+        LocalDate earliest = hireDate.plusDays(30);
+        return end.isBefore(earliest) ? earliest : end;
+    }
+
+    private static BigDecimal money(double amount) {
+        return BigDecimal.valueOf(Math.max(1_000, Math.round(amount / 10.0) * 10L)).setScale(2, RoundingMode.UNNECESSARY);
+    }
+
+    private static String companyName(int index, long id) {
+        return COMPANY_WORDS[index % COMPANY_WORDS.length] + " "
+                + COMPANY_SUFFIXES[(index / COMPANY_WORDS.length) % COMPANY_SUFFIXES.length] + " " + id;
+    }
+
+    // Unique within a company: the base names first, then numbered repeats
+    private static String departmentName(int indexInCompany) {
+        String name = DEPARTMENT_NAMES[indexInCompany % DEPARTMENT_NAMES.length];
+        int round = indexInCompany / DEPARTMENT_NAMES.length;
+        return round == 0 ? name : name + " " + (round + 1);
+    }
+
+    private static String pick(String[] values, SplittableRandom random) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static int pickWeighted(double[] weights, SplittableRandom random) {
+        double target = random.nextDouble();
+        for (int i = 0; i < weights.length - 1; i++) {
+            target -= weights[i];
+            if (target < 0) {
+                return i;
+            }
+        }
+        return weights.length - 1;
+    }
+
+    // Distributions
+
+    /**
+     * Zipf weights {@code 1 / rank^skew}, with ranks shuffled so the largest units are not
+     * simply the first ones written.
+     */
+    static double[] zipfWeights(int n, double skew, SplittableRandom random) {
+        double[] weights = new double[n];
+        for (int i = 0; i < n; i++) {
+            weights[i] = 1 / Math.pow(i + 1, skew);
+        }
+        for (int i = n - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            double swap = weights[i];
+            weights[i] = weights[j];
+            weights[j] = swap;
+        }
+        return weights;
+    }
+
+    /**
+     * Splits {@code total} across the weights exactly, on top of {@code minimum} each: floors
+     * of the proportional shares, then one more for the largest remainders.
+     */
+    static int[] allocate(long total, double[] weights, int minimum) {
+        double sum = 0;
+        for (double weight : weights) {
+            sum += weight;
+        }
+        int[] counts = new int[weights.length];
+        double[] remainders = new double[weights.length];
+        long assigned = 0;
+        for (int i = 0; i < weights.length; i++) {
+            double share = total * weights[i] / sum;
+            counts[i] = (int) Math.floor(share);
+            remainders[i] = share - counts[i];
+            assigned += counts[i];
+        }
+        Integer[] byRemainder = new Integer[weights.length];
+        for (int i = 0; i < byRemainder.length; i++) {
+            byRemainder[i] = i;
+        }
+        Arrays.sort(byRemainder, (a, b) -> Double.compare(remainders[b], remainders[a]));
+        for (int i = 0; assigned < total; i = (i + 1) % byRemainder.length, assigned++) {
+            counts[byRemainder[i]]++;
+        }
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] += minimum;
+        }
+        return counts;
+    }
+
+    // Writing
+
+    private void flushIfFull(String sql, List<Object[]> rows, int[] types) {
+        if (rows.size() >= batchSize) {
+            flush(sql, rows, types);
+        }
+    }
+
+    private void flush(String sql, List<Object[]> rows, int[] types) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        transaction.executeWithoutResult(status -> jdbcTemplate.batchUpdate(sql, rows, types));
+        rows.clear();
+    }
+
+    private long nextId(String table) {
+        Long max = jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + table, Long.class);
+        return max == null ? 1 : max + 1;
+    }
+
+    private void restartIdentity(String table, long next) {
+        jdbcTemplate.execute("ALTER TABLE " + table + " ALTER COLUMN id RESTART WITH " + next);
+    }
+}
@@ -0,0 +1,46 @@
+package com.company.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+/**
+ * Loads a synthetic dataset when the {@code synthetic} profile is active, sized by the
+ * {@code company.synthetic.*} properties, for example:
+ * <pre>
+ * java -jar company-structure.jar --spring.profiles.active=synthetic --company.synthetic.employees=10000000
+ * </pre>
+ * Runners finish before the application is ready, so the aggregates and in-memory indexes
+ * built on startup already include the generated rows.
+ */
+@Component
+@Profile("synthetic")
+public class SyntheticDataRunner implements ApplicationRunner {
+
+    private final SyntheticDataGenerator generator;
+    private final SyntheticDataGenerator.Spec spec;
+
+    @Autowired
+    public SyntheticDataRunner(SyntheticDataGenerator generator,
+                               @Value("${company.synthetic.companies:100}") int companies,
+                               @Value("${company.synthetic.departments-per-company:20}") int departmentsPerCompany,
+                               @Value("${company.synthetic.employees:100000}") long employees,
+                               @Value("${company.synthetic.part-time-ratio:0.2}") double partTimeRatio,
+                               @Value("${company.synthetic.skew:0.8}") double skew,
+                               @Value("${company.synthetic.seed:42}") long seed,
+                               @Value("${company.synthetic.as-of:}") String asOf) {
+        this.generator = generator;
+        this.spec = new SyntheticDataGenerator.Spec(companies, departmentsPerCompany, employees, partTimeRatio, skew,
+                seed, asOf.isBlank() ? LocalDate.now() : LocalDate.parse(asOf));
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        generator.load(spec);
+    }
+}
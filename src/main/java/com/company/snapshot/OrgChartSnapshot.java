@@ -0,0 +1,826 @@
+package com.company.snapshot;
+
+import com.company.dto.CompanySummary;
+import com.company.dto.DepartmentSummary;
+import com.company.dto.DepartmentView;
+import com.company.dto.EmployeeSummary;
+import com.company.dto.EmployeeView;
+
+import java.lang.reflect.Array;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.function.IntFunction;
+import java.util.function.LongPredicate;
+
+/**
+ * Immutable, array-backed copy of the Company → Department → Employee tree.
+ * <p>
+ * Departments are laid out grouped by company and employees grouped by department, so the
+ * children of any node are a contiguous index range given by the {@code *Start} offset arrays.
+ * Parents are {@code int} indexes, amounts are stored as cents, dates as epoch days and
+ * timestamps as epoch microseconds. Ids resolve to indexes by binary search over sorted id
+ * arrays, which avoids boxed maps.
+ * <p>
+ * The next version after a single-row change is derived copy-on-write: an employee is spliced
+ * into or out of copies of the arrays, and a department or company change re-lays out the
+ * current rows without reading them again. Readers holding the previous version are unaffected.
+ */
+public final class OrgChartSnapshot {
+
+    static final byte FULL_TIME = 0;
+    static final byte PART_TIME = 1;
+    private static final int NO_INT = Integer.MIN_VALUE;
+    private static final long NO_LONG = Long.MIN_VALUE;
+
+    private final long version;
+
+    // Companies, sorted by id
+    private final long[] companyIds;
+    private final String[] companyNames;
+    private final int[] companyDeptStart;
+
+    // Departments, grouped by company then id
+    private final DepartmentColumns departments;
+    private final int[] deptCompany;
+    private final int[] deptEmpStart;
+    private final long[] deptIdsSorted;
+    private final int[] deptIndexBySortedId;
+
+    // Employees, grouped by department then id
+    private final EmployeeColumns employees;
+    private final int[] empDept;
+    private final long[] empIdsSorted;
+    private final int[] empIndexBySortedId;
+
+    private OrgChartSnapshot(long version, long[] companyIds, String[] companyNames, int[] companyDeptStart,
+                             DepartmentColumns departments, int[] deptCompany, int[] deptEmpStart,
+                             long[] deptIdsSorted, int[] deptIndexBySortedId,
+                             EmployeeColumns employees, int[] empDept, long[] empIdsSorted, int[] empIndexBySortedId) {
+        this.version = version;
+        this.companyIds = companyIds;
+        this.companyNames = companyNames;
+        this.companyDeptStart = companyDeptStart;
+        this.departments = departments;
+        this.deptCompany = deptCompany;
+        this.deptEmpStart = deptEmpStart;
+        this.deptIdsSorted = deptIdsSorted;
+        this.deptIndexBySortedId = deptIndexBySortedId;
+        this.employees = employees;
+        this.empDept = empDept;
+        this.empIdsSorted = empIdsSorted;
+        this.empIndexBySortedId = empIndexBySortedId;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public int getCompanyCount() {
+        return companyIds.length;
+    }
+
+    public int getDepartmentCount() {
+        return departments.ids.length;
+    }
+
+    public int getEmployeeCount() {
+        return employees.ids.length;
+    }
+
+    public boolean containsCompany(long companyId) {
+        return Arrays.binarySearch(companyIds, companyId) >= 0;
+    }
+
+    public boolean containsDepartment(long departmentId) {
+        return departmentIndex(departmentId) >= 0;
+    }
+
+    // Lookups
+    public Optional<CompanySummary> findCompany(long companyId) {
+        int c = Arrays.binarySearch(companyIds, companyId);
+        if (c < 0) {
+            return Optional.empty();
+        }
+        List<DepartmentSummary> summaries = new ArrayList<>(companyDeptStart[c + 1] - companyDeptStart[c]);
+        for (int d = companyDeptStart[c]; d < companyDeptStart[c + 1]; d++) {
+            summaries.add(departmentSummary(d));
+        }
+        return Optional.of(new CompanySummary(companyIds[c], companyNames[c], companyHeadcount(c), summaries));
+    }
+
+    public Optional<DepartmentSummary> findDepartment(long departmentId) {
+        int d = departmentIndex(departmentId);
+        return d < 0 ? Optional.empty() : Optional.of(departmentSummary(d));
+    }
+
+    public Optional<EmployeeSummary> findEmployee(long employeeId) {
+        int i = employeeIndex(employeeId);
+        return i < 0 ? Optional.empty() : Optional.of(employeeSummary(i));
+    }
+
+    public Optional<List<EmployeeSummary>> findEmployeesOfDepartment(long departmentId) {
+        int d = departmentIndex(departmentId);
+        if (d < 0) {
+            return Optional.empty();
+        }
+        return Optional.of(employeeRange(deptEmpStart[d], deptEmpStart[d + 1], this::employeeSummary));
+    }
+
+    public Optional<List<EmployeeSummary>> findEmployeesOfCompany(long companyId) {
+        int c = Arrays.binarySearch(companyIds, companyId);
+        if (c < 0) {
+            return Optional.empty();
+        }
+        return Optional.of(employeeRange(deptEmpStart[companyDeptStart[c]], deptEmpStart[companyDeptStart[c + 1]], this::employeeSummary));
+    }
+
+    public OptionalInt findDepartmentHeadcount(long departmentId) {
+        int d = departmentIndex(departmentId);
+        return d < 0 ? OptionalInt.empty() : OptionalInt.of(deptEmpStart[d + 1] - deptEmpStart[d]);
+    }
+
+    public OptionalInt findCompanyHeadcount(long companyId) {
+        int c = Arrays.binarySearch(companyIds, companyId);
+        return c < 0 ? OptionalInt.empty() : OptionalInt.of(companyHeadcount(c));
+    }
+
+    // Full views, as the regular employee and department endpoints return them
+    public Optional<EmployeeView> findEmployeeView(long employeeId) {
+        int i = employeeIndex(employeeId);
+        return i < 0 ? Optional.empty() : Optional.of(employeeView(i));
+    }
+
+    public Optional<List<EmployeeView>> findEmployeeViewsOfDepartment(long departmentId) {
+        int d = departmentIndex(departmentId);
+        if (d < 0) {
+            return Optional.empty();
+        }
+        return Optional.of(employeeRange(deptEmpStart[d], deptEmpStart[d + 1], this::employeeView));
+    }
+
+    public Optional<List<EmployeeView>> findEmployeeViewsOfCompany(long companyId) {
+        int c = Arrays.binarySearch(companyIds, companyId);
+        if (c < 0) {
+            return Optional.empty();
+        }
+        return Optional.of(employeeRange(deptEmpStart[companyDeptStart[c]], deptEmpStart[companyDeptStart[c + 1]], this::employeeView));
+    }
+
+    public Optional<DepartmentView> findDepartmentView(long departmentId) {
+        int d = departmentIndex(departmentId);
+        return d < 0 ? Optional.empty() : Optional.of(departmentView(d));
+    }
+
+    public Optional<List<DepartmentView>> findDepartmentViewsOfCompany(long companyId) {
+        int c = Arrays.binarySearch(companyIds, companyId);
+        if (c < 0) {
+            return Optional.empty();
+        }
+        List<DepartmentView> views = new ArrayList<>(companyDeptStart[c + 1] - companyDeptStart[c]);
+        for (int d = companyDeptStart[c]; d < companyDeptStart[c + 1]; d++) {
+            views.add(departmentView(d));
+        }
+        return Optional.of(views);
+    }
+
+    // Copy-on-write changes
+
+    /**
+     * Adds or replaces the employee. An employee of a department this snapshot does not have
+     * is removed, as a rebuild would drop it.
+     */
+    public OrgChartSnapshot withEmployee(long version, EmployeeView employee) {
+        int old = employeeIndex(employee.id());
+        int d = employee.departmentId() != null ? departmentIndex(employee.departmentId()) : -1;
+        if (d < 0) {
+            return spliceEmployee(version, old, -1, -1, null);
+        }
+        // A department's rows are in id order, so this finds the row itself or the place it goes
+        int at = Arrays.binarySearch(employees.ids, deptEmpStart[d], deptEmpStart[d + 1], employee.id());
+        return spliceEmployee(version, old, at >= 0 ? at : -at - 1, d, employee);
+    }
+
+    public OrgChartSnapshot withoutEmployee(long version, long employeeId) {
+        return spliceEmployee(version, employeeIndex(employeeId), -1, -1, null);
+    }
+
+    public OrgChartSnapshot withDepartment(long version, DepartmentView department) {
+        long id = department.id();
+        return toBuilder(companyId -> true, departmentId -> departmentId != id).addDepartment(department).build(version);
+    }
+
+    // Its employees go with it, as they do in the database
+    public OrgChartSnapshot withoutDepartment(long version, long departmentId) {
+        return toBuilder(companyId -> true, id -> id != departmentId).build(version);
+    }
+
+    public OrgChartSnapshot withCompany(long version, long companyId, String name) {
+        return toBuilder(id -> id != companyId, departmentId -> true).addCompany(companyId, name).build(version);
+    }
+
+    public OrgChartSnapshot withoutCompany(long version, long companyId) {
+        return toBuilder(id -> id != companyId, departmentId -> true).build(version);
+    }
+
+    /**
+     * Copies the arrays without employee row {@code remove} and with {@code employee} placed
+     * before row {@code insert} of department {@code d}; either side may be {@code -1}.
+     */
+    private OrgChartSnapshot spliceEmployee(long version, int remove, int insert, int d, EmployeeView employee) {
+        if (remove < 0 && insert < 0) {
+            return new OrgChartSnapshot(version, companyIds, companyNames, companyDeptStart, departments, deptCompany,
+                    deptEmpStart, deptIdsSorted, deptIndexBySortedId, employees, empDept, empIdsSorted, empIndexBySortedId);
+        }
+        int count = employees.ids.length;
+        int length = count - (remove >= 0 ? 1 : 0) + (insert >= 0 ? 1 : 0);
+        int slot = gap(remove, insert);
+
+        EmployeeColumns nextEmployees = employees.spliced(length, count, remove, insert);
+        int[] nextEmpDept = new int[length];
+        splice(empDept, nextEmpDept, count, remove, insert);
+        int[] nextDeptEmpStart = deptEmpStart.clone();
+        if (remove >= 0) {
+            for (int k = empDept[remove] + 1; k < nextDeptEmpStart.length; k++) {
+                nextDeptEmpStart[k]--;
+            }
+        }
+        if (insert >= 0) {
+            nextEmployees.set(slot, employee);
+            nextEmpDept[slot] = d;
+            for (int k = d + 1; k < nextDeptEmpStart.length; k++) {
+                nextDeptEmpStart[k]++;
+            }
+        }
+
+        // Same id in and out for an update, so the sorted position is shared
+        long id = remove >= 0 ? employees.ids[remove] : employee.id();
+        int s = Arrays.binarySearch(empIdsSorted, id);
+        int sortedRemove = remove >= 0 ? s : -1;
+        int sortedInsert = insert < 0 ? -1 : s >= 0 ? s : -s - 1;
+        long[] nextIdsSorted = new long[length];
+        int[] nextIndexBySortedId = new int[length];
+        splice(empIdsSorted, nextIdsSorted, count, sortedRemove, sortedInsert);
+        splice(empIndexBySortedId, nextIndexBySortedId, count, sortedRemove, sortedInsert);
+        for (int i = 0; i < length; i++) {
+            int row = nextIndexBySortedId[i];
+            nextIndexBySortedId[i] = row - (remove >= 0 && row > remove ? 1 : 0) + (insert >= 0 && row >= insert ? 1 : 0);
+        }
+        if (sortedInsert >= 0) {
+            int sortedSlot = gap(sortedRemove, sortedInsert);
+            nextIdsSorted[sortedSlot] = id;
+            nextIndexBySortedId[sortedSlot] = slot;
+        }
+        return new OrgChartSnapshot(version, companyIds, companyNames, companyDeptStart, departments, deptCompany,
+                nextDeptEmpStart, deptIdsSorted, deptIndexBySortedId, nextEmployees, nextEmpDept, nextIdsSorted, nextIndexBySortedId);
+    }
+
+    // The current rows, minus filtered companies and departments, ready to be laid out again
+    private Builder toBuilder(LongPredicate keepCompany, LongPredicate keepDepartment) {
+        Builder builder = new Builder(0);
+        for (int c = 0; c < companyIds.length; c++) {
+            if (keepCompany.test(companyIds[c])) {
+                builder.addCompany(companyIds[c], companyNames[c]);
+            }
+        }
+        for (int d = 0; d < departments.ids.length; d++) {
+            if (keepDepartment.test(departments.ids[d])) {
+                builder.addDepartment(departmentView(d));
+            }
+        }
+        // Employees keep their encoded rows; build() drops those whose department is gone
+        int count = employees.ids.length;
+        builder.employees = employees.grown(count + 1, count);
+        builder.empDeptIds = new long[count + 1];
+        for (int i = 0; i < count; i++) {
+            builder.empDeptIds[i] = departments.ids[empDept[i]];
+        }
+        builder.empCount = count;
+        return builder;
+    }
+
+    private int companyHeadcount(int c) {
+        return deptEmpStart[companyDeptStart[c + 1]] - deptEmpStart[companyDeptStart[c]];
+    }
+
+    private int departmentIndex(long departmentId) {
+        int i = Arrays.binarySearch(deptIdsSorted, departmentId);
+        return i < 0 ? -1 : deptIndexBySortedId[i];
+    }
+
+    private int employeeIndex(long employeeId) {
+        int i = Arrays.binarySearch(empIdsSorted, employeeId);
+        return i < 0 ? -1 : empIndexBySortedId[i];
+    }
+
+    private DepartmentSummary departmentSummary(int d) {
+        return new DepartmentSummary(departments.ids[d], departments.names[d], companyIds[deptCompany[d]],
+                deptEmpStart[d + 1] - deptEmpStart[d]);
+    }
+
+    private DepartmentView departmentView(int d) {
+        return departments.view(d, companyIds[deptCompany[d]]);
+    }
+
+    private <T> List<T> employeeRange(int from, int to, IntFunction<T> row) {
+        List<T> rows = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            rows.add(row.apply(i));
+        }
+        return rows;
+    }
+
+    private EmployeeSummary employeeSummary(int i) {
+        int d = empDept[i];
+        return employees.summary(i, departments.ids[d], companyIds[deptCompany[d]]);
+    }
+
+    private EmployeeView employeeView(int i) {
+        int d = empDept[i];
+        return employees.view(i, departments.ids[d], departments.names[d], companyIds[deptCompany[d]]);
+    }
+
+    /**
+     * Accumulates rows in arrival order; {@link #build(long)} lays them out into the final arrays.
+     */
+    public static final class Builder {
+
+        private long[] companyIds = new long[0];
+        private String[] companyNames = new String[0];
+        private int companyCount;
+
+        private DepartmentColumns departments = new DepartmentColumns(0);
+        private long[] deptCompanyIds = new long[0];
+        private int deptCount;
+
+        private EmployeeColumns employees;
+        private long[] empDeptIds;
+        private int empCount;
+
+        public Builder(int expectedEmployees) {
+            int capacity = Math.max(expectedEmployees, 16);
+            employees = new EmployeeColumns(capacity);
+            empDeptIds = new long[capacity];
+        }
+
+        public Builder addCompany(long id, String name) {
+            if (companyCount == companyIds.length) {
+                int capacity = Math.max(16, companyCount * 2);
+                companyIds = Arrays.copyOf(companyIds, capacity);
+                companyNames = Arrays.copyOf(companyNames, capacity);
+            }
+            companyIds[companyCount] = id;
+            companyNames[companyCount] = name;
+            companyCount++;
+            return this;
+        }
+
+        public Builder addDepartment(DepartmentView department) {
+            if (deptCount == deptCompanyIds.length) {
+                int capacity = Math.max(16, deptCount * 2);
+                departments = departments.grown(capacity, deptCount);
+                deptCompanyIds = Arrays.copyOf(deptCompanyIds, capacity);
+            }
+            departments.set(deptCount, department);
+            deptCompanyIds[deptCount] = department.companyId();
+            deptCount++;
+            return this;
+        }
+
+        // The department name and company id of the view are ignored; they come from the department
+        public Builder addEmployee(EmployeeView employee) {
+            if (empCount == empDeptIds.length) {
+                employees = employees.grown(empCount * 2, empCount);
+                empDeptIds = Arrays.copyOf(empDeptIds, empCount * 2);
+            }
+            employees.set(empCount, employee);
+            empDeptIds[empCount] = employee.departmentId();
+            empCount++;
+            return this;
+        }
+
+        public OrgChartSnapshot build(long version) {
+            // Companies sorted by id
+            Integer[] companyOrder = sortedOrder(companyIds, companyCount);
+            long[] sortedCompanyIds = new long[companyCount];
+            String[] sortedCompanyNames = new String[companyCount];
+            for (int i = 0; i < companyCount; i++) {
+                sortedCompanyIds[i] = companyIds[companyOrder[i]];
+                sortedCompanyNames[i] = companyNames[companyOrder[i]];
+            }
+            companyIds = sortedCompanyIds;
+            companyNames = sortedCompanyNames;
+
+            // Departments grouped by company index, then id; departments of unknown companies are dropped
+            Integer[] deptOrder = sortedOrder(departments.ids, deptCount);
+            int[] companyDeptStart = new int[companyCount + 1];
+            int[] deptCompanyIndex = new int[deptCount];
+            for (int d = 0; d < deptCount; d++) {
+                deptCompanyIndex[d] = Arrays.binarySearch(companyIds, deptCompanyIds[d]);
+                if (deptCompanyIndex[d] >= 0) {
+                    companyDeptStart[deptCompanyIndex[d] + 1]++;
+                }
+            }
+            prefixSum(companyDeptStart);
+            int liveDepts = companyDeptStart[companyCount];
+            int[] deptRows = new int[liveDepts];
+            int[] laidOutDeptCompany = new int[liveDepts];
+            int[] cursor = Arrays.copyOf(companyDeptStart, companyCount);
+            for (int k = 0; k < deptCount; k++) {
+                int d = deptOrder[k];
+                int c = deptCompanyIndex[d];
+                if (c < 0) {
+                    continue;
+                }
+                int slot = cursor[c]++;
+                deptRows[slot] = d;
+                laidOutDeptCompany[slot] = c;
+            }
+            DepartmentColumns laidOutDepts = departments.permuted(deptRows);
+            long[] deptIdsSorted = new long[liveDepts];
+            Integer[] deptLookupOrder = sortedOrder(laidOutDepts.ids, liveDepts);
+            int[] deptIndexBySortedId = new int[liveDepts];
+            for (int i = 0; i < liveDepts; i++) {
+                deptIndexBySortedId[i] = deptLookupOrder[i];
+                deptIdsSorted[i] = laidOutDepts.ids[deptLookupOrder[i]];
+            }
+
+            // Employees: counting sort by department slot, stable so arrival (id) order is kept within a department
+            int[] empDeptSlot = new int[empCount];
+            int[] deptEmpStart = new int[liveDepts + 1];
+            for (int i = 0; i < empCount; i++) {
+                int s = Arrays.binarySearch(deptIdsSorted, empDeptIds[i]);
+                empDeptSlot[i] = s < 0 ? -1 : deptIndexBySortedId[s];
+                if (empDeptSlot[i] >= 0) {
+                    deptEmpStart[empDeptSlot[i] + 1]++;
+                }
+            }
+            prefixSum(deptEmpStart);
+            int liveEmps = deptEmpStart[liveDepts];
+            int[] empOrder = new int[liveEmps];
+            int[] empDept = new int[liveEmps];
+            int[] empCursor = Arrays.copyOf(deptEmpStart, liveDepts);
+            for (int i = 0; i < empCount; i++) {
+                int d = empDeptSlot[i];
+                if (d < 0) {
+                    continue;
+                }
+                int slot = empCursor[d]++;
+                empOrder[slot] = i;
+                empDept[slot] = d;
+            }
+            EmployeeColumns laidOutEmployees = employees.permuted(empOrder);
+            long[] empIdsSorted = laidOutEmployees.ids.clone();
+            int[] empIndexBySortedId = sortedPermutation(empIdsSorted);
+
+            return new OrgChartSnapshot(version, companyIds, companyNames, companyDeptStart, laidOutDepts,
+                    laidOutDeptCompany, deptEmpStart, deptIdsSorted, deptIndexBySortedId,
+                    laidOutEmployees, empDept, empIdsSorted, empIndexBySortedId);
+        }
+
+        private static Integer[] sortedOrder(long[] keys, int count) {
+            Integer[] order = new Integer[count];
+            for (int i = 0; i < count; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, Comparator.comparingLong(i -> keys[i]));
+            return order;
+        }
+
+        // Sorts ids in place and returns, for each sorted position, the index the id came from
+        private static int[] sortedPermutation(long[] ids) {
+            int n = ids.length;
+            long[] packed = new long[n];
+            boolean fitsInt = true;
+            for (long id : ids) {
+                if (id < 0 || id > Integer.MAX_VALUE) {
+                    fitsInt = false;
+                    break;
+                }
+            }
+            int[] permutation = new int[n];
+            if (fitsInt) {
+                // Pack (id, index) into one long so a primitive sort orders both
+                for (int i = 0; i < n; i++) {
+                    packed[i] = (ids[i] << 32) | i;
+                }
+                Arrays.sort(packed);
+                for (int i = 0; i < n; i++) {
+                    ids[i] = packed[i] >>> 32;
+                    permutation[i] = (int) packed[i];
+                }
+            } else {
+                Integer[] order = sortedOrder(ids, n);
+                long[] copy = ids.clone();
+                for (int i = 0; i < n; i++) {
+                    permutation[i] = order[i];
+                    ids[i] = copy[order[i]];
+                }
+            }
+            return permutation;
+        }
+
+        private static void prefixSum(int[] counts) {
+            for (int i = 1; i < counts.length; i++) {
+                counts[i] += counts[i - 1];
+            }
+        }
+    }
+
+    // Column storage
+
+    /**
+     * Parallel arrays, one per field, that are always copied together.
+     */
+    private abstract static class Columns<C extends Columns<C>> {
+
+        abstract Object[] arrays();
+
+        abstract C of(Object[] arrays);
+
+        final C grown(int length, int count) {
+            return copy(length, (from, to) -> System.arraycopy(from, 0, to, 0, count));
+        }
+
+        // Row i of the copy is row order[i] of this
+        final C permuted(int[] order) {
+            return copy(order.length, (from, to) -> permute(from, to, order));
+        }
+
+        final C spliced(int length, int count, int remove, int insert) {
+            return copy(length, (from, to) -> splice(from, to, count, remove, insert));
+        }
+
+        private C copy(int length, ArrayCopy copy) {
+            Object[] from = arrays();
+            Object[] to = new Object[from.length];
+            for (int i = 0; i < from.length; i++) {
+                to[i] = Array.newInstance(from[i].getClass().getComponentType(), length);
+                copy.copy(from[i], to[i]);
+            }
+            return of(to);
+        }
+    }
+
+    @FunctionalInterface
+    private interface ArrayCopy {
+        void copy(Object from, Object to);
+    }
+
+    private static final class DepartmentColumns extends Columns<DepartmentColumns> {
+
+        final long[] ids;
+        final String[] names;
+        final String[] descriptions;
+        final String[] locations;
+        final long[] createdAt;
+        final long[] updatedAt;
+        final long[] versions;
+
+        DepartmentColumns(int capacity) {
+            this(new Object[]{new long[capacity], new String[capacity], new String[capacity], new String[capacity],
+                    new long[capacity], new long[capacity], new long[capacity]});
+        }
+
+        private DepartmentColumns(Object[] arrays) {
+            ids = (long[]) arrays[0];
+            names = (String[]) arrays[1];
+            descriptions = (String[]) arrays[2];
+            locations = (String[]) arrays[3];
+            createdAt = (long[]) arrays[4];
+            updatedAt = (long[]) arrays[5];
+            versions = (long[]) arrays[6];
+        }
+
+        @Override
+        Object[] arrays() {
+            return new Object[]{ids, names, descriptions, locations, createdAt, updatedAt, versions};
+        }
+
+        @Override
+        DepartmentColumns of(Object[] arrays) {
+            return new DepartmentColumns(arrays);
+        }
+
+        void set(int d, DepartmentView department) {
+            ids[d] = department.id();
+            names[d] = department.name();
+            descriptions[d] = department.description();
+            locations[d] = department.location();
+            createdAt[d] = epochMicros(department.createdAt());
+            updatedAt[d] = epochMicros(department.updatedAt());
+            versions[d] = department.version() != null ? department.version() : NO_LONG;
+        }
+
+        DepartmentView view(int d, long companyId) {
+            return new DepartmentView(ids[d], names[d], descriptions[d], locations[d], companyId,
+                    dateTime(createdAt[d]), dateTime(updatedAt[d]), versions[d] != NO_LONG ? versions[d] : null);
+        }
+    }
+
+    private static final class EmployeeColumns extends Columns<EmployeeColumns> {
+
+        // Nullable booleans take two bits each: 0 null, 1 false, 2 true
+        private static final int HEALTH_INSURANCE = 0;
+        private static final int RETIREMENT_PLAN = 2;
+        private static final int FLEXIBLE_SCHEDULE = 4;
+        private static final int REMOTE_WORK = 6;
+
+        final long[] ids;
+        final byte[] types;
+        final String[] firstNames;
+        final String[] lastNames;
+        final String[] emails;
+        final String[] phones;
+        final int[] hireEpochDays;
+        final long[] salaryCents;
+        final String[] jobTitles;
+        final long[] bonusCents;
+        final int[] stockOptions;
+        final int[] hoursPerWeek;
+        final byte[] flags;
+        final int[] contractEndEpochDays;
+        final long[] createdAt;
+        final long[] updatedAt;
+        final long[] versions;
+
+        EmployeeColumns(int capacity) {
+            this(new Object[]{new long[capacity], new byte[capacity], new String[capacity], new String[capacity],
+                    new String[capacity], new String[capacity], new int[capacity], new long[capacity], new String[capacity],
+                    new long[capacity], new int[capacity], new int[capacity], new byte[capacity], new int[capacity],
+                    new long[capacity], new long[capacity], new long[capacity]});
+        }
+
+        private EmployeeColumns(Object[] arrays) {
+            ids = (long[]) arrays[0];
+            types = (byte[]) arrays[1];
+            firstNames = (String[]) arrays[2];
+            lastNames = (String[]) arrays[3];
+            emails = (String[]) arrays[4];
+            phones = (String[]) arrays[5];
+            hireEpochDays = (int[]) arrays[6];
+            salaryCents = (long[]) arrays[7];
+            jobTitles = (String[]) arrays[8];
+            bonusCents = (long[]) arrays[9];
+            stockOptions = (int[]) arrays[10];
+            hoursPerWeek = (int[]) arrays[11];
+            flags = (byte[]) arrays[12];
+            contractEndEpochDays = (int[]) arrays[13];
+            createdAt = (long[]) arrays[14];
+            updatedAt = (long[]) arrays[15];
+            versions = (long[]) arrays[16];
+        }
+
+        @Override
+        Object[] arrays() {
+            return new Object[]{ids, types, firstNames, lastNames, emails, phones, hireEpochDays, salaryCents, jobTitles,
+                    bonusCents, stockOptions, hoursPerWeek, flags, contractEndEpochDays, createdAt, updatedAt, versions};
+        }
+
+        @Override
+        EmployeeColumns of(Object[] arrays) {
+            return new EmployeeColumns(arrays);
+        }
+
+        void set(int i, EmployeeView e) {
+            ids[i] = e.id();
+            types[i] = "PART_TIME".equals(e.employeeType()) ? PART_TIME : FULL_TIME;
+            firstNames[i] = e.firstName();
+            lastNames[i] = e.lastName();
+            emails[i] = e.email();
+            phones[i] = e.phone();
+            hireEpochDays[i] = epochDay(e.hireDate());
+            salaryCents[i] = cents(e.salary());
+            jobTitles[i] = e.jobTitle();
+            bonusCents[i] = cents(e.annualBonus());
+            stockOptions[i] = e.stockOptions() != null ? e.stockOptions() : NO_INT;
+            hoursPerWeek[i] = e.hoursPerWeek() != null ? e.hoursPerWeek() : NO_INT;
+            flags[i] = (byte) (flag(e.healthInsurance(), HEALTH_INSURANCE) | flag(e.retirementPlan(), RETIREMENT_PLAN)
+                    | flag(e.flexibleSchedule(), FLEXIBLE_SCHEDULE) | flag(e.remoteWork(), REMOTE_WORK));
+            contractEndEpochDays[i] = epochDay(e.contractEndDate());
+            createdAt[i] = epochMicros(e.createdAt());
+            updatedAt[i] = epochMicros(e.updatedAt());
+            versions[i] = e.version() != null ? e.version() : NO_LONG;
+        }
+
+        EmployeeSummary summary(int i, long departmentId, long companyId) {
+            return new EmployeeSummary(ids[i], type(i), firstNames[i], lastNames[i], emails[i], jobTitles[i],
+                    amount(salaryCents[i]), date(hireEpochDays[i]), departmentId, companyId);
+        }
+
+        EmployeeView view(int i, long departmentId, String departmentName, long companyId) {
+            return new EmployeeView(ids[i], type(i), firstNames[i], lastNames[i], emails[i], phones[i],
+                    date(hireEpochDays[i]), amount(salaryCents[i]), jobTitles[i], departmentId, departmentName, companyId,
+                    amount(bonusCents[i]), integer(stockOptions[i]), flag(flags[i], HEALTH_INSURANCE),
+                    flag(flags[i], RETIREMENT_PLAN), integer(hoursPerWeek[i]), flag(flags[i], FLEXIBLE_SCHEDULE),
+                    flag(flags[i], REMOTE_WORK), date(contractEndEpochDays[i]), dateTime(createdAt[i]),
+                    dateTime(updatedAt[i]), versions[i] != NO_LONG ? versions[i] : null);
+        }
+
+        private String type(int i) {
+            return types[i] == FULL_TIME ? "FULL_TIME" : "PART_TIME";
+        }
+
+        private static int flag(Boolean value, int shift) {
+            return value == null ? 0 : (value ? 2 : 1) << shift;
+        }
+
+        private static Boolean flag(byte flags, int shift) {
+            int value = (flags >> shift) & 3;
+            return value == 0 ? null : value == 2;
+        }
+
+        private static Integer integer(int value) {
+            return value != NO_INT ? value : null;
+        }
+    }
+
+    // Array copies shared by all columns
+
+    private static void permute(Object from, Object to, int[] order) {
+        if (from instanceof long[] source) {
+            long[] target = (long[]) to;
+            for (int i = 0; i < order.length; i++) {
+                target[i] = source[order[i]];
+            }
+        } else if (from instanceof int[] source) {
+            int[] target = (int[]) to;
+            for (int i = 0; i < order.length; i++) {
+                target[i] = source[order[i]];
+            }
+        } else if (from instanceof byte[] source) {
+            byte[] target = (byte[]) to;
+            for (int i = 0; i < order.length; i++) {
+                target[i] = source[order[i]];
+            }
+        } else {
+            Object[] source = (Object[]) from;
+            Object[] target = (Object[]) to;
+            for (int i = 0; i < order.length; i++) {
+                target[i] = source[order[i]];
+            }
+        }
+    }
+
+    /**
+     * Copies the first {@code count} rows without row {@code remove} and with an empty row
+     * opened before row {@code insert}, at {@link #gap}; either may be {@code -1}.
+     */
+    private static void splice(Object from, Object to, int count, int remove, int insert) {
+        int kept = count - (remove >= 0 ? 1 : 0);
+        if (insert < 0) {
+            copyKept(from, to, 0, kept, 0, remove);
+        } else {
+            int slot = gap(remove, insert);
+            copyKept(from, to, 0, slot, 0, remove);
+            copyKept(from, to, slot, kept, slot + 1, remove);
+        }
+    }
+
+    private static int gap(int remove, int insert) {
+        return insert - (remove >= 0 && remove < insert ? 1 : 0);
+    }
+
+    // Copies the kept rows [start, end), numbered as if row remove were already gone
+    private static void copyKept(Object from, Object to, int start, int end, int at, int remove) {
+        if (remove < 0 || end <= remove) {
+            System.arraycopy(from, start, to, at, end - start);
+        } else if (start >= remove) {
+            System.arraycopy(from, start + 1, to, at, end - start);
+        } else {
+            System.arraycopy(from, start, to, at, remove - start);
+            System.arraycopy(from, remove + 1, to, at + remove - start, end - remove);
+        }
+    }
+
+    // Field encodings
+
+    private static long cents(BigDecimal amount) {
+        return amount == null ? NO_LONG : amount.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+
+    private static BigDecimal amount(long cents) {
+        return cents != NO_LONG ? BigDecimal.valueOf(cents, 2) : null;
+    }
+
+    private static int epochDay(LocalDate date) {
+        return date == null ? NO_INT : (int) date.toEpochDay();
+    }
+
+    private static LocalDate date(int epochDay) {
+        return epochDay != NO_INT ? LocalDate.ofEpochDay(epochDay) : null;
+    }
+
+    // Timestamps are stored at microsecond precision, as in BaseEntity
+    private static long epochMicros(LocalDateTime time) {
+        return time == null ? NO_LONG : time.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + time.getNano() / 1_000;
+    }
+
+    private static LocalDateTime dateTime(long epochMicros) {
+        return epochMicros == NO_LONG ? null : LocalDateTime.ofEpochSecond(Math.floorDiv(epochMicros, 1_000_000),
+                Math.floorMod(epochMicros, 1_000_000) * 1_000, ZoneOffset.UTC);
+    }
+}
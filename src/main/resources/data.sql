@@ -13,4 +13,9 @@ INSERT INTO departments (id, name, description, location, company_id, created_at
 INSERT INTO employees (id, employee_type, first_name, last_name, email, phone, hire_date, salary, job_title, department_id, created_at, updated_at, version, annual_bonus, stock_options, health_insurance, retirement_plan, hours_per_week, flexible_schedule, remote_work, contract_end_date) VALUES
   (1, 'FULL_TIME', 'Alice', 'Smith', 'alice.smith@acme.com', '555-1234', '2022-01-10', 90000, 'Software Engineer', 1, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, 0, 5000, 100, true, true, NULL, NULL, NULL, NULL),
   (2, 'FULL_TIME', 'Bob', 'Johnson', 'bob.johnson@acme.com', '555-2345', '2021-03-15', 95000, 'Sales Manager', 2, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, 0, 7000, 50, true, true, NULL, NULL, NULL, NULL),
-  (3, 'PART_TIME', 'Carol', 'Williams', 'carol.williams@globex.com', '555-3456', '2023-05-01', 40000, 'Warehouse Assistant', 3, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, 0, NULL, NULL, NULL, NULL, 20, true, false, '2024-12-31');
\ No newline at end of file
+  (3, 'PART_TIME', 'Carol', 'Williams', 'carol.williams@globex.com', '555-3456', '2023-05-01', 40000, 'Warehouse Assistant', 3, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, 0, NULL, NULL, NULL, NULL, 20, true, false, '2024-12-31');
+
+-- Move identity sequences past the explicitly seeded ids
+ALTER TABLE companies ALTER COLUMN id RESTART WITH 3;
+ALTER TABLE departments ALTER COLUMN id RESTART WITH 4;
+ALTER TABLE employees ALTER COLUMN id RESTART WITH 4;
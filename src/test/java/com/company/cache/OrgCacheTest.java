@@ -0,0 +1,135 @@
+package com.company.cache;
+
+import com.company.dto.BulkResult;
+import com.company.entity.Company;
+import com.company.entity.Department;
+import com.company.index.EmailIndex;
+import com.company.index.NameSearchIndex;
+import com.company.repository.CompanyRepository;
+import com.company.repository.DepartmentRepository;
+import com.company.repository.EmployeeRepository;
+import com.company.service.BulkImportService;
+import com.company.service.CompanyService;
+import com.company.service.DepartmentService;
+import com.company.service.EmailUniquenessService;
+import com.company.service.OrgDeletionService;
+import com.company.service.OrgStatsService;
+import com.company.service.OutboxBatchWriter;
+import com.company.service.OutboxService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.JdbcTemplateAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs without a test transaction so every service call commits, which is when the
+ * second-level cache is populated and invalidated.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({CompanyService.class, DepartmentService.class, BulkImportService.class, OrgDeletionService.class, OrgStatsService.class, EmailUniquenessService.class, EmailIndex.class, NameSearchIndex.class, OrgCache.class, OutboxService.class, OutboxBatchWriter.class})
+@ImportAutoConfiguration({JdbcTemplateAutoConfiguration.class, ValidationAutoConfiguration.class})
+class OrgCacheTest {
+
+    @Autowired
+    private CompanyRepository companyRepository;
+    @Autowired
+    private DepartmentRepository departmentRepository;
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    @Autowired
+    private CompanyService companyService;
+    @Autowired
+    private DepartmentService departmentService;
+    @Autowired
+    private BulkImportService bulkImportService;
+    @Autowired
+    private OrgDeletionService orgDeletionService;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Company company;
+
+    @BeforeEach
+    void setUp() {
+        employeeRepository.deleteAll();
+        departmentRepository.deleteAll();
+        companyRepository.deleteAll();
+        entityManagerFactory.getCache().evictAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        company = companyService.createCompany(new Company("CacheCo", "desc", "IT", "addr"));
+        statistics.clear();
+    }
+
+    @Test
+    void testCompanyLookupsAreServedFromCache() {
+        companyService.getCompanyById(company.getId());
+        long statements = statistics.getPrepareStatementCount();
+        assertEquals("CacheCo", companyService.getCompanyById(company.getId()).orElseThrow().getName());
+        assertEquals(statements, statistics.getPrepareStatementCount());
+        assertTrue(statistics.getDomainDataRegionStatistics(OrgCache.COMPANY_REGION).getHitCount() > 0);
+
+        companyService.getCompanyByName("CacheCo");
+        statements = statistics.getPrepareStatementCount();
+        assertTrue(companyService.getCompanyByName("CacheCo").isPresent());
+        assertEquals(statements, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getQueryRegionStatistics(OrgCache.COMPANY_QUERIES_REGION).getHitCount());
+    }
+
+    @Test
+    void testWritesInvalidateCachedEntries() {
+        companyService.getCompanyById(company.getId());
+        companyService.getCompanyByName("CacheCo");
+
+        companyService.updateCompany(company.getId(), new Company("RenamedCo", "desc", "IT", "addr"));
+        assertEquals("RenamedCo", companyService.getCompanyById(company.getId()).orElseThrow().getName());
+        assertTrue(companyService.getCompanyByName("CacheCo").isEmpty());
+
+        orgDeletionService.deleteCompany(company.getId(), false);
+        assertTrue(companyService.getCompanyById(company.getId()).isEmpty());
+    }
+
+    @Test
+    void testDepartmentListFollowsWrites() {
+        Department engineering = companyService.addDepartmentToCompany(company.getId(), new Department("Engineering", "desc", "HQ"));
+        assertEquals(List.of("Engineering"), names(companyService.getDepartmentsByCompanyId(company.getId())));
+
+        companyService.addDepartmentToCompany(company.getId(), new Department("Sales", "desc", "HQ"));
+        assertEquals(List.of("Engineering", "Sales"), names(companyService.getDepartmentsByCompanyId(company.getId())));
+
+        departmentService.updateDepartment(engineering.getId(), new Department("Platform", "desc", "HQ"));
+        assertEquals("Platform", departmentService.getDepartmentById(engineering.getId()).orElseThrow().getName());
+
+        orgDeletionService.deleteDepartment(engineering.getId(), false);
+        assertEquals(List.of("Sales"), names(companyService.getDepartmentsByCompanyId(company.getId())));
+        assertTrue(departmentService.getDepartmentById(engineering.getId()).isEmpty());
+    }
+
+    @Test
+    void testBulkInsertEvictsDepartmentList() {
+        assertTrue(companyService.getDepartmentsByCompanyId(company.getId()).isEmpty());
+
+        BulkResult result = bulkImportService.createDepartments(company.getId(), List.of(new Department("Ops", "desc", "HQ")));
+        assertEquals(1, result.created());
+
+        assertEquals(List.of("Ops"), names(companyService.getDepartmentsByCompanyId(company.getId())));
+    }
+
+    private static List<String> names(List<Department> departments) {
+        return departments.stream().map(Department::getName).sorted().toList();
+    }
+}
@@ -0,0 +1,118 @@
+package com.company.index;
+
+import com.company.dto.SearchHit;
+import com.company.entity.*;
+import com.company.event.OrgChangeEvent.EntityType;
+import com.company.event.OrgChangeEvent;
+import com.company.repository.CompanyRepository;
+import com.company.repository.DepartmentRepository;
+import com.company.repository.EmployeeRepository;
+import com.company.service.CompanyService;
+import com.company.service.DepartmentService;
+import com.company.service.EmailUniquenessService;
+import com.company.service.EmployeeService;
+import com.company.service.OrgStatsService;
+import com.company.service.OutboxService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import({EmployeeService.class, DepartmentService.class, CompanyService.class, OrgStatsService.class, EmailUniquenessService.class, EmailIndex.class, NameSearchIndex.class, SalaryIndex.class, OutboxService.class})
+class NameSearchIndexTest {
+
+    @Autowired
+    private CompanyRepository companyRepository;
+    @Autowired
+    private DepartmentRepository departmentRepository;
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    @Autowired
+    private NameSearchIndex nameSearchIndex;
+    @Autowired
+    private EmployeeService employeeService;
+    @Autowired
+    private DepartmentService departmentService;
+    @Autowired
+    private CompanyService companyService;
+
+    private Company company;
+    private Department engineering;
+    private Employee alice;
+
+    @BeforeEach
+    void setUp() {
+        employeeRepository.deleteAll();
+        departmentRepository.deleteAll();
+        companyRepository.deleteAll();
+        company = companyService.createCompany(new Company("Globex Corporation", "desc", "IT", "addr"));
+        companyService.createCompany(new Company("Initech", "desc", "IT", "addr"));
+        engineering = companyService.addDepartmentToCompany(company.getId(), new Department("Engineering", "desc", "HQ"));
+        companyService.addDepartmentToCompany(company.getId(), new Department("Sales", "desc", "HQ"));
+        alice = hire("Alice", "Johansson", "alice.johansson@globex.com");
+        hire("Bob", "Johnson", "bob.johnson@globex.com");
+        hire("Carol", "Smith", "carol@globex.com");
+        nameSearchIndex.rebuild();
+    }
+
+    private Employee hire(String firstName, String lastName, String email) {
+        FullTimeEmployee employee = new FullTimeEmployee(firstName, lastName, email, LocalDate.of(2020, 1, 15), new BigDecimal("50000"), new BigDecimal("1000"));
+        employee.setDepartment(engineering);
+        return employeeService.createFullTimeEmployee(employee);
+    }
+
+    @Test
+    void testSearchRanksAndToleratesTypos() {
+        List<SearchHit> exact = employeeService.searchEmployees("johansson", 10);
+        assertEquals(alice.getId(), exact.get(0).id());
+        assertEquals("Alice Johansson <alice.johansson@globex.com>", exact.get(0).label());
+        assertEquals(1.0, exact.get(0).score(), 0.01);
+
+        List<SearchHit> typo = employeeService.searchEmployees("Johanson", 10);
+        assertEquals(alice.getId(), typo.get(0).id());
+        assertTrue(typo.get(0).score() < 1.0);
+
+        assertEquals(1, employeeService.searchEmployees("johnson", 1).size());
+        assertTrue(employeeService.searchEmployees("zzzz", 10).isEmpty());
+
+        assertEquals(engineering.getId(), departmentService.searchDepartments("enginering", 10).get(0).id());
+        assertEquals(company.getId(), companyService.searchCompanies("globex", 10).get(0).id());
+    }
+
+    @Test
+    void testSearchMatchesEmailAndIgnoresAccents() {
+        Employee zoe = hire("Zoë", "Brontë", "zb@initech.com");
+        nameSearchIndex.apply(List.of(OrgChangeEvent.created(EntityType.EMPLOYEE, zoe.getId())));
+
+        assertEquals(zoe.getId(), employeeService.searchEmployees("zoe bronte", 10).get(0).id());
+        assertEquals(zoe.getId(), employeeService.searchEmployees("initech", 10).get(0).id());
+    }
+
+    @Test
+    void testChangesAreAppliedIncrementally() {
+        alice.setLastName("Lindqvist");
+        alice.setEmail("alice.lindqvist@globex.com");
+        employeeService.updateEmployee(alice.getId(), alice);
+        nameSearchIndex.apply(List.of(OrgChangeEvent.updated(EntityType.EMPLOYEE, alice.getId())));
+        assertEquals(alice.getId(), employeeService.searchEmployees("lindqvist", 10).get(0).id());
+        assertTrue(employeeService.searchEmployees("johansson", 10).stream().noneMatch(hit -> hit.id().equals(alice.getId())));
+
+        employeeService.deleteEmployee(alice.getId());
+        nameSearchIndex.apply(List.of(OrgChangeEvent.deleted(EntityType.EMPLOYEE, alice.getId())));
+        assertTrue(employeeService.searchEmployees("lindqvist", 10).isEmpty());
+    }
+
+    @Test
+    void testLimitIsValidated() {
+        assertThrows(IllegalArgumentException.class, () -> employeeService.searchEmployees("alice", 0));
+        assertThrows(IllegalArgumentException.class, () -> companyService.searchCompanies("globex", NameSearchIndex.MAX_LIMIT + 1));
+    }
+}
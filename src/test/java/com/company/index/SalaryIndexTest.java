@@ -0,0 +1,123 @@
+package com.company.index;
+
+import com.company.dto.SalaryEntry;
+import com.company.entity.*;
+import com.company.event.OrgChangeEvent.EntityType;
+import com.company.event.OrgChangeEvent;
+import com.company.index.SalaryIndex.Scope;
+import com.company.repository.CompanyRepository;
+import com.company.repository.DepartmentRepository;
+import com.company.repository.EmployeeRepository;
+import com.company.service.CompanyService;
+import com.company.service.EmailUniquenessService;
+import com.company.service.EmployeeService;
+import com.company.service.OrgStatsService;
+import com.company.service.OutboxService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import({EmployeeService.class, CompanyService.class, OrgStatsService.class, EmailUniquenessService.class, EmailIndex.class, NameSearchIndex.class, SalaryIndex.class, OutboxService.class})
+class SalaryIndexTest {
+
+    @Autowired
+    private CompanyRepository companyRepository;
+    @Autowired
+    private DepartmentRepository departmentRepository;
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    @Autowired
+    private SalaryIndex salaryIndex;
+    @Autowired
+    private EmployeeService employeeService;
+    @Autowired
+    private CompanyService companyService;
+
+    private Company company;
+    private Department engineering;
+    private Department sales;
+    private Employee alice;
+    private Employee bob;
+
+    @BeforeEach
+    void setUp() {
+        employeeRepository.deleteAll();
+        departmentRepository.deleteAll();
+        companyRepository.deleteAll();
+        company = companyService.createCompany(new Company("PayCo", "desc", "IT", "addr"));
+        engineering = companyService.addDepartmentToCompany(company.getId(), new Department("Engineering", "desc", "HQ"));
+        sales = companyService.addDepartmentToCompany(company.getId(), new Department("Sales", "desc", "HQ"));
+        alice = hire("alice", engineering, "120000.00");
+        bob = hire("bob", engineering, "80000.50");
+        hire("carol", engineering, "80000.50");
+        hire("dave", sales, "60000.00");
+        hire("erin", sales, "95000.00");
+        salaryIndex.rebuild();
+    }
+
+    private Employee hire(String name, Department department, String salary) {
+        PartTimeEmployee employee = new PartTimeEmployee(name, "Smith", name + "@payco.com", LocalDate.of(2021, 6, 1), new BigDecimal(salary), 20);
+        employee.setDepartment(department);
+        return employeeService.createPartTimeEmployee(employee);
+    }
+
+    @Test
+    void testRangeTopAndPercentiles() {
+        assertEquals(3, employeeService.countSalaries(Scope.DEPARTMENT, engineering.getId(), null, null));
+        assertEquals(2, employeeService.countSalaries(Scope.DEPARTMENT, engineering.getId(), new BigDecimal("80000.50"), new BigDecimal("80000.50")));
+        assertEquals(3, employeeService.countSalaries(Scope.COMPANY, company.getId(), new BigDecimal("80000"), new BigDecimal("100000")));
+        assertEquals(0, employeeService.countSalaries(Scope.DEPARTMENT, -1L, null, null));
+
+        List<SalaryEntry> page = employeeService.getSalaryRange(Scope.COMPANY, company.getId(), new BigDecimal("70000"), null, 1, 2);
+        assertEquals(List.of(new BigDecimal("80000.50"), new BigDecimal("95000.00")), page.stream().map(SalaryEntry::salary).toList());
+
+        List<SalaryEntry> top = employeeService.getTopSalaries(Scope.DEPARTMENT, engineering.getId(), 2);
+        assertEquals(List.of(alice.getId(), bob.getId()), top.stream().map(SalaryEntry::employeeId).toList());
+
+        Map<Integer, BigDecimal> percentiles = employeeService.getSalaryPercentiles(Scope.COMPANY, company.getId(), List.of(0, 50, 90, 100));
+        assertEquals(new BigDecimal("60000.00"), percentiles.get(0));
+        assertEquals(new BigDecimal("80000.50"), percentiles.get(50));
+        assertEquals(new BigDecimal("120000.00"), percentiles.get(90));
+        assertEquals(new BigDecimal("120000.00"), percentiles.get(100));
+        assertTrue(employeeService.getSalaryPercentiles(Scope.DEPARTMENT, -1L, List.of(50)).isEmpty());
+    }
+
+    @Test
+    void testUpdatesAreAppliedIncrementally() {
+        bob.setSalary(new BigDecimal("130000"));
+        bob.setDepartment(sales);
+        employeeService.updateEmployee(bob.getId(), bob);
+        salaryIndex.apply(List.of(OrgChangeEvent.updated(EntityType.EMPLOYEE, bob.getId())));
+
+        assertEquals(2, employeeService.countSalaries(Scope.DEPARTMENT, engineering.getId(), null, null));
+        assertEquals(bob.getId(), employeeService.getTopSalaries(Scope.DEPARTMENT, sales.getId(), 1).get(0).employeeId());
+        assertEquals(bob.getId(), employeeService.getTopSalaries(Scope.COMPANY, company.getId(), 1).get(0).employeeId());
+        assertEquals(5, employeeService.countSalaries(Scope.COMPANY, company.getId(), null, null));
+
+        employeeService.deleteEmployee(alice.getId());
+        salaryIndex.apply(List.of(OrgChangeEvent.deleted(EntityType.EMPLOYEE, alice.getId())));
+        assertEquals(4, employeeService.countSalaries(Scope.COMPANY, company.getId(), null, null));
+        assertEquals(0, employeeService.countSalaries(Scope.DEPARTMENT, engineering.getId(), new BigDecimal("100000"), null));
+    }
+
+    @Test
+    void testInvalidQueriesAreRejected() {
+        assertThrows(IllegalArgumentException.class, () ->
+            employeeService.countSalaries(Scope.COMPANY, company.getId(), new BigDecimal("2"), new BigDecimal("1")));
+        assertThrows(IllegalArgumentException.class, () -> employeeService.getTopSalaries(Scope.COMPANY, company.getId(), 0));
+        assertThrows(IllegalArgumentException.class, () ->
+            employeeService.getSalaryRange(Scope.COMPANY, company.getId(), null, null, -1, 10));
+        assertThrows(IllegalArgumentException.class, () ->
+            employeeService.getSalaryPercentiles(Scope.COMPANY, company.getId(), List.of(101)));
+    }
+}
@@ -0,0 +1,42 @@
+package com.company.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TrigramIndexTest {
+
+    @Test
+    void testDeletedMatchesDoNotHideLiveOnes() {
+        TrigramIndex index = new TrigramIndex();
+        // Twenty deleted exact matches, below the compaction threshold so their slots stay tombstoned
+        for (long id = 1; id <= 20; id++) {
+            index.put(id, "abcdef", "dead " + id);
+        }
+        for (long id = 1; id <= 20; id++) {
+            index.remove(id);
+        }
+        // The live documents share only the two most common query grams, "def" and "ef "
+        for (long id = 101; id <= 130; id++) {
+            index.put(id, "xxxdef", "live " + id);
+        }
+
+        List<TrigramIndex.Hit> hits = index.search("abcdef", 5, 0.3);
+        assertEquals(5, hits.size());
+        assertEquals(List.of(101L, 102L, 103L, 104L, 105L), hits.stream().map(TrigramIndex.Hit::id).toList());
+    }
+
+    @Test
+    void testTiedCountsAreRankedByScore() {
+        TrigramIndex index = new TrigramIndex();
+        // Same shared grams; the shorter text carries fewer extra grams and must win the single slot
+        index.put(1, "johnson family trust", "long");
+        index.put(2, "johnson", "short");
+
+        List<TrigramIndex.Hit> hits = index.search("johnson", 1, 0.5);
+        assertEquals(1, hits.size());
+        assertEquals(2L, hits.get(0).id());
+    }
+}
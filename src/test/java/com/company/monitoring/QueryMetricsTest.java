@@ -0,0 +1,219 @@
+package com.company.monitoring;
+
+import com.company.entity.*;
+import com.company.index.EmailIndex;
+import com.company.index.NameSearchIndex;
+import com.company.index.SalaryIndex;
+import com.company.repository.CompanyRepository;
+import com.company.repository.DepartmentRepository;
+import com.company.repository.EmployeeRepository;
+import com.company.service.CompanyService;
+import com.company.service.EmailUniquenessService;
+import com.company.service.EmployeeService;
+import com.company.service.OrgStatsService;
+import com.company.service.OutboxService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import({QueryMetricsConfiguration.class, SqlBudgetInterceptor.class, SimpleMeterRegistry.class, EmployeeService.class, CompanyService.class, OrgStatsService.class, EmailUniquenessService.class, EmailIndex.class, NameSearchIndex.class, SalaryIndex.class, OutboxService.class})
+class QueryMetricsTest {
+
+    @Autowired
+    private CompanyRepository companyRepository;
+    @Autowired
+    private DepartmentRepository departmentRepository;
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    @Autowired
+    private EmployeeService employeeService;
+    @Autowired
+    private CompanyService companyService;
+    @Autowired
+    private SqlStatementCounter counter;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Company company;
+
+    @BeforeEach
+    void setUp() {
+        employeeRepository.deleteAll();
+        departmentRepository.deleteAll();
+        companyRepository.deleteAll();
+        company = companyService.createCompany(new Company("MetricsCo", "desc", "IT", "addr"));
+        Department department = companyService.addDepartmentToCompany(company.getId(), new Department("Engineering", "desc", "HQ"));
+        for (int i = 0; i < 3; i++) {
+            FullTimeEmployee employee = new FullTimeEmployee("Full" + i, "Time", "ft" + i + "@metrics.com", LocalDate.of(2020, 1, 1), new BigDecimal("80000"), new BigDecimal("2000"));
+            employee.setDepartment(department);
+            employeeService.createFullTimeEmployee(employee);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @Test
+    void testRepositoryCallsRecordLatencyRowsAndStatements() {
+        long calls = invocations("findEmployeesByCompanyId");
+        double rows = total("repository.rows", "EmployeeRepository", "findEmployeesByCompanyId");
+        double statements = total("repository.statements", "EmployeeRepository", "findEmployeesByCompanyId");
+
+        List<Employee> employees = employeeService.getEmployeesByCompanyId(company.getId());
+
+        assertEquals(3, employees.size());
+        assertEquals(calls + 1, invocations("findEmployeesByCompanyId"));
+        assertEquals(rows + 3, total("repository.rows", "EmployeeRepository", "findEmployeesByCompanyId"));
+        assertEquals(statements + 1, total("repository.statements", "EmployeeRepository", "findEmployeesByCompanyId"));
+    }
+
+    @Test
+    void testOptionalResultsCountAsZeroOrOneRow() {
+        double rows = total("repository.rows", "EmployeeRepository", "findByEmail");
+
+        employeeRepository.findByEmail("ft0@metrics.com");
+        employeeRepository.findByEmail("nobody@metrics.com");
+
+        assertEquals(rows + 1, total("repository.rows", "EmployeeRepository", "findByEmail"));
+    }
+
+    @Test
+    void testLazyLoadsAfterTheCallAreChargedToTheRequestOnly() {
+        double statements = total("repository.statements", "DepartmentRepository", "findAll");
+        long before = counter.count();
+
+        departmentRepository.findAll().forEach(department -> department.getEmployees().size());
+
+        assertEquals(statements + 1, total("repository.statements", "DepartmentRepository", "findAll"));
+        assertEquals(2, counter.count() - before);
+    }
+
+    @Test
+    void testRequestOverBudgetIsRecordedAndLogged() throws Exception {
+        SqlBudgetInterceptor interceptor = interceptor(false);
+        MockHttpServletRequest request = request();
+        HandlerMethod handler = new HandlerMethod(this, QueryMetricsTest.class.getDeclaredMethod("budgetOfOne"));
+
+        double overBudget = overBudget("GET");
+        interceptor.preHandle(request, new MockHttpServletResponse(), handler);
+        loadEmployeesOneByOne();
+        interceptor.afterCompletion(request, new MockHttpServletResponse(), handler, null);
+
+        DistributionSummary statements = meterRegistry.find("http.server.requests.statements")
+                .tags("method", "GET", "uri", "/api/employees/company/{companyId}").summary();
+        assertEquals(4, statements.max());
+        assertEquals(overBudget + 1, overBudget("GET"));
+        assertFalse(counter.isOpen());
+    }
+
+    @Test
+    void testRequestWithinBudgetIsNotFlagged() throws Exception {
+        SqlBudgetInterceptor interceptor = interceptor(true);
+        MockHttpServletRequest request = request();
+        HandlerMethod handler = new HandlerMethod(this, QueryMetricsTest.class.getDeclaredMethod("budgetOfOne"));
+
+        double overBudget = overBudget("GET");
+        interceptor.preHandle(request, new MockHttpServletResponse(), handler);
+        employeeService.getEmployeesByCompanyId(company.getId());
+        interceptor.afterCompletion(request, new MockHttpServletResponse(), handler, null);
+
+        assertEquals(overBudget, overBudget("GET"));
+    }
+
+    @Test
+    void testEnforcedBudgetFailsTheStatementThatGoesOver() throws Exception {
+        SqlBudgetInterceptor interceptor = interceptor(true);
+        MockHttpServletRequest request = request();
+        HandlerMethod handler = new HandlerMethod(this, QueryMetricsTest.class.getDeclaredMethod("budgetOfOne"));
+
+        interceptor.preHandle(request, new MockHttpServletResponse(), handler);
+        Exception e = assertThrows(Exception.class, this::loadEmployeesOneByOne);
+        interceptor.afterCompletion(request, new MockHttpServletResponse(), handler, e);
+
+        Throwable cause = e;
+        while (cause.getCause() != null && !(cause instanceof IllegalStateException)) {
+            cause = cause.getCause();
+        }
+        assertInstanceOf(IllegalStateException.class, cause);
+        assertTrue(cause.getMessage().contains("budget of 1"));
+        assertFalse(counter.isOpen());
+    }
+
+    @Test
+    void testDefaultBudgetDependsOnMethod() throws Exception {
+        SqlBudgetInterceptor interceptor = interceptor(false);
+        HandlerMethod handler = new HandlerMethod(this, QueryMetricsTest.class.getDeclaredMethod("noBudget"));
+        MockHttpServletRequest post = request();
+        post.setMethod("POST");
+
+        interceptor.preHandle(post, new MockHttpServletResponse(), handler);
+        loadEmployeesOneByOne();
+        interceptor.afterCompletion(post, new MockHttpServletResponse(), handler, null);
+
+        assertEquals(0, overBudget("POST"));
+    }
+
+    // The N+1 shape the budget is there to catch: one query for the ids, one per row
+    private void loadEmployeesOneByOne() {
+        for (Employee employee : employeeRepository.findAll()) {
+            employeeRepository.findByEmail(employee.getEmail());
+        }
+    }
+
+    private long invocations(String method) {
+        Timer timer = meterRegistry.find("repository.invocations")
+                .tags("repository", "EmployeeRepository", "method", method, "exception", "none").timer();
+        return timer == null ? 0 : timer.count();
+    }
+
+    private double total(String name, String repository, String method) {
+        DistributionSummary summary = meterRegistry.find(name).tags("repository", repository, "method", method).summary();
+        return summary == null ? 0 : summary.totalAmount();
+    }
+
+    private double overBudget(String method) {
+        Counter counter = meterRegistry.find("http.server.requests.statements.over.budget").tags("method", method).counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    @SqlBudget(1)
+    void budgetOfOne() {
+    }
+
+    void noBudget() {
+    }
+
+    private SqlBudgetInterceptor interceptor(boolean fail) {
+        return new SqlBudgetInterceptor(counter, meterRegistry, true, 1, 50, fail);
+    }
+
+    private MockHttpServletRequest request() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/employees/company/" + company.getId());
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/employees/company/{companyId}");
+        return request;
+    }
+}
@@ -0,0 +1,144 @@
+package com.company.monitoring;
+
+import com.company.dto.EmployeeView;
+import com.company.entity.*;
+import com.company.index.EmailIndex;
+import com.company.index.NameSearchIndex;
+import com.company.index.SalaryIndex;
+import com.company.repository.CompanyRepository;
+import com.company.repository.DepartmentRepository;
+import com.company.repository.EmployeeRepository;
+import com.company.service.CompanyService;
+import com.company.service.EmailUniquenessService;
+import com.company.service.EmployeeService;
+import com.company.service.OrgStatsService;
+import com.company.service.OutboxService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Drives the timing filter by hand around real service, repository and JDBC calls and the
+ * Jackson converter, the way a request to {@code /api/employees/company/{companyId}} would.
+ */
+@DataJpaTest
+@Import({ServerTimingConfiguration.class, SlowQueryConfiguration.class, SlowQueryLog.class, SimpleMeterRegistry.class, JacksonAutoConfiguration.class, EmployeeService.class, CompanyService.class, OrgStatsService.class, EmailUniquenessService.class, EmailIndex.class, NameSearchIndex.class, SalaryIndex.class, OutboxService.class})
+class ServerTimingTest {
+
+    private static final String URI_PATTERN = "/api/employees/company/{companyId}";
+
+    @Autowired
+    private CompanyRepository companyRepository;
+    @Autowired
+    private DepartmentRepository departmentRepository;
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    @Autowired
+    private EmployeeService employeeService;
+    @Autowired
+    private CompanyService companyService;
+    @Autowired
+    private FilterRegistrationBean<ServerTimingFilter> serverTimingFilter;
+    @Autowired
+    private MappingJackson2HttpMessageConverter converter;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Company company;
+
+    @BeforeEach
+    void setUp() {
+        employeeRepository.deleteAll();
+        departmentRepository.deleteAll();
+        companyRepository.deleteAll();
+        company = companyService.createCompany(new Company("TimingCo", "desc", "IT", "addr"));
+        Department department = companyService.addDepartmentToCompany(company.getId(), new Department("Engineering", "desc", "HQ"));
+        for (int i = 0; i < 3; i++) {
+            FullTimeEmployee employee = new FullTimeEmployee("Full" + i, "Time", "ft" + i + "@timing.com", LocalDate.of(2020, 1, 1), new BigDecimal("80000"), new BigDecimal("2000"));
+            employee.setDepartment(department);
+            employeeService.createFullTimeEmployee(employee);
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void testServicesAreProxied() {
+        assertTrue(AopUtils.isAopProxy(employeeService));
+    }
+
+    @Test
+    void testJsonResponseCarriesEveryLayerInServerTiming() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/employees/company/" + company.getId());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        serverTimingFilter.getFilter().doFilter(request, response, (req, res) -> {
+            req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, URI_PATTERN);
+            List<EmployeeView> employees = employeeService.getEmployeesByCompanyId(company.getId()).stream()
+                    .map(EmployeeView::from).toList();
+            converter.write(employees, MediaType.APPLICATION_JSON, new ServletServerHttpResponse(response));
+        });
+
+        String header = response.getHeader("Server-Timing");
+        assertNotNull(header);
+        assertTrue(header.contains("service;dur="), header);
+        assertTrue(header.contains("repository;dur="), header);
+        assertTrue(header.contains("desc=\"1 calls\""), header);
+        assertTrue(header.contains("db;dur="), header);
+        assertTrue(header.contains("serialization;dur="), header);
+        assertTrue(header.matches(".*total;dur=\\d+\\.\\d{3}$"), header);
+        assertTrue(response.getContentAsString().contains("ft2@timing.com"));
+
+        Timer serialization = meterRegistry.find("http.server.requests.layers")
+                .tags("method", "GET", "uri", URI_PATTERN, "layer", "serialization").timer();
+        assertEquals(1, serialization.count());
+        assertTrue(serialization.totalTime(TimeUnit.NANOSECONDS) > 0);
+    }
+
+    @Test
+    void testBodylessResponseGetsHeaderFromFilter() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/employees/999");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        serverTimingFilter.getFilter().doFilter(request, response, (req, res) -> employeeService.getEmployeeById(999L));
+
+        String header = response.getHeader("Server-Timing");
+        assertNotNull(header);
+        assertTrue(header.contains("service;dur="), header);
+        assertFalse(header.contains("serialization"), header);
+    }
+
+    @Test
+    void testCallsOutsideRequestsAreNotTimed() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        converter.write(List.of("plain"), MediaType.APPLICATION_JSON, new ServletServerHttpResponse(response));
+
+        assertNull(response.getHeader("Server-Timing"));
+        assertEquals("[\"plain\"]", response.getContentAsString());
+    }
+}
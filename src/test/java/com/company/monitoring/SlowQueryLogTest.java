@@ -0,0 +1,129 @@
+package com.company.monitoring;
+
+import com.company.dto.SlowQuery;
+import com.company.entity.*;
+import com.company.index.EmailIndex;
+import com.company.index.NameSearchIndex;
+import com.company.index.SalaryIndex;
+import com.company.repository.CompanyRepository;
+import com.company.repository.DepartmentRepository;
+import com.company.repository.EmployeeRepository;
+import com.company.service.CompanyService;
+import com.company.service.EmailUniquenessService;
+import com.company.service.EmployeeService;
+import com.company.service.OrgStatsService;
+import com.company.service.OutboxService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Samples every statement, so each one the services issue lands in a five-entry log.
+ */
+@DataJpaTest(properties = {"company.slow-query.sample-rate=1", "company.slow-query.capacity=5"})
+@Import({SlowQueryConfiguration.class, SlowQueryLog.class, EmployeeService.class, CompanyService.class, OrgStatsService.class, EmailUniquenessService.class, EmailIndex.class, NameSearchIndex.class, SalaryIndex.class, OutboxService.class})
+class SlowQueryLogTest {
+
+    @Autowired
+    private CompanyRepository companyRepository;
+    @Autowired
+    private DepartmentRepository departmentRepository;
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    @Autowired
+    private EmployeeService employeeService;
+    @Autowired
+    private CompanyService companyService;
+    @Autowired
+    private SlowQueryLog slowQueryLog;
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private DataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        employeeRepository.deleteAll();
+        departmentRepository.deleteAll();
+        companyRepository.deleteAll();
+        Company company = companyService.createCompany(new Company("SlowCo", "desc", "IT", "addr"));
+        Department department = companyService.addDepartmentToCompany(company.getId(), new Department("Engineering", "desc", "HQ"));
+        FullTimeEmployee employee = new FullTimeEmployee("Slow", "Query", "slow@query.com", LocalDate.of(2020, 1, 1), new BigDecimal("80000"), new BigDecimal("2000"));
+        employee.setDepartment(department);
+        employeeService.createFullTimeEmployee(employee);
+        entityManager.flush();
+        entityManager.clear();
+        slowQueryLog.clear();
+    }
+
+    @Test
+    void testCapturesSqlBindValuesAndCallingServiceMethod() {
+        employeeService.getEmployeeByEmail("slow@query.com");
+
+        List<SlowQuery> entries = slowQueryLog.getEntries();
+        assertEquals(1, entries.size());
+        SlowQuery entry = entries.get(0);
+        assertTrue(entry.sql().contains("from employees"));
+        assertEquals(List.of("slow@query.com"), entry.parameters());
+        assertEquals("EmployeeService.getEmployeeByEmail", entry.caller());
+        assertTrue(entry.sampled());
+        assertTrue(entry.millis() >= 0);
+    }
+
+    @Test
+    void testKeepsOnlyTheNewestEntries() {
+        for (int i = 0; i < 8; i++) {
+            employeeService.getEmployeeByEmail("missing" + i + "@query.com");
+        }
+
+        List<SlowQuery> entries = slowQueryLog.getEntries();
+        assertEquals(5, entries.size());
+        assertEquals(List.of("missing7@query.com"), entries.get(0).parameters());
+        assertEquals(List.of("missing3@query.com"), entries.get(4).parameters());
+    }
+
+    @Test
+    void testStatementsUnderThresholdAreSkippedWithoutSampling() {
+        SlowQueryLog unsampled = new SlowQueryLog(true, 100, 0, 5);
+
+        unsampled.offer("select 1", 1_000_000, new Object[1], 0);
+        unsampled.offer("select 2", 150_000_000, new Object[]{null, 42, null}, 2);
+
+        List<SlowQuery> entries = unsampled.getEntries();
+        assertEquals(1, entries.size());
+        assertEquals("select 2", entries.get(0).sql());
+        assertEquals(List.of("42", "NULL"), entries.get(0).parameters());
+        assertEquals(0, entries.get(0).batchSize());
+        assertFalse(entries.get(0).sampled());
+    }
+
+    @Test
+    void testCapturesEveryRowOfABatch() {
+        new JdbcTemplate(dataSource).batchUpdate("UPDATE employees SET phone = ? WHERE email = ?",
+                List.of(new Object[]{"555-0001", "slow@query.com"}, new Object[]{"555-0002", "other@query.com"}));
+
+        SlowQuery entry = slowQueryLog.getEntries().get(0);
+        assertTrue(entry.sql().startsWith("UPDATE employees"));
+        assertEquals(2, entry.batchSize());
+        assertEquals(List.of(List.of("555-0001", "slow@query.com"), List.of("555-0002", "other@query.com")),
+                entry.batchParameters());
+        assertTrue(entry.parameters().isEmpty());
+    }
+
+    @Test
+    void testRejectsInvalidSettings() {
+        assertThrows(IllegalArgumentException.class, () -> new SlowQueryLog(true, 100, 0, 0));
+        assertThrows(IllegalArgumentException.class, () -> new SlowQueryLog(true, 100, 1.5, 10));
+    }
+}
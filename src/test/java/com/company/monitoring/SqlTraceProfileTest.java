@@ -0,0 +1,42 @@
+package com.company.monitoring;
+
+import com.company.repository.EmployeeRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.logging.LogLevel;
+import org.springframework.boot.logging.LoggingSystem;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The sql-trace profile must name the bind logger Hibernate 6 actually uses. The level is put
+ * back afterwards, since logging levels outlive the test's application context.
+ */
+@DataJpaTest
+@ActiveProfiles("sql-trace")
+@ExtendWith(OutputCaptureExtension.class)
+class SqlTraceProfileTest {
+
+    private static final String BIND_LOGGER = "org.hibernate.orm.jdbc.bind";
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @AfterAll
+    static void restoreLevel() {
+        LoggingSystem.get(SqlTraceProfileTest.class.getClassLoader()).setLogLevel(BIND_LOGGER, LogLevel.INFO);
+    }
+
+    @Test
+    void testLogsBindValues(CapturedOutput output) {
+        employeeRepository.findByEmail("trace@bind.com");
+
+        assertTrue(output.getOut().contains("<- [trace@bind.com]"), "bind value not logged");
+    }
+}
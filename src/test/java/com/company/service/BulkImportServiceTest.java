@@ -0,0 +1,158 @@
+package com.company.service;
+
+import com.company.cache.OrgCache;
+import com.company.dto.BulkEmployeeRequest;
+import com.company.dto.BulkItemResult;
+import com.company.dto.BulkResult;
+import com.company.entity.*;
+import com.company.event.OrgChangeEvent.ChangeType;
+import com.company.event.OrgChangeEvent.EntityType;
+import com.company.index.EmailIndex;
+import com.company.index.NameSearchIndex;
+import com.company.repository.CompanyRepository;
+import com.company.repository.DepartmentRepository;
+import com.company.repository.EmployeeRepository;
+import com.company.repository.OutboxEventRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.JdbcTemplateAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {"company.bulk.batch-size=2", "company.outbox.enabled=true"})
+@Import({BulkImportService.class, CompanyService.class, OrgStatsService.class, EmailUniquenessService.class, EmailIndex.class, NameSearchIndex.class, OrgCache.class, OutboxService.class, OutboxBatchWriter.class})
+@ImportAutoConfiguration({JdbcTemplateAutoConfiguration.class, ValidationAutoConfiguration.class, JacksonAutoConfiguration.class})
+class BulkImportServiceTest {
+
+    @Autowired
+    private CompanyRepository companyRepository;
+    @Autowired
+    private DepartmentRepository departmentRepository;
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+    @Autowired
+    private BulkImportService bulkImportService;
+    @Autowired
+    private CompanyService companyService;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Company company;
+    private Department department;
+
+    @BeforeEach
+    void setUp() {
+        employeeRepository.deleteAll();
+        departmentRepository.deleteAll();
+        companyRepository.deleteAll();
+        company = companyService.createCompany(new Company("BulkCo", "desc", "IT", "addr"));
+        department = companyService.addDepartmentToCompany(company.getId(), new Department("Engineering", "desc", "HQ"));
+        outboxEventRepository.deleteAll();
+    }
+
+    @Test
+    void testBulkCreateEmployeesReportsEachItem() {
+        FullTimeEmployee existing = fullTime("taken@company.com");
+        employeeRepository.saveAndFlush(existing);
+
+        List<Employee> employees = List.of(
+                fullTime("a@company.com"),
+                partTime("b@company.com"),
+                fullTime("taken@company.com"),
+                partTime("a@company.com"),
+                fullTime("c@company.com"),
+                fullTime("not-an-email"));
+        BulkResult result = bulkImportService.createEmployees(employees);
+
+        assertEquals(3, result.created());
+        assertEquals(3, result.rejected());
+        List<BulkItemResult> items = result.items();
+        assertEquals(BulkItemResult.Status.CREATED, items.get(0).status());
+        assertEquals(BulkItemResult.Status.CREATED, items.get(1).status());
+        assertEquals(BulkItemResult.Status.REJECTED, items.get(2).status());
+        assertEquals(BulkItemResult.Status.REJECTED, items.get(3).status());
+        assertEquals(BulkItemResult.Status.CREATED, items.get(4).status());
+        assertEquals(BulkItemResult.Status.REJECTED, items.get(5).status());
+
+        Employee loaded = employeeRepository.findById(items.get(1).id()).orElseThrow();
+        assertInstanceOf(PartTimeEmployee.class, loaded);
+        assertEquals(20, ((PartTimeEmployee) loaded).getHoursPerWeek());
+        assertEquals(4, employeeRepository.count());
+
+        List<OutboxEvent> events = outboxEventRepository.findAllByOrderByIdAsc(Limit.of(10));
+        assertEquals(List.of(items.get(0).id(), items.get(1).id(), items.get(4).id()),
+                events.stream().map(OutboxEvent::getEntityId).toList());
+        for (OutboxEvent event : events) {
+            assertEquals(EntityType.EMPLOYEE, event.getEntityType());
+            assertEquals(ChangeType.CREATED, event.getChangeType());
+            assertEquals(0L, event.getEntityVersion());
+            assertTrue(event.getChanges().contains("\"departmentId\":" + department.getId()));
+        }
+    }
+
+    @Test
+    void testBulkCreateRejectsUnknownDepartment() {
+        FullTimeEmployee orphan = fullTime("orphan@company.com");
+        Department missing = new Department();
+        missing.setId(-1L);
+        orphan.setDepartment(missing);
+        BulkResult result = bulkImportService.createEmployees(List.of(orphan));
+        assertEquals(0, result.created());
+        assertTrue(result.items().get(0).message().contains("Department not found"));
+    }
+
+    @Test
+    void testBulkRequestAcceptsMixedEmployeeTypes() throws Exception {
+        String json = "{\"employees\":[" +
+                "{\"employeeType\":\"FULL_TIME\",\"firstName\":\"Ann\",\"lastName\":\"Lee\",\"email\":\"ann@company.com\"," +
+                "\"hireDate\":\"2024-01-01\",\"salary\":1000,\"annualBonus\":10,\"department\":{\"id\":" + department.getId() + "}}," +
+                "{\"employeeType\":\"PART_TIME\",\"firstName\":\"Ben\",\"lastName\":\"Lee\",\"email\":\"ben@company.com\"," +
+                "\"hireDate\":\"2024-01-01\",\"salary\":500,\"hoursPerWeek\":10,\"department\":{\"id\":" + department.getId() + "}}]}";
+        BulkEmployeeRequest request = objectMapper.readValue(json, BulkEmployeeRequest.class);
+        assertInstanceOf(FullTimeEmployee.class, request.getEmployees().get(0));
+        assertInstanceOf(PartTimeEmployee.class, request.getEmployees().get(1));
+        assertEquals(2, bulkImportService.createEmployees(request.getEmployees()).created());
+    }
+
+    @Test
+    void testBulkCreateDepartments() {
+        BulkResult result = bulkImportService.createDepartments(company.getId(), List.of(
+                new Department("Sales", "desc", "HQ"),
+                new Department("Engineering", "dup", "HQ"),
+                new Department("Support", "desc", "HQ")));
+        assertEquals(2, result.created());
+        assertEquals(BulkItemResult.Status.REJECTED, result.items().get(1).status());
+        assertEquals(3, departmentRepository.findByCompanyId(company.getId()).size());
+        assertEquals(List.of(result.items().get(0).id(), result.items().get(2).id()),
+                outboxEventRepository.findAllByOrderByIdAsc(Limit.of(10)).stream().map(OutboxEvent::getEntityId).toList());
+        assertThrows(IllegalArgumentException.class, () ->
+            bulkImportService.createDepartments(-1L, List.of(new Department("X1", "desc", "HQ")))
+        );
+    }
+
+    private FullTimeEmployee fullTime(String email) {
+        FullTimeEmployee employee = new FullTimeEmployee("Full", "Timer", email, LocalDate.now(), new BigDecimal("60000"), new BigDecimal("1000"));
+        employee.setDepartment(department);
+        return employee;
+    }
+
+    private PartTimeEmployee partTime(String email) {
+        PartTimeEmployee employee = new PartTimeEmployee("Part", "Timer", email, LocalDate.now(), new BigDecimal("20000"), 20);
+        employee.setDepartment(department);
+        return employee;
+    }
+}
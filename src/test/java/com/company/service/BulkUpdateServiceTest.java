@@ -0,0 +1,189 @@
+package com.company.service;
+
+import com.company.dto.BulkTransferRequest;
+import com.company.dto.BulkUpdateResult;
+import com.company.dto.OrgUnitStats;
+import com.company.dto.SalaryAdjustmentRequest;
+import com.company.entity.*;
+import com.company.event.OrgChangeEvent.ChangeType;
+import com.company.event.OrgChangeEvent.EntityType;
+import com.company.index.EmailIndex;
+import com.company.index.NameSearchIndex;
+import com.company.index.SalaryIndex;
+import com.company.repository.CompanyRepository;
+import com.company.repository.DepartmentRepository;
+import com.company.repository.EmployeeRepository;
+import com.company.repository.OutboxEventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.JdbcTemplateAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The bulk statements run over JDBC and commit, so the fixture runs outside a test transaction
+ * and every assertion reloads employees from the table.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({BulkUpdateService.class, OutboxBatchWriter.class, CompanyService.class, DepartmentService.class, EmployeeService.class, OrgStatsService.class, EmailUniquenessService.class, EmailIndex.class, NameSearchIndex.class, SalaryIndex.class, OutboxService.class})
+@ImportAutoConfiguration(JdbcTemplateAutoConfiguration.class)
+@TestPropertySource(properties = {"company.outbox.enabled=true", "company.bulk.batch-size=2"})
+class BulkUpdateServiceTest {
+
+    @Autowired
+    private CompanyRepository companyRepository;
+    @Autowired
+    private DepartmentRepository departmentRepository;
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+    @Autowired
+    private CompanyService companyService;
+    @Autowired
+    private EmployeeService employeeService;
+    @Autowired
+    private OrgStatsService orgStatsService;
+    @Autowired
+    private BulkUpdateService bulkUpdateService;
+
+    private Company company;
+    private Department engineering;
+    private Department sales;
+    private FullTimeEmployee alice;
+    private FullTimeEmployee carol;
+    private PartTimeEmployee bob;
+
+    @BeforeEach
+    void setUp() {
+        employeeRepository.deleteAll();
+        departmentRepository.deleteAll();
+        companyRepository.deleteAll();
+        orgStatsService.reconcile();
+        company = companyService.createCompany(new Company("BulkCo", "desc", "IT", "addr"));
+        engineering = companyService.addDepartmentToCompany(company.getId(), new Department("Engineering", "desc", "HQ"));
+        sales = companyService.addDepartmentToCompany(company.getId(), new Department("Sales", "desc", "HQ"));
+        alice = fullTime("Alice", "90000", engineering);
+        carol = fullTime("Carol", "40000", engineering);
+        bob = new PartTimeEmployee("Bob", "Jones", "bob@bulk.com", LocalDate.of(2021, 3, 1), new BigDecimal("30000"), 20);
+        bob.setDepartment(sales);
+        bob = employeeService.createPartTimeEmployee(bob);
+        outboxEventRepository.deleteAll();
+    }
+
+    @Test
+    void testPercentRaiseBumpsVersionAndTimestampOfMatchingRowsOnly() {
+        LocalDateTime before = employeeRepository.findById(alice.getId()).orElseThrow().getUpdatedAt();
+
+        BulkUpdateResult result = bulkUpdateService.adjustSalaries(new SalaryAdjustmentRequest(company.getId(), null,
+                "FULL_TIME", null, null, new BigDecimal("3.5"), null, false));
+
+        assertEquals(new BulkUpdateResult(2, false), result);
+        Map<Long, Employee> employees = reload();
+        assertEquals(new BigDecimal("93150.00"), employees.get(alice.getId()).getSalary());
+        assertEquals(new BigDecimal("41400.00"), employees.get(carol.getId()).getSalary());
+        assertEquals(new BigDecimal("30000.00"), employees.get(bob.getId()).getSalary());
+        assertEquals(1L, employees.get(alice.getId()).getVersion());
+        assertEquals(0L, employees.get(bob.getId()).getVersion());
+        assertTrue(employees.get(alice.getId()).getUpdatedAt().isAfter(before));
+
+        assertStats(orgStatsService.getDepartmentStats(engineering.getId()).orElseThrow(), 2, "134550", "136550");
+        assertStats(orgStatsService.getCompanyStats(company.getId()).orElseThrow(), 3, "164550", "166550");
+        assertTrue(orgStatsService.reconcile().drift().isEmpty());
+    }
+
+    @Test
+    void testFixedRaiseBySalaryBandRecordsOneOutboxEventPerRow() {
+        BulkUpdateResult result = bulkUpdateService.adjustSalaries(new SalaryAdjustmentRequest(null, null, null,
+                new BigDecimal("30000"), new BigDecimal("40000"), null, new BigDecimal("1500"), false));
+
+        assertEquals(2, result.affected());
+        List<OutboxEvent> events = outboxEventRepository.findAllByOrderByIdAsc(Limit.of(10));
+        assertEquals(List.of(carol.getId(), bob.getId()), events.stream().map(OutboxEvent::getEntityId).sorted().toList());
+        for (OutboxEvent event : events) {
+            assertEquals(EntityType.EMPLOYEE, event.getEntityType());
+            assertEquals(ChangeType.UPDATED, event.getChangeType());
+            assertEquals(1L, event.getEntityVersion());
+            assertTrue(event.getChanges().startsWith("{\"salary\":"));
+        }
+        assertEquals(new BigDecimal("41500.00"), reload().get(carol.getId()).getSalary());
+        assertTrue(orgStatsService.reconcile().drift().isEmpty());
+    }
+
+    @Test
+    void testTransferMovesEveryEmployeeAndBothAggregates() {
+        BulkUpdateResult result = bulkUpdateService.transferEmployees(new BulkTransferRequest(engineering.getId(), sales.getId(), false));
+
+        assertEquals(2, result.affected());
+        assertTrue(reload().values().stream().allMatch(e -> e.getDepartment().getId().equals(sales.getId())));
+        assertEquals(List.of("{\"departmentId\":" + sales.getId() + "}"),
+                outboxEventRepository.findAll().stream().map(OutboxEvent::getChanges).distinct().toList());
+        assertStats(orgStatsService.getDepartmentStats(engineering.getId()).orElseThrow(), 0, "0", "0");
+        assertStats(orgStatsService.getDepartmentStats(sales.getId()).orElseThrow(), 3, "160000", "162000");
+        assertStats(orgStatsService.getCompanyStats(company.getId()).orElseThrow(), 3, "160000", "162000");
+    }
+
+    @Test
+    void testDryRunCountsWithoutWriting() {
+        assertEquals(new BulkUpdateResult(1, true), bulkUpdateService.adjustSalaries(new SalaryAdjustmentRequest(null,
+                sales.getId(), null, null, null, new BigDecimal("10"), null, true)));
+        assertEquals(new BulkUpdateResult(2, true),
+                bulkUpdateService.transferEmployees(new BulkTransferRequest(engineering.getId(), sales.getId(), true)));
+
+        assertTrue(reload().values().stream().allMatch(e -> e.getVersion() == 0L));
+        assertEquals(0, outboxEventRepository.count());
+    }
+
+    @Test
+    void testInvalidRequestsAreRejectedBeforeAnyWrite() {
+        assertThrows(IllegalArgumentException.class, () -> bulkUpdateService.adjustSalaries(new SalaryAdjustmentRequest(
+                null, null, null, null, null, new BigDecimal("5"), null, false)));
+        assertThrows(IllegalArgumentException.class, () -> bulkUpdateService.adjustSalaries(new SalaryAdjustmentRequest(
+                company.getId(), null, null, null, null, new BigDecimal("5"), new BigDecimal("100"), false)));
+        assertThrows(IllegalArgumentException.class, () -> bulkUpdateService.adjustSalaries(new SalaryAdjustmentRequest(
+                company.getId(), null, "CONTRACTOR", null, null, new BigDecimal("5"), null, false)));
+        // Carol would end up at -5000, so nobody is cut
+        assertThrows(IllegalArgumentException.class, () -> bulkUpdateService.adjustSalaries(new SalaryAdjustmentRequest(
+                company.getId(), null, null, null, null, null, new BigDecimal("-45000"), false)));
+        assertThrows(IllegalArgumentException.class,
+                () -> bulkUpdateService.transferEmployees(new BulkTransferRequest(engineering.getId(), engineering.getId(), false)));
+        assertThrows(IllegalArgumentException.class,
+                () -> bulkUpdateService.transferEmployees(new BulkTransferRequest(engineering.getId(), -1L, false)));
+
+        assertTrue(reload().values().stream().allMatch(e -> e.getVersion() == 0L));
+    }
+
+    private FullTimeEmployee fullTime(String firstName, String salary, Department department) {
+        FullTimeEmployee employee = new FullTimeEmployee(firstName, "Smith", firstName.toLowerCase() + "@bulk.com",
+                LocalDate.of(2020, 1, 15), new BigDecimal(salary), new BigDecimal("1000"));
+        employee.setDepartment(department);
+        return employeeService.createFullTimeEmployee(employee);
+    }
+
+    private Map<Long, Employee> reload() {
+        return employeeRepository.findAll().stream().collect(Collectors.toMap(Employee::getId, Function.identity()));
+    }
+
+    private static void assertStats(OrgUnitStats stats, long headcount, String salary, String compensation) {
+        assertEquals(headcount, stats.headcount());
+        assertEquals(0, new BigDecimal(salary).compareTo(stats.totalSalary()));
+        assertEquals(0, new BigDecimal(compensation).compareTo(stats.totalCompensation()));
+    }
+}
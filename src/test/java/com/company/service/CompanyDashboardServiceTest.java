@@ -0,0 +1,179 @@
+package com.company.service;
+
+import com.company.dto.CompanyDashboard;
+import com.company.dto.EmployeeView;
+import com.company.entity.*;
+import com.company.index.EmailIndex;
+import com.company.index.NameSearchIndex;
+import com.company.index.SalaryIndex;
+import com.company.repository.CompanyRepository;
+import com.company.repository.DepartmentRepository;
+import com.company.repository.EmployeeRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.QueryTimeoutException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Parts run on the dashboard's own threads, so the fixture is committed rather than left in a
+ * test transaction they could not see.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({CompanyDashboardService.class, CompanyService.class, EmployeeService.class, OrgStatsService.class, EmailUniquenessService.class, EmailIndex.class, NameSearchIndex.class, SalaryIndex.class, OutboxService.class})
+class CompanyDashboardServiceTest {
+
+    @Autowired
+    private CompanyRepository companyRepository;
+    @Autowired
+    private DepartmentRepository departmentRepository;
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    @Autowired
+    private CompanyDashboardService companyDashboardService;
+    @Autowired
+    private CompanyService companyService;
+    @Autowired
+    private EmployeeService employeeService;
+    @Autowired
+    private OrgStatsService orgStatsService;
+    @Autowired
+    private NameSearchIndex nameSearchIndex;
+    @Autowired
+    private OutboxService outboxService;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private EntityManager entityManager;
+
+    private Company company;
+
+    @BeforeEach
+    void setUp() {
+        employeeRepository.deleteAll();
+        departmentRepository.deleteAll();
+        companyRepository.deleteAll();
+        company = companyService.createCompany(new Company("DashCo", "desc", "IT", "addr"));
+        Department engineering = companyService.addDepartmentToCompany(company.getId(), new Department("Engineering", "desc", "HQ"));
+        companyService.addDepartmentToCompany(company.getId(), new Department("Sales", "desc", "HQ"));
+
+        FullTimeEmployee alice = new FullTimeEmployee("Alice", "Smith", "alice@dash.com", LocalDate.of(2020, 1, 15), new BigDecimal("90000"), new BigDecimal("5000"));
+        alice.setDepartment(engineering);
+        employeeService.createFullTimeEmployee(alice);
+        PartTimeEmployee bob = new PartTimeEmployee("Bob", "Jones", "bob@dash.com", LocalDate.of(2021, 3, 1), new BigDecimal("30000"), 20);
+        bob.setContractEndDate(LocalDate.now().minusDays(1));
+        bob.setDepartment(engineering);
+        employeeService.createPartTimeEmployee(bob);
+        PartTimeEmployee carol = new PartTimeEmployee("Carol", "White", "carol@dash.com", LocalDate.of(2022, 6, 1), new BigDecimal("25000"), 15);
+        carol.setContractEndDate(LocalDate.now().plusYears(1));
+        carol.setDepartment(engineering);
+        employeeService.createPartTimeEmployee(carol);
+
+        Company other = companyService.createCompany(new Company("OtherCo", "desc", "IT", "addr"));
+        Department otherDepartment = companyService.addDepartmentToCompany(other.getId(), new Department("Ops", "desc", "HQ"));
+        PartTimeEmployee dave = new PartTimeEmployee("Dave", "Brown", "dave@other.com", LocalDate.of(2021, 1, 1), new BigDecimal("20000"), 10);
+        dave.setContractEndDate(LocalDate.now().minusDays(10));
+        dave.setDepartment(otherDepartment);
+        employeeService.createPartTimeEmployee(dave);
+    }
+
+    @Test
+    void testDashboardCombinesEveryPartForTheCompany() {
+        CompanyDashboard dashboard = companyDashboardService.getDashboard(company.getId()).orElseThrow();
+
+        assertEquals("DashCo", dashboard.company().name());
+        assertEquals(2, dashboard.departments().size());
+        assertEquals(3, dashboard.employeeCount());
+        assertEquals(List.of("alice@dash.com"), emails(dashboard.fullTimeEmployees()));
+        assertEquals(List.of("bob@dash.com", "carol@dash.com"), emails(dashboard.partTimeEmployees()));
+        assertEquals(List.of("bob@dash.com"), emails(dashboard.expiredContracts()));
+        assertTrue(dashboard.unavailable().isEmpty());
+    }
+
+    @Test
+    void testMissingCompanyHasNoDashboard() {
+        assertTrue(companyDashboardService.getDashboard(-1L).isEmpty());
+    }
+
+    @Test
+    void testSlowPartIsLeftOutAfterTimeout() {
+        CompanyService slowDepartments = new CompanyService(companyRepository, departmentRepository, orgStatsService,
+                nameSearchIndex, outboxService, eventPublisher) {
+            @Override
+            public List<Department> getDepartmentsByCompanyId(Long companyId) {
+                try {
+                    Thread.sleep(10_000);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.getDepartmentsByCompanyId(companyId);
+            }
+        };
+        CompanyDashboardService dashboardService = new CompanyDashboardService(slowDepartments, employeeService, entityManager,
+                transactionManager, 4, 16, 1000);
+        try {
+            long started = System.nanoTime();
+            CompanyDashboard dashboard = dashboardService.getDashboard(company.getId()).orElseThrow();
+
+            assertTrue(System.nanoTime() - started < 5_000_000_000L);
+            assertNull(dashboard.departments());
+            assertEquals(List.of("departments"), dashboard.unavailable());
+            assertEquals("DashCo", dashboard.company().name());
+            assertEquals(3, dashboard.employeeCount());
+        } finally {
+            dashboardService.shutdown();
+        }
+    }
+
+    @Test
+    void testSlowStatementIsStoppedAtTheDeadline() throws Exception {
+        CompletableFuture<RuntimeException> stopped = new CompletableFuture<>();
+        CompanyService slowDepartments = new CompanyService(companyRepository, departmentRepository, orgStatsService,
+                nameSearchIndex, outboxService, eventPublisher) {
+            @Override
+            public List<Department> getDepartmentsByCompanyId(Long companyId) {
+                try {
+                    // Runs for minutes unless the database cancels it
+                    entityManager.createNativeQuery("SELECT SUM(X) FROM SYSTEM_RANGE(1, 100000000000)").getSingleResult();
+                } catch (RuntimeException e) {
+                    stopped.complete(e);
+                    throw e;
+                }
+                return super.getDepartmentsByCompanyId(companyId);
+            }
+        };
+        CompanyDashboardService dashboardService = new CompanyDashboardService(slowDepartments, employeeService, entityManager,
+                transactionManager, 4, 16, 500);
+        try {
+            long started = System.nanoTime();
+            assertEquals(List.of("departments"), dashboardService.getDashboard(company.getId()).orElseThrow().unavailable());
+
+            assertInstanceOf(QueryTimeoutException.class, stopped.get(10, TimeUnit.SECONDS));
+            assertTrue(System.nanoTime() - started < 5_000_000_000L);
+        } finally {
+            dashboardService.shutdown();
+        }
+    }
+
+    private static List<String> emails(List<EmployeeView> employees) {
+        return employees.stream().map(EmployeeView::email).sorted().toList();
+    }
+}
@@ -1,13 +1,18 @@
 package com.company.service;
 
+import com.company.cache.OrgCache;
 import com.company.entity.Company;
 import com.company.entity.Department;
+import com.company.index.NameSearchIndex;
 import com.company.repository.CompanyRepository;
 import com.company.repository.DepartmentRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.JdbcTemplateAutoConfiguration;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.context.annotation.Import;
 import org.springframework.dao.DataIntegrityViolationException;
 
@@ -17,7 +22,8 @@ import java.util.Optional;
 import static org.junit.jupiter.api.Assertions.*;
 
 @DataJpaTest
-@Import(CompanyService.class)
+@Import({CompanyService.class, OrgDeletionService.class, OrgStatsService.class, NameSearchIndex.class, OutboxService.class, OutboxBatchWriter.class, OrgCache.class})
+@ImportAutoConfiguration(JdbcTemplateAutoConfiguration.class)
 class CompanyServiceTest {
 
     @Autowired
@@ -26,6 +32,10 @@ class CompanyServiceTest {
     private DepartmentRepository departmentRepository;
     @Autowired
     private CompanyService companyService;
+    @Autowired
+    private OrgDeletionService orgDeletionService;
+    @Autowired
+    private TestEntityManager entityManager;
 
     @BeforeEach
     void setUp() {
@@ -66,7 +76,10 @@ class CompanyServiceTest {
     void testDeleteCompany() {
         Company company = companyService.createCompany(new Company("DeleteCo", "desc", "IT", "addr"));
         Long id = company.getId();
-        companyService.deleteCompany(id);
+        entityManager.flush();
+        orgDeletionService.deleteCompany(id, false);
+        // Deleted on JDBC, behind the persistence context
+        entityManager.clear();
         assertFalse(companyService.getCompanyById(id).isPresent());
     }
 }
\ No newline at end of file
@@ -0,0 +1,117 @@
+package com.company.service;
+
+import com.company.dto.CompanyTree;
+import com.company.dto.CompanyTree.DepartmentNode;
+import com.company.entity.*;
+import com.company.index.EmailIndex;
+import com.company.index.NameSearchIndex;
+import com.company.index.SalaryIndex;
+import com.company.repository.CompanyRepository;
+import com.company.repository.DepartmentRepository;
+import com.company.repository.EmployeeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import({CompanyTreeService.class, EmployeeService.class, CompanyService.class, OrgStatsService.class, EmailUniquenessService.class, EmailIndex.class, NameSearchIndex.class, SalaryIndex.class, JacksonAutoConfiguration.class, OutboxService.class})
+class CompanyTreeServiceTest {
+
+    @Autowired
+    private CompanyRepository companyRepository;
+    @Autowired
+    private DepartmentRepository departmentRepository;
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    @Autowired
+    private CompanyTreeService companyTreeService;
+    @Autowired
+    private EmployeeService employeeService;
+    @Autowired
+    private CompanyService companyService;
+
+    private Company company;
+    private Department engineering;
+    private Department sales;
+    private Department support;
+
+    @BeforeEach
+    void setUp() {
+        employeeRepository.deleteAll();
+        departmentRepository.deleteAll();
+        companyRepository.deleteAll();
+        company = companyService.createCompany(new Company("TreeCo", "desc", "IT", "addr"));
+        engineering = companyService.addDepartmentToCompany(company.getId(), new Department("Engineering", "desc", "HQ"));
+        sales = companyService.addDepartmentToCompany(company.getId(), new Department("Sales", "desc", "HQ"));
+        support = companyService.addDepartmentToCompany(company.getId(), new Department("Support", "desc", "Remote"));
+        for (int i = 0; i < 2; i++) {
+            FullTimeEmployee ft = new FullTimeEmployee("Full" + i, "Time", "ft" + i + "@tree.com", LocalDate.of(2020, 1, 1), new BigDecimal("80000"), new BigDecimal("2000"));
+            ft.setDepartment(engineering);
+            employeeService.createFullTimeEmployee(ft);
+        }
+        PartTimeEmployee pt = new PartTimeEmployee("Part", "Time", "pt@tree.com", LocalDate.of(2021, 1, 1), new BigDecimal("20000"), 20);
+        pt.setDepartment(sales);
+        employeeService.createPartTimeEmployee(pt);
+
+        Company other = companyService.createCompany(new Company("OtherCo", "desc", "IT", "addr"));
+        Department elsewhere = companyService.addDepartmentToCompany(other.getId(), new Department("Elsewhere", "desc", "HQ"));
+        FullTimeEmployee outsider = new FullTimeEmployee("Out", "Sider", "out@tree.com", LocalDate.of(2020, 1, 1), new BigDecimal("50000"), new BigDecimal("1000"));
+        outsider.setDepartment(elsewhere);
+        employeeService.createFullTimeEmployee(outsider);
+    }
+
+    @Test
+    void testTreeGroupsEmployeesUnderTheirDepartments() {
+        CompanyTree tree = companyTreeService.getCompanyTree(company.getId()).orElseThrow();
+        assertEquals("TreeCo", tree.company().name());
+        assertEquals(3, tree.departments().size());
+
+        DepartmentNode first = tree.departments().get(0);
+        assertEquals(engineering.getId(), first.department().id());
+        assertEquals(2, first.employees().size());
+        assertTrue(first.employees().get(0).id() < first.employees().get(1).id());
+        assertEquals("Engineering", first.employees().get(0).departmentName());
+
+        assertEquals(sales.getId(), tree.departments().get(1).department().id());
+        assertEquals("pt@tree.com", tree.departments().get(1).employees().get(0).email());
+        assertEquals(support.getId(), tree.departments().get(2).department().id());
+        assertTrue(tree.departments().get(2).employees().isEmpty());
+    }
+
+    @Test
+    void testTreeOfCompanyWithoutDepartments() {
+        Company empty = companyService.createCompany(new Company("EmptyCo", "desc", "IT", "addr"));
+        CompanyTree tree = companyTreeService.getCompanyTree(empty.getId()).orElseThrow();
+        assertEquals("EmptyCo", tree.company().name());
+        assertTrue(tree.departments().isEmpty());
+    }
+
+    @Test
+    void testTreeOfUnknownCompanyIsEmpty() {
+        assertTrue(companyTreeService.getCompanyTree(-1L).isEmpty());
+    }
+
+    @Test
+    void testWriteNestsDepartmentsAndEmployeesUnderCompanyFields() throws Exception {
+        CompanyTree tree = companyTreeService.getCompanyTree(company.getId()).orElseThrow();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        companyTreeService.writeCompanyTree(tree, out);
+        String json = out.toString(StandardCharsets.UTF_8);
+        assertTrue(json.startsWith("{\"id\":" + company.getId() + ",\"name\":\"TreeCo\""));
+        assertTrue(json.contains("\"departments\":[{\"id\":" + engineering.getId() + ",\"name\":\"Engineering\""));
+        assertTrue(json.contains("\"employees\":[{\"id\":"));
+        assertTrue(json.contains("\"hoursPerWeek\":20"));
+        assertFalse(json.contains("out@tree.com"));
+        assertFalse(json.contains("\"company\""));
+    }
+}
@@ -1,15 +1,21 @@
 package com.company.service;
 
+import com.company.cache.OrgCache;
 import com.company.entity.Company;
 import com.company.entity.Department;
 import com.company.entity.Employee;
+import com.company.index.EmailIndex;
+import com.company.index.NameSearchIndex;
 import com.company.repository.CompanyRepository;
 import com.company.repository.DepartmentRepository;
 import com.company.repository.EmployeeRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.JdbcTemplateAutoConfiguration;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.context.annotation.Import;
 
 import java.util.List;
@@ -17,7 +23,8 @@ import java.util.List;
 import static org.junit.jupiter.api.Assertions.*;
 
 @DataJpaTest
-@Import({DepartmentService.class, CompanyService.class})
+@Import({DepartmentService.class, CompanyService.class, OrgDeletionService.class, OutboxBatchWriter.class, OrgCache.class, OrgStatsService.class, EmailUniquenessService.class, EmailIndex.class, NameSearchIndex.class, OutboxService.class})
+@ImportAutoConfiguration(JdbcTemplateAutoConfiguration.class)
 class DepartmentServiceTest {
 
     @Autowired
@@ -30,6 +37,10 @@ class DepartmentServiceTest {
     private DepartmentService departmentService;
     @Autowired
     private CompanyService companyService;
+    @Autowired
+    private OrgDeletionService orgDeletionService;
+    @Autowired
+    private TestEntityManager entityManager;
 
     private Company company;
 
@@ -78,7 +89,10 @@ class DepartmentServiceTest {
         Department department = new Department("DeleteDept", "desc", "HQ");
         department.setCompany(company);
         Department saved = departmentService.createDepartment(department);
-        departmentService.deleteDepartment(saved.getId());
+        entityManager.flush();
+        orgDeletionService.deleteDepartment(saved.getId(), false);
+        // Deleted on JDBC, behind the persistence context
+        entityManager.clear();
         assertFalse(departmentService.getDepartmentById(saved.getId()).isPresent());
     }
 }
\ No newline at end of file
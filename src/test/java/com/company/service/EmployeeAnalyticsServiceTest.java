@@ -0,0 +1,227 @@
+package com.company.service;
+
+import com.company.analytics.AnalyticsQuery;
+import com.company.analytics.AnalyticsQuery.Dimension;
+import com.company.analytics.AnalyticsQuery.Filter;
+import com.company.analytics.AnalyticsQuery.Metric;
+import com.company.analytics.EmployeeColumns;
+import com.company.dto.AnalyticsResult;
+import com.company.entity.*;
+import com.company.event.OrgChangeEvent;
+import com.company.event.OrgChangeEvent.EntityType;
+import com.company.index.EmailIndex;
+import com.company.index.NameSearchIndex;
+import com.company.index.SalaryIndex;
+import com.company.repository.CompanyRepository;
+import com.company.repository.DepartmentRepository;
+import com.company.repository.EmployeeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.JdbcTemplateAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares column-store aggregates with the same grouping done over loaded entities.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({EmployeeAnalyticsService.class, SyntheticDataGenerator.class, OrgStatsService.class, EmployeeService.class, EmailUniquenessService.class, EmailIndex.class, NameSearchIndex.class, SalaryIndex.class, OutboxService.class})
+@ImportAutoConfiguration(JdbcTemplateAutoConfiguration.class)
+@TestPropertySource(properties = "company.analytics.enabled=true")
+class EmployeeAnalyticsServiceTest {
+
+    @Autowired
+    private CompanyRepository companyRepository;
+    @Autowired
+    private DepartmentRepository departmentRepository;
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    @Autowired
+    private SyntheticDataGenerator generator;
+    @Autowired
+    private EmployeeAnalyticsService analyticsService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private List<Employee> employees;
+
+    @BeforeEach
+    void setUp() {
+        employeeRepository.deleteAll();
+        departmentRepository.deleteAll();
+        companyRepository.deleteAll();
+        jdbcTemplate.execute("DELETE FROM department_stats");
+        jdbcTemplate.execute("DELETE FROM company_stats");
+        generator.load(new SyntheticDataGenerator.Spec(3, 4, 2000, 0.3, 0.8, 13, LocalDate.of(2025, 1, 1)));
+        analyticsService.rebuild();
+        employees = employeeRepository.findAll();
+    }
+
+    @Test
+    void testSalaryByJobTitleWithinDepartment() {
+        Long departmentId = employees.get(0).getDepartment().getId();
+        AnalyticsResult result = analyticsService.query(new AnalyticsQuery(
+                new Filter(null, departmentId, null, null, null, null, null, null, null, null),
+                List.of(Dimension.JOB_TITLE),
+                List.of(Metric.COUNT, Metric.fromParam("sum:salary"), Metric.fromParam("avg:salary"),
+                        Metric.fromParam("min:salary"), Metric.fromParam("max:salary"))));
+
+        List<Employee> inDepartment = employees.stream().filter(e -> e.getDepartment().getId().equals(departmentId)).toList();
+        Map<String, List<Employee>> byTitle = inDepartment.stream().collect(Collectors.groupingBy(Employee::getJobTitle, TreeMap::new, Collectors.toList()));
+        assertEquals(inDepartment.size(), result.rowsScanned());
+        assertEquals(inDepartment.size(), result.rowsMatched());
+        assertEquals(byTitle.size(), result.groups().size());
+        Iterator<Map.Entry<String, List<Employee>>> expected = byTitle.entrySet().iterator();
+        for (AnalyticsResult.Group group : result.groups()) {
+            Map.Entry<String, List<Employee>> title = expected.next();
+            List<BigDecimal> salaries = title.getValue().stream().map(Employee::getSalary).toList();
+            BigDecimal sum = salaries.stream().reduce(new BigDecimal("0.00"), BigDecimal::add);
+            assertEquals(title.getKey(), group.key().get("jobTitle"));
+            assertEquals((long) salaries.size(), group.metrics().get("count"));
+            assertEquals(sum, group.metrics().get("sum:salary"));
+            assertEquals(sum.divide(BigDecimal.valueOf(salaries.size()), 2, RoundingMode.HALF_UP), group.metrics().get("avg:salary"));
+            assertEquals(Collections.min(salaries), group.metrics().get("min:salary"));
+            assertEquals(Collections.max(salaries), group.metrics().get("max:salary"));
+        }
+    }
+
+    @Test
+    void testHeadcountByHireYearPerCompany() {
+        AnalyticsResult result = analyticsService.query(new AnalyticsQuery(Filter.NONE,
+                List.of(Dimension.COMPANY, Dimension.HIRE_YEAR), List.of(Metric.COUNT)));
+
+        Map<List<Object>, Long> expected = count(employees, e -> List.of(e.getDepartment().getCompany().getId(), e.getHireDate().getYear()));
+        assertEquals(expected, counts(result, "company", "hireYear"));
+        assertEquals(employees.size(), result.rowsMatched());
+        List<List<Object>> keys = result.groups().stream().map(g -> List.copyOf(g.key().values())).toList();
+        assertEquals(new ArrayList<>(expected.keySet()), keys);
+    }
+
+    @Test
+    void testPartTimeHoursDistribution() {
+        AnalyticsResult result = analyticsService.query(new AnalyticsQuery(
+                new Filter(null, null, "PART_TIME", null, null, null, null, null, null, null),
+                List.of(Dimension.HOURS_PER_WEEK), List.of(Metric.COUNT, Metric.fromParam("avg:salary"))));
+
+        List<Employee> partTime = employees.stream().filter(PartTimeEmployee.class::isInstance).toList();
+        assertEquals(count(partTime, e -> List.of(((PartTimeEmployee) e).getHoursPerWeek())), counts(result, "hoursPerWeek"));
+        assertEquals(partTime.size(), result.rowsMatched());
+    }
+
+    @Test
+    void testRangeFiltersAreInclusive() {
+        // The bounds come from one full-time employee, so at least that row sits on both edges
+        Employee edge = employees.stream().filter(FullTimeEmployee.class::isInstance).findFirst().orElseThrow();
+        BigDecimal minSalary = edge.getSalary();
+        BigDecimal maxSalary = edge.getSalary().add(new BigDecimal("20000"));
+        LocalDate hiredFrom = edge.getHireDate();
+        AnalyticsResult result = analyticsService.query(new AnalyticsQuery(
+                new Filter(null, null, "FULL_TIME", null, hiredFrom, null, minSalary, maxSalary, null, null),
+                List.of(Dimension.TYPE), List.of(Metric.COUNT, Metric.fromParam("sum:bonus"))));
+
+        List<FullTimeEmployee> expected = employees.stream()
+                .filter(FullTimeEmployee.class::isInstance).map(FullTimeEmployee.class::cast)
+                .filter(e -> !e.getHireDate().isBefore(hiredFrom))
+                .filter(e -> e.getSalary().compareTo(minSalary) >= 0 && e.getSalary().compareTo(maxSalary) <= 0)
+                .toList();
+        assertEquals(1, result.groups().size());
+        assertEquals("FULL_TIME", result.groups().get(0).key().get("type"));
+        assertEquals((long) expected.size(), result.groups().get(0).metrics().get("count"));
+        assertEquals(expected.stream().map(FullTimeEmployee::getAnnualBonus).reduce(new BigDecimal("0.00"), BigDecimal::add),
+                result.groups().get(0).metrics().get("sum:bonus"));
+    }
+
+    @Test
+    void testUnknownFilterValuesMatchNothing() {
+        assertTrue(analyticsService.query(new AnalyticsQuery(new Filter(-1L, null, null, null, null, null, null, null, null, null),
+                List.of(), List.of(Metric.COUNT))).groups().isEmpty());
+        assertTrue(analyticsService.query(new AnalyticsQuery(new Filter(null, null, null, "No Such Title", null, null, null, null, null, null),
+                List.of(), List.of(Metric.COUNT))).groups().isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> Metric.fromParam("median:salary"));
+        assertThrows(IllegalArgumentException.class, () -> Metric.fromParam("sum"));
+        assertThrows(IllegalArgumentException.class, () -> Dimension.fromParam("email"));
+    }
+
+    @Test
+    void testAppliedChangesMatchAReload() {
+        Employee moved = employees.get(0);
+        Employee deleted = employees.get(1);
+        Department target = employees.stream().map(Employee::getDepartment)
+                .filter(d -> !d.getId().equals(moved.getDepartment().getId())).findFirst().orElseThrow();
+        FullTimeEmployee hired = new FullTimeEmployee("Delta", "Hire", "delta@analytics.com", moved.getHireDate(),
+                new BigDecimal("91234.56"), new BigDecimal("1500"));
+        hired.setJobTitle(deleted.getJobTitle());
+        hired.setDepartment(target);
+        hired = employeeRepository.save(hired);
+        jdbcTemplate.update("UPDATE employees SET department_id = ?, salary = salary + 1000 WHERE id = ?", target.getId(), moved.getId());
+        employeeRepository.deleteById(deleted.getId());
+
+        EmployeeColumns applied = analyticsService.apply(List.of(OrgChangeEvent.created(EntityType.EMPLOYEE, hired.getId()),
+                OrgChangeEvent.updated(EntityType.EMPLOYEE, moved.getId()), OrgChangeEvent.deleted(EntityType.EMPLOYEE, deleted.getId())));
+        EmployeeColumns reloaded = analyticsService.rebuild();
+
+        AnalyticsQuery query = new AnalyticsQuery(Filter.NONE, List.of(Dimension.COMPANY, Dimension.DEPARTMENT, Dimension.JOB_TITLE, Dimension.TYPE),
+                List.of(Metric.COUNT, Metric.fromParam("sum:salary"), Metric.fromParam("sum:bonus")));
+        AnalyticsResult expected = reloaded.aggregate(query);
+        AnalyticsResult actual = applied.aggregate(query);
+        assertEquals(employees.size(), actual.rowsMatched());
+        assertEquals(expected.rowsMatched(), actual.rowsMatched());
+        assertEquals(expected.groups(), actual.groups());
+    }
+
+    @Test
+    void testManyGroupsUseSparseSlots() {
+        Random random = new Random(21);
+        EmployeeColumns.Builder builder = new EmployeeColumns.Builder().addCompany(1);
+        for (long d = 1; d <= 300; d++) {
+            builder.addDepartment(d, 1);
+        }
+        Map<List<Object>, Long> expected = new TreeMap<>(Comparator.<List<Object>, Long>comparing(key -> (Long) key.get(0))
+                .thenComparing(key -> (String) key.get(1)));
+        for (int i = 0; i < 5000; i++) {
+            long department = 1 + random.nextInt(300);
+            String title = "Title " + (1000 + random.nextInt(300));
+            builder.addEmployee(i, department, false, title, 100_000, LocalDate.of(2020, 1, 1), 0, 0);
+            expected.merge(List.of(department, title), 1L, Long::sum);
+        }
+        AnalyticsResult result = builder.build(1).aggregate(new AnalyticsQuery(Filter.NONE,
+                List.of(Dimension.DEPARTMENT, Dimension.JOB_TITLE), List.of(Metric.COUNT)));
+
+        assertEquals(expected, counts(result, "department", "jobTitle"));
+        assertEquals(new ArrayList<>(expected.keySet()),
+                result.groups().stream().map(g -> List.copyOf(g.key().values())).toList());
+    }
+
+    private static Map<List<Object>, Long> count(List<Employee> employees, Function<Employee, List<Object>> key) {
+        Map<List<Object>, Long> counts = new LinkedHashMap<>();
+        employees.stream().map(key)
+                .sorted(Comparator.comparing((List<Object> k) -> ((Number) k.get(0)).longValue())
+                        .thenComparing(k -> k.size() > 1 ? ((Number) k.get(1)).longValue() : 0))
+                .forEach(k -> counts.merge(k, 1L, Long::sum));
+        return counts;
+    }
+
+    private static Map<List<Object>, Long> counts(AnalyticsResult result, String... dimensions) {
+        Map<List<Object>, Long> counts = new LinkedHashMap<>();
+        for (AnalyticsResult.Group group : result.groups()) {
+            counts.put(Arrays.stream(dimensions).map(group.key()::get).toList(), (Long) group.metrics().get("count"));
+        }
+        return counts;
+    }
+}
@@ -0,0 +1,85 @@
+package com.company.service;
+
+import com.company.entity.*;
+import com.company.index.EmailIndex;
+import com.company.index.NameSearchIndex;
+import com.company.index.SalaryIndex;
+import com.company.repository.CompanyRepository;
+import com.company.repository.DepartmentRepository;
+import com.company.repository.EmployeeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "company.export.clear-interval=2")
+@Import({EmployeeExportService.class, EmployeeService.class, DepartmentService.class, CompanyService.class, OrgStatsService.class, EmailUniquenessService.class, EmailIndex.class, NameSearchIndex.class, SalaryIndex.class, JacksonAutoConfiguration.class, OutboxService.class})
+class EmployeeExportServiceTest {
+
+    @Autowired
+    private CompanyRepository companyRepository;
+    @Autowired
+    private DepartmentRepository departmentRepository;
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    @Autowired
+    private EmployeeExportService employeeExportService;
+    @Autowired
+    private EmployeeService employeeService;
+    @Autowired
+    private CompanyService companyService;
+
+    private Department engineering;
+    private Department sales;
+
+    @BeforeEach
+    void setUp() {
+        employeeRepository.deleteAll();
+        departmentRepository.deleteAll();
+        companyRepository.deleteAll();
+        Company company = companyService.createCompany(new Company("ExportCo", "desc", "IT", "addr"));
+        engineering = companyService.addDepartmentToCompany(company.getId(), new Department("Engineering", "desc", "HQ"));
+        sales = companyService.addDepartmentToCompany(company.getId(), new Department("Sales", "desc", "HQ"));
+        for (int i = 0; i < 3; i++) {
+            FullTimeEmployee ft = new FullTimeEmployee("Full" + i, "Time", "ft" + i + "@company.com", LocalDate.of(2020, 1, 1), new BigDecimal("80000"), new BigDecimal("2000"));
+            ft.setDepartment(engineering);
+            employeeService.createFullTimeEmployee(ft);
+        }
+        PartTimeEmployee pt = new PartTimeEmployee("Part", "Time", "pt@company.com", LocalDate.of(2021, 1, 1), new BigDecimal("20000"), 20);
+        pt.setDepartment(sales);
+        employeeService.createPartTimeEmployee(pt);
+    }
+
+    @Test
+    void testExportWritesOneLinePerEmployee() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long written = employeeExportService.exportEmployees(null, null, null, out);
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(4, written);
+        assertEquals(4, lines.length);
+        assertTrue(lines[0].startsWith("{") && lines[0].contains("\"email\":\"ft0@company.com\""));
+        assertTrue(lines[0].contains("\"hireDate\":\"2020-01-01\""));
+        assertFalse(lines[0].contains("hoursPerWeek"));
+    }
+
+    @Test
+    void testExportAppliesFilters() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertEquals(1, employeeExportService.exportEmployees(null, null, "PART_TIME", out));
+        assertTrue(out.toString(StandardCharsets.UTF_8).contains("\"hoursPerWeek\":20"));
+        assertEquals(3, employeeExportService.exportEmployees(null, engineering.getId(), null, new ByteArrayOutputStream()));
+        assertEquals(0, employeeExportService.exportEmployees(-1L, null, null, new ByteArrayOutputStream()));
+        assertThrows(IllegalArgumentException.class, () ->
+            employeeExportService.exportEmployees(null, null, "CONTRACTOR", new ByteArrayOutputStream())
+        );
+    }
+}
@@ -1,6 +1,11 @@
 package com.company.service;
 
 import com.company.entity.*;
+import com.company.index.EmailIndex;
+import com.company.index.NameSearchIndex;
+import com.company.index.SalaryIndex;
+import com.company.pagination.CursorPage;
+import com.company.pagination.SortKey;
 import com.company.repository.CompanyRepository;
 import com.company.repository.DepartmentRepository;
 import com.company.repository.EmployeeRepository;
@@ -12,12 +17,13 @@ import org.springframework.context.annotation.Import;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
 @DataJpaTest
-@Import({EmployeeService.class, DepartmentService.class, CompanyService.class})
+@Import({EmployeeService.class, DepartmentService.class, CompanyService.class, OrgStatsService.class, EmailUniquenessService.class, EmailIndex.class, NameSearchIndex.class, SalaryIndex.class, OutboxService.class})
 class EmployeeServiceTest {
 
     @Autowired
@@ -32,6 +38,8 @@ class EmployeeServiceTest {
     private DepartmentService departmentService;
     @Autowired
     private CompanyService companyService;
+    @Autowired
+    private EmailIndex emailIndex;
 
     private Company company;
     private Department department;
@@ -83,6 +91,31 @@ class EmployeeServiceTest {
         assertThrows(IllegalArgumentException.class, () -> employeeService.createPartTimeEmployee(emp2));
     }
 
+    @Test
+    void testEmailIndexSkipsQueryAndConstraintStaysAuthoritative() {
+        FullTimeEmployee existing = new FullTimeEmployee("Erin", "Green", "erin@company.com", LocalDate.now(), new BigDecimal("80000"), new BigDecimal("4000"));
+        existing.setDepartment(department);
+        employeeService.createFullTimeEmployee(existing);
+        emailIndex.rebuild();
+
+        assertTrue(emailIndex.mightContain("erin@company.com"));
+        assertFalse(emailIndex.mightContain("nobody@company.com"));
+        PartTimeEmployee duplicate = new PartTimeEmployee("Erin", "Green", "erin@company.com", LocalDate.now(), new BigDecimal("20000"), 10);
+        duplicate.setDepartment(department);
+        assertThrows(IllegalArgumentException.class, () -> employeeService.createPartTimeEmployee(duplicate));
+
+        // Written behind the index's back, as a concurrent insert would be
+        PartTimeEmployee concurrent = new PartTimeEmployee("Finn", "Gray", "finn@company.com", LocalDate.now(), new BigDecimal("20000"), 10);
+        concurrent.setDepartment(department);
+        employeeRepository.saveAndFlush(concurrent);
+        assertFalse(emailIndex.mightContain("finn@company.com"));
+
+        FullTimeEmployee racing = new FullTimeEmployee("Finn", "Gray", "finn@company.com", LocalDate.now(), new BigDecimal("80000"), new BigDecimal("4000"));
+        racing.setDepartment(department);
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> employeeService.createFullTimeEmployee(racing));
+        assertEquals("Employee with email 'finn@company.com' already exists", e.getMessage());
+    }
+
     @Test
     void testDeleteEmployee() {
         FullTimeEmployee emp = new FullTimeEmployee("Dave", "Brown", "dave@company.com", LocalDate.now(), new BigDecimal("70000"), new BigDecimal("3000"));
@@ -91,4 +124,67 @@ class EmployeeServiceTest {
         employeeService.deleteEmployee(saved.getId());
         assertFalse(employeeService.getEmployeeById(saved.getId()).isPresent());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testKeysetPaginationVisitsEveryEmployeeOnce() {
+        for (int i = 0; i < 5; i++) {
+            FullTimeEmployee emp = new FullTimeEmployee("Emp" + i, "Paged", "paged" + i + "@company.com", LocalDate.now(), new BigDecimal("50000"), new BigDecimal("1000"));
+            emp.setDepartment(department);
+            employeeService.createFullTimeEmployee(emp);
+        }
+
+        for (SortKey sortKey : SortKey.values()) {
+            List<String> emails = new ArrayList<>();
+            String cursor = "";
+            int pages = 0;
+            do {
+                CursorPage<Employee> page = employeeService.getEmployeesByDepartmentIdPage(department.getId(), cursor, sortKey, 2);
+                page.getItems().forEach(e -> emails.add(e.getEmail()));
+                cursor = page.getNextCursor();
+                pages++;
+            } while (cursor != null);
+            assertEquals(5, emails.size());
+            assertEquals(5, emails.stream().distinct().count());
+            assertEquals(3, pages);
+        }
+    }
+
+    @Test
+    void testKeysetCursorRejectsMismatchedSortKey() {
+        for (int i = 0; i < 3; i++) {
+            PartTimeEmployee emp = new PartTimeEmployee("Emp" + i, "Cursor", "cursor" + i + "@company.com", LocalDate.now(), new BigDecimal("20000"), 20);
+            emp.setDepartment(department);
+            employeeService.createPartTimeEmployee(emp);
+        }
+        CursorPage<Employee> first = employeeService.getEmployeesPage("", SortKey.ID, 1);
+        assertNotNull(first.getNextCursor());
+        assertThrows(IllegalArgumentException.class, () ->
+            employeeService.getEmployeesPage(first.getNextCursor(), SortKey.CREATED_AT, 1)
+        );
+        assertThrows(IllegalArgumentException.class, () ->
+            employeeService.getEmployeesPage("not-a-cursor", SortKey.ID, 1)
+        );
+    }
+
+    @Test
+    void testEmployeeCounts() {
+        Department sales = new Department("Sales", "desc", "HQ");
+        sales.setCompany(company);
+        sales = departmentService.createDepartment(sales);
+        for (int i = 0; i < 3; i++) {
+            FullTimeEmployee emp = new FullTimeEmployee("Emp" + i, "Count", "count" + i + "@company.com", LocalDate.now(), new BigDecimal("50000"), new BigDecimal("1000"));
+            emp.setDepartment(i == 0 ? sales : department);
+            employeeService.createFullTimeEmployee(emp);
+        }
+
+        assertEquals(2, employeeService.getEmployeeCountByDepartmentId(department.getId()));
+        assertEquals(1, departmentService.getEmployeeCountByDepartmentId(sales.getId()));
+        assertEquals(3, employeeService.getEmployeeCountByCompanyId(company.getId()));
+
+        var byDepartment = employeeService.getEmployeeCountsByDepartmentIds(List.of(department.getId(), sales.getId(), -1L));
+        assertEquals(2L, byDepartment.get(department.getId()));
+        assertEquals(1L, byDepartment.get(sales.getId()));
+        assertEquals(0L, byDepartment.get(-1L));
+        assertEquals(3L, employeeService.getEmployeeCountsByCompanyIds(List.of(company.getId())).get(company.getId()));
+    }
+}
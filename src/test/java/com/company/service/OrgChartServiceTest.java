@@ -0,0 +1,203 @@
+package com.company.service;
+
+import com.company.dto.CompanySummary;
+import com.company.dto.DepartmentView;
+import com.company.dto.EmployeeSummary;
+import com.company.dto.EmployeeView;
+import com.company.entity.*;
+import com.company.event.OrgChangeEvent;
+import com.company.event.OrgChangeEvent.EntityType;
+import com.company.index.EmailIndex;
+import com.company.index.NameSearchIndex;
+import com.company.index.SalaryIndex;
+import com.company.repository.CompanyRepository;
+import com.company.repository.DepartmentRepository;
+import com.company.repository.EmployeeRepository;
+import com.company.snapshot.OrgChartSnapshot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import({OrgChartService.class, OrgStatsService.class, EmailUniquenessService.class, EmailIndex.class, NameSearchIndex.class, SalaryIndex.class, EmployeeService.class, CompanyService.class, OutboxService.class})
+@TestPropertySource(properties = "company.snapshot.enabled=true")
+class OrgChartServiceTest {
+
+    @Autowired
+    private CompanyRepository companyRepository;
+    @Autowired
+    private DepartmentRepository departmentRepository;
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    @Autowired
+    private OrgChartService orgChartService;
+    @Autowired
+    private EmployeeService employeeService;
+    @Autowired
+    private CompanyService companyService;
+
+    private Company company;
+    private Department engineering;
+    private Department sales;
+
+    @BeforeEach
+    void setUp() {
+        employeeRepository.deleteAll();
+        departmentRepository.deleteAll();
+        companyRepository.deleteAll();
+        company = companyService.createCompany(new Company("SnapCo", "desc", "IT", "addr"));
+        engineering = companyService.addDepartmentToCompany(company.getId(), new Department("Engineering", "desc", "HQ"));
+        sales = companyService.addDepartmentToCompany(company.getId(), new Department("Sales", "desc", "HQ"));
+    }
+
+    @Test
+    void testRebuildServesLookups() {
+        FullTimeEmployee alice = new FullTimeEmployee("Alice", "Smith", "alice@company.com", LocalDate.of(2020, 1, 15), new BigDecimal("90000.50"), new BigDecimal("5000"));
+        alice.setDepartment(engineering);
+        alice = employeeService.createFullTimeEmployee(alice);
+        PartTimeEmployee bob = new PartTimeEmployee("Bob", "Jones", "bob@company.com", LocalDate.of(2021, 6, 1), new BigDecimal("30000"), 20);
+        bob.setDepartment(sales);
+        bob = employeeService.createPartTimeEmployee(bob);
+
+        OrgChartSnapshot snapshot = orgChartService.rebuild();
+        assertSame(snapshot, orgChartService.currentSnapshot().orElseThrow());
+
+        CompanySummary summary = snapshot.findCompany(company.getId()).orElseThrow();
+        assertEquals("SnapCo", summary.name());
+        assertEquals(2, summary.headcount());
+        assertEquals(2, summary.departments().size());
+
+        EmployeeSummary found = snapshot.findEmployee(alice.getId()).orElseThrow();
+        assertEquals("FULL_TIME", found.employeeType());
+        assertEquals(0, new BigDecimal("90000.50").compareTo(found.salary()));
+        assertEquals(LocalDate.of(2020, 1, 15), found.hireDate());
+        assertEquals(engineering.getId(), found.departmentId());
+        assertEquals(company.getId(), found.companyId());
+
+        List<EmployeeSummary> inSales = snapshot.findEmployeesOfDepartment(sales.getId()).orElseThrow();
+        assertEquals(List.of(bob.getId()), inSales.stream().map(EmployeeSummary::id).toList());
+        assertEquals(2, snapshot.findEmployeesOfCompany(company.getId()).orElseThrow().size());
+        assertEquals(1, snapshot.findDepartmentHeadcount(engineering.getId()).getAsInt());
+        assertTrue(snapshot.findEmployee(-1L).isEmpty());
+        assertTrue(snapshot.findDepartment(-1L).isEmpty());
+    }
+
+    @Test
+    void testRebuildSwapsInNewVersion() {
+        OrgChartSnapshot first = orgChartService.rebuild();
+        assertEquals(0, first.getEmployeeCount());
+
+        PartTimeEmployee bob = new PartTimeEmployee("Bob", "Jones", "bob@company.com", LocalDate.now(), new BigDecimal("30000"), 20);
+        bob.setDepartment(sales);
+        employeeService.createPartTimeEmployee(bob);
+
+        OrgChartSnapshot second = orgChartService.rebuild();
+        assertTrue(second.getVersion() > first.getVersion());
+        assertEquals(1, second.getEmployeeCount());
+        assertEquals(0, first.getEmployeeCount());
+    }
+
+    @Test
+    void testSingleRowChangesAreAppliedCopyOnWrite() {
+        OrgChartSnapshot empty = orgChartService.rebuild();
+        FullTimeEmployee alice = new FullTimeEmployee("Alice", "Smith", "alice@company.com", LocalDate.of(2020, 1, 15), new BigDecimal("90000.50"), new BigDecimal("5000.00"));
+        alice.setPhone("555-0100");
+        alice.setDepartment(engineering);
+        alice = employeeService.createFullTimeEmployee(alice);
+        PartTimeEmployee bob = new PartTimeEmployee("Bob", "Jones", "bob@company.com", LocalDate.of(2021, 6, 1), new BigDecimal("30000.00"), 20);
+        bob.setDepartment(sales);
+        bob = employeeService.createPartTimeEmployee(bob);
+
+        OrgChartSnapshot created = orgChartService.apply(List.of(
+                OrgChangeEvent.created(EntityType.EMPLOYEE, alice.getId()), OrgChangeEvent.created(EntityType.EMPLOYEE, bob.getId())));
+        assertSame(created, orgChartService.currentSnapshot().orElseThrow());
+        assertTrue(created.getVersion() > empty.getVersion());
+        assertEquals(0, empty.getEmployeeCount());
+        assertEquals(EmployeeView.from(alice), created.findEmployeeView(alice.getId()).orElseThrow());
+        assertEquals(EmployeeView.from(bob), created.findEmployeeView(bob.getId()).orElseThrow());
+
+        // Engineering comes before sales, so this removes ahead of the insert and the next move after it
+        alice.setDepartment(sales);
+        employeeRepository.saveAndFlush(alice);
+        OrgChartSnapshot moved = orgChartService.apply(List.of(OrgChangeEvent.updated(EntityType.EMPLOYEE, alice.getId())));
+        assertEquals(List.of(alice.getId(), bob.getId()), ids(moved.findEmployeeViewsOfDepartment(sales.getId()).orElseThrow()));
+        assertEquals(0, moved.findDepartmentHeadcount(engineering.getId()).getAsInt());
+        assertEquals(engineering.getId(), created.findEmployeeView(alice.getId()).orElseThrow().departmentId());
+
+        bob.setDepartment(engineering);
+        employeeRepository.saveAndFlush(bob);
+        moved = orgChartService.apply(List.of(OrgChangeEvent.updated(EntityType.EMPLOYEE, bob.getId())));
+        assertEquals(List.of(bob.getId()), ids(moved.findEmployeeViewsOfDepartment(engineering.getId()).orElseThrow()));
+        assertEquals(List.of(alice.getId()), ids(moved.findEmployeeViewsOfDepartment(sales.getId()).orElseThrow()));
+        assertEquals(List.of(bob.getId(), alice.getId()), ids(moved.findEmployeeViewsOfCompany(company.getId()).orElseThrow()));
+        assertEquals("Engineering", moved.findEmployeeView(bob.getId()).orElseThrow().departmentName());
+
+        employeeRepository.delete(bob);
+        employeeRepository.flush();
+        OrgChartSnapshot deleted = orgChartService.apply(List.of(OrgChangeEvent.deleted(EntityType.EMPLOYEE, bob.getId())));
+        assertTrue(deleted.findEmployeeView(bob.getId()).isEmpty());
+        assertEquals(1, deleted.findCompanyHeadcount(company.getId()).getAsInt());
+        assertTrue(moved.findEmployeeView(bob.getId()).isPresent());
+    }
+
+    @Test
+    void testDepartmentAndCompanyChangesKeepEmployees() {
+        PartTimeEmployee bob = new PartTimeEmployee("Bob", "Jones", "bob@company.com", LocalDate.of(2021, 6, 1), new BigDecimal("30000.00"), 20);
+        bob.setDepartment(sales);
+        bob = employeeService.createPartTimeEmployee(bob);
+        orgChartService.rebuild();
+
+        Company other = companyService.createCompany(new Company("OtherCo", "desc", "IT", "addr"));
+        OrgChartSnapshot snapshot = orgChartService.apply(List.of(OrgChangeEvent.created(EntityType.COMPANY, other.getId())));
+        assertEquals("OtherCo", snapshot.findCompany(other.getId()).orElseThrow().name());
+
+        Department support = companyService.addDepartmentToCompany(other.getId(), new Department("Support", "desc", "Remote"));
+        sales.setName("Field Sales");
+        departmentRepository.saveAndFlush(sales);
+        snapshot = orgChartService.apply(List.of(OrgChangeEvent.created(EntityType.DEPARTMENT, support.getId()),
+                OrgChangeEvent.updated(EntityType.DEPARTMENT, sales.getId())));
+        assertEquals(DepartmentView.from(support), snapshot.findDepartmentView(support.getId()).orElseThrow());
+        assertEquals(List.of(engineering.getId(), sales.getId()),
+                snapshot.findDepartmentViewsOfCompany(company.getId()).orElseThrow().stream().map(DepartmentView::id).toList());
+        assertEquals("Field Sales", snapshot.findEmployeeView(bob.getId()).orElseThrow().departmentName());
+
+        departmentRepository.deleteById(support.getId());
+        departmentRepository.flush();
+        snapshot = orgChartService.apply(List.of(OrgChangeEvent.deleted(EntityType.DEPARTMENT, support.getId())));
+        assertTrue(snapshot.findDepartmentView(support.getId()).isEmpty());
+        assertEquals(0, snapshot.findCompanyHeadcount(other.getId()).getAsInt());
+        assertEquals(1, snapshot.getEmployeeCount());
+    }
+
+    @Test
+    void testUnknownParentOrBatchFallsBackToRebuild() {
+        orgChartService.rebuild();
+        Company other = companyService.createCompany(new Company("OtherCo", "desc", "IT", "addr"));
+        Department support = companyService.addDepartmentToCompany(other.getId(), new Department("Support", "desc", "Remote"));
+        PartTimeEmployee bob = new PartTimeEmployee("Bob", "Jones", "bob@company.com", LocalDate.of(2021, 6, 1), new BigDecimal("30000.00"), 20);
+        bob.setDepartment(support);
+        bob = employeeService.createPartTimeEmployee(bob);
+
+        // Only the employee's event arrives; its department is not in the snapshot yet
+        OrgChartSnapshot snapshot = orgChartService.apply(List.of(OrgChangeEvent.created(EntityType.EMPLOYEE, bob.getId())));
+        assertEquals(other.getId(), snapshot.findEmployeeView(bob.getId()).orElseThrow().companyId());
+
+        employeeRepository.delete(bob);
+        employeeRepository.flush();
+        snapshot = orgChartService.apply(List.of(OrgChangeEvent.updated(EntityType.EMPLOYEE, null)));
+        assertEquals(0, snapshot.getEmployeeCount());
+    }
+
+    private static List<Long> ids(List<EmployeeView> employees) {
+        return employees.stream().map(EmployeeView::id).toList();
+    }
+}
@@ -0,0 +1,156 @@
+package com.company.service;
+
+import com.company.cache.OrgCache;
+import com.company.dto.DeletionJobStatus;
+import com.company.dto.DeletionJobStatus.State;
+import com.company.entity.*;
+import com.company.event.OrgChangeEvent.ChangeType;
+import com.company.event.OrgChangeEvent.EntityType;
+import com.company.index.EmailIndex;
+import com.company.index.NameSearchIndex;
+import com.company.index.SalaryIndex;
+import com.company.repository.CompanyRepository;
+import com.company.repository.DepartmentRepository;
+import com.company.repository.EmployeeRepository;
+import com.company.repository.OutboxEventRepository;
+import com.company.repository.TombstoneRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.JdbcTemplateAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Every chunk commits on its own, so the fixture runs outside a test transaction. Chunks of
+ * two rows make a handful of employees span several of them.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({OrgDeletionService.class, OutboxBatchWriter.class, OrgCache.class, CompanyService.class, DepartmentService.class, EmployeeService.class, OrgStatsService.class, EmailUniquenessService.class, EmailIndex.class, NameSearchIndex.class, SalaryIndex.class, OutboxService.class})
+@ImportAutoConfiguration(JdbcTemplateAutoConfiguration.class)
+@TestPropertySource(properties = {"company.outbox.enabled=true", "company.deletion.chunk-size=2"})
+class OrgDeletionServiceTest {
+
+    @Autowired
+    private CompanyRepository companyRepository;
+    @Autowired
+    private DepartmentRepository departmentRepository;
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+    @Autowired
+    private TombstoneRepository tombstoneRepository;
+    @Autowired
+    private CompanyService companyService;
+    @Autowired
+    private EmployeeService employeeService;
+    @Autowired
+    private OrgStatsService orgStatsService;
+    @Autowired
+    private OrgDeletionService orgDeletionService;
+
+    private Company company;
+    private Department engineering;
+    private Department sales;
+
+    @BeforeEach
+    void setUp() {
+        employeeRepository.deleteAll();
+        departmentRepository.deleteAll();
+        companyRepository.deleteAll();
+        orgStatsService.reconcile();
+        company = companyService.createCompany(new Company("DeleteCo", "desc", "IT", "addr"));
+        engineering = companyService.addDepartmentToCompany(company.getId(), new Department("Engineering", "desc", "HQ"));
+        sales = companyService.addDepartmentToCompany(company.getId(), new Department("Sales", "desc", "HQ"));
+        for (int i = 0; i < 5; i++) {
+            hire("eng" + i, "50000", engineering);
+        }
+        hire("sales0", "40000", sales);
+        outboxEventRepository.deleteAll();
+        tombstoneRepository.deleteAll();
+    }
+
+    @Test
+    void testCompanyIsDeletedBottomUpWithTombstonesAndEvents() {
+        // Cached before the delete, so a stale second-level cache entry would still find it
+        assertTrue(companyService.getCompanyById(company.getId()).isPresent());
+        assertEquals(2, companyService.getDepartmentsByCompanyId(company.getId()).size());
+
+        DeletionJobStatus job = orgDeletionService.deleteCompany(company.getId(), false);
+
+        assertEquals(State.COMPLETED, job.state());
+        assertEquals(2, job.departmentsTotal());
+        assertEquals(2, job.departmentsDeleted());
+        assertEquals(6, job.employeesTotal());
+        assertEquals(6, job.employeesDeleted());
+        assertNull(job.error());
+        assertEquals(0, employeeRepository.count());
+        assertTrue(companyService.getCompanyById(company.getId()).isEmpty());
+        assertTrue(companyService.getDepartmentsByCompanyId(company.getId()).isEmpty());
+        assertTrue(orgStatsService.getCompanyStats(company.getId()).isEmpty());
+        assertTrue(orgStatsService.getDepartmentStats(engineering.getId()).isEmpty());
+
+        List<OutboxEvent> events = outboxEventRepository.findAllByOrderByIdAsc(Limit.of(20));
+        assertTrue(events.stream().allMatch(e -> e.getChangeType() == ChangeType.DELETED));
+        assertEquals(List.of(EntityType.EMPLOYEE, EntityType.EMPLOYEE, EntityType.EMPLOYEE, EntityType.EMPLOYEE,
+                EntityType.EMPLOYEE, EntityType.DEPARTMENT, EntityType.EMPLOYEE, EntityType.DEPARTMENT, EntityType.COMPANY),
+                events.stream().map(OutboxEvent::getEntityType).toList());
+        assertEquals(9, tombstoneRepository.count());
+    }
+
+    @Test
+    void testDepartmentDeleteMovesCompanyTotals() {
+        DeletionJobStatus job = orgDeletionService.deleteDepartment(engineering.getId(), false);
+
+        assertEquals(State.COMPLETED, job.state());
+        assertEquals(5, job.employeesDeleted());
+        assertFalse(departmentRepository.existsById(engineering.getId()));
+        assertEquals(1, employeeRepository.count());
+        assertEquals(1, orgStatsService.getCompanyStats(company.getId()).orElseThrow().headcount());
+        assertEquals(0, new BigDecimal("40000").compareTo(orgStatsService.getCompanyStats(company.getId()).orElseThrow().totalSalary()));
+        assertTrue(orgStatsService.reconcile().drift().isEmpty());
+        assertEquals(6, tombstoneRepository.count());
+    }
+
+    @Test
+    void testBackgroundJobCanBePolledUntilFinished() throws InterruptedException {
+        DeletionJobStatus started = orgDeletionService.deleteCompany(company.getId(), true);
+
+        DeletionJobStatus status = started;
+        for (int i = 0; i < 500 && !status.isFinished(); i++) {
+            Thread.sleep(20);
+            status = orgDeletionService.getJob(started.id()).orElseThrow();
+        }
+        assertEquals(State.COMPLETED, status.state());
+        assertEquals(6, status.employeesDeleted());
+        assertNotNull(status.finishedAt());
+        assertFalse(companyRepository.existsById(company.getId()));
+        assertTrue(orgDeletionService.getJob("no-such-job").isEmpty());
+    }
+
+    @Test
+    void testMissingTargetsAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> orgDeletionService.deleteCompany(-1L, false));
+        assertThrows(IllegalArgumentException.class, () -> orgDeletionService.deleteDepartment(-1L, true));
+    }
+
+    private void hire(String name, String salary, Department department) {
+        FullTimeEmployee employee = new FullTimeEmployee(name, "Doe", name + "@delete.com", LocalDate.of(2020, 1, 15),
+                new BigDecimal(salary), new BigDecimal("1000"));
+        employee.setDepartment(department);
+        employeeService.createFullTimeEmployee(employee);
+    }
+}
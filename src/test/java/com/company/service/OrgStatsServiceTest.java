@@ -0,0 +1,150 @@
+package com.company.service;
+
+import com.company.cache.OrgCache;
+import com.company.dto.OrgUnitStats;
+import com.company.dto.StatsReconcileReport;
+import com.company.entity.*;
+import com.company.index.EmailIndex;
+import com.company.index.NameSearchIndex;
+import com.company.index.SalaryIndex;
+import com.company.repository.CompanyRepository;
+import com.company.repository.DepartmentRepository;
+import com.company.repository.EmployeeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.JdbcTemplateAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import({OrgStatsService.class, EmailUniquenessService.class, EmailIndex.class, NameSearchIndex.class, SalaryIndex.class, EmployeeService.class, DepartmentService.class, CompanyService.class, OutboxService.class, OrgDeletionService.class, OutboxBatchWriter.class, OrgCache.class})
+@ImportAutoConfiguration(JdbcTemplateAutoConfiguration.class)
+class OrgStatsServiceTest {
+
+    @Autowired
+    private CompanyRepository companyRepository;
+    @Autowired
+    private DepartmentRepository departmentRepository;
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    @Autowired
+    private OrgStatsService orgStatsService;
+    @Autowired
+    private EmployeeService employeeService;
+    @Autowired
+    private DepartmentService departmentService;
+    @Autowired
+    private CompanyService companyService;
+    @Autowired
+    private OrgDeletionService orgDeletionService;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Company company;
+    private Department engineering;
+    private Department sales;
+
+    @BeforeEach
+    void setUp() {
+        employeeRepository.deleteAll();
+        departmentRepository.deleteAll();
+        companyRepository.deleteAll();
+        orgStatsService.reconcile();
+        company = companyService.createCompany(new Company("StatsCo", "desc", "IT", "addr"));
+        engineering = companyService.addDepartmentToCompany(company.getId(), new Department("Engineering", "desc", "HQ"));
+        sales = companyService.addDepartmentToCompany(company.getId(), new Department("Sales", "desc", "HQ"));
+    }
+
+    @Test
+    void testStatsFollowEmployeeWrites() {
+        FullTimeEmployee alice = new FullTimeEmployee("Alice", "Smith", "alice@company.com", LocalDate.now(), new BigDecimal("90000"), new BigDecimal("5000"));
+        alice.setDepartment(engineering);
+        alice = employeeService.createFullTimeEmployee(alice);
+        PartTimeEmployee bob = new PartTimeEmployee("Bob", "Jones", "bob@company.com", LocalDate.now(), new BigDecimal("30000"), 20);
+        bob.setDepartment(engineering);
+        bob = employeeService.createPartTimeEmployee(bob);
+
+        assertStats(orgStatsService.getDepartmentStats(engineering.getId()).orElseThrow(), 2, "120000", "125000");
+        assertStats(orgStatsService.getCompanyStats(company.getId()).orElseThrow(), 2, "120000", "125000");
+
+        PartTimeEmployee raise = new PartTimeEmployee("Bob", "Jones", "bob@company.com", LocalDate.now(), new BigDecimal("35000"), 20);
+        employeeService.updateEmployee(bob.getId(), raise);
+        assertStats(orgStatsService.getDepartmentStats(engineering.getId()).orElseThrow(), 2, "125000", "130000");
+
+        departmentService.moveEmployeeToDepartment(sales.getId(), alice.getId());
+        assertStats(orgStatsService.getDepartmentStats(engineering.getId()).orElseThrow(), 1, "35000", "35000");
+        assertStats(orgStatsService.getDepartmentStats(sales.getId()).orElseThrow(), 1, "90000", "95000");
+        assertStats(orgStatsService.getCompanyStats(company.getId()).orElseThrow(), 2, "125000", "130000");
+
+        employeeService.deleteEmployee(bob.getId());
+        assertStats(orgStatsService.getDepartmentStats(engineering.getId()).orElseThrow(), 0, "0", "0");
+        assertStats(orgStatsService.getCompanyStats(company.getId()).orElseThrow(), 1, "90000", "95000");
+
+        assertTrue(orgStatsService.reconcile().drift().isEmpty());
+    }
+
+    @Test
+    void testDepartmentRemovalSubtractsFromCompany() {
+        FullTimeEmployee carol = new FullTimeEmployee("Carol", "White", "carol@company.com", LocalDate.now(), new BigDecimal("80000"), new BigDecimal("1000"));
+        carol.setDepartment(sales);
+        employeeService.createFullTimeEmployee(carol);
+
+        orgDeletionService.deleteDepartment(sales.getId(), false);
+        assertTrue(orgStatsService.getDepartmentStats(sales.getId()).isEmpty());
+        assertStats(orgStatsService.getCompanyStats(company.getId()).orElseThrow(), 0, "0", "0");
+    }
+
+    @Test
+    void testReconcileRepairsDrift() {
+        FullTimeEmployee dave = new FullTimeEmployee("Dave", "Brown", "dave@company.com", LocalDate.now(), new BigDecimal("70000"), new BigDecimal("3000"));
+        dave.setDepartment(engineering);
+        employeeRepository.saveAndFlush(dave);
+
+        StatsReconcileReport report = orgStatsService.reconcile();
+        assertEquals(2, report.drift().size());
+        assertStats(orgStatsService.getDepartmentStats(engineering.getId()).orElseThrow(), 1, "70000", "73000");
+        assertStats(orgStatsService.getCompanyStats(company.getId()).orElseThrow(), 1, "70000", "73000");
+        assertTrue(orgStatsService.reconcile().drift().isEmpty());
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void testRecountHoldsTheAggregateRowsUntilCommit() throws Exception {
+        FullTimeEmployee erin = new FullTimeEmployee("Erin", "Black", "erin@company.com", LocalDate.now(), new BigDecimal("60000"), new BigDecimal("2000"));
+        erin.setDepartment(engineering);
+        AtomicReference<CompletableFuture<Void>> writer = new AtomicReference<>();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            orgStatsService.departmentsChanged(List.of(engineering.getId()));
+            // The recount found nothing to change, yet a concurrent delta must still wait for it
+            writer.set(CompletableFuture.runAsync(() -> employeeService.createFullTimeEmployee(erin)));
+            assertThrows(TimeoutException.class, () -> writer.get().get(300, TimeUnit.MILLISECONDS));
+        });
+        writer.get().get(10, TimeUnit.SECONDS);
+
+        assertStats(orgStatsService.getDepartmentStats(engineering.getId()).orElseThrow(), 1, "60000", "62000");
+        assertStats(orgStatsService.getCompanyStats(company.getId()).orElseThrow(), 1, "60000", "62000");
+    }
+
+    private static void assertStats(OrgUnitStats stats, long headcount, String salary, String compensation) {
+        assertEquals(headcount, stats.headcount());
+        assertEquals(0, new BigDecimal(salary).compareTo(stats.totalSalary()));
+        assertEquals(0, new BigDecimal(compensation).compareTo(stats.totalCompensation()));
+    }
+}
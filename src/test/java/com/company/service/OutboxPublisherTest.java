@@ -0,0 +1,241 @@
+package com.company.service;
+
+import com.company.cache.OrgCache;
+import com.company.dto.OutboxMessage;
+import com.company.entity.*;
+import com.company.index.EmailIndex;
+import com.company.index.NameSearchIndex;
+import com.company.index.SalaryIndex;
+import com.company.outbox.FileOutboxSink;
+import com.company.outbox.InProcessOutboxSink;
+import com.company.outbox.OutboxConfiguration;
+import com.company.outbox.OutboxSink;
+import com.company.repository.CompanyRepository;
+import com.company.repository.DepartmentRepository;
+import com.company.repository.EmployeeRepository;
+import com.company.repository.OutboxEventRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.JdbcTemplateAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Service writes commit their outbox events, and the publisher drains them, so the fixture
+ * runs outside a test transaction. Polling is pushed out of the way and tests drain by hand.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({OutboxPublisher.class, OutboxConfiguration.class, OutboxService.class, OutboxBatchWriter.class, OrgDeletionService.class, OrgCache.class, CompanyService.class, DepartmentService.class, EmployeeService.class, OrgStatsService.class, EmailUniquenessService.class, EmailIndex.class, NameSearchIndex.class, SalaryIndex.class})
+@ImportAutoConfiguration(JdbcTemplateAutoConfiguration.class)
+@TestPropertySource(properties = {"company.outbox.enabled=true", "company.outbox.sink=in-process",
+        "company.outbox.batch-size=2", "company.outbox.poll-interval-ms=3600000"})
+class OutboxPublisherTest {
+
+    private static final ObjectMapper JSON = JsonMapper.builder().findAndAddModules().build();
+
+    @Autowired
+    private CompanyRepository companyRepository;
+    @Autowired
+    private DepartmentRepository departmentRepository;
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+    @Autowired
+    private CompanyService companyService;
+    @Autowired
+    private DepartmentService departmentService;
+    @Autowired
+    private EmployeeService employeeService;
+    @Autowired
+    private OrgDeletionService orgDeletionService;
+    @Autowired
+    private OutboxPublisher outboxPublisher;
+    @Autowired
+    private OutboxSink outboxSink;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final List<OutboxMessage> received = new ArrayList<>();
+    private final Consumer<List<OutboxMessage>> subscriber = received::addAll;
+
+    private Company company;
+    private Department engineering;
+
+    @BeforeEach
+    void setUp() {
+        employeeRepository.deleteAll();
+        departmentRepository.deleteAll();
+        companyRepository.deleteAll();
+        outboxEventRepository.deleteAll();
+        company = companyService.createCompany(new Company("OutboxCo", "desc", "IT", "addr"));
+        engineering = companyService.addDepartmentToCompany(company.getId(), new Department("Engineering", "desc", "HQ"));
+        ((InProcessOutboxSink) outboxSink).subscribe(subscriber);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ((InProcessOutboxSink) outboxSink).unsubscribe(subscriber);
+    }
+
+    @Test
+    void testEmployeeLifecycleIsPublishedInOrderWithVersionsAndChangedFields() throws Exception {
+        PartTimeEmployee bob = new PartTimeEmployee("Bob", "Jones", "bob@outbox.com", LocalDate.of(2021, 3, 1), new BigDecimal("30000"), 20);
+        bob.setDepartment(engineering);
+        bob = employeeService.createPartTimeEmployee(bob);
+        employeeService.updateEmployee(bob.getId(), new PartTimeEmployee("Bob", "Jones", "bob@outbox.com", LocalDate.of(2021, 3, 1), new BigDecimal("35000.00"), 20));
+        // Same values again: Hibernate writes nothing, so neither does the outbox
+        employeeService.updateEmployee(bob.getId(), new PartTimeEmployee("Bob", "Jones", "bob@outbox.com", LocalDate.of(2021, 3, 1), new BigDecimal("35000"), 20));
+        Department sales = departmentService.createDepartment(withCompany(new Department("Sales", "desc", "HQ")));
+        departmentService.moveEmployeeToDepartment(sales.getId(), bob.getId());
+        employeeService.deleteEmployee(bob.getId());
+
+        assertEquals(7, outboxPublisher.drain());
+        assertEquals(0, outboxEventRepository.count());
+        assertEquals(List.of("COMPANY CREATED 0", "DEPARTMENT CREATED 0", "EMPLOYEE CREATED 0", "EMPLOYEE UPDATED 1",
+                "DEPARTMENT CREATED 0", "EMPLOYEE UPDATED 2", "EMPLOYEE DELETED 2"), summaries(received));
+        List<Long> sequences = received.stream().map(OutboxMessage::sequence).toList();
+        assertEquals(sequences.stream().sorted().distinct().toList(), sequences);
+
+        JsonNode created = JSON.readTree(received.get(2).changes());
+        assertEquals("Bob", created.get("firstName").asText());
+        assertEquals("PART_TIME", created.get("type").asText());
+        assertEquals(20, created.get("hoursPerWeek").asInt());
+        assertEquals("2021-03-01", created.get("hireDate").asText());
+        assertEquals(engineering.getId(), created.get("departmentId").asLong());
+        JsonNode raise = JSON.readTree(received.get(3).changes());
+        assertEquals(List.of("salary"), fieldNames(raise));
+        assertEquals(0, new BigDecimal("35000").compareTo(raise.get("salary").decimalValue()));
+        JsonNode move = JSON.readTree(received.get(5).changes());
+        assertEquals(List.of("departmentId"), fieldNames(move));
+        assertEquals(sales.getId(), move.get("departmentId").asLong());
+        assertTrue(JSON.readTree(received.get(6).changes()).isEmpty());
+        assertEquals(bob.getId(), received.get(6).entityId());
+    }
+
+    @Test
+    void testRolledBackChangeLeavesNoEvent() {
+        outboxPublisher.drain();
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.executeWithoutResult(status -> {
+            companyService.updateCompany(company.getId(), new Company("Renamed", "desc", "IT", "addr"));
+            assertEquals(1, outboxEventRepository.count());
+            status.setRollbackOnly();
+        });
+
+        assertEquals(0, outboxEventRepository.count());
+        companyService.updateCompany(company.getId(), new Company("OutboxCo", "new desc", "IT", "addr"));
+        assertEquals(1, outboxEventRepository.count());
+    }
+
+    @Test
+    void testFailedBatchIsRedeliveredWithoutReordering() {
+        outboxPublisher.drain();
+        received.clear();
+        for (int i = 0; i < 5; i++) {
+            companyService.updateCompany(company.getId(), new Company("OutboxCo", "desc " + i, "IT", "addr"));
+        }
+        AtomicBoolean fail = new AtomicBoolean(true);
+        Consumer<List<OutboxMessage>> flaky = batch -> {
+            if (received.size() == 2 && fail.getAndSet(false)) {
+                throw new IllegalStateException("sink unavailable");
+            }
+        };
+        ((InProcessOutboxSink) outboxSink).unsubscribe(subscriber);
+        ((InProcessOutboxSink) outboxSink).subscribe(flaky);
+        ((InProcessOutboxSink) outboxSink).subscribe(subscriber);
+        try {
+            // Batches of two: the first is delivered, the second fails and stays in the outbox
+            assertThrows(IllegalStateException.class, outboxPublisher::drain);
+            assertEquals(2, received.size());
+            assertEquals(3, outboxEventRepository.count());
+            assertEquals(3, outboxPublisher.drain());
+        } finally {
+            ((InProcessOutboxSink) outboxSink).unsubscribe(flaky);
+        }
+
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L), received.stream().map(OutboxMessage::entityVersion).toList());
+        assertEquals(0, outboxEventRepository.count());
+    }
+
+    @Test
+    void testCascadedDeleteRecordsEveryRemovedEntity() {
+        FullTimeEmployee alice = new FullTimeEmployee("Alice", "Smith", "alice@outbox.com", LocalDate.of(2020, 1, 15), new BigDecimal("90000"), new BigDecimal("5000"));
+        alice.setDepartment(engineering);
+        alice = employeeService.createFullTimeEmployee(alice);
+        outboxPublisher.drain();
+        received.clear();
+
+        orgDeletionService.deleteCompany(company.getId(), false);
+        outboxPublisher.drain();
+
+        assertEquals(List.of("EMPLOYEE DELETED 0", "DEPARTMENT DELETED 0", "COMPANY DELETED 0"), summaries(received));
+        assertEquals(List.of(alice.getId(), engineering.getId(), company.getId()),
+                received.stream().map(OutboxMessage::entityId).toList());
+    }
+
+    @Test
+    void testFileSinkAppendsOneJsonLinePerEvent(@TempDir Path directory) throws Exception {
+        companyService.updateCompany(company.getId(), new Company("OutboxCo", "desc", "Retail", "addr"));
+        List<OutboxMessage> batch = outboxEventRepository.findAllByOrderByIdAsc(Limit.of(10)).stream()
+                .map(e -> new OutboxMessage(e.getId(), e.getEntityType(), e.getEntityId(), e.getEntityVersion(),
+                        e.getChangeType(), e.getChanges(), e.getOccurredAt()))
+                .toList();
+        Path file = directory.resolve("outbox/changes.ndjson");
+        try (FileOutboxSink sink = new FileOutboxSink(file, JSON)) {
+            sink.publish(batch);
+            sink.publish(batch.subList(0, 1));
+        }
+
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(batch.size() + 1, lines.size());
+        JsonNode update = JSON.readTree(lines.get(batch.size() - 1));
+        assertEquals("COMPANY", update.get("entityType").asText());
+        assertEquals("UPDATED", update.get("changeType").asText());
+        assertEquals(1, update.get("entityVersion").asLong());
+        assertEquals("Retail", update.get("changes").get("industry").asText());
+        assertEquals(lines.get(0), lines.get(batch.size()));
+    }
+
+    private Department withCompany(Department department) {
+        department.setCompany(company);
+        return department;
+    }
+
+    private static List<String> summaries(List<OutboxMessage> messages) {
+        return messages.stream()
+                .map(m -> m.entityType() + " " + m.changeType() + " " + m.entityVersion())
+                .toList();
+    }
+
+    private static List<String> fieldNames(JsonNode node) {
+        List<String> names = new ArrayList<>();
+        node.fieldNames().forEachRemaining(names::add);
+        return names;
+    }
+}
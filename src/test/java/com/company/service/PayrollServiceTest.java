@@ -0,0 +1,183 @@
+package com.company.service;
+
+import com.company.dto.CompanyPayroll;
+import com.company.dto.PayrollTotals;
+import com.company.entity.*;
+import com.company.index.EmailIndex;
+import com.company.index.NameSearchIndex;
+import com.company.index.SalaryIndex;
+import com.company.repository.CompanyRepository;
+import com.company.repository.DepartmentRepository;
+import com.company.repository.EmployeeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.JdbcTemplateAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the payroll engine against the entity {@code BigDecimal} helpers with
+ * {@code equals}, so scale differences count as mismatches too.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({PayrollService.class, SyntheticDataGenerator.class, OrgStatsService.class, EmployeeService.class, EmailUniquenessService.class, EmailIndex.class, NameSearchIndex.class, SalaryIndex.class, OutboxService.class})
+@ImportAutoConfiguration(JdbcTemplateAutoConfiguration.class)
+class PayrollServiceTest {
+
+    private static final BigDecimal ZERO = new BigDecimal("0.00");
+
+    @Autowired
+    private CompanyRepository companyRepository;
+    @Autowired
+    private DepartmentRepository departmentRepository;
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    @Autowired
+    private SyntheticDataGenerator generator;
+    @Autowired
+    private PayrollService payrollService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Department empty;
+    private Department irregular;
+
+    @BeforeEach
+    void setUp() {
+        employeeRepository.deleteAll();
+        departmentRepository.deleteAll();
+        companyRepository.deleteAll();
+        jdbcTemplate.execute("DELETE FROM department_stats");
+        jdbcTemplate.execute("DELETE FROM company_stats");
+        generator.load(new SyntheticDataGenerator.Spec(3, 4, 1500, 0.4, 0.8, 5, LocalDate.of(2025, 1, 1)));
+
+        Company first = companyRepository.findAll().get(0);
+        empty = new Department("Empty", "desc", "HQ");
+        empty.setCompany(first);
+        empty = departmentRepository.save(empty);
+        irregular = new Department("Irregular", "desc", "HQ");
+        irregular.setCompany(first);
+        irregular = departmentRepository.save(irregular);
+        PartTimeEmployee fullWeek = new PartTimeEmployee("Full", "Week", "full.week@payroll.com", LocalDate.of(2024, 1, 1), new BigDecimal("2080.26"), 40);
+        fullWeek.setDepartment(irregular);
+        PartTimeEmployee halfCent = new PartTimeEmployee("Half", "Cent", "half.cent@payroll.com", LocalDate.of(2024, 1, 1), new BigDecimal("1.30"), 1);
+        halfCent.setDepartment(irregular);
+        FullTimeEmployee centBonus = new FullTimeEmployee("Cent", "Bonus", "cent.bonus@payroll.com", LocalDate.of(2024, 1, 1), new BigDecimal("70000.01"), new BigDecimal("0.01"));
+        centBonus.setDepartment(irregular);
+        employeeRepository.saveAll(List.of(fullWeek, halfCent, centBonus));
+    }
+
+    @Test
+    void testCompanyPayrollMatchesBigDecimalReference() {
+        for (Company company : companyRepository.findAll()) {
+            CompanyPayroll payroll = payrollService.getCompanyPayroll(company.getId()).orElseThrow();
+            List<Employee> employees = employeeRepository.findByCompanyId(company.getId());
+            Map<Long, List<Employee>> byDepartment = employees.stream()
+                    .collect(Collectors.groupingBy(employee -> employee.getDepartment().getId()));
+
+            assertEquals(reference(company.getId(), employees), payroll.company());
+            for (PayrollTotals department : payroll.departments()) {
+                assertEquals(reference(department.id(), byDepartment.getOrDefault(department.id(), List.of())), department);
+            }
+            assertEquals(departmentRepository.findByCompanyId(company.getId()).size(), payroll.departments().size());
+        }
+    }
+
+    @Test
+    void testDepartmentPayrollMatchesBigDecimalReference() {
+        PayrollTotals payroll = payrollService.getDepartmentPayroll(irregular.getId()).orElseThrow();
+
+        assertEquals(reference(irregular.getId(), employeeRepository.findByDepartmentId(irregular.getId())), payroll);
+        // 1.30 / 52 = 0.025 rounds half-up to 0.03 an hour (1.56 a year), 2080.26 / 2080 down to 1.00 (2080.00)
+        assertEquals(new BigDecimal("2081.56"), payroll.partTimeAnnualizedCost());
+        assertEquals(PayrollTotals.ofCents(empty.getId(), 0, 0, 0, 0, 0, 0),
+                payrollService.getDepartmentPayroll(empty.getId()).orElseThrow());
+    }
+
+    @Test
+    void testUnknownUnitsHaveNoPayroll() {
+        assertTrue(payrollService.getCompanyPayroll(-1L).isEmpty());
+        assertTrue(payrollService.getDepartmentPayroll(-1L).isEmpty());
+    }
+
+    @Test
+    void testHourlyRateRoundsLikeBigDecimal() {
+        Random random = new Random(3);
+        for (int i = 0; i < 100_000; i++) {
+            long cents = random.nextInt(2) == 0 ? random.nextInt(10_000) : random.nextLong(10_000_000_000L);
+            int hours = random.nextInt(80) - 5;
+            long signed = random.nextInt(10) == 0 ? -cents : cents;
+            BigDecimal expected = hours > 0
+                    ? BigDecimal.valueOf(signed, 2).divide(BigDecimal.valueOf(hours * 52), 2, RoundingMode.HALF_UP)
+                    : ZERO;
+            assertEquals(expected.movePointRight(2).longValueExact(), PartTimeCosts.hourlyRateCents(signed, hours),
+                    () -> signed + " cents over " + hours + " hours");
+        }
+    }
+
+    @Test
+    void testParallelSumsMatchSequential() {
+        Random random = new Random(9);
+        int units = 7;
+        PartTimeCosts costs = new PartTimeCosts();
+        BigDecimal[] expected = new BigDecimal[units];
+        Arrays.fill(expected, ZERO);
+        for (int i = 0; i < 20 * PartTimeCosts.LEAF_SIZE + 17; i++) {
+            int unit = random.nextInt(units);
+            long cents = random.nextLong(20_000_000L);
+            int hours = random.nextInt(41);
+            costs.add(unit, cents, hours);
+            BigDecimal rate = hours > 0
+                    ? BigDecimal.valueOf(cents, 2).divide(BigDecimal.valueOf(hours * 52), 2, RoundingMode.HALF_UP)
+                    : BigDecimal.ZERO;
+            expected[unit] = expected[unit].add(rate.multiply(BigDecimal.valueOf(hours * 52L)));
+        }
+
+        long[] sequential = costs.annualizedByUnit(units, false);
+        long[] parallel = costs.annualizedByUnit(units, true);
+
+        assertArrayEquals(sequential, parallel);
+        for (int unit = 0; unit < units; unit++) {
+            assertEquals(expected[unit], BigDecimal.valueOf(parallel[unit], 2));
+        }
+    }
+
+    // Straight from the entity helpers, one employee at a time
+    private static PayrollTotals reference(Long id, List<Employee> employees) {
+        long fullTime = 0;
+        long partTime = 0;
+        BigDecimal salary = ZERO;
+        BigDecimal bonus = ZERO;
+        BigDecimal compensation = ZERO;
+        BigDecimal annualized = ZERO;
+        for (Employee employee : employees) {
+            salary = salary.add(employee.getSalary());
+            if (employee instanceof FullTimeEmployee fullTimeEmployee) {
+                fullTime++;
+                bonus = bonus.add(fullTimeEmployee.getAnnualBonus());
+                compensation = compensation.add(fullTimeEmployee.getTotalCompensation());
+            } else if (employee instanceof PartTimeEmployee partTimeEmployee) {
+                partTime++;
+                compensation = compensation.add(partTimeEmployee.getSalary());
+                Integer hours = partTimeEmployee.getHoursPerWeek();
+                annualized = annualized.add(partTimeEmployee.getHourlyRate()
+                        .multiply(BigDecimal.valueOf(hours == null ? 0 : hours * 52L)));
+            }
+        }
+        return new PayrollTotals(id, employees.size(), fullTime, partTime, salary, bonus, compensation, annualized);
+    }
+}
@@ -0,0 +1,210 @@
+package com.company.service;
+
+import com.company.dto.CompanyView;
+import com.company.dto.DepartmentView;
+import com.company.dto.EmployeeView;
+import com.company.entity.*;
+import com.company.index.EmailIndex;
+import com.company.index.NameSearchIndex;
+import com.company.index.SalaryIndex;
+import com.company.pagination.SortKey;
+import com.company.repository.CompanyRepository;
+import com.company.repository.DepartmentRepository;
+import com.company.repository.EmployeeRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Every read behind a GET endpoint, mapped to its view the way the controllers do, must issue
+ * the same number of SQL statements however many rows it returns. Each read starts from an
+ * empty persistence context and second-level cache so nothing is served from memory.
+ */
+@DataJpaTest
+@Import({CompanyTreeService.class, EmployeeService.class, DepartmentService.class, CompanyService.class, OrgStatsService.class, EmailUniquenessService.class, EmailIndex.class, NameSearchIndex.class, SalaryIndex.class, JacksonAutoConfiguration.class, OutboxService.class})
+class ReadPathStatementCountTest {
+
+    private static final BigDecimal ZERO = BigDecimal.ZERO;
+    private static final BigDecimal MAX = new BigDecimal("1000000");
+    private static final LocalDate FROM = LocalDate.of(2000, 1, 1);
+    private static final LocalDate TO = LocalDate.of(2030, 1, 1);
+
+    @Autowired
+    private CompanyRepository companyRepository;
+    @Autowired
+    private DepartmentRepository departmentRepository;
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    @Autowired
+    private EmployeeService employeeService;
+    @Autowired
+    private DepartmentService departmentService;
+    @Autowired
+    private CompanyService companyService;
+    @Autowired
+    private CompanyTreeService companyTreeService;
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Company company;
+    private Department engineering;
+    private Department sales;
+    private int hired;
+
+    @BeforeEach
+    void setUp() {
+        employeeRepository.deleteAll();
+        departmentRepository.deleteAll();
+        companyRepository.deleteAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        company = companyService.createCompany(new Company("CountCo", "desc", "IT", "addr"));
+        engineering = companyService.addDepartmentToCompany(company.getId(), new Department("Engineering", "desc", "HQ"));
+        sales = companyService.addDepartmentToCompany(company.getId(), new Department("Sales", "desc", "HQ"));
+        hireEmployees(2);
+    }
+
+    private void hireEmployees(int perDepartment) {
+        for (Department department : List.of(engineering, sales)) {
+            for (int i = 0; i < perDepartment; i++) {
+                int n = hired++;
+                Employee employee = n % 2 == 0
+                        ? new FullTimeEmployee("First", "Last", "e" + n + "@count.com", LocalDate.of(2020, 1, 1), new BigDecimal("50000"), new BigDecimal("1000"))
+                        : new PartTimeEmployee("First", "Last", "e" + n + "@count.com", LocalDate.of(2020, 1, 1), new BigDecimal("30000"), 20);
+                employee.setDepartment(department);
+                employeeService.createEmployee(employee);
+            }
+        }
+    }
+
+    private Map<String, Supplier<?>> reads() {
+        Long companyId = company.getId();
+        Long departmentId = engineering.getId();
+        Long employeeId = employeeRepository.findAll().get(0).getId();
+        Map<String, Supplier<?>> reads = new LinkedHashMap<>();
+
+        // EmployeeController
+        reads.put("employees", () -> employees(employeeService.getAllEmployees()));
+        reads.put("employees page", () -> employeeService.getEmployeesPage(null, SortKey.ID, 500).map(EmployeeView::from));
+        reads.put("employee by id", () -> employeeService.getEmployeeById(employeeId).map(EmployeeView::from));
+        reads.put("employee by email", () -> employeeService.getEmployeeByEmail("e0@count.com").map(EmployeeView::from));
+        reads.put("full-time", () -> employees(employeeService.getAllFullTimeEmployees()));
+        reads.put("full-time by bonus", () -> employees(employeeService.getFullTimeEmployeesByMinimumBonus(ZERO)));
+        reads.put("part-time", () -> employees(employeeService.getAllPartTimeEmployees()));
+        reads.put("part-time by hours", () -> employees(employeeService.getPartTimeEmployeesByMinimumHours(1)));
+        reads.put("part-time expired", () -> employees(employeeService.getPartTimeEmployeesWithExpiredContracts()));
+        reads.put("employees of department", () -> employees(employeeService.getEmployeesByDepartmentId(departmentId)));
+        reads.put("employees of department page", () -> employeeService.getEmployeesByDepartmentIdPage(departmentId, null, SortKey.ID, 500).map(EmployeeView::from));
+        reads.put("employees of company", () -> employees(employeeService.getEmployeesByCompanyId(companyId)));
+        reads.put("employees of company page", () -> employeeService.getEmployeesByCompanyIdPage(companyId, null, SortKey.ID, 500).map(EmployeeView::from));
+        reads.put("employees by name", () -> employees(employeeService.searchEmployeesByName("First", "Last")));
+        reads.put("employees by hire date", () -> employees(employeeService.getEmployeesByHireDateRange(FROM, TO)));
+        reads.put("employees by hire date page", () -> employeeService.getEmployeesByHireDateRangePage(FROM, TO, null, SortKey.ID, 500).map(EmployeeView::from));
+        reads.put("employees by salary", () -> employees(employeeService.getEmployeesBySalaryRange(ZERO, MAX)));
+        reads.put("employees by salary page", () -> employeeService.getEmployeesBySalaryRangePage(ZERO, MAX, null, SortKey.ID, 500).map(EmployeeView::from));
+        reads.put("employees ordered by salary", () -> employees(employeeService.getEmployeesByDepartmentOrderedBySalary(departmentId)));
+        reads.put("employees above salary", () -> employees(employeeService.getEmployeesWithSalaryGreaterThan(ZERO)));
+
+        // DepartmentController
+        reads.put("departments", () -> departments(departmentService.getAllDepartments()));
+        reads.put("departments page", () -> departmentService.getDepartmentsPage(null, SortKey.ID, 500).map(DepartmentView::from));
+        reads.put("department by id", () -> departmentService.getDepartmentById(departmentId).map(DepartmentView::from));
+        reads.put("department employees", () -> employees(departmentService.getEmployeesByDepartmentId(departmentId)));
+        reads.put("departments by location", () -> departments(departmentService.getDepartmentsByLocation("HQ")));
+        reads.put("departments by name", () -> departments(departmentService.searchDepartmentsByName("e")));
+        reads.put("departments with min employees", () -> departments(departmentService.getDepartmentsWithMinimumEmployees(0)));
+        reads.put("departments by employee count", () -> departments(departmentService.getDepartmentsOrderedByEmployeeCount()));
+        reads.put("departments of company", () -> departments(departmentService.getDepartmentsByCompanyId(companyId)));
+
+        // CompanyController
+        reads.put("companies", () -> companies(companyService.getAllCompanies()));
+        reads.put("companies page", () -> companyService.getCompaniesPage(null, SortKey.ID, 500).map(CompanyView::from));
+        reads.put("company by id", () -> companyService.getCompanyById(companyId).map(CompanyView::from));
+        reads.put("company by name", () -> companyService.getCompanyByName("CountCo").map(CompanyView::from));
+        reads.put("company departments", () -> departments(companyService.getDepartmentsByCompanyId(companyId)));
+        reads.put("company departments by name", () -> departments(companyService.getDepartmentsByCompanyName("CountCo")));
+        reads.put("companies by industry", () -> companies(companyService.getCompaniesByIndustry("IT")));
+        reads.put("companies by name", () -> companies(companyService.searchCompaniesByName("Count")));
+        reads.put("companies with min departments", () -> companies(companyService.getCompaniesWithMinimumDepartments(0)));
+        reads.put("companies with min employees", () -> companies(companyService.getCompaniesWithMinimumEmployees(0)));
+        reads.put("company tree", () -> companyTreeService.getCompanyTree(companyId));
+        return reads;
+    }
+
+    private static List<EmployeeView> employees(List<? extends Employee> employees) {
+        return employees.stream().map(EmployeeView::from).toList();
+    }
+
+    private static List<DepartmentView> departments(List<Department> departments) {
+        return departments.stream().map(DepartmentView::from).toList();
+    }
+
+    private static List<CompanyView> companies(List<Company> companies) {
+        return companies.stream().map(CompanyView::from).toList();
+    }
+
+    private Map<String, Long> countStatements() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        reads().forEach((name, read) -> {
+            entityManager.flush();
+            entityManager.clear();
+            entityManagerFactory.getCache().evictAll();
+            entityManagerFactory.unwrap(SessionFactory.class).getCache().evictQueryRegions();
+            statistics.clear();
+            read.get();
+            counts.put(name, statistics.getPrepareStatementCount());
+        });
+        return counts;
+    }
+
+    @Test
+    void testEveryReadIssuesAFixedNumberOfStatements() {
+        Map<String, Long> expected = new LinkedHashMap<>();
+        reads().keySet().forEach(name -> expected.put(name, 1L));
+        // Looks up the company by name, then lists its departments
+        expected.put("company departments by name", 2L);
+        // Departments with their company, then the company's employees
+        expected.put("company tree", 2L);
+
+        Map<String, Long> few = countStatements();
+        companyService.addDepartmentToCompany(company.getId(), new Department("Support", "desc", "Remote"));
+        hireEmployees(10);
+        Map<String, Long> many = countStatements();
+
+        assertEquals(expected, few);
+        assertEquals(expected, many);
+    }
+
+    @Test
+    void testViewsCarryAssociationIds() {
+        Employee employee = employeeService.getEmployeesByDepartmentId(engineering.getId()).get(0);
+        EmployeeView view = EmployeeView.from(employee);
+        assertEquals(engineering.getId(), view.departmentId());
+        assertEquals("Engineering", view.departmentName());
+        assertEquals(company.getId(), view.companyId());
+        assertEquals("FULL_TIME", view.employeeType());
+        assertNotNull(view.annualBonus());
+        assertNull(view.hoursPerWeek());
+
+        DepartmentView department = DepartmentView.from(departmentService.getDepartmentById(sales.getId()).orElseThrow());
+        assertEquals(company.getId(), department.companyId());
+    }
+}
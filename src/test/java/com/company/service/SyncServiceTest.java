@@ -0,0 +1,183 @@
+package com.company.service;
+
+import com.company.cache.OrgCache;
+import com.company.dto.DeletedEntity;
+import com.company.dto.EmployeeView;
+import com.company.dto.SyncChanges;
+import com.company.entity.*;
+import com.company.event.OrgChangeEvent.EntityType;
+import com.company.index.EmailIndex;
+import com.company.index.NameSearchIndex;
+import com.company.index.SalaryIndex;
+import com.company.pagination.SyncToken;
+import com.company.repository.CompanyRepository;
+import com.company.repository.DepartmentRepository;
+import com.company.repository.EmployeeRepository;
+import com.company.repository.TombstoneRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.JdbcTemplateAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import({SyncService.class, OrgDeletionService.class, OutboxBatchWriter.class, OrgCache.class, CompanyService.class, DepartmentService.class, EmployeeService.class, OrgStatsService.class, EmailUniquenessService.class, EmailIndex.class, NameSearchIndex.class, SalaryIndex.class, OutboxService.class})
+@ImportAutoConfiguration(JdbcTemplateAutoConfiguration.class)
+@TestPropertySource(properties = "company.sync.lag-ms=0")
+class SyncServiceTest {
+
+    @Autowired
+    private CompanyRepository companyRepository;
+    @Autowired
+    private DepartmentRepository departmentRepository;
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    @Autowired
+    private TombstoneRepository tombstoneRepository;
+    @Autowired
+    private CompanyService companyService;
+    @Autowired
+    private DepartmentService departmentService;
+    @Autowired
+    private EmployeeService employeeService;
+    @Autowired
+    private OrgDeletionService orgDeletionService;
+    @Autowired
+    private SyncService syncService;
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Company company;
+    private Department engineering;
+    private final List<Employee> employees = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        employeeRepository.deleteAll();
+        departmentRepository.deleteAll();
+        companyRepository.deleteAll();
+        tombstoneRepository.deleteAll();
+        company = companyService.createCompany(new Company("SyncCo", "desc", "IT", "addr"));
+        engineering = companyService.addDepartmentToCompany(company.getId(), new Department("Engineering", "desc", "HQ"));
+        companyService.addDepartmentToCompany(company.getId(), new Department("Sales", "desc", "HQ"));
+        for (int i = 0; i < 5; i++) {
+            FullTimeEmployee employee = new FullTimeEmployee("Emp" + i, "Sync", "emp" + i + "@sync.com",
+                    LocalDate.of(2020, 1, 1), new BigDecimal("50000"), new BigDecimal("1000"));
+            employee.setDepartment(engineering);
+            employees.add(employeeService.createFullTimeEmployee(employee));
+        }
+    }
+
+    @Test
+    void testFullSyncPagesThroughEverythingParentsFirst() {
+        List<SyncChanges> pages = syncAll(null, 3);
+
+        assertEquals(List.of(3, 3, 2), pages.stream().map(SyncServiceTest::size).toList());
+        assertEquals(1, pages.get(0).companies().size());
+        assertEquals(2, pages.get(0).departments().size());
+        assertEquals(List.of(true, true, false), pages.stream().map(SyncChanges::hasMore).toList());
+        assertEquals(employees.stream().map(Employee::getId).toList(),
+                pages.stream().flatMap(p -> p.employees().stream()).map(EmployeeView::id).toList());
+        assertTrue(pages.stream().allMatch(p -> p.deleted().isEmpty()));
+    }
+
+    @Test
+    void testIncrementalSyncReturnsOnlyWhatChanged() throws InterruptedException {
+        String token = last(syncAll(null, 100)).nextToken();
+        Thread.sleep(5);
+
+        Employee raised = employees.get(1);
+        employeeService.updateEmployee(raised.getId(), new FullTimeEmployee(raised.getFirstName(), raised.getLastName(),
+                raised.getEmail(), raised.getHireDate(), new BigDecimal("60000"), new BigDecimal("1000")));
+        employeeService.deleteEmployee(employees.get(3).getId());
+        Department legal = departmentService.createDepartment(withCompany(new Department("Legal", "desc", "HQ")));
+
+        List<SyncChanges> pages = syncAll(token, 100);
+        assertEquals(1, pages.size());
+        SyncChanges changes = pages.get(0);
+        assertTrue(changes.companies().isEmpty());
+        assertEquals(List.of(legal.getId()), changes.departments().stream().map(d -> d.id()).toList());
+        assertEquals(1, changes.employees().size());
+        assertEquals(raised.getId(), changes.employees().get(0).id());
+        assertEquals(1L, changes.employees().get(0).version());
+        assertEquals(0, new BigDecimal("60000").compareTo(changes.employees().get(0).salary()));
+        DeletedEntity deleted = changes.deleted().get(0);
+        assertEquals(1, changes.deleted().size());
+        assertEquals(EntityType.EMPLOYEE, deleted.entityType());
+        assertEquals(employees.get(3).getId(), deleted.id());
+
+        SyncChanges caughtUp = syncService.getChanges(changes.nextToken(), 100);
+        assertEquals(0, size(caughtUp));
+        assertFalse(caughtUp.hasMore());
+    }
+
+    @Test
+    void testCascadedDeleteLeavesTombstonesForChildren() throws InterruptedException {
+        String token = last(syncAll(null, 100)).nextToken();
+        Thread.sleep(5);
+        // The set-based delete runs on JDBC, so the fixture has to reach the tables first
+        entityManager.flush();
+
+        orgDeletionService.deleteDepartment(engineering.getId(), false);
+
+        SyncChanges changes = syncService.getChanges(token, 100);
+        assertEquals(6, changes.deleted().size());
+        assertEquals(5, changes.deleted().stream().filter(d -> d.entityType() == EntityType.EMPLOYEE).count());
+        assertEquals(engineering.getId(), changes.deleted().get(5).id());
+    }
+
+    @Test
+    void testExpiredOrMalformedTokensAreRejected() {
+        LocalDateTime old = LocalDateTime.now().minusDays(31);
+        String expired = SyncToken.start(old, old).encode();
+
+        assertThrows(SyncService.ExpiredTokenException.class, () -> syncService.getChanges(expired, 10));
+        assertThrows(IllegalArgumentException.class, () -> syncService.getChanges("not-a-token", 10));
+        assertThrows(IllegalArgumentException.class, () -> syncService.getChanges(null, 0));
+    }
+
+    @Test
+    void testPurgeKeepsTombstonesWithinRetention() {
+        tombstoneRepository.save(new Tombstone(EntityType.EMPLOYEE, 1L, 0L, LocalDateTime.now().minusDays(31)));
+        tombstoneRepository.save(new Tombstone(EntityType.EMPLOYEE, 2L, 0L, LocalDateTime.now().minusDays(1)));
+
+        assertEquals(1, syncService.purgeTombstones());
+        assertEquals(List.of(2L), tombstoneRepository.findAll().stream().map(Tombstone::getEntityId).toList());
+    }
+
+    private List<SyncChanges> syncAll(String token, int limit) {
+        List<SyncChanges> pages = new ArrayList<>();
+        SyncChanges page;
+        do {
+            page = syncService.getChanges(token, limit);
+            pages.add(page);
+            token = page.nextToken();
+        } while (page.hasMore());
+        return pages;
+    }
+
+    private Department withCompany(Department department) {
+        department.setCompany(company);
+        return department;
+    }
+
+    private static int size(SyncChanges changes) {
+        return changes.companies().size() + changes.departments().size() + changes.employees().size() + changes.deleted().size();
+    }
+
+    private static SyncChanges last(List<SyncChanges> pages) {
+        return pages.get(pages.size() - 1);
+    }
+}
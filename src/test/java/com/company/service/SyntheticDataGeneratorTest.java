@@ -0,0 +1,149 @@
+package com.company.service;
+
+import com.company.dto.OrgUnitStats;
+import com.company.entity.*;
+import com.company.index.EmailIndex;
+import com.company.index.NameSearchIndex;
+import com.company.index.SalaryIndex;
+import com.company.repository.CompanyRepository;
+import com.company.repository.DepartmentRepository;
+import com.company.repository.EmployeeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.JdbcTemplateAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs without a test transaction: the generator commits per batch and restarts identity
+ * columns, which H2 does outside any transaction.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({SyntheticDataGenerator.class, OrgStatsService.class, EmployeeService.class, EmailUniquenessService.class, EmailIndex.class, NameSearchIndex.class, SalaryIndex.class, OutboxService.class})
+@ImportAutoConfiguration(JdbcTemplateAutoConfiguration.class)
+class SyntheticDataGeneratorTest {
+
+    private static final String SNAPSHOT = "SELECT e.employee_type, e.first_name, e.last_name, e.email, e.hire_date, " +
+            "e.salary, e.job_title, e.hours_per_week, e.contract_end_date, d.name, c.name " +
+            "FROM employees e JOIN departments d ON d.id = e.department_id JOIN companies c ON c.id = d.company_id " +
+            "ORDER BY e.id";
+
+    @Autowired
+    private CompanyRepository companyRepository;
+    @Autowired
+    private DepartmentRepository departmentRepository;
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    @Autowired
+    private SyntheticDataGenerator generator;
+    @Autowired
+    private OrgStatsService orgStatsService;
+    @Autowired
+    private EmployeeService employeeService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final SyntheticDataGenerator.Spec spec =
+            new SyntheticDataGenerator.Spec(3, 4, 500, 0.3, 0.8, 7, LocalDate.of(2025, 1, 1));
+
+    @BeforeEach
+    void setUp() {
+        employeeRepository.deleteAll();
+        departmentRepository.deleteAll();
+        companyRepository.deleteAll();
+        jdbcTemplate.execute("DELETE FROM department_stats");
+        jdbcTemplate.execute("DELETE FROM company_stats");
+    }
+
+    @Test
+    void testLoadWritesExactCounts() {
+        SyntheticDataGenerator.Result result = generator.load(spec);
+
+        assertEquals(3, result.companies());
+        assertEquals(12, result.departments());
+        assertEquals(500, result.employees());
+        assertEquals(3, companyRepository.count());
+        assertEquals(12, departmentRepository.count());
+        assertEquals(500, employeeRepository.count());
+        assertEquals(result.partTimeEmployees(), employeeRepository.findAllPartTimeEmployees().size());
+        assertTrue(result.partTimeEmployees() > 100 && result.partTimeEmployees() < 200);
+        for (Company company : companyRepository.findAll()) {
+            assertFalse(departmentRepository.findByCompanyId(company.getId()).isEmpty());
+        }
+    }
+
+    @Test
+    void testSameSeedProducesSameRows() {
+        generator.load(spec);
+        List<Map<String, Object>> first = jdbcTemplate.queryForList(SNAPSHOT);
+        setUp();
+        generator.load(spec);
+
+        assertEquals(first, jdbcTemplate.queryForList(SNAPSHOT));
+    }
+
+    @Test
+    void testGeneratedValuesAreUniqueAndPlausible() {
+        generator.load(spec);
+
+        assertEquals(500, jdbcTemplate.queryForObject("SELECT COUNT(DISTINCT email) FROM employees", Integer.class));
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM (SELECT company_id, name FROM departments GROUP BY company_id, name HAVING COUNT(*) > 1)",
+                Integer.class));
+        for (Employee employee : employeeRepository.findAll()) {
+            assertTrue(employee.getSalary().compareTo(BigDecimal.ZERO) > 0);
+            assertFalse(employee.getHireDate().isAfter(spec.asOf()));
+            if (employee instanceof PartTimeEmployee partTime && partTime.getContractEndDate() != null) {
+                assertTrue(partTime.getContractEndDate().isAfter(partTime.getHireDate()));
+            }
+        }
+    }
+
+    @Test
+    void testIdentityContinuesAfterGeneratedIds() {
+        generator.load(spec);
+        Department department = departmentRepository.findAll().get(0);
+
+        FullTimeEmployee employee = new FullTimeEmployee("After", "Load", "after@load.com", LocalDate.of(2024, 1, 1), new BigDecimal("50000"), new BigDecimal("1000"));
+        employee.setDepartment(department);
+        Employee saved = employeeService.createFullTimeEmployee(employee);
+
+        assertEquals(501, employeeRepository.count());
+        assertTrue(saved.getId() > jdbcTemplate.queryForObject("SELECT MAX(id) FROM employees WHERE id <> ?", Long.class, saved.getId()));
+    }
+
+    @Test
+    void testGenerateReconcilesAggregates() {
+        generator.generate(spec);
+
+        long headcount = 0;
+        for (Company company : companyRepository.findAll()) {
+            OrgUnitStats stats = orgStatsService.getCompanyStats(company.getId()).orElseThrow();
+            assertEquals(employeeRepository.countByCompanyId(company.getId()), stats.headcount());
+            headcount += stats.headcount();
+        }
+        assertEquals(500, headcount);
+    }
+
+    @Test
+    void testSpecValidation() {
+        assertThrows(IllegalArgumentException.class, () -> new SyntheticDataGenerator.Spec(0, 4, 10, 0.2, 0.8, 1, LocalDate.now()));
+        assertThrows(IllegalArgumentException.class, () -> new SyntheticDataGenerator.Spec(1, 4, -1, 0.2, 0.8, 1, LocalDate.now()));
+        assertThrows(IllegalArgumentException.class, () -> new SyntheticDataGenerator.Spec(1, 4, 10, 1.5, 0.8, 1, LocalDate.now()));
+        assertThrows(IllegalArgumentException.class, () -> new SyntheticDataGenerator.Spec(1, 4, 10, 0.2, -1, 1, LocalDate.now()));
+        assertThrows(IllegalArgumentException.class, () -> new SyntheticDataGenerator.Spec(1, 4, 10, 0.2, 0.8, 1, null));
+    }
+}